@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+/**
+ * Utilities for creating the inputs of kernel microbenchmarks. All
+ * inputs are generated with fixed seeds in order to obtain comparable
+ * results across runs and code versions.
+ *
+ */
+public class BenchmarkUtils
+{
+	public static final long SEED = 7;
+
+	/**
+	 * Creates a random matrix block in its default (dense or MCSR) format,
+	 * as determined by the sparsity of the generated data.
+	 *
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param sparsity sparsity in [0,1]
+	 * @param seed random seed
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity, long seed)
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", seed);
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 * Creates a random matrix block, where sparse blocks are converted into
+	 * the given sparse block type (dense blocks are returned as is).
+	 *
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param sparsity sparsity in [0,1]
+	 * @param type sparse block type
+	 * @param seed random seed
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity, SparseBlock.Type type, long seed)
+		throws DMLRuntimeException
+	{
+		MatrixBlock ret = createMatrix(rows, cols, sparsity, seed);
+		return ret.isInSparseFormat() ? new MatrixBlock(ret, type, true) : ret;
+	}
+
+	/**
+	 * Creates a random compressed matrix block, where the non-zero values
+	 * are rounded to the given number of distinct absolute values (per sign)
+	 * in order to obtain compressible columns.
+	 *
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param sparsity sparsity in [0,1]
+	 * @param distinct number of distinct absolute values
+	 * @param seed random seed
+	 * @return compressed matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static CompressedMatrixBlock createCompressedMatrix(int rows, int cols, double sparsity, int distinct, long seed)
+		throws DMLRuntimeException
+	{
+		MatrixBlock mb = createMatrix(rows, cols, sparsity, seed);
+		if( mb.isInSparseFormat() && mb.getSparseBlock() != null ) {
+			SparseBlock sblock = mb.getSparseBlock();
+			for( int i=0; i<rows; i++ ) {
+				if( sblock.isEmpty(i) ) continue;
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				double[] avals = sblock.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					avals[j] = round(avals[j], distinct);
+			}
+		}
+		else if( mb.getDenseBlock() != null ) {
+			double[] a = mb.getDenseBlock();
+			for( int i=0; i<a.length; i++ )
+				a[i] = round(a[i], distinct);
+		}
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(mb);
+		ret.compress();
+		return ret;
+	}
+
+	private static double round(double v, int distinct) {
+		//rounding away from zero, which retains the non-zero structure
+		return Math.signum(v) * Math.ceil(Math.abs(v) * distinct) / distinct;
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysml.runtime.io.WriterBinaryBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of binary block reads with different block compression
+ * codecs, over matrices with few distinct values (e.g., encoded features).
+ * The file size per codec is printed on setup to relate the reduced I/O 
+ * volume to the decompression overhead. Note that repeated reads are served 
+ * from the OS page cache, i.e., the read times are an upper bound for the
+ * benefits on disk- or network-bound file systems. The snappy and lz4 
+ * codecs require the native hadoop libraries.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BinaryBlockCompressionBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"100"})
+	public int cols;
+
+	@Param({"1.0", "0.05"})
+	public double sparsity;
+
+	@Param({"none", "deflate", "bzip2"})
+	public String codec;
+
+	private static final int BLEN = 1000;
+
+	private File _dir = null;
+	private String _fname = null;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, DMLRuntimeException {
+		//create input w/ 16 distinct values
+		MatrixBlock mb = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double v = mb.quickGetValue(i, j);
+				if( v != 0 )
+					mb.quickSetValue(i, j, Math.ceil(v*16));
+			}
+		_dir = File.createTempFile("bbcbench", "");
+		_dir.delete();
+		_dir.mkdirs();
+		_fname = new File(_dir, "X.bin").getAbsolutePath();
+		DMLConfig oldConf = ConfigurationManager.getDMLConfig();
+		try {
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.BINARY_COMPRESSION, codec);
+			ConfigurationManager.setGlobalConfig(conf);
+			new WriterBinaryBlock(-1).writeMatrixToHDFS(mb, _fname, rows, cols, BLEN, BLEN, mb.getNonZeros());
+		}
+		finally {
+			ConfigurationManager.setGlobalConfig(oldConf);
+		}
+		System.out.println("Binary block file size ("+codec+"): "
+			+ MapReduceTool.getFilesizeOnHDFS(new Path(_fname))+" bytes");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		LocalFileUtils.deleteFileIfExists(_dir.getAbsolutePath());
+	}
+
+	@Benchmark
+	public MatrixBlock readBinaryBlock() throws IOException, DMLRuntimeException {
+		return new ReaderBinaryBlockParallel(true).readMatrixFromHDFS(_fname, rows, cols, BLEN, BLEN, -1);
+	}
+}
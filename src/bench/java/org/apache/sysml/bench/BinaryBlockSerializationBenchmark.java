@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the binary block serialization of matrix blocks,
+ * i.e., write and read via the stream-based fast buffered data input/output
+ * (as used for binary block files and local files) as well as via the
+ * byte-array-based cache data input/output (as used by the buffer pool).
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BinaryBlockSerializationBenchmark
+{
+	@Param({"1000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	private MatrixBlock _X = null;
+	private byte[] _bytes = null;
+	private byte[] _cbytes = null;
+
+	@Setup
+	public void setup() throws DMLRuntimeException, IOException {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_bytes = writeStream().toByteArray();
+		_cbytes = writeCache();
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream writeStream() throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream((int)_X.getExactSizeOnDisk());
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(bos);
+		_X.write(out);
+		out.close();
+		return bos;
+	}
+
+	@Benchmark
+	public MatrixBlock readStream() throws IOException {
+		FastBufferedDataInputStream in = new FastBufferedDataInputStream(new ByteArrayInputStream(_bytes));
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(in);
+		in.close();
+		return ret;
+	}
+
+	@Benchmark
+	public byte[] writeCache() throws IOException {
+		byte[] ret = new byte[(int)_X.getExactSerializedSize()];
+		_X.write(new CacheDataOutput(ret));
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock readCache() throws IOException {
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new CacheDataInput(_cbytes));
+		return ret;
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.CSVByteParser;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderTextCSV;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-threaded microbenchmarks of csv parsing, comparing the former
+ * per-line path of String, split/splitCSV, and Double.parseDouble against 
+ * the byte-level csv parser, as well as the end-to-end csv matrix read. 
+ * All benchmarks process the same generated csv data, whose size is
+ * printed during setup, which gives the per-core MB/s as size over the
+ * reported average time.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CSVParseBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"10", "100"})
+	public int cols;
+
+	@Param({"1.0", "0.1"})
+	public double sparsity;
+
+	private byte[] _data = null;
+	private int[] _lineOffsets = null;
+	private double[] _out = null;
+	private File _file = null;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		//generate csv data with the default double string representation
+		MatrixBlock mb = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		Random rand = new Random(BenchmarkUtils.SEED);
+		StringBuilder sb = new StringBuilder();
+		_lineOffsets = new int[rows+1];
+		for( int i=0; i<rows; i++ ) {
+			for( int j=0; j<cols; j++ ) {
+				double v = mb.quickGetValue(i, j);
+				sb.append(j>0 ? "," : "").append((v!=0) ? String.valueOf(v * rand.nextInt(1000)) : "0");
+			}
+			sb.append('\n');
+			_lineOffsets[i+1] = sb.length();
+		}
+		_data = sb.toString().getBytes(StandardCharsets.UTF_8);
+		_out = new double[rows * cols];
+		_file = File.createTempFile("csvbench", ".csv");
+		Files.write(_file.toPath(), _data);
+		System.out.println("\nCSV data size: " + _data.length/(1024*1024) + " MB");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		_file.delete();
+	}
+
+	@Benchmark
+	public double[] parseStringSplit() {
+		double[] out = _out;
+		for( int i=0, ix=0; i<rows; i++ ) {
+			String line = lineToString(i).trim();
+			for( String part : IOUtilFunctions.split(line, ",") ) {
+				part = part.trim();
+				out[ix++] = part.isEmpty() ? 0 : Double.parseDouble(part);
+			}
+		}
+		return out;
+	}
+
+	@Benchmark
+	public double[] parseStringSplitCSV() {
+		double[] out = _out;
+		for( int i=0, ix=0; i<rows; i++ ) {
+			String line = lineToString(i).trim();
+			for( String part : IOUtilFunctions.splitCSV(line, ",") ) {
+				part = part.trim();
+				out[ix++] = part.isEmpty() ? 0 : Double.parseDouble(part);
+			}
+		}
+		return out;
+	}
+
+	@Benchmark
+	public double[] parseBytes() {
+		double[] out = _out;
+		CSVByteParser parser = new CSVByteParser(",");
+		for( int i=0, ix=0; i<rows; i++ ) {
+			parser.reset(_data, _lineOffsets[i], _lineOffsets[i+1]-_lineOffsets[i]);
+			while( parser.next() )
+				out[ix++] = parser.isEmpty() ? 0 : parser.getDouble();
+		}
+		return out;
+	}
+
+	@Benchmark
+	public MatrixBlock readMatrixCSV() throws IOException, DMLRuntimeException {
+		CSVFileFormatProperties props = new CSVFileFormatProperties(false, ",", false, 0, null);
+		return new ReaderTextCSV(props).readMatrixFromHDFS(
+			_file.getAbsolutePath(), rows, cols, 1000, 1000, (long)rows*cols);
+	}
+
+	private String lineToString(int i) {
+		//similar to Text.toString (utf-8 decoding of line bytes)
+		int off = _lineOffsets[i];
+		return new String(_data, off, _lineOffsets[i+1]-off, StandardCharsets.UTF_8);
+	}
+}
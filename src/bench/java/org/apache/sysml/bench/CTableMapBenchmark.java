@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleIterator;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the ctable hash map build and scan, comparing the
+ * open-addressing map against the previous chained hash map with one
+ * entry object per distinct key. The allocated bytes per distinct key
+ * are obtained by running with the GC profiler (-prof gc).
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CTableMapBenchmark
+{
+	@Param({"20000000"})
+	public int numCells;
+
+	@Param({"10000", "10000000"})
+	public int numDistinct;
+
+	private long[] _rix = null;
+	private long[] _cix = null;
+
+	@Setup
+	public void setup() {
+		//generate (row, col) pairs with approx. numDistinct distinct keys
+		Random rand = new Random(BenchmarkUtils.SEED);
+		int ncol = 1000;
+		_rix = new long[numCells];
+		_cix = new long[numCells];
+		for( int i=0; i<numCells; i++ ) {
+			int key = rand.nextInt(numDistinct);
+			_rix[i] = key / ncol + 1;
+			_cix[i] = key % ncol + 1;
+		}
+	}
+
+	@Benchmark
+	public double openAddressing() {
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap();
+		for( int i=0; i<numCells; i++ )
+			map.addValue(_rix[i], _cix[i], 1);
+		double sum = 0;
+		LLDoubleIterator it = map.getIterator();
+		while( it.next() )
+			sum += it.getValue();
+		return sum;
+	}
+
+	@Benchmark
+	public double chained() {
+		ChainedLongLongDoubleHashMap map = new ChainedLongLongDoubleHashMap();
+		for( int i=0; i<numCells; i++ )
+			map.addValue(_rix[i], _cix[i], 1);
+		return map.sum();
+	}
+
+	/**
+	 * Previous chained ctable hash map (baseline).
+	 */
+	private static class ChainedLongLongDoubleHashMap
+	{
+		private static final int INIT_CAPACITY = 8;
+		private static final int RESIZE_FACTOR = 2;
+		private static final float LOAD_FACTOR = 0.75f;
+
+		private LLEntry[] data = new LLEntry[INIT_CAPACITY];
+		private int size = 0;
+
+		public void addValue(long key1, long key2, double value) {
+			int ix = hash(key1, key2) & (data.length-1);
+			for( LLEntry e = data[ix]; e!=null; e = e.next ) {
+				if( e.key1==key1 && e.key2==key2 ) {
+					e.value += value;
+					return;
+				}
+			}
+			LLEntry enew = new LLEntry(key1, key2, value);
+			enew.next = data[ix];
+			data[ix] = enew;
+			size++;
+			if( size >= LOAD_FACTOR*data.length )
+				resize();
+		}
+
+		public double sum() {
+			double ret = 0;
+			for( LLEntry e : data )
+				for( ; e!=null; e = e.next )
+					ret += e.value;
+			return ret;
+		}
+
+		private void resize() {
+			if( data.length > Integer.MAX_VALUE/RESIZE_FACTOR )
+				return;
+			LLEntry[] olddata = data;
+			data = new LLEntry[data.length*RESIZE_FACTOR];
+			size = 0;
+			for( LLEntry e : olddata )
+				for( ; e!=null; e = e.next )
+					addValue(e.key1, e.key2, e.value);
+		}
+
+		private static int hash(long key1, long key2) {
+			int h = UtilFunctions.longlongHashCode(key1, key2);
+			h ^= (h >>> 20) ^ (h >>> 12);
+			return h ^ (h >>> 7) ^ (h >>> 4);
+		}
+
+		private static class LLEntry {
+			private final long key1;
+			private final long key2;
+			private double value;
+			private LLEntry next = null;
+
+			public LLEntry(long k1, long k2, double val) {
+				key1 = k1;
+				key2 = k2;
+				value = val;
+			}
+		}
+	}
+}
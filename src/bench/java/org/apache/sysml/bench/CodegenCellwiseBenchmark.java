@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.codegen.LibSpoofPrimitives;
+import org.apache.sysml.runtime.codegen.SpoofCellwise;
+import org.apache.sysml.runtime.codegen.SpoofRowAggregate;
+import org.apache.sysml.runtime.instructions.cp.DoubleObject;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the runtime of generated cellwise and row aggregate
+ * operators over dense, sparse, and compressed main inputs. The operators
+ * are hand-written equivalents of generated classes for sum(X^2), X*s,
+ * rowSums(X^2), and colSums(X*s), which isolates the input iteration
+ * from the code generation and compilation.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CodegenCellwiseBenchmark
+{
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	@Param({"false", "true"})
+	public boolean compressed;
+
+	@Param({"1"})
+	public int threads;
+
+	private ArrayList<MatrixBlock> _inputs = null;
+	private ArrayList<ScalarObject> _scalars = null;
+	private final SpoofCellwise _sumSq = new TestSumSq();
+	private final SpoofCellwise _mult = new TestMult();
+	private final SpoofCellwise _rowSumSq = new TestRowSumSq();
+	private final SpoofRowAggregate _colSumMult = new TestColSumMult();
+
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_inputs = new ArrayList<MatrixBlock>();
+		_inputs.add(compressed ?
+			BenchmarkUtils.createCompressedMatrix(rows, cols, sparsity, 16, BenchmarkUtils.SEED) :
+			BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED));
+		_scalars = new ArrayList<ScalarObject>();
+		_scalars.add(new DoubleObject(7));
+	}
+
+	@Benchmark
+	public ScalarObject cellSumSq() throws DMLRuntimeException {
+		return _sumSq.execute(_inputs, _scalars, threads);
+	}
+
+	@Benchmark
+	public MatrixBlock cellMult() throws DMLRuntimeException {
+		MatrixBlock out = new MatrixBlock();
+		_mult.execute(_inputs, _scalars, out, threads);
+		return out;
+	}
+
+	@Benchmark
+	public MatrixBlock cellRowSumSq() throws DMLRuntimeException {
+		MatrixBlock out = new MatrixBlock();
+		_rowSumSq.execute(_inputs, _scalars, out, threads);
+		return out;
+	}
+
+	@Benchmark
+	public MatrixBlock rowColSumMult() throws DMLRuntimeException {
+		MatrixBlock out = new MatrixBlock();
+		_colSumMult.execute(_inputs, _scalars, out, threads);
+		return out;
+	}
+
+	public static class TestSumSq extends SpoofCellwise {
+		private static final long serialVersionUID = -2254474006232165429L;
+		public TestSumSq() {
+			super(CellType.FULL_AGG, AggOp.SUM, true);
+		}
+		@Override
+		protected double genexec(double a, double[][] b, double[] scalars, int m, int n, int rowIndex, int colIndex) {
+			return a * a;
+		}
+	}
+
+	public static class TestMult extends SpoofCellwise {
+		private static final long serialVersionUID = 3617233816424330287L;
+		public TestMult() {
+			super(CellType.NO_AGG, null, true);
+		}
+		@Override
+		protected double genexec(double a, double[][] b, double[] scalars, int m, int n, int rowIndex, int colIndex) {
+			return a * scalars[0];
+		}
+	}
+
+	public static class TestRowSumSq extends SpoofCellwise {
+		private static final long serialVersionUID = 6034560251914463514L;
+		public TestRowSumSq() {
+			super(CellType.ROW_AGG, AggOp.SUM, true);
+		}
+		@Override
+		protected double genexec(double a, double[][] b, double[] scalars, int m, int n, int rowIndex, int colIndex) {
+			return a * a;
+		}
+	}
+
+	public static class TestColSumMult extends SpoofRowAggregate {
+		private static final long serialVersionUID = -8421562931540186612L;
+		public TestColSumMult() {
+			super(false, 0);
+		}
+		@Override
+		protected void genexecRowDense(double[] a, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex) {
+			LibSpoofPrimitives.vectMultAdd(a, scalars[0], c, ai, 0, len);
+		}
+		@Override
+		protected void genexecRowSparse(double[] avals, int[] aix, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex) {
+			LibSpoofPrimitives.vectMultAdd(avals, scalars[0], c, aix, ai, 0, len);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of cellwise, matrix-row vector, slicing, and cbind 
+ * operations over compressed matrix blocks, which directly operate on
+ * the compressed column groups instead of decompressing the input.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CompressedOpsBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"100"})
+	public int cols;
+
+	@Param({"1.0", "0.1"})
+	public double sparsity;
+
+	@Param({"8"})
+	public int distinct;
+
+	private CompressedMatrixBlock _X = null;
+	private MatrixBlock _v = null;
+	private UnaryOperator _abs = null;
+	private BinaryOperator _minus = null;
+
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_X = BenchmarkUtils.createCompressedMatrix(rows, cols, sparsity, distinct, BenchmarkUtils.SEED);
+		_v = BenchmarkUtils.createMatrix(1, cols, 1.0, BenchmarkUtils.SEED);
+		_abs = new UnaryOperator(Builtin.getBuiltinFnObject("abs"));
+		_minus = new BinaryOperator(Minus.getMinusFnObject());
+	}
+
+	@Benchmark
+	public MatrixValue unaryAbs() throws DMLRuntimeException {
+		return _X.unaryOperations(_abs, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixValue minusRowVector() throws DMLRuntimeException {
+		return _X.binaryOperations(_minus, _v, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock sliceRows() throws DMLRuntimeException {
+		return _X.sliceOperations(rows/4, 3*rows/4-1, 0, cols-1, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock sliceColumns() throws DMLRuntimeException {
+		return _X.sliceOperations(0, rows-1, 0, cols/2-1, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock cbind() throws DMLRuntimeException {
+		return _X.appendOperations(_X, new MatrixBlock());
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.EvictionQueue;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the buffer pool eviction policies, which replays a trace of
+ * buffer pool accesses against a given write buffer size. The trace is either
+ * recorded from a DML script run (-p script=path/to/script.dml) or a synthetic
+ * trace of an iterative algorithm with loop-invariant inputs and per-iteration
+ * temporaries. Besides the replay time, the hits, misses, and evicted MB are
+ * reported as auxiliary counters (per replay).
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvictionPolicyBenchmark
+{
+	@Param({"FIFO", "LRU", "GDS", "LIFETIME"})
+	public String policy;
+
+	@Param({"256"})
+	public long bufferMB;
+
+	@Param({""})
+	public String script;
+
+	private List<String> _trace = null;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class ReplayCounters {
+		public long hits;
+		public long misses;
+		public double evictedMB;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		if( script.isEmpty() )
+			_trace = createSyntheticTrace();
+		else {
+			//obtain trace of buffer pool accesses from a real script run
+			LazyWriteBuffer.startTrace();
+			DMLScript.main(new String[]{"-f", script});
+			_trace = LazyWriteBuffer.stopTrace();
+		}
+	}
+
+	@Benchmark
+	public long replay(ReplayCounters counters) {
+		long[] stats = replayTrace(_trace, RPolicy.valueOf(policy), bufferMB * 1024 * 1024);
+		counters.hits += stats[0];
+		counters.misses += stats[1];
+		counters.evictedMB += ((double)stats[2]) / (1024 * 1024);
+		return stats[0];
+	}
+
+	/**
+	 * Replays a buffer pool trace, mirroring the write buffer logic without
+	 * serialization (entries are unallocated byte buffer handles).
+	 *
+	 * @param trace list of trace entries
+	 * @param policy eviction policy
+	 * @param limit write buffer size in bytes
+	 * @return hits, misses, and evicted bytes
+	 */
+	private static long[] replayTrace(List<String> trace, RPolicy policy, long limit) {
+		EvictionQueue queue = EvictionQueue.createEvictionQueue(policy);
+		long size = 0, hits = 0, misses = 0, evicted = 0;
+		for( String line : trace ) {
+			String[] parts = line.split("\t");
+			String fname = parts[1];
+			switch( parts[0].charAt(0) ) {
+				case 'W': {
+					long lSize = Long.parseLong(parts[2]);
+					if( lSize > limit )
+						break; //bypass write buffer
+					while( size+lSize >= limit ) {
+						ByteBuffer tmp = queue.removeFirst().getValue();
+						size -= tmp.getSize();
+						evicted += tmp.getSize();
+					}
+					queue.put(fname, new ByteBuffer(lSize));
+					size += lSize;
+					break;
+				}
+				case 'R':
+					if( queue.get(fname) != null )
+						hits++;
+					else
+						misses++;
+					break;
+				case 'D': {
+					ByteBuffer tmp = queue.remove(fname);
+					if( tmp != null )
+						size -= tmp.getSize();
+					break;
+				}
+				case 'H':
+					queue.updateLifetimeHint(fname, Integer.parseInt(parts[2]));
+					break;
+			}
+		}
+		return new long[]{hits, misses, evicted};
+	}
+
+	private static List<String> createSyntheticTrace() {
+		//iterative algorithm w/ 4 loop-invariant inputs (64MB each) and
+		//8 temporaries per iteration (16MB each), in the trace format of
+		//LazyWriteBuffer (write, read, delete, and lifetime hints)
+		List<String> trace = new ArrayList<String>();
+		long mb = 1024 * 1024;
+		for( int j=0; j<4; j++ ) {
+			trace.add("W\tX"+j+"\t"+(64*mb));
+			trace.add("H\tX"+j+"\t1");
+		}
+		for( int i=0; i<100; i++ ) {
+			for( int j=0; j<8; j++ ) {
+				trace.add("R\tX"+(j%4));
+				trace.add("W\tT"+i+"_"+j+"\t"+(16*mb));
+				if( j > 0 )
+					trace.add("R\tT"+i+"_"+(j-1));
+			}
+			for( int j=0; j<8; j++ )
+				trace.add("D\tT"+i+"_"+j);
+		}
+		for( int j=0; j<4; j++ )
+			trace.add("H\tX"+j+"\t-1");
+		return trace;
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameReaderBinaryBlock;
+import org.apache.sysml.runtime.io.FrameReaderColumnar;
+import org.apache.sysml.runtime.io.FrameWriterBinaryBlock;
+import org.apache.sysml.runtime.io.FrameWriterColumnar;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of reading narrow column projections of a wide frame, 
+ * comparing the binary block format (full read and slice) against the 
+ * columnar frame format with projection pushdown, as well as full reads. 
+ * The frame has alternating string (categorical) and double columns.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FrameColumnarReadBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"200"})
+	public int cols;
+
+	@Param({"5"})
+	public int projected;
+
+	private File _dir = null;
+	private String _fnameBinary = null;
+	private String _fnameColumnar = null;
+	private ValueType[] _schema = null;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, DMLRuntimeException {
+		_schema = new ValueType[cols];
+		for( int j=0; j<cols; j++ )
+			_schema[j] = (j % 2 == 0) ? ValueType.STRING : ValueType.DOUBLE;
+		Random rand = new Random(BenchmarkUtils.SEED);
+		FrameBlock fb = new FrameBlock(_schema);
+		Object[] row = new Object[cols];
+		for( int i=0; i<rows; i++ ) {
+			for( int j=0; j<cols; j++ )
+				row[j] = (j % 2 == 0) ? "v" + rand.nextInt(100) : (Object) rand.nextDouble();
+			fb.appendRow(row);
+		}
+		_dir = File.createTempFile("colbench", "");
+		_dir.delete();
+		_dir.mkdirs();
+		_fnameBinary = new File(_dir, "F.bin").getAbsolutePath();
+		_fnameColumnar = new File(_dir, "F.col").getAbsolutePath();
+		new FrameWriterBinaryBlock().writeFrameToHDFS(fb, _fnameBinary, rows, cols);
+		new FrameWriterColumnar().writeFrameToHDFS(fb, _fnameColumnar, rows, cols);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		LocalFileUtils.deleteFileIfExists(_dir.getAbsolutePath());
+	}
+
+	@Benchmark
+	public FrameBlock projectBinaryBlock() throws IOException, DMLRuntimeException {
+		FrameReaderBinaryBlock reader = new FrameReaderBinaryBlock();
+		return reader.readFrameFromHDFS(_fnameBinary, _schema, 
+			reader.getDefColNames(cols), rows, cols, 0, projected-1);
+	}
+
+	@Benchmark
+	public FrameBlock projectColumnar() throws IOException, DMLRuntimeException {
+		FrameReaderColumnar reader = new FrameReaderColumnar();
+		return reader.readFrameFromHDFS(_fnameColumnar, _schema, 
+			reader.getDefColNames(cols), rows, cols, 0, projected-1);
+	}
+
+	@Benchmark
+	public FrameBlock readBinaryBlock() throws IOException, DMLRuntimeException {
+		return new FrameReaderBinaryBlock().readFrameFromHDFS(_fnameBinary, _schema, rows, cols);
+	}
+
+	@Benchmark
+	public FrameBlock readColumnar() throws IOException, DMLRuntimeException {
+		return new FrameReaderColumnar().readFrameFromHDFS(_fnameColumnar, 
+			UtilFunctions.nCopies(cols, ValueType.STRING), rows, cols);
+	}
+}
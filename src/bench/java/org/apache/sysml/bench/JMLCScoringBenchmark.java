@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.PreparedScriptPool;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of concurrent JMLC scoring, where all benchmark threads
+ * share a single prepared script via a pool of clones (and hence share the
+ * compiled program and reused model). The throughput mode reports requests
+ * per millisecond, while the sample time mode reports the latency 
+ * percentiles (e.g., p0.50 and p0.99). The number of threads can be
+ * overridden with -t.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+@Fork(1)
+public class JMLCScoringBenchmark
+{
+	private static final String SCRIPT_GLM_PREDICT = 
+		  "X = read(\"./tmp/X\");\n"
+		+ "B = read(\"./tmp/B\");\n"
+		+ "lp = X %*% B[1:ncol(X),] + as.scalar(B[nrow(B),1]);\n"
+		+ "mu = 1 / (1 + exp(-lp));\n"
+		+ "write(mu, \"./tmp/Y\");";
+	
+	private static final String SCRIPT_L2SVM_PREDICT = 
+		  "X = read(\"./tmp/X\");\n"
+		+ "B = read(\"./tmp/B\");\n"
+		+ "scores = X %*% B[1:ncol(X),] + as.scalar(B[nrow(B),1]);\n"
+		+ "Y = 2 * (scores > 0) - 1;\n"
+		+ "write(Y, \"./tmp/Y\");";
+	
+	@Param({"glm", "l2svm"})
+	public String script;
+	
+	@Param({"1", "100"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	private Connection _conn = null;
+	private PreparedScriptPool _pool = null;
+	private MatrixBlock _X = null;
+
+	@Setup
+	public void setup() throws DMLException, DMLRuntimeException {
+		//prepare script once and bind model as reused input
+		_conn = new Connection();
+		PreparedScript pstmt = _conn.prepareScript(script.equals("glm") ? 
+			SCRIPT_GLM_PREDICT : SCRIPT_L2SVM_PREDICT, new String[]{"X","B"}, new String[]{"Y"}, false);
+		pstmt.setMatrix("B", BenchmarkUtils.createMatrix(cols+1, 1, 1.0, BenchmarkUtils.SEED), true);
+		_pool = new PreparedScriptPool(pstmt);
+		_X = BenchmarkUtils.createMatrix(rows, cols, 1.0, BenchmarkUtils.SEED+1);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		IOUtilFunctions.closeSilently(_conn);
+	}
+
+	@Benchmark
+	public double[][] score() throws DMLException {
+		PreparedScript pstmt = _pool.borrowScript();
+		try {
+			pstmt.setMatrix("X", _X, false);
+			return pstmt.executeScript().getMatrix("Y");
+		}
+		finally {
+			_pool.returnScript(pstmt);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.LocalBinaryBlockFile;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.ReaderLocalBinaryBlock;
+import org.apache.sysml.runtime.io.WriterBinaryBlock;
+import org.apache.sysml.runtime.io.WriterLocalBinaryBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of single-node matrix reads from the local file system,
+ * comparing the binary block format (sequence files w/ writable 
+ * deserialization) against the memory-mapped local binary block format,
+ * as well as a full scan over zero-copy views of dense blocks. Note that 
+ * repeated reads are served from the OS page cache.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LocalBinaryBlockReadBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"100"})
+	public int cols;
+
+	@Param({"1.0", "0.05"})
+	public double sparsity;
+
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	private static final int BLEN = 1000;
+
+	private File _dir = null;
+	private String _fnameBinary = null;
+	private String _fnameLocal = null;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, DMLRuntimeException {
+		MatrixBlock mb = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_dir = File.createTempFile("lbbbench", "");
+		_dir.delete();
+		_dir.mkdirs();
+		_fnameBinary = new File(_dir, "X.bin").getAbsolutePath();
+		_fnameLocal = new File(_dir, "X.lbb").getAbsolutePath();
+		new WriterBinaryBlock(-1).writeMatrixToHDFS(mb, _fnameBinary, rows, cols, BLEN, BLEN, mb.getNonZeros());
+		new WriterLocalBinaryBlock().writeMatrixToHDFS(mb, _fnameLocal, rows, cols, BLEN, BLEN, mb.getNonZeros());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		LocalFileUtils.deleteFileIfExists(_dir.getAbsolutePath());
+	}
+
+	@Benchmark
+	public MatrixBlock readBinaryBlock() throws IOException, DMLRuntimeException {
+		return new ReaderBinaryBlock(true).readMatrixFromHDFS(_fnameBinary, rows, cols, BLEN, BLEN, -1);
+	}
+
+	@Benchmark
+	public MatrixBlock readLocalBinaryBlock() throws IOException, DMLRuntimeException {
+		return new ReaderLocalBinaryBlock(parallel).readMatrixFromHDFS(_fnameLocal, rows, cols, BLEN, BLEN, -1);
+	}
+
+	@Benchmark
+	public double scanDenseBlockViews() throws IOException {
+		double sum = 0;
+		LocalBinaryBlockFile file = LocalBinaryBlockFile.open(_fnameLocal);
+		try {
+			for( int bi=0; bi<file.getNumRowBlocks(); bi++ )
+				for( int bj=0; bj<file.getNumColumnBlocks(); bj++ ) {
+					DoubleBuffer view = file.getDenseBlockView(bi, bj);
+					if( view != null )
+						while( view.hasRemaining() )
+							sum += view.get();
+				}
+		}
+		finally {
+			file.close();
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the unary aggregate kernels in LibMatrixAgg, i.e.,
+ * sum, rowSums, and colSums (all with Kahan correction) over dense and
+ * sparse inputs.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MatrixAggBenchmark
+{
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	@Param({"1"})
+	public int threads;
+
+	private MatrixBlock _X = null;
+	private AggregateUnaryOperator _sum = null;
+	private AggregateUnaryOperator _rowSums = null;
+	private AggregateUnaryOperator _colSums = null;
+
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_sum = InstructionUtils.parseBasicAggregateUnaryOperator("uak+");
+		_rowSums = InstructionUtils.parseBasicAggregateUnaryOperator("uark+");
+		_colSums = InstructionUtils.parseBasicAggregateUnaryOperator("uack+");
+	}
+
+	@Benchmark
+	public MatrixBlock sum() throws DMLRuntimeException {
+		return aggregate(_sum);
+	}
+
+	@Benchmark
+	public MatrixBlock rowSums() throws DMLRuntimeException {
+		return aggregate(_rowSums);
+	}
+
+	@Benchmark
+	public MatrixBlock colSums() throws DMLRuntimeException {
+		return aggregate(_colSums);
+	}
+
+	private MatrixBlock aggregate(AggregateUnaryOperator op) throws DMLRuntimeException {
+		//multi-threaded aggregates via operator parallelism (as in CP instructions)
+		AggregateUnaryOperator aop = (threads > 1) ? 
+			new AggregateUnaryOperator(op.aggOp, op.indexFn, threads) : op;
+		return (MatrixBlock) _X.aggregateUnaryOperations(aop, new MatrixBlock(),
+			rows, cols, new MatrixIndexes(1, 1), true);
+	}
+}
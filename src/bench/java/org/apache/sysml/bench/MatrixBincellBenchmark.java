@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the binary cellwise kernels in LibMatrixBincell,
+ * i.e., matrix-matrix, matrix-column vector, matrix-row vector, and
+ * matrix-scalar operations over dense and sparse inputs.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MatrixBincellBenchmark
+{
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	//sparsity of the right-hand-side matrix of matrix-matrix operations
+	@Param({"1.0", "0.1"})
+	public double rsparsity;
+
+	private MatrixBlock _X = null;
+	private MatrixBlock _Y = null;
+	private MatrixBlock _cv = null;
+	private MatrixBlock _rv = null;
+	private BinaryOperator _plus = null;
+	private BinaryOperator _mult = null;
+	private ScalarOperator _smult = null;
+
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_Y = BenchmarkUtils.createMatrix(rows, cols, rsparsity, BenchmarkUtils.SEED+1);
+		_cv = BenchmarkUtils.createMatrix(rows, 1, 1.0, BenchmarkUtils.SEED+2);
+		_rv = BenchmarkUtils.createMatrix(1, cols, 1.0, BenchmarkUtils.SEED+3);
+		_plus = InstructionUtils.parseBinaryOperator("+");
+		_mult = InstructionUtils.parseBinaryOperator("*");
+		_smult = InstructionUtils.parseScalarBinaryOperator("*", false, 7);
+	}
+
+	@Benchmark
+	public MatrixBlock plusMatrix() throws DMLRuntimeException {
+		return (MatrixBlock) _X.binaryOperations(_plus, _Y, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock multMatrix() throws DMLRuntimeException {
+		return (MatrixBlock) _X.binaryOperations(_mult, _Y, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock plusColVector() throws DMLRuntimeException {
+		return (MatrixBlock) _X.binaryOperations(_plus, _cv, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock multRowVector() throws DMLRuntimeException {
+		return (MatrixBlock) _X.binaryOperations(_mult, _rv, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock multScalar() throws DMLRuntimeException {
+		return (MatrixBlock) _X.scalarOperations(_smult, new MatrixBlock());
+	}
+}
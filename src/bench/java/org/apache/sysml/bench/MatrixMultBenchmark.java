@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the matrix multiplication kernels in LibMatrixMult,
+ * i.e., matrix-matrix multiply X %*% Y (dense/sparse left and right
+ * inputs), transpose-self matrix multiply t(X) %*% X, and the matrix
+ * multiply chain t(X) %*% (X %*% v). Dense-dense matrix multiply is
+ * measured with and without the packed kernel (cp.packed.matrixmult)
+ * for tall-skinny, square, and wide shapes of X %*% Y.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MatrixMultBenchmark
+{
+	//shape of X %*% Y: tallskinny (10000x1000 %*% 1000x100),
+	//square (1000x1000 %*% 1000x1000), wide (100x1000 %*% 1000x10000)
+	@Param({"tallskinny", "square", "wide"})
+	public String shape;
+
+	//packed, register-tiled dense-dense matrix multiply
+	@Param({"false", "true"})
+	public boolean packed;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	//sparsity of the right-hand-side of X %*% Y
+	@Param({"1.0"})
+	public double rsparsity;
+
+	//left (t(X) %*% X) or right (X %*% t(X)) transpose-self
+	@Param({"true"})
+	public boolean left;
+
+	@Param({"1"})
+	public int threads;
+
+	private int _rows = -1;
+	private int _cols = -1;
+	private int _rcols = -1;
+	private boolean _oldFlag = false;
+	private MatrixBlock _X = null;
+	private MatrixBlock _Y = null;
+	private MatrixBlock _v = null;
+
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		switch( shape ) {
+			case "tallskinny": _rows = 10000; _cols = 1000; _rcols = 100; break;
+			case "square":     _rows = 1000;  _cols = 1000; _rcols = 1000; break;
+			case "wide":       _rows = 100;   _cols = 1000; _rcols = 10000; break;
+			default:
+				throw new RuntimeException("Unsupported shape: "+shape);
+		}
+		_oldFlag = LibMatrixMult.PACKED_DENSE_MM;
+		LibMatrixMult.PACKED_DENSE_MM = packed;
+		_X = BenchmarkUtils.createMatrix(_rows, _cols, sparsity, BenchmarkUtils.SEED);
+		_Y = BenchmarkUtils.createMatrix(_cols, _rcols, rsparsity, BenchmarkUtils.SEED+1);
+		_v = BenchmarkUtils.createMatrix(_cols, 1, 1.0, BenchmarkUtils.SEED+2);
+	}
+
+	@TearDown
+	public void tearDown() {
+		LibMatrixMult.PACKED_DENSE_MM = _oldFlag;
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMult() throws DMLRuntimeException {
+		MatrixBlock ret = new MatrixBlock(_rows, _rcols, false);
+		if( threads > 1 )
+			LibMatrixMult.matrixMult(_X, _Y, ret, threads);
+		else
+			LibMatrixMult.matrixMult(_X, _Y, ret);
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMultVector() throws DMLRuntimeException {
+		MatrixBlock ret = new MatrixBlock(_rows, 1, false);
+		if( threads > 1 )
+			LibMatrixMult.matrixMult(_X, _v, ret, threads);
+		else
+			LibMatrixMult.matrixMult(_X, _v, ret);
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock tsmm() throws DMLRuntimeException {
+		int dim = left ? _cols : _rows;
+		MatrixBlock ret = new MatrixBlock(dim, dim, false);
+		if( threads > 1 )
+			LibMatrixMult.matrixMultTransposeSelf(_X, ret, left, threads);
+		else
+			LibMatrixMult.matrixMultTransposeSelf(_X, ret, left);
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock mmchain() throws DMLRuntimeException {
+		MatrixBlock ret = new MatrixBlock(_cols, 1, false);
+		if( threads > 1 )
+			LibMatrixMult.matrixMultChain(_X, _v, null, ret, ChainType.XtXv, threads);
+		else
+			LibMatrixMult.matrixMultChain(_X, _v, null, ret, ChainType.XtXv);
+		return ret;
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.SortIndex;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the reorganization kernels in LibMatrixReorg, i.e.,
+ * transpose, sort by column (data and index return), and removeEmpty
+ * over dense and sparse inputs.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MatrixReorgBenchmark
+{
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	@Param({"1"})
+	public int threads;
+
+	private MatrixBlock _X = null;
+	private MatrixBlock _E = null;
+	private ReorgOperator _transpose = null;
+	private ReorgOperator _sort = null;
+	private ReorgOperator _sortIx = null;
+
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		//input with every other row empty for removeEmpty
+		_E = new MatrixBlock(rows, cols, _X.isInSparseFormat());
+		for( int i=0; i<rows; i+=2 )
+			for( int j=0; j<cols; j++ )
+				_E.appendValue(i, j, _X.quickGetValue(i, j));
+		_E.examSparsity();
+		_transpose = new ReorgOperator(SwapIndex.getSwapIndexFnObject(), threads);
+		_sort = new ReorgOperator(SortIndex.getSortIndexFnObject(1, false, false), threads);
+		_sortIx = new ReorgOperator(SortIndex.getSortIndexFnObject(1, false, true), threads);
+	}
+
+	@Benchmark
+	public MatrixBlock transpose() throws DMLRuntimeException {
+		return (MatrixBlock) _X.reorgOperations(_transpose, new MatrixBlock(), 0, 0, 0);
+	}
+
+	@Benchmark
+	public MatrixBlock sort() throws DMLRuntimeException {
+		return (MatrixBlock) _X.reorgOperations(_sort, new MatrixBlock(), 0, 0, 0);
+	}
+
+	@Benchmark
+	public MatrixBlock sortIndexes() throws DMLRuntimeException {
+		return (MatrixBlock) _X.reorgOperations(_sortIx, new MatrixBlock(), 0, 0, 0);
+	}
+
+	@Benchmark
+	public MatrixBlock removeEmptyRows() throws DMLRuntimeException {
+		return _E.removeEmptyOperations(new MatrixBlock(), true);
+	}
+
+	@Benchmark
+	public MatrixBlock removeEmptyCols() throws DMLRuntimeException {
+		return _E.removeEmptyOperations(new MatrixBlock(), false);
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.util.StringDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of recode map build and lookup, comparing the former
+ * HashMap&lt;String,Long&gt; against the compact string dictionary. The
+ * allocated bytes per distinct value are obtained by running with the GC
+ * profiler (-prof gc), while the retained size of the dictionary is
+ * available via StringDictionary.getInMemorySize().
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RecodeMapBenchmark
+{
+	@Param({"1000000"})
+	public int rows;
+
+	@Param({"100", "10000", "1000000"})
+	public int numDistinct;
+
+	private String[] _tokens = null;
+	private HashMap<String,Long> _map = null;
+	private StringDictionary _dict = null;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(BenchmarkUtils.SEED);
+		_tokens = new String[rows];
+		for( int i=0; i<rows; i++ )
+			_tokens[i] = "token" + rand.nextInt(numDistinct);
+		_map = buildHashMap();
+		_dict = buildDictionary();
+	}
+
+	@Benchmark
+	public HashMap<String,Long> buildHashMap() {
+		HashMap<String,Long> map = new HashMap<String,Long>();
+		for( String key : _tokens )
+			if( !map.containsKey(key) )
+				map.put(key, Long.valueOf(map.size()+1));
+		return map;
+	}
+
+	@Benchmark
+	public StringDictionary buildDictionary() {
+		StringDictionary dict = new StringDictionary();
+		for( String key : _tokens )
+			dict.putIfAbsent(key);
+		return dict;
+	}
+
+	@Benchmark
+	public double lookupHashMap() {
+		double sum = 0;
+		for( String key : _tokens )
+			sum += _map.get(key);
+		return sum;
+	}
+
+	@Benchmark
+	public double lookupDictionary() {
+		double sum = 0;
+		for( String key : _tokens )
+			sum += _dict.get(key);
+		return sum;
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the sparse block formats MCSR, CSR, and COO, i.e.,
+ * row-major append (as used by readers and most kernels), random cell
+ * lookups via binary search, and full scans over all non-zeros.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SparseBlockBenchmark
+{
+	private static final int NUM_PROBES = 1<<16;
+
+	@Param({"MCSR", "CSR", "COO"})
+	public SparseBlock.Type type;
+
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"0.1", "0.01", "0.001"})
+	public double sparsity;
+
+	//non-zeros of the input in row-major order
+	private int[] _rix = null;
+	private int[] _cix = null;
+	private double[] _vals = null;
+
+	//sparse block and random probe positions for lookups
+	private SparseBlock _sblock = null;
+	private int[] _prix = null;
+	private int[] _pcix = null;
+
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		MatrixBlock X = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		if( !X.isInSparseFormat() )
+			throw new DMLRuntimeException("Input not in sparse format (sparsity="+sparsity+").");
+		SparseBlock sb = X.getSparseBlock();
+		int nnz = (int) X.getNonZeros();
+		_rix = new int[nnz];
+		_cix = new int[nnz];
+		_vals = new double[nnz];
+		for( int i=0, pos=0; i<rows; i++ ) {
+			if( sb.isEmpty(i) ) continue;
+			int apos = sb.pos(i);
+			int alen = sb.size(i);
+			int[] aix = sb.indexes(i);
+			double[] avals = sb.values(i);
+			for( int j=apos; j<apos+alen; j++, pos++ ) {
+				_rix[pos] = i;
+				_cix[pos] = aix[j];
+				_vals[pos] = avals[j];
+			}
+		}
+		_sblock = SparseBlockFactory.copySparseBlock(type, sb, true);
+
+		Random rand = new Random(BenchmarkUtils.SEED);
+		_prix = new int[NUM_PROBES];
+		_pcix = new int[NUM_PROBES];
+		for( int i=0; i<NUM_PROBES; i++ ) {
+			_prix[i] = rand.nextInt(rows);
+			_pcix[i] = rand.nextInt(cols);
+		}
+	}
+
+	@Benchmark
+	public SparseBlock append() {
+		SparseBlock ret = SparseBlockFactory.createSparseBlock(type, rows);
+		for( int i=0; i<_vals.length; i++ )
+			ret.append(_rix[i], _cix[i], _vals[i]);
+		return ret;
+	}
+
+	@Benchmark
+	public double lookup() {
+		double sum = 0;
+		for( int i=0; i<NUM_PROBES; i++ )
+			sum += _sblock.get(_prix[i], _pcix[i]);
+		return sum;
+	}
+
+	@Benchmark
+	public double scan() {
+		double sum = 0;
+		for( int i=0; i<rows; i++ ) {
+			if( _sblock.isEmpty(i) ) continue;
+			int apos = _sblock.pos(i);
+			int alen = _sblock.size(i);
+			int[] aix = _sblock.indexes(i);
+			double[] avals = _sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				sum += aix[j] * avals[j];
+		}
+		return sum;
+	}
+}
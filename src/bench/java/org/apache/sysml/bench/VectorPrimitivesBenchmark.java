@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseVectorKernels;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the dense vector primitives with scalar (8-way unrolled)
+ * and SIMD (JDK Vector API) kernels, i.e., dot product, axpy, and cellwise 
+ * binary and unary operations at different vector lengths. The SIMD kernels
+ * require a build with profile vector-api and JDK 17+; otherwise, both 
+ * variants execute the scalar code.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class VectorPrimitivesBenchmark
+{
+	@Param({"64", "1024", "65536"})
+	public int len;
+
+	@Param({"false", "true"})
+	public boolean simd;
+
+	private double[] _a = null;
+	private double[] _b = null;
+	private double[] _c = null;
+	private MatrixBlock _X = null;
+	private MatrixBlock _Y = null;
+	private BinaryOperator _mult = null;
+	private ScalarOperator _sdiv = null;
+	private UnaryOperator _sqrt = null;
+	private boolean _oldFlag = true;
+
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_oldFlag = DenseVectorKernels.ENABLED;
+		DenseVectorKernels.ENABLED = simd;
+		_X = BenchmarkUtils.createMatrix(1, len, 1.0, BenchmarkUtils.SEED);
+		_Y = BenchmarkUtils.createMatrix(1, len, 1.0, BenchmarkUtils.SEED+1);
+		_a = _X.getDenseBlock();
+		_b = _Y.getDenseBlock();
+		_c = new double[len];
+		_mult = InstructionUtils.parseBinaryOperator("*");
+		_sdiv = InstructionUtils.parseScalarBinaryOperator("/", false, 7);
+		_sqrt = new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.SQRT));
+	}
+
+	@TearDown
+	public void tearDown() {
+		DenseVectorKernels.ENABLED = _oldFlag;
+	}
+
+	@Benchmark
+	public double dotProduct() {
+		return LibMatrixMult.dotProduct(_a, _b, 0, 0, len);
+	}
+
+	@Benchmark
+	public double[] axpy() {
+		LibMatrixMult.vectMultiplyAdd(0.7, _a, _c, 0, 0, len);
+		return _c;
+	}
+
+	@Benchmark
+	public MatrixBlock multMatrix() throws DMLRuntimeException {
+		return (MatrixBlock) _X.binaryOperations(_mult, _Y, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock divScalar() throws DMLRuntimeException {
+		return (MatrixBlock) _X.scalarOperations(_sdiv, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock sqrt() throws DMLRuntimeException {
+		return (MatrixBlock) _X.unaryOperations(_sqrt, new MatrixBlock());
+	}
+}
@@ -81,8 +81,11 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDHandler;
 import org.apache.sysml.runtime.matrix.CleanupMR;
 import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.DenseVectorKernels;
 import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.utils.Explain;
@@ -572,6 +575,9 @@ public class DMLScript
 		CompilerConfig cconf = OptimizerUtils.constructCompilerConfig(dmlconf);
 		ConfigurationManager.setGlobalConfig(cconf);
 		LOG.debug("\nDML config: \n" + dmlconf.getConfigInfo());
+		
+		//enable or disable SIMD vector primitives (if available)
+		DenseVectorKernels.ENABLED = dmlconf.getBooleanValue(DMLConfig.VECTOR_API);
 
 		//Step 2: set local/remote memory if requested (for compile in AM context) 
 		if( dmlconf.getBooleanValue(DMLConfig.YARN_APPMASTER) ){
@@ -601,6 +607,7 @@ public class DMLScript
 					dmlconf.getBooleanValue(DMLConfig.CODEGEN_PLANCACHE),
 					dmlconf.getIntValue(DMLConfig.CODEGEN_LITERALS)==2);
 			SpoofCompiler.setExecTypeSpecificJavaCompiler();
+			SpoofCompiler.setPersistentClassCache(dmlconf);
 			dmlt.codgenHopsDAG(prog);
 		}
 		
@@ -654,10 +661,12 @@ public class DMLScript
 		// into performance problems are recorded and displayed
 		GPUStatistics.DISPLAY_STATISTICS = dmlconf.getBooleanValue(DMLConfig.EXTRA_GPU_STATS);
 		LibMatrixDNN.DISPLAY_STATISTICS = dmlconf.getBooleanValue(DMLConfig.EXTRA_DNN_STATS);
+		LibMatrixMult.PACKED_DENSE_MM = dmlconf.getBooleanValue(DMLConfig.CP_PACKED_MATRIXMULT);
 		
 		//Step 10: execute runtime program
 		Statistics.startRunTimer();
 		ExecutionContext ec = null;
+		CommonThreadPool.acquire();
 		try 
 		{  
 			//run execute (w/ exception handling to ensure proper shutdown)
@@ -673,6 +682,7 @@ public class DMLScript
 				SpoofCompiler.cleanupCodeGenerator();
 			if(ec != null && ec instanceof SparkExecutionContext)
 				((SparkExecutionContext) ec).close();
+			CommonThreadPool.release();
 			
 			//display statistics (incl caching stats if enabled)
 			Statistics.stopRunTimer();
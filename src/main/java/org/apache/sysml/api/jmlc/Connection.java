@@ -60,6 +60,7 @@ import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.wink.json4j.JSONObject;
 
@@ -94,6 +95,7 @@ import org.apache.wink.json4j.JSONObject;
 public class Connection implements Closeable
 {		
 	private DMLConfig _dmlconf = null;
+	private boolean _closed = false;
 
 	/**
 	 * Connection constructor, the starting point for any other JMLC API calls.
@@ -126,6 +128,9 @@ public class Connection implements Closeable
 		//create thread-local default configuration
 		_dmlconf = new DMLConfig();
 		ConfigurationManager.setLocalConfig(_dmlconf);
+		
+		//register as user of the shared compute pool
+		CommonThreadPool.acquire();
 	}
 	
 	/**
@@ -208,12 +213,21 @@ public class Connection implements Closeable
 	
 	/**
 	 * Close connection to SystemML, which clears the
-	 * thread-local DML and compiler configurations.
+	 * thread-local DML and compiler configurations, and
+	 * releases the shared compute pool (which is only shut 
+	 * down if no other connection is still open).
 	 */
 	@Override
 	public void close() {
 		//clear thread-local dml / compiler configs
 		ConfigurationManager.clearLocalConfigs();
+		
+		//release shared compute pool (once per connection)
+		synchronized( this ) {
+			if( !_closed )
+				CommonThreadPool.release();
+			_closed = true;
+		}
 	}
 	
 	/**
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Micro-batching helper for low-latency scoring of single rows, which
+ * coalesces concurrently submitted scoring requests into a single matrix
+ * and executes the prepared script once per batch. A batch is executed
+ * as soon as the maximum batch size is reached or the maximum delay
+ * since the first request of the batch elapsed. Each request obtains 
+ * the corresponding row of the output matrix.
+ * 
+ * The batches are executed by a single daemon thread over a clone of the
+ * given prepared script, with a reused input array and output buffer. 
+ * Inputs shared across requests (e.g., models) should be bound with 
+ * reuse before creating the scorer.
+ */
+public class MicroBatchScorer implements Closeable 
+{
+	//symbol to signal the worker that no more requests follow
+	private static final ScoringRequest NO_MORE_REQUESTS = new ScoringRequest(null);
+	
+	private final PreparedScript _script;
+	private final String _inVarname;
+	private final String _outVarname;
+	private final int _ncol;
+	private final int _maxBatchSize;
+	private final long _maxDelayNanos;
+	
+	private final LinkedBlockingQueue<ScoringRequest> _queue;
+	private final Thread _worker;
+	private boolean _closed = false; //guarded by _queue
+	
+	/**
+	 * Creates a micro-batch scorer and starts its worker thread.
+	 * 
+	 * @param script prepared script
+	 * @param inVarname registered input variable of the batch matrix
+	 * @param outVarname registered output variable of the batch result (one row per input row)
+	 * @param ncol number of columns of input rows
+	 * @param maxBatchSize maximum number of rows per batch
+	 * @param maxDelayMicros maximum delay of the first request in a batch in microseconds
+	 */
+	public MicroBatchScorer(PreparedScript script, String inVarname, String outVarname, 
+		int ncol, int maxBatchSize, long maxDelayMicros) 
+	{
+		_script = script.clone();
+		_inVarname = inVarname;
+		_outVarname = outVarname;
+		_ncol = ncol;
+		_maxBatchSize = Math.max(maxBatchSize, 1);
+		_maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(maxDelayMicros, 0));
+		_queue = new LinkedBlockingQueue<ScoringRequest>();
+		
+		_worker = new Thread(new BatchWorker(), "MicroBatchScorer");
+		_worker.setDaemon(true);
+		_worker.start();
+	}
+	
+	/**
+	 * Submits a single row for scoring.
+	 * 
+	 * @param row input row of ncol values
+	 * @return future of the corresponding output row
+	 * @throws DMLException if the scorer is closed or the row is invalid
+	 */
+	public Future<double[]> score(double[] row) 
+		throws DMLException 
+	{
+		if( row.length != _ncol )
+			throw new DMLException("Invalid row length: "+row.length+" (expected "+_ncol+").");
+		
+		//check and enqueue atomically wrt close, which guarantees
+		//that all accepted requests precede the end symbol
+		ScoringRequest req = new ScoringRequest(row);
+		synchronized( _queue ) {
+			if( _closed )
+				throw new DMLException("Micro-batch scorer already closed.");
+			_queue.add(req);
+		}
+		return req.result;
+	}
+	
+	/**
+	 * Stops the worker thread after all pending requests are processed.
+	 */
+	@Override
+	public void close() {
+		synchronized( _queue ) {
+			if( _closed )
+				return;
+			_closed = true;
+			_queue.add(NO_MORE_REQUESTS);
+		}
+		
+		//wait for the worker to drain the queue (w/o interrupting
+		//a running script execution)
+		boolean interrupted = false;
+		while( _worker.isAlive() ) {
+			try {
+				_worker.join();
+			}
+			catch(InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if( interrupted )
+			Thread.currentThread().interrupt();
+	}
+	
+	private static class ScoringRequest
+	{
+		private final double[] row;
+		private final CompletableFuture<double[]> result;
+		
+		protected ScoringRequest(double[] row) {
+			this.row = row;
+			this.result = new CompletableFuture<double[]>();
+		}
+	}
+	
+	private class BatchWorker implements Runnable
+	{
+		private final ArrayList<ScoringRequest> _batch = new ArrayList<ScoringRequest>();
+		private double[] _in = new double[_maxBatchSize*_ncol];
+		private double[] _out = null;
+		
+		@Override
+		public void run() {
+			boolean done = false;
+			while( !done ) {
+				try {
+					done = collectBatch();
+				}
+				catch(InterruptedException ex) {
+					//ignore, only stopped via end symbol
+				}
+				if( !_batch.isEmpty() )
+					executeBatch();
+			}
+		}
+		
+		private boolean collectBatch() 
+			throws InterruptedException
+		{
+			//wait for first request, then collect until max batch size or max delay
+			ScoringRequest req = _queue.take();
+			if( req == NO_MORE_REQUESTS )
+				return true;
+			_batch.add(req);
+			long deadline = System.nanoTime() + _maxDelayNanos;
+			if( drainQueue() )
+				return true;
+			while( _batch.size() < _maxBatchSize ) {
+				long remaining = deadline - System.nanoTime();
+				req = (remaining > 0) ? 
+					_queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+				if( req == null )
+					break;
+				if( req == NO_MORE_REQUESTS )
+					return true;
+				_batch.add(req);
+				if( drainQueue() )
+					return true;
+			}
+			return false;
+		}
+		
+		private boolean drainQueue() {
+			//drain available requests, the end symbol is always last
+			_queue.drainTo(_batch, _maxBatchSize - _batch.size());
+			int last = _batch.size() - 1;
+			if( last >= 0 && _batch.get(last) == NO_MORE_REQUESTS ) {
+				_batch.remove(last);
+				return true;
+			}
+			return false;
+		}
+		
+		private void executeBatch() {
+			int n = _batch.size();
+			try {
+				//coalesce rows into reused input array (bound w/o copy)
+				for( int i=0; i<n; i++ )
+					System.arraycopy(_batch.get(i).row, 0, _in, i*_ncol, _ncol);
+				_script.setMatrix(_inVarname, _in, n, _ncol, false);
+				
+				//execute script and split output rows
+				ResultVariables rs = _script.executeScript();
+				MatrixBlock mb = rs.getMatrixBlock(_outVarname);
+				if( mb.getNumRows() != n )
+					throw new DMLException("Invalid number of output rows: "+mb.getNumRows()+" (expected "+n+").");
+				_out = DataConverter.convertToDoubleVector(mb, _out);
+				int ocol = mb.getNumColumns();
+				for( int i=0; i<n; i++ )
+					_batch.get(i).result.complete(
+						Arrays.copyOfRange(_out, i*ocol, (i+1)*ocol));
+			}
+			catch(Throwable ex) {
+				for( ScoringRequest req : _batch )
+					req.result.completeExceptionally(ex);
+			}
+			finally {
+				_script.clearParameters();
+				_batch.clear();
+			}
+		}
+	}
+}
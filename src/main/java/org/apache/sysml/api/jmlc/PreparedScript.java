@@ -28,7 +28,9 @@ import java.util.List;
 import java.util.Map.Entry;
 
 import org.apache.sysml.api.DMLException;
+import org.apache.sysml.conf.CompilerConfig;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
@@ -49,11 +51,18 @@ import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.utils.Explain;
 
 /**
  * Representation of a prepared (precompiled) DML/PyDML script.
+ * 
+ * A prepared script is not thread-safe because it holds a single symbol
+ * table of bound inputs and outputs. For concurrent execution, use 
+ * {@link #clone()} to obtain a copy per thread, which shares the compiled
+ * runtime program and reused inputs but has its own symbol table, or a
+ * {@link PreparedScriptPool} of such copies.
  */
 public class PreparedScript 
 {
@@ -66,6 +75,10 @@ public class PreparedScript
 	private Program _prog = null;
 	private LocalVariableMap _vars = null; 
 	
+	//configurations of the creating connection
+	private DMLConfig _dmlconf = null;
+	private CompilerConfig _cconf = null;
+	
 	/**
 	 * Meant to be invoked only from Connection.
 	 * 
@@ -84,6 +97,44 @@ public class PreparedScript
 		_outVarnames = new HashSet<String>();
 		Collections.addAll(_outVarnames, outputs);
 		_inVarReuse = new HashMap<String, Data>();
+		
+		//obtain thread-local configurations of the connection
+		_dmlconf = ConfigurationManager.getDMLConfig();
+		_cconf = ConfigurationManager.getCompilerConfig();
+	}
+	
+	/**
+	 * Copy constructor, used for cloning prepared scripts.
+	 * 
+	 * @param that prepared script to copy
+	 */
+	private PreparedScript( PreparedScript that ) 
+	{
+		//share read-only program, var names, and configurations
+		_prog = that._prog;
+		_inVarnames = that._inVarnames;
+		_outVarnames = that._outVarnames;
+		_dmlconf = that._dmlconf;
+		_cconf = that._cconf;
+		
+		//create own symbol table, but share reused inputs
+		_vars = new LocalVariableMap();
+		_inVarReuse = new HashMap<String, Data>(that._inVarReuse);
+	}
+	
+	/**
+	 * Creates a shallow copy of this prepared script for concurrent
+	 * execution, which shares the compiled runtime program (including
+	 * all instructions) as well as inputs bound with reuse, but creates
+	 * a new symbol table. Inputs bound without reuse are not copied.
+	 * Different copies can be executed concurrently by different threads,
+	 * while each copy itself is still meant for use by one thread at a time.
+	 * 
+	 * @return new prepared script sharing the compiled program
+	 */
+	@Override
+	public PreparedScript clone() {
+		return new PreparedScript(this);
 	}
 	
 	/**
@@ -219,10 +270,68 @@ public class PreparedScript
 		setMatrix(varname, DataConverter.convertToMatrixBlock(matrix), reuse);
 	}
 	
+	/**
+	 * Binds a dense matrix to a registered input variable, where the given
+	 * caller-owned row-major array is wrapped without copying. The array 
+	 * must not be modified until the script execution completed.
+	 * 
+	 * @param varname input variable name
+	 * @param data row-major dense array of at least rows*cols cells
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 * @throws DMLException if DMLException occurs
+	 */
+	public void setMatrix(String varname, double[] data, int rows, int cols, boolean reuse) throws DMLException {
+		try {
+			setMatrix(varname, new MatrixBlock(rows, cols, -1, data), reuse);
+		}
+		catch(RuntimeException ex) {
+			throw new DMLException(ex);
+		}
+	}
+	
+	/**
+	 * Binds a sparse matrix to a registered input variable, where the given
+	 * caller-owned arrays in compressed sparse row (CSR) format are wrapped 
+	 * without copying. The arrays must not be modified until the script 
+	 * execution completed.
+	 * 
+	 * @param varname input variable name
+	 * @param rowPtr row pointers of length rows+1, starting at 0
+	 * @param colInd column indexes of non-zero values (sorted per row, less than cols)
+	 * @param values non-zero values (at least rowPtr[rows])
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 * @throws DMLException if DMLException occurs
+	 */
+	public void setMatrix(String varname, int[] rowPtr, int[] colInd, double[] values, int rows, int cols, boolean reuse) 
+		throws DMLException 
+	{
+		//validate CSR arrays (to prevent corrupted inputs from failing deep inside operations)
+		if( rowPtr.length != rows+1 || rowPtr[0] != 0 )
+			throw new DMLException("Invalid CSR row pointers of length "+rowPtr.length+" for "+rows+" rows.");
+		int nnz = rowPtr[rows];
+		if( colInd.length < nnz || values.length < nnz )
+			throw new DMLException("Invalid CSR column indexes/values of length "
+				+colInd.length+"/"+values.length+" for "+nnz+" non-zeros.");
+		for( int i=0; i<rows; i++ ) {
+			if( rowPtr[i] > rowPtr[i+1] )
+				throw new DMLException("Invalid CSR row pointers: decreasing at row "+i+".");
+			for( int k=rowPtr[i]; k<rowPtr[i+1]; k++ )
+				if( colInd[k] < 0 || colInd[k] >= cols )
+					throw new DMLException("Invalid CSR column index "+colInd[k]+" in row "+i+" for "+cols+" columns.");
+		}
+		SparseBlockCSR sblock = new SparseBlockCSR(rowPtr, colInd, values, nnz);
+		setMatrix(varname, new MatrixBlock(rows, cols, nnz, sblock), reuse);
+	}
+	
 	/**
 	 * Binds a matrix object to a registered input variable. 
 	 * If reuse requested, then the input is guaranteed to be 
 	 * preserved over multiple <code>executeScript</code> calls. 
+	 * The matrix block is bound without copying.
 	 * 
 	 * @param varname input variable name
 	 * @param matrix matrix represented as a MatrixBlock
@@ -377,6 +486,13 @@ public class PreparedScript
 	public ResultVariables executeScript() 
 		throws DMLException
 	{
+		//set configurations of the connection, which are thread-local
+		//and hence not necessarily available in the executing thread
+		if( _dmlconf != null )
+			ConfigurationManager.setLocalConfig(_dmlconf);
+		if( _cconf != null )
+			ConfigurationManager.setLocalConfig(_cconf);
+		
 		//add reused variables
 		for( Entry<String,Data> e : _inVarReuse.entrySet() )
 			_vars.put(e.getKey(), e.getValue());
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Thread-safe pool of prepared scripts for concurrent scoring, where all
+ * pooled scripts are clones of a single prepared script and hence share 
+ * its compiled runtime program and reused (e.g., model) inputs. Threads 
+ * obtain a script via {@link #borrowScript()}, bind their inputs, execute
+ * the script, and hand it back via {@link #returnScript(PreparedScript)}.
+ * New clones are created on demand, so the pool size is bounded by the 
+ * maximum number of concurrently borrowed scripts.
+ */
+public class PreparedScriptPool 
+{
+	private final PreparedScript _script;
+	private final ConcurrentLinkedQueue<PreparedScript> _pool;
+	
+	/**
+	 * Creates a pool of clones of the given prepared script. Inputs to
+	 * be shared across all pooled scripts should be bound with reuse 
+	 * before the pool is created.
+	 * 
+	 * @param script prepared script
+	 */
+	public PreparedScriptPool(PreparedScript script) {
+		_script = script;
+		_pool = new ConcurrentLinkedQueue<PreparedScript>();
+	}
+	
+	/**
+	 * Obtains a prepared script from the pool, or a new clone
+	 * if no pooled script is available.
+	 * 
+	 * @return prepared script exclusively used by the caller until returned
+	 */
+	public PreparedScript borrowScript() {
+		PreparedScript ret = _pool.poll();
+		return (ret != null) ? ret : _script.clone();
+	}
+	
+	/**
+	 * Returns a previously borrowed prepared script to the pool, 
+	 * after clearing all bound (non-reused) inputs and outputs.
+	 * 
+	 * @param script prepared script
+	 */
+	public void returnScript(PreparedScript script) {
+		script.clearParameters();
+		_pool.offer(script);
+	}
+	
+	/**
+	 * Gets the number of currently pooled (i.e., idle) prepared scripts.
+	 * 
+	 * @return number of pooled scripts
+	 */
+	public int size() {
+		return _pool.size();
+	}
+}
@@ -96,6 +96,61 @@ public class ResultVariables
 		return ret;
 	}
 	
+	/**
+	 * Obtain the matrix represented by the given output variable as a 
+	 * row-major double array, written into the given reusable output
+	 * buffer if it is sufficiently large (i.e., at least rows*cols cells).
+	 * Otherwise, a new array is allocated, which can serve as buffer for
+	 * subsequent calls.
+	 * 
+	 * @param varname output variable name
+	 * @param buff reusable output buffer, or null
+	 * @return matrix as row-major double array (buff if reused)
+	 * @throws DMLException if DMLException occurs
+	 */
+	public double[] getMatrix(String varname, double[] buff) 
+		throws DMLException
+	{
+		MatrixObject mo = getMatrixObject(varname);
+		MatrixBlock mb = mo.acquireRead();
+		double[] ret = DataConverter.convertToDoubleVector(mb, buff);
+		mo.release();
+		
+		return ret;
+	}
+	
+	/**
+	 * Obtain the matrix represented by the given output variable as a 
+	 * matrix block, i.e., without conversion or copy.
+	 * 
+	 * @param varname output variable name
+	 * @return matrix as a MatrixBlock
+	 * @throws DMLException if DMLException occurs
+	 */
+	public MatrixBlock getMatrixBlock(String varname) 
+		throws DMLException
+	{
+		MatrixObject mo = getMatrixObject(varname);
+		MatrixBlock ret = mo.acquireRead();
+		mo.release();
+		
+		return ret;
+	}
+	
+	private MatrixObject getMatrixObject(String varname) 
+		throws DMLException
+	{
+		if( !_out.containsKey(varname) )
+			throw new DMLException("Non-existent output variable: "+varname);
+		
+		//basic checks for data type	
+		Data dat = _out.get(varname);
+		if( !(dat instanceof MatrixObject) )
+			throw new DMLException("Expected matrix result '"+varname+"' not a matrix.");
+		
+		return (MatrixObject)dat;
+	}
+	
 	/**
 	 * Obtain the frame represented by the given output variable.
 	 * 
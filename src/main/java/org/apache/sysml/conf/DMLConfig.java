@@ -70,10 +70,21 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE        = "dml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_MATRIXMULT = "cp.parallel.matrixmult";
 	public static final String CP_PARALLEL_TEXTIO   = "cp.parallel.textio";
+	public static final String CP_PACKED_MATRIXMULT = "cp.packed.matrixmult"; //boolean
+	public static final String CP_CACHING_OFFHEAP   = "cp.caching.offheap"; //none, direct, mmap
+	public static final String CP_CACHING_OFFHEAP_SIZE = "cp.caching.offheap.size"; //in MB
+	public static final String CP_CACHING_POLICY    = "cp.caching.policy"; //fifo, lru, gds, lifetime
+	public static final String CP_CACHING_PREFETCH  = "cp.caching.prefetch"; //num instructions ahead
+	public static final String CP_CACHING_COMPRESS  = "cp.caching.compress"; //boolean
+	public static final String BINARY_COMPRESSION   = "binary.compression"; //none, or hadoop codec (e.g., deflate, snappy, lz4)
 	public static final String COMPRESSED_LINALG    = "compressed.linalg";
 	public static final String CODEGEN              = "codegen.enabled"; //boolean
 	public static final String CODEGEN_PLANCACHE    = "codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_CLASSCACHE   = "codegen.classcache"; //boolean
+	public static final String CODEGEN_CLASSCACHE_DIR = "codegen.classcache.dir"; //local dir, default under localtmpdir
+	public static final String CODEGEN_CLASSCACHE_SIZE = "codegen.classcache.size"; //in MB
+	public static final String VECTOR_API           = "vector.api"; //boolean
 	public static final String EXTRA_GPU_STATS			= "systemml.stats.extraGPU"; //boolean
 	public static final String EXTRA_DNN_STATS			= "systemml.stats.extraDNN"; //boolean
 
@@ -112,10 +123,21 @@ public class DMLConfig
 		_defaultVals.put(YARN_APPQUEUE,    	     "default" );
 		_defaultVals.put(CP_PARALLEL_MATRIXMULT, "true" );
 		_defaultVals.put(CP_PARALLEL_TEXTIO,     "true" );
+		_defaultVals.put(CP_PACKED_MATRIXMULT,   "false" );
+		_defaultVals.put(CP_CACHING_OFFHEAP,     "none" );
+		_defaultVals.put(CP_CACHING_OFFHEAP_SIZE, "2048" );
+		_defaultVals.put(CP_CACHING_POLICY,      "fifo" );
+		_defaultVals.put(CP_CACHING_PREFETCH,    "0" );
+		_defaultVals.put(CP_CACHING_COMPRESS,    "false" );
+		_defaultVals.put(BINARY_COMPRESSION,     "none" );
 		_defaultVals.put(COMPRESSED_LINALG,      "false" );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_CLASSCACHE,     "false" );
+		_defaultVals.put(CODEGEN_CLASSCACHE_DIR, "" );
+		_defaultVals.put(CODEGEN_CLASSCACHE_SIZE, "64" );
+		_defaultVals.put(VECTOR_API,             "true" );
 
 		_defaultVals.put(EXTRA_GPU_STATS,       "false" );
 		_defaultVals.put(EXTRA_DNN_STATS,       "false" );
@@ -406,7 +428,7 @@ public class DMLConfig
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
 				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO,
-				COMPRESSED_LINALG, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE,
+				COMPRESSED_LINALG, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE, CODEGEN_CLASSCACHE,
 				EXTRA_GPU_STATS, EXTRA_DNN_STATS
 		}; 
 		
@@ -429,6 +429,11 @@ public class DataOp extends Hop
 			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR) )
 				_etypeForced = ExecType.CP;
 			
+			//local binary block and columnar files are written in CP only
+			if( _dataop == DataOpTypes.PERSISTENTWRITE && (_inFormat == FileFormatTypes.LOCALBINARY
+				|| _inFormat == FileFormatTypes.COLUMNAR) )
+				_etypeForced = ExecType.CP;
+			
 			if( _etypeForced != null ) 			
 			{
 				_etype = _etypeForced;
@@ -1038,7 +1038,7 @@ public abstract class Hop
 	};
 
 	public enum FileFormatTypes {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LOCALBINARY, COLUMNAR
 	};
 
 	public enum DataOpTypes {
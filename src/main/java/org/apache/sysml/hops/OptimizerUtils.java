@@ -92,6 +92,8 @@ public class OptimizerUtils
 	public static final double INVALID_SIZE = -1d; // memory estimate not computed
 
 	//constants for valid CP matrix dimension sizes / nnz (dense/sparse)
+	//(dense kept at a single array, because large dense blocks are only
+	//supported by a subset of runtime operations, see DenseBlock)
 	public static final long MAX_NUMCELLS_CP_DENSE = Integer.MAX_VALUE;
 	public static final long MAX_NNZ_CP_SPARSE = (MatrixBlock.DEFAULT_SPARSEBLOCK == 
 			SparseBlock.Type.MCSR) ? Long.MAX_VALUE : Integer.MAX_VALUE;
@@ -33,9 +33,12 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.sysml.api.DMLException;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.codegen.cplan.CNode;
 import org.apache.sysml.hops.codegen.cplan.CNodeCell;
 import org.apache.sysml.hops.codegen.cplan.CNodeData;
+import org.apache.sysml.hops.codegen.cplan.CNodeMultiAgg;
 import org.apache.sysml.hops.codegen.cplan.CNodeOuterProduct;
 import org.apache.sysml.hops.codegen.cplan.CNodeTernary;
 import org.apache.sysml.hops.codegen.cplan.CNodeTernary.TernaryType;
@@ -63,6 +66,7 @@ import org.apache.sysml.hops.rewrite.ProgramRewriter;
 import org.apache.sysml.hops.rewrite.RewriteCommonSubexpressionElimination;
 import org.apache.sysml.hops.rewrite.RewriteRemoveUnnecessaryCasts;
 import org.apache.sysml.parser.DMLProgram;
+import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.ForStatement;
 import org.apache.sysml.parser.ForStatementBlock;
 import org.apache.sysml.parser.FunctionStatement;
@@ -74,6 +78,7 @@ import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.parser.WhileStatement;
 import org.apache.sysml.parser.WhileStatementBlock;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.codegen.CodegenClassCache;
 import org.apache.sysml.runtime.codegen.CodegenUtils;
 import org.apache.sysml.runtime.codegen.SpoofCellwise.CellType;
 import org.apache.sysml.runtime.matrix.data.Pair;
@@ -351,6 +356,18 @@ public class SpoofCompiler
 		}
 	}
 	
+	public static void setPersistentClassCache(DMLConfig conf) {
+		if( conf.getBooleanValue(DMLConfig.CODEGEN_CLASSCACHE) ) {
+			String dir = conf.getTextValue(DMLConfig.CODEGEN_CLASSCACHE_DIR);
+			if( dir == null || dir.trim().isEmpty() )
+				dir = conf.getTextValue(DMLConfig.LOCAL_TMP_DIR) + "/codegen_classcache";
+			CodegenClassCache.init(dir, 
+				(long)conf.getIntValue(DMLConfig.CODEGEN_CLASSCACHE_SIZE)*1024*1024);
+		}
+		else
+			CodegenClassCache.disable();
+	}
+	
 	public static void setExecTypeSpecificJavaCompiler() {
 		JAVA_COMPILER = OptimizerUtils.isSparkExecutionMode() ?
 			CompilerType.JANINO : CompilerType.JAVAC;
@@ -454,8 +471,14 @@ public class SpoofCompiler
 		
 		//generate cplan for existing memo table entry
 		if( memo.containsTopLevel(hop.getHopID()) ) {
+			MemoTableEntry best = memo.getBest(hop.getHopID());
+			//skip aggregates already covered by a constructed multi-agg cplan
+			if( best.type == TemplateType.MultiAggTpl && isMultiAggRoot(cplans, hop) ) {
+				hop.setVisited();
+				return;
+			}
 			cplans.put(hop.getHopID(), TemplateUtils
-				.createTemplate(memo.getBest(hop.getHopID()).type)
+				.createTemplate(best.type)
 				.constructCplan(hop, memo, compileLiterals));
 			if( DMLScript.STATISTICS )
 				Statistics.incrementCodegenCPlanCompile(1); 
@@ -474,6 +497,14 @@ public class SpoofCompiler
 		hop.setVisited();
 	}
 	
+	private static boolean isMultiAggRoot(HashMap<Long, Pair<Hop[],CNodeTpl>> cplans, Hop hop) {
+		for( Pair<Hop[],CNodeTpl> cplan : cplans.values() )
+			if( cplan.getValue() instanceof CNodeMultiAgg
+				&& ((CNodeMultiAgg)cplan.getValue()).getRootNodes().contains(hop) )
+				return true;
+		return false;
+	}
+	
 	////////////////////
 	// Codegen hop dag construction
 
@@ -500,7 +531,8 @@ public class SpoofCompiler
 			//replace sub-dag with generated operator
 			Pair<Hop[], Class<?>> tmpCla = clas.get(hop.getHopID());
 			CNodeTpl tmpCNode = cplans.get(hop.getHopID()).getValue();
-			hnew = new SpoofFusedOp(hop.getName(), hop.getDataType(), hop.getValueType(), 
+			DataType dt = (tmpCNode instanceof CNodeMultiAgg) ? DataType.MATRIX : hop.getDataType();
+			hnew = new SpoofFusedOp(hop.getName(), dt, hop.getValueType(), 
 					tmpCla.getValue(), false, tmpCNode.getOutputDimType());
 			Hop[] inHops = tmpCla.getKey();
 			for( int i=0; i<inHops.length; i++ ) {
@@ -514,16 +546,27 @@ public class SpoofCompiler
 			}
 			
 			//modify output parameters 
-			HopRewriteUtils.setOutputParameters(hnew, hop.getDim1(), hop.getDim2(), 
-					hop.getRowsInBlock(), hop.getColsInBlock(), hop.getNnz());
-			if(tmpCNode instanceof CNodeOuterProduct && ((CNodeOuterProduct)tmpCNode).isTransposeOutput() )
-				hnew = HopRewriteUtils.createTranspose(hnew);
-			else if( tmpCNode instanceof CNodeCell && ((CNodeCell)tmpCNode).requiredCastDtm() ) {
-				HopRewriteUtils.setOutputParametersForScalar(hnew);
-				hnew = HopRewriteUtils.createUnary(hnew, OpOp1.CAST_AS_MATRIX);
+			if( tmpCNode instanceof CNodeMultiAgg ) {
+				//1 x #aggregates output, with scalar indexing per fused aggregate
+				ArrayList<Hop> roots = ((CNodeMultiAgg)tmpCNode).getRootNodes();
+				int blksz = ConfigurationManager.getBlocksize();
+				HopRewriteUtils.setOutputParameters(hnew, 1, roots.size(), blksz, blksz, -1);
+				for( int i=0; i<roots.size(); i++ ) {
+					Hop hnewi = HopRewriteUtils.createScalarIndexing(hnew, 1, i+1);
+					HopRewriteUtils.rewireAllParentChildReferences(roots.get(i), hnewi);
+				}
+			}
+			else {
+				HopRewriteUtils.setOutputParameters(hnew, hop.getDim1(), hop.getDim2(), 
+						hop.getRowsInBlock(), hop.getColsInBlock(), hop.getNnz());
+				if(tmpCNode instanceof CNodeOuterProduct && ((CNodeOuterProduct)tmpCNode).isTransposeOutput() )
+					hnew = HopRewriteUtils.createTranspose(hnew);
+				else if( tmpCNode instanceof CNodeCell && ((CNodeCell)tmpCNode).requiredCastDtm() ) {
+					HopRewriteUtils.setOutputParametersForScalar(hnew);
+					hnew = HopRewriteUtils.createUnary(hnew, OpOp1.CAST_AS_MATRIX);
+				}
+				HopRewriteUtils.rewireAllParentChildReferences(hop, hnew);
 			}
-			
-			HopRewriteUtils.rewireAllParentChildReferences(hop, hnew);
 			memo.add(hnew.getHopID());
 		}
 		
@@ -550,7 +593,8 @@ public class SpoofCompiler
 			
 			//collect cplan leaf node names
 			HashSet<Long> leafs = new HashSet<Long>();
-			rCollectLeafIDs(tpl.getOutput(), leafs);
+			for( CNode output : getOutputs(tpl) )
+				rCollectLeafIDs(output, leafs);
 			
 			//create clean cplan w/ minimal inputs
 			if( inHops.length == leafs.size() )
@@ -567,16 +611,19 @@ public class SpoofCompiler
 			}
 			
 			//remove spurious lookups on main input of cell template
-			if( tpl instanceof CNodeCell || tpl instanceof CNodeOuterProduct ) {
+			if( tpl instanceof CNodeCell || tpl instanceof CNodeOuterProduct
+				|| tpl instanceof CNodeMultiAgg ) {
 				CNodeData in1 = (CNodeData)tpl.getInput().get(0);
-				rFindAndRemoveLookup(tpl.getOutput(), in1);
+				for( CNode output : getOutputs(tpl) )
+					rFindAndRemoveLookup(output, in1);
 			}
 			
 			//remove invalid plans with column indexing on main input
-			if( tpl instanceof CNodeCell ) {
+			if( tpl instanceof CNodeCell || tpl instanceof CNodeMultiAgg ) {
 				CNodeData in1 = (CNodeData)tpl.getInput().get(0);
-				if( rHasLookupRC1(tpl.getOutput(), in1) )
-					cplans2.remove(e.getKey());
+				for( CNode output : getOutputs(tpl) )
+					if( rHasLookupRC1(output, in1) )
+						cplans2.remove(e.getKey());
 			}
 			
 			//remove cplan w/ single op and w/o agg
@@ -584,14 +631,19 @@ public class SpoofCompiler
 				&& TemplateUtils.hasSingleOperation(tpl) ) 
 				cplans2.remove(e.getKey());
 				
-			//remove cplan if empty
-			if( tpl.getOutput() instanceof CNodeData )
+			//remove cplan if empty (multi-aggs over data nodes still save scans)
+			if( tpl.getOutput() instanceof CNodeData && !(tpl instanceof CNodeMultiAgg) )
 				cplans2.remove(e.getKey());
 		}
 		
 		return cplans2;
 	}
 	
+	private static ArrayList<CNode> getOutputs(CNodeTpl tpl) {
+		return (tpl instanceof CNodeMultiAgg) ? ((CNodeMultiAgg)tpl).getOutputs() :
+			new ArrayList<CNode>(Arrays.asList(tpl.getOutput()));
+	}
+	
 	private static void rCollectLeafIDs(CNode node, HashSet<Long> leafs) {
 		//collect leaf variable names
 		if( node instanceof CNodeData && !((CNodeData)node).isLiteral() )
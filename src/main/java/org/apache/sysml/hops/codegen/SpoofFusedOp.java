@@ -41,6 +41,7 @@ public class SpoofFusedOp extends Hop implements MultiThreadedHop
 		COLUMN_DIMS_ROWS,
 		COLUMN_DIMS_COLS,
 		SCALAR,
+		MULTI_SCALAR, // multi-aggregate
 		ROW_RANK_DIMS, // right wdivmm 
 		COLUMN_RANK_DIMS  // left wdivmm
 	}
@@ -160,6 +161,9 @@ public class SpoofFusedOp extends Hop implements MultiThreadedHop
 				setDim1(0);
 				setDim2(0);
 				break;
+			case MULTI_SCALAR:
+				//dims fixed to 1 x #aggregates on construction
+				break;
 			case ROW_RANK_DIMS:
 				setDim1(getInput().get(0).getDim1());
 				setDim2(getInput().get(1).getDim2());
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.codegen.cplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.AggOp;
+import org.apache.sysml.hops.codegen.SpoofFusedOp.SpoofOutputDimsType;
+
+public class CNodeMultiAgg extends CNodeTpl
+{
+	private static final String TEMPLATE = 
+			  "package codegen;\n"
+			+ "import org.apache.sysml.runtime.codegen.LibSpoofPrimitives;\n"
+			+ "import org.apache.sysml.runtime.codegen.SpoofMultiAggregate;\n"
+			+ "import org.apache.sysml.runtime.codegen.SpoofCellwise.AggOp;\n"
+			+ "import org.apache.commons.math3.util.FastMath;\n"
+			+ "\n"
+			+ "public final class %TMP% extends SpoofMultiAggregate { \n"
+			+ "  public %TMP%() {\n"
+			+ "    super(%SPARSE_SAFE%, %AGG_OP%);\n"
+			+ "  }\n"
+			+ "  protected void genexec( double a, double[][] b, double[] scalars, double[] c, int m, int n, int rowIndex, int colIndex) { \n"
+			+ "%BODY_dense%"
+			+ "  }\n"
+			+ "}\n";
+	
+	//note: sums are computed w/ kahan corrections in c[len+i] (for all len aggregates)
+	private static final String TEMPLATE_OUT_SUM   = "    LibSpoofPrimitives.kahanAdd(%IN%, c, %IX%, %LEN%);\n";
+	private static final String TEMPLATE_OUT_SUMSQ = "    LibSpoofPrimitives.kahanAdd(%IN% * %IN%, c, %IX%, %LEN%);\n";
+	private static final String TEMPLATE_OUT_MIN   = "    c[%IX%] = Math.min(c[%IX%], %IN%);\n";
+	private static final String TEMPLATE_OUT_MAX   = "    c[%IX%] = Math.max(c[%IX%], %IN%);\n";
+	
+	private ArrayList<CNode> _outputs = null; 
+	private ArrayList<AggOp> _aggOps = null;
+	private ArrayList<Hop> _roots = null;
+	private boolean _sparseSafe = false;
+	
+	public CNodeMultiAgg(ArrayList<CNode> inputs, ArrayList<CNode> outputs ) {
+		super(inputs, outputs.get(0));
+		_outputs = outputs;
+	}
+	
+	public ArrayList<CNode> getOutputs() {
+		return _outputs;
+	}
+	
+	public void setAggOps(ArrayList<AggOp> aggOps) {
+		_aggOps = aggOps;
+		_hash = 0;
+	}
+	
+	public ArrayList<AggOp> getAggOps() {
+		return _aggOps;
+	}
+	
+	public void setRootNodes(ArrayList<Hop> roots) {
+		_roots = roots;
+	}
+	
+	public ArrayList<Hop> getRootNodes() {
+		return _roots;
+	}
+	
+	public void setSparseSafe(boolean flag) {
+		_sparseSafe = flag;
+		_hash = 0;
+	}
+	
+	public boolean isSparseSafe() {
+		return _sparseSafe;
+	}
+	
+	@Override
+	public String codegen(boolean sparse) {
+		String tmp = TEMPLATE;
+		
+		//rename inputs
+		for( CNode output : _outputs )
+			rReplaceDataNode(output, _inputs.get(0), "a");
+		renameInputs(_outputs, _inputs, 1);
+		
+		//generate dense/sparse bodies (w/ shared subexpressions 
+		//generated once because generated flags reset at the end)
+		StringBuilder sb = new StringBuilder();
+		for( CNode output : _outputs )
+			sb.append(output.codegen(false));
+		for( CNode output : _outputs )
+			output.resetGenerated();
+		
+		//append aggregation of all outputs
+		for( int i=0; i<_outputs.size(); i++ ) {
+			CNode output = _outputs.get(i);
+			//note: outputs that are data nodes always refer to the main input
+			//(side inputs are wrapped into lookups), which is not renamed above
+			String varname = (output instanceof CNodeData && !output.isLiteral()) ? 
+				"a" : output.getVarname();
+			String tmpOut = getAggTemplate(_aggOps.get(i));
+			tmpOut = tmpOut.replaceAll("%IX%", String.valueOf(i));
+			tmpOut = tmpOut.replaceAll("%LEN%", String.valueOf(_outputs.size()));
+			tmpOut = tmpOut.replaceAll("%IN%", varname);
+			sb.append(tmpOut);
+		}
+		
+		tmp = tmp.replaceAll("%TMP%", createVarname());
+		tmp = tmp.replaceAll("%BODY_dense%", sb.toString());
+		
+		//replace meta data information
+		StringBuilder aggOps = new StringBuilder();
+		for( int i=0; i<_aggOps.size(); i++ )
+			aggOps.append(((i>0) ? ", " : "") + "AggOp."+_aggOps.get(i).name());
+		tmp = tmp.replaceAll("%AGG_OP%", aggOps.toString());
+		tmp = tmp.replaceAll("%SPARSE_SAFE%", String.valueOf(isSparseSafe()));
+		
+		return tmp;
+	}
+	
+	private static String getAggTemplate(AggOp aggOp) {
+		switch( aggOp ) {
+			case SUM:    return TEMPLATE_OUT_SUM;
+			case SUM_SQ: return TEMPLATE_OUT_SUMSQ;
+			case MIN:    return TEMPLATE_OUT_MIN;
+			case MAX:    return TEMPLATE_OUT_MAX;
+			default:
+				throw new RuntimeException("Unsupported "
+					+ "aggregation type: "+aggOp.name());
+		}
+	}
+
+	@Override
+	public void setOutputDims() {
+		
+	}
+
+	@Override
+	public CNodeTpl clone() {
+		CNodeMultiAgg tmp = new CNodeMultiAgg(_inputs, _outputs);
+		tmp.setDataType(getDataType());
+		tmp.setAggOps(getAggOps());
+		tmp.setSparseSafe(isSparseSafe());
+		tmp.setRootNodes(getRootNodes());
+		return tmp;
+	}
+	
+	@Override
+	public SpoofOutputDimsType getOutputDimType() {
+		return SpoofOutputDimsType.MULTI_SCALAR;
+	}
+	
+	@Override
+	public int hashCode() {
+		if( _hash == 0 ) {
+			int[] tmp = new int[2*_outputs.size()+2];
+			tmp[0] = super.hashCode();
+			for( int i=0; i<_outputs.size(); i++ ) {
+				tmp[2*i+1] = _outputs.get(i).hashCode();
+				tmp[2*i+2] = _aggOps.get(i).hashCode();
+			}
+			tmp[tmp.length-1] = Boolean.valueOf(_sparseSafe).hashCode();
+			_hash = Arrays.hashCode(tmp);
+		}
+		return _hash;
+	}
+	
+	@Override 
+	public boolean equals(Object o) {
+		if(!(o instanceof CNodeMultiAgg))
+			return false;
+		
+		CNodeMultiAgg that = (CNodeMultiAgg)o;
+		boolean ret = super.equals(that)
+			&& _outputs.size() == that._outputs.size()
+			&& _aggOps.equals(that._aggOps)
+			&& _sparseSafe == that._sparseSafe;
+		for( int i=0; ret && i<_outputs.size(); i++ )
+			ret &= _outputs.get(i).equals(that._outputs.get(i))
+				&& equalInputReferences(_outputs.get(i), 
+					that._outputs.get(i), _inputs, that._inputs);
+		return ret;
+	}
+	
+	@Override
+	public String getTemplateInfo() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SPOOF MULTIAGG [aggOps=");
+		sb.append(Arrays.toString(_aggOps.toArray(new AggOp[0])));
+		sb.append(", sparseSafe="+_sparseSafe);
+		sb.append("]");
+		return sb.toString();
+	}
+}
@@ -20,8 +20,10 @@
 package org.apache.sysml.hops.codegen.cplan;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 
 import org.apache.sysml.hops.codegen.SpoofFusedOp.SpoofOutputDimsType;
 import org.apache.sysml.hops.codegen.cplan.CNodeUnary.UnaryType;
@@ -73,6 +75,10 @@ public abstract class CNodeTpl extends CNode implements Cloneable
 	public abstract String getTemplateInfo();
 	
 	protected void renameInputs(ArrayList<CNode> inputs, int startIndex) {
+		renameInputs(Collections.singletonList(_output), inputs, startIndex);
+	}
+	
+	protected void renameInputs(List<CNode> outputs, ArrayList<CNode> inputs, int startIndex) {
 		//create map of hopID to data nodes with new names, used for CSE
 		HashMap<Long, CNode> nodes = new HashMap<Long, CNode>();
 		for(int i=startIndex, sPos=0, mPos=0; i < inputs.size(); i++) {
@@ -86,8 +92,10 @@ public abstract class CNodeTpl extends CNode implements Cloneable
 				nodes.put(cdata.getHopID(), new CNodeData(cdata, "b["+ sPos++ +"]"));
 		}
 		
-		//single pass to replace all names
-		rReplaceDataNode(_output, nodes, new HashMap<Long, CNode>());
+		//single pass to replace all names (w/ shared lookups across outputs)
+		HashMap<Long, CNode> lnodes = new HashMap<Long, CNode>();
+		for( CNode output : outputs )
+			rReplaceDataNode(output, nodes, lnodes);
 	}
 	
 	protected void rReplaceDataNode( CNode root, CNode input, String newName ) {
@@ -62,6 +62,11 @@ public class CPlanMemoTable
 		return _plans.containsKey(hopID);
 	}
 	
+	public boolean contains(long hopID, TemplateType type) {
+		return contains(hopID) && get(hopID).stream()
+			.anyMatch(p -> p.type==type);
+	}
+	
 	public boolean containsTopLevel(long hopID) {
 		return !_plansBlacklist.contains(hopID)
 			&& getBest(hopID) != null;
@@ -86,6 +91,13 @@ public class CPlanMemoTable
 		_plans.get(hop.getHopID()).add(new MemoTableEntry(type, in1, in2, in3));
 	}
 	
+	public void add(Hop hop, MemoTableEntry me) {
+		_hopRefs.put(hop.getHopID(), hop);
+		if( !_plans.containsKey(hop.getHopID()) )
+			_plans.put(hop.getHopID(), new ArrayList<MemoTableEntry>());
+		_plans.get(hop.getHopID()).add(me);
+	}
+	
 	public void addAll(Hop hop, MemoTableEntrySet P) {
 		_hopRefs.put(hop.getHopID(), hop);
 		if( !_plans.containsKey(hop.getHopID()) )
@@ -242,6 +254,8 @@ public class CPlanMemoTable
 	// Memo table entry abstractions
 	//////
 	
+	//note: for multi-aggregate entries (MultiAggTpl), the plan references
+	//point to the fused aggregate hops (incl. the current hop) and not to inputs
 	public static class MemoTableEntry 
 	{
 		public final TemplateType type;
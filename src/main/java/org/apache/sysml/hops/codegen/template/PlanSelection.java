@@ -20,12 +20,22 @@
 package org.apache.sysml.hops.codegen.template;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.AggUnaryOp;
 import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.AggOp;
+import org.apache.sysml.hops.Hop.Direction;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.codegen.template.CPlanMemoTable.MemoTableEntry;
 import org.apache.sysml.hops.codegen.template.TemplateBase.TemplateType;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
@@ -33,6 +43,8 @@ import org.apache.sysml.runtime.util.UtilFunctions;
 
 public abstract class PlanSelection 
 {
+	private static final Log LOG = LogFactory.getLog(PlanSelection.class.getName());
+	
 	private final HashMap<Long, List<MemoTableEntry>> _bestPlans = 
 			new HashMap<Long, List<MemoTableEntry>>();
 	private final HashSet<VisitMark> _visited = new HashSet<VisitMark>();
@@ -59,7 +71,131 @@ public abstract class PlanSelection
 		return (me.type == TemplateType.OuterProdTpl 
 				&& (me.closed || HopRewriteUtils.isBinaryMatrixMatrixOperation(hop)))
 			|| (me.type == TemplateType.RowAggTpl && me.closed)	
-			|| (me.type == TemplateType.CellTpl);
+			|| (me.type == TemplateType.CellTpl)
+			|| (me.type == TemplateType.MultiAggTpl);
+	}
+	
+	/**
+	 * Creates multi-aggregate plans for independent full aggregates over 
+	 * cell plans with shared inputs, and adds them to the memo table. Since 
+	 * multi-aggregates only combine selected cell plans of full aggregates 
+	 * into a single fused operator, this is done after the core plan selection.
+	 * 
+	 * @param memo partial fusion plans P, after plan selection
+	 * @param roots entry points of HOP DAG G
+	 */
+	protected void createAndAddMultiAggPlans(CPlanMemoTable memo, ArrayList<Hop> roots) {
+		//multi-aggregates are only supported in CP (no spark instruction)
+		if( DMLScript.rtplatform == RUNTIME_PLATFORM.SPARK )
+			return;
+		
+		//collect full aggregations as multi-aggregate candidates
+		HashSet<Long> visited = new HashSet<Long>();
+		ArrayList<AggregateInfo> aggInfos = new ArrayList<AggregateInfo>();
+		for( Hop hop : roots )
+			rCollectFullAggregates(memo, hop, visited, aggInfos);
+		if( aggInfos.size() < 2 )
+			return;
+		
+		//greedy grouping of mergeable aggregates (in order of hop ids,
+		//which makes the grouping and thus, the generated code deterministic)
+		aggInfos.sort(Comparator.comparing(a -> a.getFirstHopID()));
+		for( int i=0; i<aggInfos.size(); i++ ) {
+			AggregateInfo current = aggInfos.get(i);
+			for( int j=i+1; j<aggInfos.size(); j++ ) {
+				AggregateInfo that = aggInfos.get(j);
+				if( current.isMergeable(that) && isBeneficialMultiAgg(memo, current, that) ) {
+					current.merge(that);
+					aggInfos.remove(j--);
+				}
+			}
+		}
+		
+		//add multi-aggregate plans to all fused aggregates
+		for( AggregateInfo info : aggInfos ) {
+			if( info._aggregates.size() < 2 )
+				continue;
+			ArrayList<Hop> aggs = new ArrayList<Hop>(info._aggregates.values());
+			MemoTableEntry me = new MemoTableEntry(TemplateType.MultiAggTpl,
+				aggs.get(0).getHopID(), aggs.get(1).getHopID(),
+				(aggs.size()==3) ? aggs.get(2).getHopID() : -1, true);
+			for( Hop agg : aggs )
+				memo.add(agg, me);
+			if( LOG.isTraceEnabled() )
+				LOG.trace("Added multi-aggregate plan: "+me);
+		}
+	}
+	
+	/**
+	 * Determines if merging the given groups of aggregates into a single 
+	 * multi-aggregate is beneficial. By default, all valid merges are 
+	 * considered beneficial because they avoid redundant scans of shared inputs.
+	 * 
+	 * @param memo memo table
+	 * @param agg1 first group of aggregates
+	 * @param agg2 second group of aggregates
+	 * @return true if the merged multi-aggregate is beneficial
+	 */
+	protected boolean isBeneficialMultiAgg(CPlanMemoTable memo, AggregateInfo agg1, AggregateInfo agg2) {
+		return true;
+	}
+	
+	private static void rCollectFullAggregates(CPlanMemoTable memo, Hop current, 
+		HashSet<Long> visited, ArrayList<AggregateInfo> aggInfos) 
+	{
+		if( visited.contains(current.getHopID()) )
+			return;
+		
+		//collect valid full aggregations of selected cell plans
+		if( isValidMultiAggCandidate(memo, current) ) {
+			AggregateInfo tmp = new AggregateInfo(current);
+			rExtractAggregateInfo(memo, current, tmp);
+			aggInfos.add(tmp);
+		}
+		
+		//recursively process children
+		for( Hop c : current.getInput() )
+			rCollectFullAggregates(memo, c, visited, aggInfos);
+		
+		visited.add(current.getHopID());
+	}
+	
+	private static boolean isValidMultiAggCandidate(CPlanMemoTable memo, Hop hop) {
+		if( !(HopRewriteUtils.isAggUnaryOp(hop, AggOp.SUM, AggOp.SUM_SQ, AggOp.MIN, AggOp.MAX)
+			&& ((AggUnaryOp)hop).getDirection()==Direction.RowCol) )
+			return false;
+		Hop in = hop.getInput().get(0);
+		MemoTableEntry best = memo.containsTopLevel(hop.getHopID()) ?
+			memo.getBest(hop.getHopID()) : null;
+		return best != null && best.type == TemplateType.CellTpl
+			&& in.dimsKnown() && in.getDataType().isMatrix()
+			&& OptimizerUtils.estimateSize(in.getDim1(), in.getDim2()) 
+				< OptimizerUtils.getLocalMemBudget();
+	}
+	
+	private static void rExtractAggregateInfo(CPlanMemoTable memo, Hop current, AggregateInfo aggInfo) {
+		//collect fused leaf inputs along the references of cell plans
+		MemoTableEntry me = memo.contains(current.getHopID(), TemplateType.CellTpl) ?
+			memo.getBest(current.getHopID(), TemplateType.CellTpl) : null;
+		for( int i=0; i<current.getInput().size(); i++ ) {
+			Hop c = current.getInput().get(i);
+			if( me != null && me.isPlanRef(i) )
+				rExtractAggregateInfo(memo, c, aggInfo);
+			else if( !aggInfo._fusedInputs.containsKey(c.getHopID()) ) {
+				aggInfo.addFusedInput(c);
+				rCollectDependentAggregates(c, aggInfo._inputAggs, new HashSet<Long>());
+			}
+		}
+	}
+	
+	private static void rCollectDependentAggregates(Hop current, HashSet<Long> aggs, HashSet<Long> visited) {
+		if( visited.contains(current.getHopID()) )
+			return;
+		if( current instanceof AggUnaryOp )
+			aggs.add(current.getHopID());
+		for( Hop c : current.getInput() )
+			rCollectDependentAggregates(c, aggs, visited);
+		visited.add(current.getHopID());
 	}
 	
 	protected void addBestPlan(long hopID, MemoTableEntry me) {
@@ -98,6 +234,61 @@ public abstract class PlanSelection
 		}
 	}
 	
+	/**
+	 * Meta data of a group of full aggregates, which is used to determine
+	 * if aggregates can be fused into a multi-aggregate, i.e., have equal
+	 * input dimensions, a common main input, and no data dependencies.
+	 */
+	protected static class AggregateInfo {
+		public final LinkedHashMap<Long,Hop> _aggregates = new LinkedHashMap<Long,Hop>();
+		public final HashSet<Long> _inputAggs = new HashSet<Long>();
+		public final HashMap<Long,Hop> _fusedInputs = new HashMap<Long,Hop>();
+		public final HashSet<Long> _mainCands = new HashSet<Long>();
+		private final long _rows;
+		private final long _cols;
+		
+		public AggregateInfo(Hop aggregate) {
+			_aggregates.put(aggregate.getHopID(), aggregate);
+			_rows = aggregate.getInput().get(0).getDim1();
+			_cols = aggregate.getInput().get(0).getDim2();
+		}
+		
+		public long getFirstHopID() {
+			return _aggregates.keySet().iterator().next();
+		}
+		
+		public void addFusedInput(Hop input) {
+			_fusedInputs.put(input.getHopID(), input);
+			if( input.getDataType().isMatrix() 
+				&& input.getDim1()==_rows && input.getDim2()==_cols )
+				_mainCands.add(input.getHopID());
+		}
+		
+		public boolean isMergeable(AggregateInfo that) {
+			//check max number of aggregates, equal dimensions, 
+			//common main inputs, and independence of aggregates
+			return _aggregates.size() + that._aggregates.size() <= 3
+				&& _rows == that._rows && _cols == that._cols
+				&& _mainCands.stream().anyMatch(id -> that._mainCands.contains(id))
+				&& _aggregates.keySet().stream().noneMatch(id -> that._inputAggs.contains(id))
+				&& that._aggregates.keySet().stream().noneMatch(id -> _inputAggs.contains(id));
+		}
+		
+		public AggregateInfo merge(AggregateInfo that) {
+			_aggregates.putAll(that._aggregates);
+			_inputAggs.addAll(that._inputAggs);
+			_fusedInputs.putAll(that._fusedInputs);
+			_mainCands.retainAll(that._mainCands);
+			return this;
+		}
+		
+		@Override
+		public String toString() {
+			return "["+Arrays.toString(_aggregates.keySet().toArray(new Long[0]))+": "
+				+Arrays.toString(_fusedInputs.keySet().toArray(new Long[0]))+"]";
+		}
+	}
+	
 	private static class VisitMark {
 		private final long _hopID;
 		private final TemplateType _type;
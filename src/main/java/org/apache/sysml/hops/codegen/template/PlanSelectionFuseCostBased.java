@@ -36,6 +36,7 @@ import org.apache.sysml.hops.AggUnaryOp;
 import org.apache.sysml.hops.BinaryOp;
 import org.apache.sysml.hops.Hop;
 import org.apache.sysml.hops.IndexingOp;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.ParameterizedBuiltinOp;
 import org.apache.sysml.hops.ReorgOp;
 import org.apache.sysml.hops.TernaryOp;
@@ -88,6 +89,9 @@ public class PlanSelectionFuseCostBased extends PlanSelection
 		//take all distinct best plans
 		for( Entry<Long, List<MemoTableEntry>> e : getBestPlans().entrySet() )
 			memo.setDistinct(e.getKey(), e.getValue());
+		
+		//fuse independent full aggregates over shared inputs
+		createAndAddMultiAggPlans(memo, roots);
 	}
 	
 	private static Collection<HashSet<Long>> getConnectedSubGraphs(CPlanMemoTable memo, ArrayList<Hop> roots) 
@@ -343,6 +347,29 @@ public class PlanSelectionFuseCostBased extends PlanSelection
 		return ret;	
 	}
 	
+	@Override
+	protected boolean isBeneficialMultiAgg(CPlanMemoTable memo, AggregateInfo agg1, AggregateInfo agg2) {
+		//multi-aggregates read shared inputs only once, while compute costs are
+		//unaffected; hence, compare read costs of the union of inputs against
+		//the separate operators, subject to the memory budget of a single operator
+		HashMap<Long,Hop> inputs = new HashMap<Long,Hop>(agg1._fusedInputs);
+		inputs.putAll(agg2._fusedInputs);
+		double costsMerged = getReadCosts(inputs.values());
+		double costsSeparate = getReadCosts(agg1._fusedInputs.values())
+			+ getReadCosts(agg2._fusedInputs.values());
+		double memMerged = inputs.values().stream()
+			.mapToDouble(h -> h.getDataType().isMatrix() ? OptimizerUtils
+				.estimateSizeExactSparsity(h.getDim1(), h.getDim2(), h.getNnz()) : 0).sum();
+		return costsMerged < costsSeparate
+			&& memMerged < OptimizerUtils.getLocalMemBudget();
+	}
+	
+	private static double getReadCosts(Collection<Hop> inputs) {
+		return inputs.stream().filter(h -> h.getDataType().isMatrix())
+			.mapToDouble(h -> Math.max(h.getDim1(),1)*Math.max(h.getDim2(),1))
+			.sum() * 8 / READ_BANDWIDTH;
+	}
+	
 	/////////////////////////////////////////////////////////
 	// Cost model fused operators w/ materialization points
 	//////////
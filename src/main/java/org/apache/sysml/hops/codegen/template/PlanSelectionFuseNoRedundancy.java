@@ -50,6 +50,9 @@ public class PlanSelectionFuseNoRedundancy extends PlanSelection
 		//take all distinct best plans
 		for( Entry<Long, List<MemoTableEntry>> e : getBestPlans().entrySet() )
 			memo.setDistinct(e.getKey(), e.getValue());
+		
+		//fuse independent full aggregates over shared inputs
+		createAndAddMultiAggPlans(memo, roots);
 	}
 	
 	private void rSelectPlans(CPlanMemoTable memo, Hop current, TemplateType currentType) 
@@ -26,6 +26,7 @@ import org.apache.sysml.runtime.matrix.data.Pair;
 public abstract class TemplateBase 
 {	
 	public enum TemplateType {
+		MultiAggTpl,
 		RowAggTpl,
 		OuterProdTpl,
 		CellTpl;
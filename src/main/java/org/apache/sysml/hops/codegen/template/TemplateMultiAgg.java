@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.codegen.template;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.AggOp;
+import org.apache.sysml.hops.Hop.OpOp2;
+import org.apache.sysml.hops.codegen.cplan.CNode;
+import org.apache.sysml.hops.codegen.cplan.CNodeData;
+import org.apache.sysml.hops.codegen.cplan.CNodeMultiAgg;
+import org.apache.sysml.hops.codegen.cplan.CNodeTpl;
+import org.apache.sysml.hops.codegen.cplan.CNodeUnary;
+import org.apache.sysml.hops.codegen.cplan.CNodeUnary.UnaryType;
+import org.apache.sysml.hops.codegen.template.CPlanMemoTable.MemoTableEntry;
+import org.apache.sysml.hops.codegen.template.TemplateCell.HopInputComparator;
+import org.apache.sysml.hops.rewrite.HopRewriteUtils;
+import org.apache.sysml.runtime.matrix.data.Pair;
+
+/**
+ * The multi-aggregate template fuses multiple independent full aggregates
+ * over shared inputs into a single operator that computes all aggregates
+ * in a single pass over these inputs. In contrast to the other templates,
+ * this template is not explored via open-fuse-merge-close, but created
+ * during plan selection by combining the cell plans of full aggregates
+ * (see PlanSelection.createAndAddMultiAggPlans). 
+ * 
+ */
+public class TemplateMultiAgg extends TemplateBase 
+{	
+	public TemplateMultiAgg() {
+		super(TemplateType.MultiAggTpl);
+	}
+	
+	public TemplateMultiAgg(boolean closed) {
+		super(TemplateType.MultiAggTpl, closed);
+	}
+
+	@Override
+	public boolean open(Hop hop) {
+		//multi-agg plans are only created during plan selection
+		return false;
+	}
+
+	@Override
+	public boolean fuse(Hop hop, Hop input) {
+		return false;
+	}
+
+	@Override
+	public boolean merge(Hop hop, Hop input) {
+		return false;
+	}
+
+	@Override
+	public CloseType close(Hop hop) {
+		return CloseType.CLOSED_VALID;
+	}
+
+	@Override
+	public Pair<Hop[], CNodeTpl> constructCplan(Hop hop, CPlanMemoTable memo, boolean compileLiterals) 
+	{
+		//get all fused aggregates, including the given hop
+		MemoTableEntry multiAgg = memo.getBest(hop.getHopID(), TemplateType.MultiAggTpl);
+		ArrayList<Hop> roots = new ArrayList<Hop>();
+		for( int i=0; i<3; i++ )
+			if( multiAgg.isPlanRef(i) )
+				roots.add(memo._hopRefs.get(multiAgg.input(i)));
+		
+		//recursively construct the cell plans of all aggregates, where 
+		//shared subexpressions are constructed (and computed) only once
+		HashSet<Hop> inHops = new HashSet<Hop>();
+		HashMap<Long, CNode> tmp = new HashMap<Long, CNode>();
+		TemplateCell tcell = new TemplateCell();
+		for( Hop root : roots )
+			tcell.rConstructCplan(root, memo, tmp, inHops, compileLiterals);
+		
+		//reorder inputs (ensure matrices/vectors come first) and prune literals,
+		//where the first input (with the dimensions of all aggregates) is used 
+		//as main input that drives the iteration over all cells
+		List<Hop> sinHops = inHops.stream()
+			.filter(h -> !(h.getDataType().isScalar() && tmp.get(h.getHopID()).isLiteral()))
+			.sorted(new HopInputComparator()).collect(Collectors.toList());
+		Hop mainInput = sinHops.get(0);
+		
+		//construct template node
+		ArrayList<CNode> inputs = new ArrayList<CNode>();
+		for( Hop in : sinHops )
+			inputs.add(tmp.get(in.getHopID()));
+		ArrayList<CNode> outputs = new ArrayList<CNode>();
+		ArrayList<AggOp> aggOps = new ArrayList<AggOp>();
+		for( Hop root : roots ) {
+			CNode out = tmp.get(root.getHopID());
+			//lookup of directly aggregated side inputs
+			if( out instanceof CNodeData && !out.isLiteral()
+				&& ((CNodeData)out).getHopID() != mainInput.getHopID() )
+				out = new CNodeUnary(out, UnaryType.LOOKUP_RC);
+			outputs.add(out);
+			aggOps.add(TemplateUtils.getAggOp(root));
+		}
+		CNodeMultiAgg tpl = new CNodeMultiAgg(inputs, outputs);
+		tpl.setAggOps(aggOps);
+		tpl.setSparseSafe(isSparseSafe(roots, mainInput));
+		tpl.setRootNodes(roots);
+		
+		// return cplan instance
+		return new Pair<Hop[],CNodeTpl>(sinHops.toArray(new Hop[0]), tpl);
+	}
+	
+	private static boolean isSparseSafe(ArrayList<Hop> roots, Hop mainInput) {
+		//all aggregates need to produce zero for zero cells of the main input,
+		//note: unseen zeros for min/max are handled in the runtime operator
+		boolean ret = true;
+		for( Hop root : roots ) {
+			Hop in = root.getInput().get(0);
+			ret &= (in == mainInput)
+				|| (HopRewriteUtils.isBinary(in, OpOp2.MULT) && in.getInput().contains(mainInput))
+				|| (HopRewriteUtils.isBinary(in, OpOp2.DIV) && in.getInput().get(0) == mainInput);
+		}
+		return ret;
+	}
+}
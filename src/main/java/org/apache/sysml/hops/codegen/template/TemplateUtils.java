@@ -188,6 +188,7 @@ public class TemplateUtils
 			case CellTpl: tpl = new TemplateCell(closed); break;
 			case RowAggTpl: tpl = new TemplateRowAgg(closed); break;
 			case OuterProdTpl: tpl = new TemplateOuterProduct(closed); break;
+			case MultiAggTpl: tpl = new TemplateMultiAgg(closed); break;
 		}
 		return tpl;
 	}
@@ -198,6 +199,7 @@ public class TemplateUtils
 			case CellTpl: tpl = new TemplateBase[]{new TemplateCell(closed), new TemplateRowAgg(closed)}; break;
 			case RowAggTpl: tpl = new TemplateBase[]{new TemplateRowAgg(closed)}; break;
 			case OuterProdTpl: tpl = new TemplateBase[]{new TemplateOuterProduct(closed)}; break;
+			case MultiAggTpl: tpl = new TemplateBase[]{new TemplateMultiAgg(closed)}; break;
 		}
 		return tpl;
 	}
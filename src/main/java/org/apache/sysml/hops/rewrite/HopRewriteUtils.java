@@ -41,6 +41,7 @@ import org.apache.sysml.hops.Hop.OpOp3;
 import org.apache.sysml.hops.Hop.ParamBuiltinOp;
 import org.apache.sysml.hops.Hop.ReOrgOp;
 import org.apache.sysml.hops.HopsException;
+import org.apache.sysml.hops.IndexingOp;
 import org.apache.sysml.hops.LeftIndexingOp;
 import org.apache.sysml.hops.LiteralOp;
 import org.apache.sysml.hops.MemoTable;
@@ -529,6 +530,22 @@ public class HopRewriteUtils
 		return auop;
 	}
 	
+	public static Hop createScalarIndexing(Hop input, long rix, long cix) {
+		Hop ix = createMatrixIndexing(input, rix, cix);
+		return createUnary(ix, OpOp1.CAST_AS_SCALAR);
+	}
+	
+	public static IndexingOp createMatrixIndexing(Hop input, long rix, long cix) {
+		LiteralOp row = new LiteralOp(rix);
+		LiteralOp col = new LiteralOp(cix);
+		IndexingOp ix = new IndexingOp("tmp", DataType.MATRIX, ValueType.DOUBLE, 
+			input, row, row, col, col, true, true);
+		ix.setOutputBlocksizes(input.getRowsInBlock(), input.getColsInBlock());
+		copyLineNumbers(input, ix);
+		ix.refreshSizeInformation();
+		return ix;
+	}
+	
 	public static AggBinaryOp createMatrixMultiply(Hop left, Hop right) {
 		AggBinaryOp mmult = new AggBinaryOp(left.getName(), left.getDataType(), left.getValueType(), OpOp2.MULT, AggOp.SUM, left, right);
 		mmult.setOutputBlocksizes(left.getRowsInBlock(), right.getColsInBlock());
@@ -975,7 +992,8 @@ public class HopRewriteUtils
 	{
 		return (    hop instanceof DataOp 
 				 && ((DataOp)hop).getDataOpType()==DataOpTypes.PERSISTENTREAD
-				 && ((DataOp)hop).getInputFormatType()!=FileFormatTypes.BINARY);
+				 && ((DataOp)hop).getInputFormatType()!=FileFormatTypes.BINARY
+				 && ((DataOp)hop).getInputFormatType()!=FileFormatTypes.LOCALBINARY);
 	}
 	
 	public static boolean rHasSimpleReadChain(Hop root, String var)
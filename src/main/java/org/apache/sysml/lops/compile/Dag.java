@@ -716,9 +716,11 @@ public class Dag<N extends Lop>
 		
 		//send write lop to MR if (1) it is marked with exec type MR (based on its memory estimate), or
 		//(2) if the input lop is in MR and the write format allows to pack it into the same job (this does
-		//not apply to csv write because MR csvwrite is a separate MR job type)
+		//not apply to csv write because MR csvwrite is a separate MR job type, and to local binary and 
+		//columnar write because they are only supported in CP)
 		return (node.getExecType() == ExecType.MR 
-			|| (in.getExecType() == ExecType.MR && nodeFormat != Format.CSV));
+			|| (in.getExecType() == ExecType.MR && nodeFormat != Format.CSV 
+				&& nodeFormat != Format.LOCALBINARY && nodeFormat != Format.COLUMNAR));
 	}
 	
 	/**
@@ -3644,6 +3646,8 @@ public class Dag<N extends Lop>
 			else {
 				if (node.getOutputParameters().getFormat() == Format.TEXT)
 					nodeInputInfo = InputInfo.TextCellInputInfo;
+				else if (node.getOutputParameters().getFormat() == Format.COLUMNAR)
+					throw new LopsException("Invalid format (" + node.getOutputParameters().getFormat() + ") encountered for a node/lop (ID=" + node.getID() + ") with MR input, columnar files are only supported in CP.");
 				else
 					nodeInputInfo = InputInfo.BinaryCellInputInfo;
 			}
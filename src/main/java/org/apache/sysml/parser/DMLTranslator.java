@@ -909,6 +909,22 @@ public class DMLTranslator
 						// write output in binary block format
 					    ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
 					    break;
+					
+					case LOCALBINARY:
+						// write output in local binary block format (CP only)
+						if( ae.getDataType() != DataType.MATRIX )
+							throw new LanguageException(source.printErrorLocation()+": Format '"
+								+ DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY + "' is only supported for matrices.");
+						ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
+						break;
+					
+					case COLUMNAR:
+						// write output in columnar frame format (CP only)
+						if( ae.getDataType() != DataType.FRAME )
+							throw new LanguageException(source.printErrorLocation()+": Format '"
+								+ DataExpression.FORMAT_TYPE_VALUE_COLUMNAR + "' is only supported for frames.");
+						ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1, -1);
+						break;
 						
 						default:
 							throw new LanguageException("Unrecognized file format: " + ae.getInputFormatType());
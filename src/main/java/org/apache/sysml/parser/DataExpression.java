@@ -71,6 +71,8 @@ public class DataExpression extends DataIdentifier
 	public static final String FORMAT_TYPE_VALUE_BINARY 		= "binary";
 	public static final String FORMAT_TYPE_VALUE_CSV			= "csv";
 	public static final String FORMAT_TYPE_VALUE_MATRIXMARKET	= "mm";
+	public static final String FORMAT_TYPE_VALUE_LOCALBINARY	= "localbinary";
+	public static final String FORMAT_TYPE_VALUE_COLUMNAR		= "columnar";
 	
 	public static final String ROWBLOCKCOUNTPARAM = "rows_in_block";
 	public static final String COLUMNBLOCKCOUNTPARAM = "cols_in_block";
@@ -942,6 +944,16 @@ public class DataExpression extends DataIdentifier
 				} else if ( fmt.equalsIgnoreCase("binary") ) {
 					getOutput().setFormatType(FormatType.BINARY);
 					format = 2;
+				} else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_LOCALBINARY) ) {
+					if( !isMatrix )
+						raiseValidateError("Format '" + fmt + "' is only supported for matrices in statement: " + this.toString(), conditional);
+					getOutput().setFormatType(FormatType.LOCALBINARY);
+					format = 2;
+				} else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_COLUMNAR) ) {
+					if( isMatrix )
+						raiseValidateError("Format '" + fmt + "' is only supported for frames in statement: " + this.toString(), conditional);
+					getOutput().setFormatType(FormatType.COLUMNAR);
+					format = 1;
 				} else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV)) 
 				{
 					getOutput().setFormatType(FormatType.CSV);
@@ -1070,9 +1082,11 @@ public class DataExpression extends DataIdentifier
 			
 			if (getVarParam(FORMAT_TYPE) == null || getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase("text"))
 				getOutput().setBlockDimensions(-1, -1);
-			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase("binary"))
+			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase("binary")
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_LOCALBINARY))
 				getOutput().setBlockDimensions(ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
-			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_MATRIXMARKET) || (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV)))
+			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_MATRIXMARKET) || (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV))
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_COLUMNAR))
 				getOutput().setBlockDimensions(-1, -1);
 			
 			else{
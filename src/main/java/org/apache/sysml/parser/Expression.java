@@ -187,10 +187,10 @@ public abstract class Expression
 	};
 
 	/**
-	 * Format types (text, binary, matrix market, csv, unknown).
+	 * Format types (text, binary, matrix market, csv, local binary, columnar, unknown).
 	 */
 	public enum FormatType {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LOCALBINARY, COLUMNAR
 	};
 	
 	protected static final Log LOG = LogFactory.getLog(Expression.class.getName());
@@ -331,10 +331,11 @@ public abstract class Expression
 	/**
 	 * Convert string format type to {@code Hop.FileFormatTypes}.
 	 * 
-	 * @param format String format type ("text", "binary", "mm", "csv")
+	 * @param format String format type ("text", "binary", "mm", "csv", "localbinary", "columnar")
 	 * @return Format as {@code Hop.FileFormatTypes}. Can be
 	 * {@code FileFormatTypes.TEXT}, {@code FileFormatTypes.BINARY}, 
-	 * {@code FileFormatTypes.MM}, or {@code FileFormatTypes.CSV}. Unrecognized
+	 * {@code FileFormatTypes.MM}, {@code FileFormatTypes.CSV},
+	 * {@code FileFormatTypes.LOCALBINARY}, or {@code FileFormatTypes.COLUMNAR}. Unrecognized
 	 * type is set to {@code FileFormatTypes.TEXT}.
 	 */
 	public static FileFormatTypes convertFormatType(String format) {
@@ -352,6 +353,12 @@ public abstract class Expression
 		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV))  {
 			return FileFormatTypes.CSV;
 		}
+		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY))  {
+			return FileFormatTypes.LOCALBINARY;
+		}
+		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_COLUMNAR))  {
+			return FileFormatTypes.COLUMNAR;
+		}
 		// ToDo : throw parse exception for invalid / unsupported format type
 		return FileFormatTypes.TEXT;
 	}
@@ -792,7 +792,7 @@ public class StatementBlock extends LiveVariableAnalysis
 	 		Expression formatTypeExpr = s.getExprParam(DataExpression.FORMAT_TYPE);  
 			if (!(formatTypeExpr instanceof StringIdentifier)){
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE 
-						+ " can only be a string with one of following values: binary, text, mm, csv.", false, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, localbinary, columnar.", false, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 			String ft = formatTypeExpr.toString();
 			if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_BINARY)){
@@ -803,9 +803,13 @@ public class StatementBlock extends LiveVariableAnalysis
 				s.getIdentifier().setFormatType(FormatType.MM);
 			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV)){
 				s.getIdentifier().setFormatType(FormatType.CSV);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY)){
+				s.getIdentifier().setFormatType(FormatType.LOCALBINARY);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_COLUMNAR)){
+				s.getIdentifier().setFormatType(FormatType.COLUMNAR);
 			} else{ 
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE 
-						+ " can only be a string with one of following values: binary, text, mm, csv; invalid format: '"+ft+"'.", false, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, localbinary, columnar; invalid format: '"+ft+"'.", false, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 		} 
 		//case of unspecified format parameter, use default
@@ -841,9 +845,13 @@ public class StatementBlock extends LiveVariableAnalysis
 				s.getTarget().setFormatType(FormatType.MM);
 			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV)){
 				s.getTarget().setFormatType(FormatType.CSV);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY)){
+				s.getTarget().setFormatType(FormatType.LOCALBINARY);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_COLUMNAR)){
+				s.getTarget().setFormatType(FormatType.COLUMNAR);
 			} else{ 
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE 
-						+ " can only be a string with one of following values: binary, text, mm, csv", conditionalValidate, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, localbinary, columnar", conditionalValidate, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 		} else {
 			dataExpr.addVarParam(DataExpression.FORMAT_TYPE, new StringIdentifier(FormatType.TEXT.toString(),
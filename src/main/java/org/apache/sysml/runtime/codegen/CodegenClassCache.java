@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.codegen;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+
+/**
+ * Persistent, size-bounded class cache of generated operators across JVM
+ * processes, which avoids the repeated javac compilation of identical 
+ * fused operators in short-lived jobs. Entries are keyed by a canonical
+ * hash of the generated source code (with normalized variable and class
+ * names), and hold the compiled bytecode as well as the original compile
+ * time. On a cache hit, the class is loaded via the {@link ByteClassLoader}.
+ * 
+ * The cache directory is shared by concurrent processes; entries are written
+ * to temporary files and atomically renamed, and least-recently-used entries
+ * (according to file modification times, updated on hits) are evicted if the
+ * total size exceeds the configured maximum. Any I/O failure falls back to 
+ * regular compilation.
+ */
+public class CodegenClassCache 
+{
+	private static final Log LOG = LogFactory.getLog(CodegenClassCache.class.getName());
+	
+	public static final String CLASS_PREFIX = "SC";
+	private static final String FILE_SUFFIX = ".cla";
+	private static final Pattern VAR_PATTERN = Pattern.compile("TMP[0-9]+");
+	
+	//configuration (set once per process, disabled by default)
+	private static String _dir = null;
+	private static long _maxSize = -1;
+	
+	public static synchronized void init(String dir, long maxSize) {
+		_dir = dir;
+		_maxSize = maxSize;
+		new File(_dir).mkdirs();
+	}
+	
+	public static synchronized void disable() {
+		_dir = null;
+	}
+	
+	public static boolean isEnabled() {
+		return _dir != null;
+	}
+	
+	/**
+	 * Obtains the canonical hash of the given generated source code, 
+	 * where all generated variable and class names are renamed in order
+	 * of first occurrence, which makes the hash independent of the 
+	 * global variable sequence. The hash further includes the java and 
+	 * SystemML versions to prevent incompatible bytecode.
+	 * 
+	 * @param src generated java source code
+	 * @return canonical hash as hex string
+	 */
+	public static String getCanonicalHash(String src) {
+		//normalize generated variable and class names
+		HashMap<String, String> names = new HashMap<String, String>();
+		Matcher m = VAR_PATTERN.matcher(src);
+		StringBuffer sb = new StringBuffer(src.length());
+		while( m.find() ) {
+			String name = names.get(m.group());
+			if( name == null )
+				names.put(m.group(), name = "TMP"+names.size());
+			m.appendReplacement(sb, name);
+		}
+		m.appendTail(sb);
+		sb.append(System.getProperty("java.version"));
+		Package pkg = DMLScript.class.getPackage();
+		sb.append((pkg != null) ? pkg.getImplementationVersion() : null);
+		
+		//compute sha-256 hash
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			byte[] hash = md.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+			StringBuilder ret = new StringBuilder(2*hash.length);
+			for( byte b : hash )
+				ret.append(String.format("%02x", b & 0xFF));
+			return ret.toString();
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Obtains the class name of generated operators with the given
+	 * canonical hash, which is deterministic across processes.
+	 * 
+	 * @param hash canonical hash
+	 * @return simple class name
+	 */
+	public static String getClassname(String hash) {
+		return CLASS_PREFIX + hash;
+	}
+	
+	/**
+	 * Reads the bytecode and original compile time of the given entry.
+	 * 
+	 * @param hash canonical hash
+	 * @param ctime output array for the compile time in nanoseconds (length 1)
+	 * @return bytecode, or null if not existing
+	 */
+	public static byte[] get(String hash, long[] ctime) {
+		String dir = _dir;
+		if( dir == null )
+			return null;
+		File f = new File(dir, hash + FILE_SUFFIX);
+		if( !f.exists() )
+			return null;
+		
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new FileInputStream(f));
+			ctime[0] = in.readLong();
+			byte[] ret = new byte[in.readInt()];
+			in.readFully(ret);
+			f.setLastModified(System.currentTimeMillis()); //maintain lru order
+			return ret;
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to read codegen class cache entry "+f.getName()+".", ex);
+			return null;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+	
+	/**
+	 * Writes the bytecode and compile time of the given entry, and evicts
+	 * least-recently-used entries if the maximum size is exceeded.
+	 * 
+	 * @param hash canonical hash
+	 * @param classBytes bytecode
+	 * @param ctime compile time in nanoseconds
+	 */
+	public static void put(String hash, byte[] classBytes, long ctime) {
+		String dir = _dir;
+		if( dir == null || classBytes == null )
+			return;
+		
+		File f = new File(dir, hash + FILE_SUFFIX);
+		DataOutputStream out = null;
+		try {
+			//write temporary file and atomically rename
+			File ftmp = File.createTempFile(hash, ".tmp", new File(dir));
+			out = new DataOutputStream(new FileOutputStream(ftmp));
+			out.writeLong(ctime);
+			out.writeInt(classBytes.length);
+			out.write(classBytes);
+			out.close();
+			Files.move(ftmp.toPath(), f.toPath(), 
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			
+			//evict entries if necessary
+			evict(dir);
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write codegen class cache entry "+f.getName()+".", ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+	
+	/**
+	 * Gets the total size of all cache entries.
+	 * 
+	 * @return size in bytes
+	 */
+	public static long getSize() {
+		File[] files = listEntries(_dir);
+		long ret = 0;
+		for( File f : files )
+			ret += f.length();
+		return ret;
+	}
+	
+	private static void evict(String dir) {
+		File[] files = listEntries(dir);
+		long size = 0;
+		for( File f : files )
+			size += f.length();
+		if( size <= _maxSize )
+			return;
+		
+		//delete least recently used entries until below max size
+		//(sort by snapshot of modification times, changed by concurrent hits)
+		final HashMap<File, Long> mtimes = new HashMap<File, Long>();
+		for( File f : files )
+			mtimes.put(f, f.lastModified());
+		Arrays.sort(files, new Comparator<File>() {
+			@Override
+			public int compare(File f1, File f2) {
+				return Long.compare(mtimes.get(f1), mtimes.get(f2));
+			}
+		});
+		for( int i=0; i<files.length && size > _maxSize; i++ ) {
+			long len = files[i].length();
+			if( files[i].delete() )
+				size -= len;
+		}
+	}
+	
+	private static File[] listEntries(String dir) {
+		File[] ret = (dir != null) ? new File(dir).listFiles(
+			(d, name) -> name.endsWith(FILE_SUFFIX)) : null;
+		return (ret != null) ? ret : new File[0];
+	}
+}
@@ -60,6 +60,9 @@ public class CodegenUtils
 	//javac-specific working directory for src/class files
 	private static String _workingDir = null;
 	
+	//javac-specific class files of classes loaded from the persistent class cache
+	private static ConcurrentHashMap<String, byte[]> _classBytes = new ConcurrentHashMap<String,byte[]>();
+	
 	public static Class<?> compileClass(String name, String src) 
 			throws DMLRuntimeException
 	{
@@ -68,6 +71,15 @@ public class CodegenUtils
 		if( ret != null ) 
 			return ret;
 		
+		//probe and maintain persistent class cache (javac only, 
+		//because janino classes are shipped as source code)
+		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JAVAC 
+			&& CodegenClassCache.isEnabled() ) {
+			ret = compileClassPersistent(name, src);
+			_cache.put(name, ret);
+			return ret;
+		}
+		
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
 		//compile java source w/ specific compiler
@@ -116,6 +128,8 @@ public class CodegenUtils
 		//get class in a compiler-specific manner
 		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			return _src.get(name).getBytes();
+		else if( _classBytes.containsKey(name) )
+			return _classBytes.get(name);
 		else
 			return getClassAsByteArray(name);
 	}
@@ -123,6 +137,7 @@ public class CodegenUtils
 	public static void clearClassCache() {
 		_cache.clear();
 		_src.clear();
+		_classBytes.clear();
 	}
 	
 	public static void clearClassCache(Class<?> cla) {
@@ -148,6 +163,56 @@ public class CodegenUtils
 		return ret;
 	}
 	
+	private static Class<?> compileClassPersistent(String name, String src) 
+		throws DMLRuntimeException
+	{
+		long t0 = System.nanoTime();
+		
+		//rename class according to canonical hash, which allows reuse 
+		//across processes and for equivalent cplans within a process
+		String hash = CodegenClassCache.getCanonicalHash(src);
+		String sname = name.substring(name.lastIndexOf('.')+1);
+		String pname = name.substring(0, name.lastIndexOf('.')+1)
+			+ CodegenClassCache.getClassname(hash);
+		Class<?> ret = _cache.get(pname);
+		if( ret != null ) 
+			return ret;
+		
+		//probe persistent class cache and load via byte class loader
+		long[] ctime = new long[1];
+		byte[] classBytes = CodegenClassCache.get(hash, ctime);
+		if( classBytes != null ) {
+			try {
+				ret = loadFromClassFile(pname, classBytes);
+				_classBytes.put(pname, classBytes);
+				_cache.put(pname, ret);
+				if( DMLScript.STATISTICS ) {
+					Statistics.incrementCodegenClassCacheHits();
+					Statistics.incrementCodegenClassCompileTimeSaved(
+						Math.max(ctime[0] - (System.nanoTime()-t0), 0));
+				}
+				return ret;
+			}
+			catch(DMLRuntimeException ex) {
+				//fall back to compilation (e.g., for corrupted entries)
+			}
+		}
+		
+		//compile renamed source and write class file to persistent cache
+		ret = compileClassJavac(pname, src.replaceAll("\\b"+sname+"\\b", 
+			CodegenClassCache.getClassname(hash)));
+		_cache.put(pname, ret);
+		long t1 = System.nanoTime();
+		CodegenClassCache.put(hash, getClassAsByteArray(pname), t1-t0);
+		
+		if( DMLScript.STATISTICS ) {
+			Statistics.incrementCodegenClassCompile();
+			Statistics.incrementCodegenClassCompileTime(t1-t0);
+		}
+		
+		return ret;
+	}
+	
 	////////////////////////////
 	//JANINO-specific methods (used for spark environments)
 
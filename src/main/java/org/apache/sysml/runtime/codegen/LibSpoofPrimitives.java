@@ -24,6 +24,8 @@ import java.util.LinkedList;
 
 import org.apache.sysml.runtime.functionobjects.IntegerDivide;
 import org.apache.sysml.runtime.functionobjects.Modulus;
+import org.apache.sysml.runtime.matrix.data.DenseVectorKernels;
+import org.apache.sysml.runtime.matrix.data.DenseVectorKernels.BinaryType;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 
 /**
@@ -85,6 +87,10 @@ public class LibSpoofPrimitives
 	 * @return sum value
 	 */
 	public static double vectSum(double[] a, int ai, int len) { 
+		DenseVectorKernels simd = DenseVectorKernels.get(len);
+		if( simd != null )
+			return simd.vectSum(a, ai, len);
+		
 		double val = 0;
 		final int bn = len%8;
 				
@@ -149,6 +155,11 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectDivWrite(double[] a, double bval, int ai, int len) {
 		double[] c = allocVector(len, false);
+		DenseVectorKernels simd = DenseVectorKernels.get(len);
+		if( simd != null ) {
+			simd.vectBinaryWrite(BinaryType.DIV, a, bval, c, ai, 0, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++, ai++)
 			c[j] = a[ai] / bval;
 		return c;
@@ -328,6 +339,31 @@ public class LibSpoofPrimitives
 		return mod.execute(in1, in2);
 	}
 	
+	/**
+	 * Adds the given value to the partial sum c[ci] with kahan correction
+	 * term c[ci+len], equivalent to KahanPlus but without object allocations.
+	 * 
+	 * @param in value to add
+	 * @param c array of len partial sums, followed by len corrections
+	 * @param ci index of partial sum
+	 * @param len number of partial sums
+	 */
+	public static void kahanAdd(double in, double[] c, int ci, int len) {
+		//fast path for INF/-INF in order to ensure result correctness
+		//(computing corrections otherwise incorrectly computes NaN)
+		if( Double.isInfinite(c[ci]) || Double.isInfinite(in) ) {
+			c[ci] = Double.isInfinite(in) ? in : c[ci];
+			c[ci+len] = 0;
+			return;
+		}
+		
+		//default path for any other value
+		double correction = in + c[ci+len];
+		double sum = c[ci] + correction;
+		c[ci+len] = correction - (sum - c[ci]);
+		c[ci] = sum;
+	}
+	
 	
 	//dynamic memory management
 	
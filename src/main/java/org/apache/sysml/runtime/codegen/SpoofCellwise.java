@@ -22,13 +22,17 @@ package org.apache.sysml.runtime.codegen;
 import java.io.Serializable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.ColGroupValue;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
@@ -38,8 +42,10 @@ import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public abstract class SpoofCellwise extends SpoofOperator implements Serializable
@@ -123,16 +129,19 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 				&& genexec( 0, b, scalars, m, n, 0, 0 ) == 0);
 		
 		double sum = 0;
-		if( k <= 1 ) //SINGLE-THREADED
+		if( isCompressed(inputs.get(0)) && b.length == 0 ) //COMPRESSED W/O SIDE INPUTS
+		{
+			//aggregation over distinct values and counts (independent of #rows)
+			sum = executeCompressedAndAggValues((CompressedMatrixBlock)inputs.get(0), b, scalars, m, n, sparseSafe);
+		}
+		else if( k <= 1 ) //SINGLE-THREADED
 		{
-			sum = ( !inputs.get(0).isInSparseFormat() ) ?
-				executeDenseAndAgg(inputs.get(0).getDenseBlock(), b, scalars, m, n, sparseSafe, 0, m) :
-				executeSparseAndAgg(inputs.get(0).getSparseBlock(), b, scalars, m, n, sparseSafe, 0, m);
+			sum = executeAgg(inputs.get(0), b, scalars, m, n, sparseSafe, 0, m);
 		}
 		else  //MULTI-THREADED
 		{
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<ParAggTask> tasks = new ArrayList<ParAggTask>();
 				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 				int blklen = (int)(Math.ceil((double)m/nk));
@@ -143,11 +152,19 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 				pool.shutdown();
 			
 				//aggregate partial results
-				KahanObject kbuff = new KahanObject(0, 0);
-				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
-				for( Future<Double> task : taskret )
-					kplus.execute2(kbuff, task.get());
-				sum = kbuff._sum;
+				ValueFunction vfun = getAggFunction();
+				if( vfun instanceof KahanFunction ) {
+					KahanObject kbuff = new KahanObject(0, 0);
+					KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+					for( Future<Double> task : taskret )
+						kplus.execute2(kbuff, task.get());
+					sum = kbuff._sum;
+				}
+				else {
+					sum = (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE;
+					for( Future<Double> task : taskret )
+						sum = vfun.execute(sum, task.get());
+				}
 			}
 			catch(Exception ex) {
 				throw new DMLRuntimeException(ex);
@@ -181,12 +198,6 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			k = 1; //serial execution
 		}
 		
-		//result allocation and preparations
-		out.reset(inputs.get(0).getNumRows(), _type == CellType.NO_AGG ? 
-				inputs.get(0).getNumColumns() : 1, false);
-		out.allocateDenseBlock();
-		double[] c = out.getDenseBlock();
-		
 		//input preparation
 		double[][] b = prepInputMatrices(inputs);
 		double[] scalars = prepInputScalars(scalarObjects);
@@ -197,22 +208,29 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		boolean sparseSafe = isSparseSafe() || (b.length == 0 
 				&& genexec( 0, b, scalars, m, n, 0, 0 ) == 0);
 		
+		//result allocation (sparse output for sparse-safe operations over sparse inputs)
+		boolean sparseOut = _type == CellType.NO_AGG && sparseSafe 
+			&& inputs.get(0).isInSparseFormat() && !isCompressed(inputs.get(0));
+		out.reset(m, _type == CellType.NO_AGG ? n : 1, sparseOut);
+		if( sparseOut )
+			out.allocateSparseRowsBlock();
+		else
+			out.allocateDenseBlock();
+		
 		long lnnz = 0;
 		if( k <= 1 ) //SINGLE-THREADED
 		{
-			lnnz = (!inputs.get(0).isInSparseFormat()) ?
-				executeDense(inputs.get(0).getDenseBlock(), b, scalars, c, m, n, sparseSafe, 0, m) :
-				executeSparse(inputs.get(0).getSparseBlock(), b, scalars, c, m, n, sparseSafe, 0, m);
+			lnnz = executeCells(inputs.get(0), b, scalars, out, m, n, sparseSafe, 0, m);
 		}
 		else  //MULTI-THREADED
 		{
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<ParExecTask> tasks = new ArrayList<ParExecTask>();
 				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 				int blklen = (int)(Math.ceil((double)m/nk));
 				for( int i=0; i<nk & i*blklen<m; i++ )
-					tasks.add(new ParExecTask(inputs.get(0), b, scalars, c, 
+					tasks.add(new ParExecTask(inputs.get(0), b, scalars, out, 
 						m, n, sparseSafe, i*blklen, Math.min((i+1)*blklen, m))); 
 				//execute tasks
 				List<Future<Long>> taskret = pool.invokeAll(tasks);	
@@ -232,6 +250,33 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		out.examSparsity();	
 	}
 	
+	private static boolean isCompressed(MatrixBlock mb) {
+		return mb instanceof CompressedMatrixBlock 
+			&& ((CompressedMatrixBlock)mb).isCompressed();
+	}
+	
+	private double executeAgg(MatrixBlock a, double[][] b, double[] scalars, int m, int n, boolean sparseSafe, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		if( isCompressed(a) )
+			return executeCompressedAndAgg((CompressedMatrixBlock)a, b, scalars, m, n, sparseSafe, rl, ru);
+		else if( !a.isInSparseFormat() )
+			return executeDenseAndAgg(a.getDenseBlock(), b, scalars, m, n, sparseSafe, rl, ru);
+		else
+			return executeSparseAndAgg(a.getSparseBlock(), b, scalars, m, n, sparseSafe, rl, ru);
+	}
+	
+	private long executeCells(MatrixBlock a, double[][] b, double[] scalars, MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		if( isCompressed(a) )
+			return executeCompressed((CompressedMatrixBlock)a, b, scalars, out.getDenseBlock(), m, n, sparseSafe, rl, ru);
+		else if( !a.isInSparseFormat() )
+			return executeDense(a.getDenseBlock(), b, scalars, out.getDenseBlock(), m, n, sparseSafe, rl, ru);
+		else
+			return executeSparse(a.getSparseBlock(), b, scalars, out, m, n, sparseSafe, rl, ru);
+	}
+	
 	private double executeDenseAndAgg(double[] a, double[][] b, double[] scalars, int m, int n, boolean sparseSafe, int rl, int ru) throws DMLRuntimeException 
 	{
 		ValueFunction vfun = getAggFunction();
@@ -365,20 +410,28 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			KahanFunction kplus = (KahanFunction) vfun;
 	
 			if( !sparseSafe ) {
-				for(int i=rl; i<ru; i++)
-					for(int j=0; j<n; j++) {
-						double valij = (sblock != null) ? sblock.get(i, j) : 0;
+				//merge of sparse row and zeros w/o binary search per cell
+				for(int i=rl; i<ru; i++) {
+					boolean empty = (sblock == null || sblock.isEmpty(i));
+					int apos = empty ? 0 : sblock.pos(i);
+					int alen = empty ? 0 : sblock.size(i);
+					int[] aix = empty ? null : sblock.indexes(i);
+					double[] avals = empty ? null : sblock.values(i);
+					for(int j=0, k=apos; j<n; j++) {
+						double valij = (k<apos+alen && aix[k]==j) ? avals[k++] : 0;
 						kplus.execute2( kbuff, genexec(valij, b, scalars, m, n, i, j)); 
 					}
+				}
 			}
 			else if( sblock != null ) {
 				for( int i=rl; i<ru; i++ )
 					if( !sblock.isEmpty(i) ) {
 						int apos = sblock.pos(i);
 						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
 						double[] avals = sblock.values(i);
 						for( int j=apos; j<apos+alen; j++ )
-							kplus.execute2( kbuff, genexec(avals[j], b, scalars, m, n, i, j)); 
+							kplus.execute2( kbuff, genexec(avals[j], b, scalars, m, n, i, aix[j])); 
 					}	
 			}
 			ret = kbuff._sum;
@@ -388,20 +441,27 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		else {
 			ret = (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE; 
 			if( !sparseSafe ) {
-				for(int i=rl; i<ru; i++)
-					for(int j=0; j<n; j++) {
-						double valij = (sblock != null) ? sblock.get(i, j) : 0;
+				for(int i=rl; i<ru; i++) {
+					boolean empty = (sblock == null || sblock.isEmpty(i));
+					int apos = empty ? 0 : sblock.pos(i);
+					int alen = empty ? 0 : sblock.size(i);
+					int[] aix = empty ? null : sblock.indexes(i);
+					double[] avals = empty ? null : sblock.values(i);
+					for(int j=0, k=apos; j<n; j++) {
+						double valij = (k<apos+alen && aix[k]==j) ? avals[k++] : 0;
 						ret = vfun.execute( ret, genexec(valij, b, scalars, m, n, i, j)); 
 					}
+				}
 			}
 			else if( sblock != null ) {
 				for( int i=rl; i<ru; i++ )
 					if( !sblock.isEmpty(i) ) {
 						int apos = sblock.pos(i);
 						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
 						double[] avals = sblock.values(i);
 						for( int j=apos; j<apos+alen; j++ )
-							ret = vfun.execute( ret, genexec(avals[j], b, scalars, m, n, i, j)); 
+							ret = vfun.execute( ret, genexec(avals[j], b, scalars, m, n, i, aix[j])); 
 					}	
 			}
 		}		
@@ -409,38 +469,50 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		return ret;
 	}
 	
-	private long executeSparse(SparseBlock sblock, double[][] b, double[] scalars, double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
+	private long executeSparse(SparseBlock sblock, double[][] b, double[] scalars, MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
 		long lnnz = 0;
 		if( _type == CellType.NO_AGG )
 		{
 			if( sparseSafe ) {
+				//sparse output w/ pre-allocated rows of the input row size
+				SparseBlock c = out.getSparseBlock();
 				if( sblock != null ) {
 					for( int i=rl; i<ru; i++ )
 						if( !sblock.isEmpty(i) ) {
 							int apos = sblock.pos(i);
 							int alen = sblock.size(i);
+							int[] aix = sblock.indexes(i);
 							double[] avals = sblock.values(i);
+							c.allocate(i, alen);
 							for( int j=apos; j<apos+alen; j++ ) {
-								double val = genexec(avals[j], b, scalars, m, n, i, j);
-								c[i*n+sblock.indexes(i)[j]] = val;
+								double val = genexec(avals[j], b, scalars, m, n, i, aix[j]);
+								c.append(i, aix[j], val);
 								lnnz += (val!=0) ? 1 : 0;
 							}
 						}
 				}
 			}
 			else { //sparse-unsafe
-				for(int i=rl, cix=rl*n; i<ru; i++, cix+=n)
-					for(int j=0; j<n; j++) {
-						double valij = (sblock != null) ? sblock.get(i, j) : 0;
+				double[] c = out.getDenseBlock();
+				for(int i=rl, cix=rl*n; i<ru; i++, cix+=n) {
+					boolean empty = (sblock == null || sblock.isEmpty(i));
+					int apos = empty ? 0 : sblock.pos(i);
+					int alen = empty ? 0 : sblock.size(i);
+					int[] aix = empty ? null : sblock.indexes(i);
+					double[] avals = empty ? null : sblock.values(i);
+					for(int j=0, k=apos; j<n; j++) {
+						double valij = (k<apos+alen && aix[k]==j) ? avals[k++] : 0;
 						c[cix+j] = genexec(valij, b, scalars, m, n, i, j); 
 						lnnz += (c[cix+j]!=0) ? 1 : 0;
 					}
+				}
 			}
 		}
 		else if( _type == CellType.ROW_AGG ) 
 		{
+			double[] c = out.getDenseBlock();
 			ValueFunction vfun = getAggFunction();
 
 			if( vfun instanceof KahanFunction ) {
@@ -449,10 +521,16 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 
 				if( !sparseSafe ) { 
 					for(int i=rl; i<ru; i++) {
+						boolean empty = (sblock == null || sblock.isEmpty(i));
+						int apos = empty ? 0 : sblock.pos(i);
+						int alen = empty ? 0 : sblock.size(i);
+						int[] aix = empty ? null : sblock.indexes(i);
+						double[] avals = empty ? null : sblock.values(i);
 						kbuff.set(0, 0);
-						for(int j=0; j<n; j++)
-							kplus.execute2( kbuff, genexec( (sblock != null) ? 
-								sblock.get(i, j) : 0, b, scalars, m, n, i, j)); 
+						for(int j=0, k=apos; j<n; j++) {
+							double valij = (k<apos+alen && aix[k]==j) ? avals[k++] : 0;
+							kplus.execute2( kbuff, genexec(valij, b, scalars, m, n, i, j)); 
+						}
 						lnnz += ((c[i] = kbuff._sum)!=0) ? 1 : 0;
 					}
 				}
@@ -462,9 +540,10 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 						kbuff.set(0, 0);
 						int apos = sblock.pos(i);
 						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
 						double[] avals = sblock.values(i);
 						for( int j=apos; j<apos+alen; j++ )
-							kplus.execute2(kbuff, genexec(avals[j], b, scalars, m, n, i, j));
+							kplus.execute2(kbuff, genexec(avals[j], b, scalars, m, n, i, aix[j]));
 						lnnz += ((c[i] = kbuff._sum)!=0) ? 1 : 0;	
 					}
 				}
@@ -473,10 +552,16 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 				double initialVal = (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE;
 				if( !sparseSafe ) { 
 					for(int i=rl; i<ru; i++) {
+						boolean empty = (sblock == null || sblock.isEmpty(i));
+						int apos = empty ? 0 : sblock.pos(i);
+						int alen = empty ? 0 : sblock.size(i);
+						int[] aix = empty ? null : sblock.indexes(i);
+						double[] avals = empty ? null : sblock.values(i);
 						double tmp = initialVal;
-						for(int j=0; j<n; j++)
-							tmp = vfun.execute( tmp, genexec( (sblock != null) ? 
-								sblock.get(i, j) : 0, b, scalars, m, n, i, j)); 
+						for(int j=0, k=apos; j<n; j++) {
+							double valij = (k<apos+alen && aix[k]==j) ? avals[k++] : 0;
+							tmp = vfun.execute( tmp, genexec(valij, b, scalars, m, n, i, j)); 
+						}
 						lnnz += ((c[i] = tmp)!=0) ? 1 : 0;
 					}
 				}
@@ -485,10 +570,11 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 						if( sblock.isEmpty(i) ) continue;
 						int apos = sblock.pos(i);
 						int alen = sblock.size(i);
+						int[] aix = sblock.indexes(i);
 						double[] avals = sblock.values(i);
 						double tmp = (alen < n) ? 0 : initialVal;
 						for( int j=apos; j<apos+alen; j++ )
-							tmp = vfun.execute(tmp, genexec(avals[j], b, scalars, m, n, i, j));
+							tmp = vfun.execute(tmp, genexec(avals[j], b, scalars, m, n, i, aix[j]));
 						lnnz += ((c[i] = tmp)!=0) ? 1 : 0;	
 					}
 				}				
@@ -497,6 +583,150 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		
 		return lnnz;
 	}
+	
+	private double executeCompressedAndAggValues(CompressedMatrixBlock a, double[][] b, double[] scalars, int m, int n, boolean sparseSafe) 
+		throws DMLRuntimeException 
+	{
+		//note: w/o side inputs, the generated operator is independent of the
+		//row and column index, which allows evaluating it once per distinct value
+		ValueFunction vfun = getAggFunction();
+		KahanObject kbuff = new KahanObject(0, 0);
+		KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		double ret = (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE;
+		
+		for( ColGroup grp : a.getColGroups() ) {
+			if( grp instanceof ColGroupValue ) {
+				ColGroupValue vgrp = (ColGroupValue) grp;
+				double[] vals = vgrp.getValues();
+				int[] counts = vgrp.getCounts();
+				int numCols = vgrp.getNumCols();
+				long covered = 0;
+				for( int k=0; k<counts.length; k++ ) {
+					covered += counts[k];
+					if( counts[k] == 0 ) 
+						continue;
+					for( int j=0; j<numCols; j++ ) {
+						double v = vals[k*numCols+j];
+						if( v == 0 && sparseSafe )
+							continue;
+						double val = genexec(v, b, scalars, m, n, 0, 0);
+						if( vfun instanceof KahanFunction )
+							kplus.execute3(kbuff, (_aggOp==AggOp.SUM_SQ) ? val*val : val, counts[k]);
+						else
+							ret = vfun.execute(ret, val);
+					}
+				}
+				//rows not covered by any offset list (zero tuples)
+				if( !sparseSafe && covered < m ) {
+					double val = genexec(0, b, scalars, m, n, 0, 0);
+					if( vfun instanceof KahanFunction )
+						kplus.execute2(kbuff, ((_aggOp==AggOp.SUM_SQ) ? val*val : val) * (m-covered) * numCols);
+					else
+						ret = vfun.execute(ret, val);
+				}
+			}
+			else { //uncompressed column group
+				Iterator<IJV> iter = grp.getIterator(0, m, !sparseSafe);
+				while( iter.hasNext() ) {
+					double val = genexec(iter.next().getV(), b, scalars, m, n, 0, 0);
+					if( vfun instanceof KahanFunction )
+						((KahanFunction)vfun).execute2(kbuff, val);
+					else
+						ret = vfun.execute(ret, val);
+				}
+			}
+		}
+		
+		return (vfun instanceof KahanFunction) ? kbuff._sum : ret;
+	}
+	
+	private double executeCompressedAndAgg(CompressedMatrixBlock a, double[][] b, double[] scalars, int m, int n, boolean sparseSafe, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		ValueFunction vfun = getAggFunction();
+		KahanObject kbuff = new KahanObject(0, 0);
+		double ret = (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE;
+		
+		//iterate over column groups w/o decompression
+		//note: sparse safe with zero value as min/max handled outside
+		for( ColGroup grp : a.getColGroups() ) {
+			Iterator<IJV> iter = grp.getIterator(rl, ru, !sparseSafe);
+			while( iter.hasNext() ) {
+				IJV cell = iter.next();
+				double val = genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ());
+				if( vfun instanceof KahanFunction )
+					((KahanFunction)vfun).execute2(kbuff, val);
+				else
+					ret = vfun.execute(ret, val);
+			}
+		}
+		
+		return (vfun instanceof KahanFunction) ? kbuff._sum : ret;
+	}
+	
+	private long executeCompressed(CompressedMatrixBlock a, double[][] b, double[] scalars, double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		long lnnz = 0;
+		if( _type == CellType.NO_AGG )
+		{
+			//each cell is returned by exactly one column group
+			for( ColGroup grp : a.getColGroups() ) {
+				Iterator<IJV> iter = grp.getIterator(rl, ru, !sparseSafe);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					double val = genexec(cell.getV(), b, scalars, m, n, cell.getI(), cell.getJ());
+					c[cell.getI()*n+cell.getJ()] = val;
+					lnnz += (val!=0) ? 1 : 0;
+				}
+			}
+		}
+		else if( _type == CellType.ROW_AGG )
+		{
+			ValueFunction vfun = getAggFunction();
+			
+			if( vfun instanceof KahanFunction ) {
+				//row partial aggregates w/ separate corrections (value-major groups)
+				KahanObject kbuff = new KahanObject(0, 0);
+				KahanFunction kplus = (KahanFunction) vfun;
+				double[] corr = new double[ru-rl];
+				for( ColGroup grp : a.getColGroups() ) {
+					Iterator<IJV> iter = grp.getIterator(rl, ru, !sparseSafe);
+					while( iter.hasNext() ) {
+						IJV cell = iter.next();
+						int i = cell.getI();
+						kbuff.set(c[i], corr[i-rl]);
+						kplus.execute2(kbuff, genexec(cell.getV(), b, scalars, m, n, i, cell.getJ()));
+						c[i] = kbuff._sum;
+						corr[i-rl] = kbuff._correction;
+					}
+				}
+			}
+			else {
+				double initialVal = (_aggOp==AggOp.MIN) ? Double.MAX_VALUE : -Double.MAX_VALUE;
+				int[] cnt = new int[ru-rl];
+				Arrays.fill(c, rl, ru, initialVal);
+				for( ColGroup grp : a.getColGroups() ) {
+					Iterator<IJV> iter = grp.getIterator(rl, ru, !sparseSafe);
+					while( iter.hasNext() ) {
+						IJV cell = iter.next();
+						int i = cell.getI();
+						c[i] = vfun.execute(c[i], genexec(cell.getV(), b, scalars, m, n, i, cell.getJ()));
+						cnt[i-rl]++;
+					}
+				}
+				//handling of unseen zeros per row
+				for( int i=rl; i<ru; i++ )
+					if( cnt[i-rl] < n )
+						c[i] = vfun.execute(c[i], 0);
+			}
+			
+			for( int i=rl; i<ru; i++ )
+				lnnz += (c[i]!=0) ? 1 : 0;
+		}
+		
+		return lnnz;
+	}
 
 	protected abstract double genexec( double a, double[][] b, double[] scalars, int m, int n, int rowIndex, int colIndex);
 	
@@ -525,9 +755,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		
 		@Override
 		public Double call() throws DMLRuntimeException {
-			return ( !_a.isInSparseFormat()) ?
-				executeDenseAndAgg(_a.getDenseBlock(), _b, _scalars, _rlen, _clen, _safe, _rl, _ru) :
-				executeSparseAndAgg(_a.getSparseBlock(), _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
+			return executeAgg(_a, _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
 		}
 	}
 
@@ -536,14 +764,14 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		private final MatrixBlock _a;
 		private final double[][] _b;
 		private final double[] _scalars;
-		private final double[] _c;
+		private final MatrixBlock _c;
 		private final int _rlen;
 		private final int _clen;
 		private final boolean _safe;
 		private final int _rl;
 		private final int _ru;
 
-		protected ParExecTask( MatrixBlock a, double[][] b, double[] scalars, double[] c, 
+		protected ParExecTask( MatrixBlock a, double[][] b, double[] scalars, MatrixBlock c, 
 				int rlen, int clen, boolean sparseSafe, int rl, int ru ) {
 			_a = a;
 			_b = b;
@@ -558,9 +786,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		
 		@Override
 		public Long call() throws DMLRuntimeException {
-			return (!_a.isInSparseFormat()) ?
-					executeDense(_a.getDenseBlock(), _b, _scalars, _c, _rlen, _clen, _safe, _rl, _ru) :
-					executeSparse(_a.getSparseBlock(), _b, _scalars,  _c, _rlen, _clen, _safe, _rl, _ru);
+			return executeCells(_a, _b, _scalars, _c, _rlen, _clen, _safe, _rl, _ru);
 		}
 	}
 }
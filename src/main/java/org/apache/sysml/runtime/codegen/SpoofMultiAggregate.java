@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.codegen;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.codegen.SpoofCellwise.AggOp;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Base class of generated multi-aggregate operators, which compute
+ * multiple full aggregates over shared inputs in a single pass and
+ * return them as a 1 x #aggregates row vector. The generated genexec
+ * computes all aggregate inputs for a given cell and directly updates
+ * the partial aggregates in c, which holds #aggregates partial results
+ * followed by #aggregates kahan corrections of sum and sumSq aggregates.
+ * 
+ */
+public abstract class SpoofMultiAggregate extends SpoofOperator implements Serializable
+{
+	private static final long serialVersionUID = -6164871955591089349L;
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
+	
+	private final AggOp[] _aggOps;
+	private final boolean _sparseSafe;
+	
+	public SpoofMultiAggregate(boolean sparseSafe, AggOp... aggOps) {
+		_sparseSafe = sparseSafe;
+		_aggOps = aggOps;
+	}
+	
+	public AggOp[] getAggOps() {
+		return _aggOps;
+	}
+	
+	public boolean isSparseSafe() {
+		return _sparseSafe;
+	}
+	
+	@Override
+	public String getSpoofType() {
+		return "MA" +  getClass().getName().split("\\.")[1];
+	}
+	
+	@Override
+	public void execute(ArrayList<MatrixBlock> inputs, ArrayList<ScalarObject> scalarObjects, MatrixBlock out) 
+		throws DMLRuntimeException
+	{
+		execute(inputs, scalarObjects, out, 1);
+	}
+	
+	@Override
+	public void execute(ArrayList<MatrixBlock> inputs, ArrayList<ScalarObject> scalarObjects, MatrixBlock out, int k)	
+		throws DMLRuntimeException
+	{
+		//sanity check
+		if( inputs==null || inputs.size() < 1 || out==null )
+			throw new RuntimeException("Invalid input arguments.");
+		
+		if( inputs.get(0).getNumRows()*inputs.get(0).getNumColumns()<PAR_NUMCELL_THRESHOLD ) {
+			k = 1; //serial execution
+		}
+		
+		//result allocation and preparations (partial results w/ corrections)
+		out.reset(1, _aggOps.length, false);
+		out.allocateDenseBlock();
+		double[] c = new double[2*_aggOps.length];
+		setInitialOutputValues(c);
+		
+		//input preparation
+		double[][] b = prepInputMatrices(inputs);
+		double[] scalars = prepInputScalars(scalarObjects);
+		final int m = inputs.get(0).getNumRows();
+		final int n = inputs.get(0).getNumColumns();
+		
+		//sparse safe check 
+		boolean sparseSafe = isSparseSafe() || (b.length == 0 
+				&& isZeroForZeroInput(scalars, m, n));
+		
+		if( k <= 1 ) //SINGLE-THREADED
+		{
+			executeAgg(inputs.get(0), b, scalars, c, m, n, sparseSafe, 0, m);
+		}
+		else  //MULTI-THREADED
+		{
+			try {
+				ExecutorService pool = CommonThreadPool.get( k );
+				ArrayList<ParAggTask> tasks = new ArrayList<ParAggTask>();
+				int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
+				int blklen = (int)(Math.ceil((double)m/nk));
+				for( int i=0; i<nk & i*blklen<m; i++ )
+					tasks.add(new ParAggTask(inputs.get(0), b, scalars, 
+						m, n, sparseSafe, i*blklen, Math.min((i+1)*blklen, m))); 
+				//execute tasks
+				List<Future<double[]>> taskret = pool.invokeAll(tasks);	
+				pool.shutdown();
+			
+				//aggregate partial results
+				ArrayList<double[]> results = new ArrayList<double[]>();
+				for( Future<double[]> task : taskret )
+					results.add(task.get());
+				aggregatePartialResults(c, results);
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		//correction for min/max (unseen 0 might be min or max value)
+		if( sparseSafe && inputs.get(0).getNonZeros() < (long)m*n )
+			for( int i=0; i<_aggOps.length; i++ ) {
+				if( _aggOps[i] == AggOp.MIN )
+					c[i] = Math.min(c[i], 0);
+				else if( _aggOps[i] == AggOp.MAX )
+					c[i] = Math.max(c[i], 0);
+			}
+		
+		//post-processing
+		System.arraycopy(c, 0, out.getDenseBlock(), 0, _aggOps.length);
+		out.recomputeNonZeros();
+		out.examSparsity();
+	}
+	
+	private void executeAgg(MatrixBlock a, double[][] b, double[] scalars, double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		if( a instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)a).isCompressed() )
+			executeCompressed((CompressedMatrixBlock)a, b, scalars, c, m, n, sparseSafe, rl, ru);
+		else if( !a.isInSparseFormat() )
+			executeDense(a.getDenseBlock(), b, scalars, c, m, n, sparseSafe, rl, ru);
+		else
+			executeSparse(a.getSparseBlock(), b, scalars, c, m, n, sparseSafe, rl, ru);
+	}
+	
+	private void executeDense(double[] a, double[][] b, double[] scalars, double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		if( a == null && !sparseSafe ) { //empty
+			for( int i=rl; i<ru; i++ ) 
+				for( int j=0; j<n; j++ )
+					genexec( 0, b, scalars, c, m, n, i, j );
+		}
+		else if( a != null ) { //general case
+			for( int i=rl, ix=rl*n; i<ru; i++ ) 
+				for( int j=0; j<n; j++, ix++ )
+					if( a[ix] != 0 || !sparseSafe)
+						genexec( a[ix], b, scalars, c, m, n, i, j );
+		}
+	}
+	
+	private void executeSparse(SparseBlock sblock, double[][] b, double[] scalars, double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		if( sparseSafe ) {
+			if( sblock == null )
+				return;
+			for( int i=rl; i<ru; i++ )
+				if( !sblock.isEmpty(i) ) {
+					int apos = sblock.pos(i);
+					int alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					double[] avals = sblock.values(i);
+					for( int j=apos; j<apos+alen; j++ )
+						genexec( avals[j], b, scalars, c, m, n, i, aix[j] );
+				}
+		}
+		else { //sparse-unsafe
+			for( int i=rl; i<ru; i++ ) {
+				if( sblock == null || sblock.isEmpty(i) ) {
+					for( int j=0; j<n; j++ )
+						genexec( 0, b, scalars, c, m, n, i, j );
+				}
+				else {
+					//merge of non-zero values and zeros in-between
+					int apos = sblock.pos(i);
+					int alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					double[] avals = sblock.values(i);
+					for( int j=0, k=apos; j<n; j++ ) {
+						double val = (k < apos+alen && aix[k]==j) ? avals[k++] : 0;
+						genexec( val, b, scalars, c, m, n, i, j );
+					}
+				}
+			}
+		}
+	}
+	
+	private void executeCompressed(CompressedMatrixBlock a, double[][] b, double[] scalars, double[] c, int m, int n, boolean sparseSafe, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		//iterate over column groups w/o decompression
+		for( ColGroup grp : a.getColGroups() ) {
+			Iterator<IJV> iter = grp.getIterator(rl, ru, !sparseSafe);
+			while( iter.hasNext() ) {
+				IJV cell = iter.next();
+				genexec( cell.getV(), b, scalars, c, m, n, cell.getI(), cell.getJ() );
+			}
+		}
+	}
+	
+	private boolean isZeroForZeroInput(double[] scalars, int m, int n) {
+		//probe the generated operator with a zero main input, where 
+		//all aggregates are zero if all aggregated values are zero
+		double[] tmp = new double[2*_aggOps.length];
+		setInitialOutputValues(tmp);
+		genexec( 0, new double[0][], scalars, tmp, m, n, 0, 0 );
+		boolean ret = true;
+		for( int i=0; i<_aggOps.length; i++ )
+			ret &= (tmp[i] == 0);
+		return ret;
+	}
+	
+	private void setInitialOutputValues(double[] c) {
+		for( int i=0; i<_aggOps.length; i++ )
+			c[i] = (_aggOps[i]==AggOp.MIN) ? Double.MAX_VALUE : 
+				(_aggOps[i]==AggOp.MAX) ? -Double.MAX_VALUE : 0;
+	}
+	
+	private void aggregatePartialResults(double[] c, ArrayList<double[]> results) {
+		KahanObject kbuff = new KahanObject(0, 0);
+		KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		for( int i=0; i<_aggOps.length; i++ ) {
+			switch( _aggOps[i] ) {
+				case SUM:
+				case SUM_SQ:
+					//numerically stable aggregation of partial sums
+					//(including their kahan corrections)
+					kbuff.set(0, 0);
+					for( double[] tmp : results ) {
+						kplus.execute2(kbuff, tmp[i]);
+						kplus.execute2(kbuff, tmp[_aggOps.length+i]);
+					}
+					c[i] = kbuff._sum;
+					break;
+				case MIN:
+					for( double[] tmp : results )
+						c[i] = Math.min(c[i], tmp[i]);
+					break;
+				case MAX:
+					for( double[] tmp : results )
+						c[i] = Math.max(c[i], tmp[i]);
+					break;
+			}
+		}
+	}
+	
+	protected abstract void genexec( double a, double[][] b, double[] scalars, double[] c, int m, int n, int rowIndex, int colIndex);
+	
+	private class ParAggTask implements Callable<double[]> 
+	{
+		private final MatrixBlock _a;
+		private final double[][] _b;
+		private final double[] _scalars;
+		private final int _rlen;
+		private final int _clen;
+		private final boolean _safe;
+		private final int _rl;
+		private final int _ru;
+
+		protected ParAggTask( MatrixBlock a, double[][] b, double[] scalars, 
+				int rlen, int clen, boolean sparseSafe, int rl, int ru ) {
+			_a = a;
+			_b = b;
+			_scalars = scalars;
+			_rlen = rlen;
+			_clen = clen;
+			_safe = sparseSafe;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public double[] call() throws DMLRuntimeException {
+			double[] c = new double[2*_aggOps.length];
+			setInitialOutputValues(c);
+			executeAgg(_a, _b, _scalars, c, _rlen, _clen, _safe, _rl, _ru);
+			return c;
+		}
+	}
+}
@@ -21,11 +21,15 @@ package org.apache.sysml.runtime.codegen;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Iterator;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.DataConverter;
 
@@ -77,6 +81,15 @@ public abstract class SpoofOperator implements Serializable
 				LOG.warn(getClass().getName()+": Converted "+tmp.getNumRows()+"x"+tmp.getNumColumns()+
 						", nnz="+tmp.getNonZeros()+" sideways input matrix from sparse to dense.");
 			}
+			//convert compressed to dense temporary block (note: generated operators
+			//require random access to side inputs, which column groups do not provide)
+			else if( inputs.get(i) instanceof CompressedMatrixBlock 
+				&& ((CompressedMatrixBlock)inputs.get(i)).isCompressed() ) {
+				CompressedMatrixBlock tmp = (CompressedMatrixBlock)inputs.get(i);
+				b[i-offset] = convertToDoubleVector(tmp);
+				LOG.warn(getClass().getName()+": Converted "+tmp.getNumRows()+"x"+tmp.getNumColumns()+
+						", nnz="+tmp.getNonZeros()+" sideways input matrix from compressed to dense.");
+			}
 			//use existing dense block
 			else {
 				b[i-offset] = inputs.get(i).getDenseBlock();
@@ -86,6 +99,19 @@ public abstract class SpoofOperator implements Serializable
 		return b;
 	}
 	
+	private static double[] convertToDoubleVector(CompressedMatrixBlock mb) {
+		double[] ret = new double[mb.getNumRows()*mb.getNumColumns()];
+		int n = mb.getNumColumns();
+		for( ColGroup grp : mb.getColGroups() ) {
+			Iterator<IJV> iter = grp.getIterator(0, mb.getNumRows(), false);
+			while( iter.hasNext() ) {
+				IJV cell = iter.next();
+				ret[cell.getI()*n+cell.getJ()] = cell.getV();
+			}
+		}
+		return ret;
+	}
+	
 	protected double[] prepInputScalars(ArrayList<ScalarObject> scalarObjects) {
 		double[] scalars = new double[scalarObjects.size()]; 
 		for(int i=0; i < scalarObjects.size(); i++)
@@ -20,17 +20,22 @@
 package org.apache.sysml.runtime.codegen;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 
@@ -38,6 +43,7 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 {
 	private static final long serialVersionUID = 6242910797139642998L;
 	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
+	private static final int COMPRESSED_BATCH_NUMCELLS = 64*1024;  //Max 512KB batch buffer
 	
 	protected final boolean _colVector;
 	protected final int _reqVectMem;
@@ -74,10 +80,7 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 		final int m = inputs.get(0).getNumRows();
 		final int n = inputs.get(0).getNumColumns();		
 		LibSpoofPrimitives.setupThreadLocalMemory(_reqVectMem, out.getNumColumns());
-		if( !inputs.get(0).isInSparseFormat() )
-			executeDense(inputs.get(0).getDenseBlock(), b, scalars, c, n, 0, m);
-		else
-			executeSparse(inputs.get(0).getSparseBlock(), b, scalars, c, n, 0, m);
+		executeRows(inputs.get(0), b, scalars, c, n, 0, m);
 	
 		//post-processing
 		LibSpoofPrimitives.cleanupThreadLocalMemory();
@@ -111,7 +114,7 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 		final int m = inputs.get(0).getNumRows();
 		final int n = inputs.get(0).getNumColumns();		
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<ParExecTask> tasks = new ArrayList<ParExecTask>();
 			int nk = UtilFunctions.roundToNext(Math.min(8*k,m/32), k);
 			int blklen = (int)(Math.ceil((double)m/nk));
@@ -132,6 +135,16 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 		out.recomputeNonZeros();	
 	}
 	
+	private void executeRows(MatrixBlock a, double[][] b, double[] scalars, double[] c, int n, int rl, int ru) 
+	{
+		if( a instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)a).isCompressed() )
+			executeCompressed((CompressedMatrixBlock)a, b, scalars, c, n, rl, ru);
+		else if( !a.isInSparseFormat() )
+			executeDense(a.getDenseBlock(), b, scalars, c, n, rl, ru);
+		else
+			executeSparse(a.getSparseBlock(), b, scalars, c, n, rl, ru);
+	}
+	
 	private void executeDense(double[] a, double[][] b, double[] scalars, double[] c, int n, int rl, int ru) 
 	{
 		if( a == null )
@@ -161,6 +174,31 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 		}
 	}
 	
+	private void executeCompressed(CompressedMatrixBlock a, double[][] b, double[] scalars, double[] c, int n, int rl, int ru) 
+	{
+		//decode batches of rows from the column groups into a small dense 
+		//buffer, which avoids decompressing the entire input
+		int blksz = Math.max(1, Math.min(ru-rl, COMPRESSED_BATCH_NUMCELLS/Math.max(n,1)));
+		double[] buff = new double[blksz*n];
+		
+		for( int bi=rl; bi<ru; bi+=blksz ) {
+			int bimin = Math.min(ru, bi+blksz);
+			Arrays.fill(buff, 0, (bimin-bi)*n, 0);
+			for( ColGroup grp : a.getColGroups() ) {
+				Iterator<IJV> iter = grp.getIterator(bi, bimin, false);
+				while( iter.hasNext() ) {
+					IJV cell = iter.next();
+					buff[(cell.getI()-bi)*n+cell.getJ()] = cell.getV();
+				}
+			}
+			
+			for( int i=bi, aix=0; i<bimin; i++, aix+=n ) {
+				//call generated method
+				genexecRowDense( buff, aix, b, scalars, c, n, i );
+			}
+		}
+	}
+	
 	//methods to be implemented by generated operators of type SpoofRowAggrgate 
 	
 	protected abstract void genexecRowDense( double[] a, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex );
@@ -196,10 +234,7 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 			LibSpoofPrimitives.setupThreadLocalMemory(_reqVectMem, _clen);
 			double[] c = new double[_clen];
 			
-			if( !_a.isInSparseFormat() )
-				executeDense(_a.getDenseBlock(), _b, _scalars, c, _clen, _rl, _ru);
-			else
-				executeSparse(_a.getSparseBlock(), _b, _scalars, c, _clen, _rl, _ru);
+			executeRows(_a, _b, _scalars, c, _clen, _rl, _ru);
 			
 			LibSpoofPrimitives.cleanupThreadLocalMemory();
 			return c;
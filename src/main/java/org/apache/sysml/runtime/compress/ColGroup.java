@@ -23,12 +23,17 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix
@@ -128,6 +133,43 @@ public abstract class ColGroup implements Serializable
 			_colIndexes[i] += offset;
 	}
 	
+	/**
+	 * Method for use by subclasses. Obtains the positions of the columns of 
+	 * this column group that fall into the given column range.
+	 * 
+	 * @param cl column lower index, inclusive
+	 * @param cu column upper index, exclusive
+	 * @return positions of columns in range, or null if none
+	 */
+	protected int[] getColumnPositions(int cl, int cu) {
+		//column indexes are sorted in ascending order
+		int pl = Arrays.binarySearch(_colIndexes, cl);
+		int pu = Arrays.binarySearch(_colIndexes, cu);
+		pl = (pl >= 0) ? pl : -pl-1;
+		pu = (pu >= 0) ? pu : -pu-1;
+		if( pl >= pu )
+			return null;
+		int[] ret = new int[pu-pl];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = pl + i;
+		return ret;
+	}
+	
+	/**
+	 * Method for use by subclasses. Obtains the column indexes of the given 
+	 * positions, shifted relative to the given column lower index.
+	 * 
+	 * @param pos column positions
+	 * @param cl column lower index
+	 * @return shifted column indexes
+	 */
+	protected int[] getShiftedColIndices(int[] pos, int cl) {
+		int[] ret = new int[pos.length];
+		for( int i=0; i<pos.length; i++ )
+			ret[i] = _colIndexes[pos[i]] - cl;
+		return ret;
+	}
+	
 	/**
 	 * Note: Must be overridden by child classes to account for additional data
 	 * and metadata
@@ -256,9 +298,81 @@ public abstract class ColGroup implements Serializable
 	public abstract ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException;
 
+	/**
+	 * Perform the specified unary operation directly on the compressed column
+	 * group, which only rewrites the value dictionary for sparse-safe operations.
+	 * 
+	 * @param op
+	 *            cellwise unary operation to perform
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Perform the specified binary operation with a row vector on the right
+	 * directly on the compressed column group, i.e., apply the operation per 
+	 * column of the value dictionary.
+	 * 
+	 * @param op
+	 *            cellwise binary operation to perform
+	 * @param v
+	 *            dense row vector, indexed by the column indexes of the matrix block
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Obtain a compressed column group of the given row range, which
+	 * shares the value dictionary with this column group if possible.
+	 * 
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @return column group of the row range
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup sliceRows(int rl, int ru)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Obtain a compressed column group of the columns of this group in the given 
+	 * column range, which shares the compressed rows with this column group. The 
+	 * column indexes are shifted relative to the column lower index.
+	 * 
+	 * @param cl column lower index, inclusive
+	 * @param cu column upper index, exclusive
+	 * @return column group of the column range, or null if no column in range
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup sliceColumns(int cl, int cu)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Obtain the exact number of non-zero values of this column group.
+	 * 
+	 * @return number of non-zeros
+	 */
+	public abstract long getNumberNonZeros();
+
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result)
 		throws DMLRuntimeException;
 	
+	/**
+	 * Obtain an iterator over the cells of this column group in the given row
+	 * range, which allows operations over compressed inputs without decompression.
+	 * Cells of DDC and uncompressed groups are returned in row-major order, while
+	 * cells of OLE and RLE groups are returned in value-major order. 
+	 * 
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @param inclZeros indicator if zero cells should be returned as well
+	 * @return cell iterator, which reuses the returned IJV object
+	 */
+	public abstract Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros);
+	
 	/**
 	 * Count the number of non-zeros per row
 	 * 
@@ -30,7 +30,9 @@ import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -92,6 +94,15 @@ public class ColGroupDDC1 extends ColGroupDDC
 		_data[r] = (byte)code;
 	}
 	
+	@Override
+	public int[] getCounts() {
+		final int nrow = getNumRows();
+		int[] counts = new int[getNumValues()];
+		for( int i=0; i<nrow; i++ )
+			counts[_data[i]&0xFF] ++;
+		return counts;
+	}
+	
 	@Override
 	public void write(DataOutput out) throws IOException {
 		int numCols = getNumCols();
@@ -279,15 +290,11 @@ public class ColGroupDDC1 extends ColGroupDDC
 	
 	@Override
 	protected void computeSum(MatrixBlock result, KahanFunction kplus) {
-		final int nrow = getNumRows();
 		final int ncol = getNumCols();
 		final int numVals = getNumValues();
 		
 		//iterative over codes and count per code (guaranteed <=255)
-		int[] counts = new int[numVals];
-		for( int i=0; i<nrow; i++ ) {
-			counts[_data[i]&0xFF] ++;
-		}
+		int[] counts = getCounts();
 		
 		//post-scaling of pre-aggregate with distinct values
 		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
@@ -355,4 +362,58 @@ public class ColGroupDDC1 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC1(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) throws DMLRuntimeException {
+		//fast path: sparse-safe and -unsafe operations
+		//as zero are represented, it is sufficient to simply apply the unary op
+		return new ColGroupDDC1(_colIndexes, _numRows, applyUnaryOp(op), _data);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) throws DMLRuntimeException {
+		//fast path: sparse-safe and -unsafe operations
+		//as zero are represented, it is sufficient to simply apply the binary op
+		return new ColGroupDDC1(_colIndexes, _numRows, applyBinaryRowOp(op, v), _data);
+	}
+	
+	@Override
+	public ColGroup sliceRows(int rl, int ru) {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		
+		//determine value tuples used in row range (1-based new codes)
+		int[] map = new int[numVals];
+		int numVals2 = 0;
+		for( int i=rl; i<ru; i++ )
+			if( map[_data[i]&0xFF] == 0 )
+				map[_data[i]&0xFF] = ++numVals2;
+		
+		//compact values and recode data, if necessary
+		if( numVals2 == numVals ) {
+			boolean ident = true;
+			for( int k=0; k<numVals; k++ )
+				ident &= (map[k] == k+1);
+			if( ident ) //shallow copy of values
+				return new ColGroupDDC1(_colIndexes, ru-rl, _values, Arrays.copyOfRange(_data, rl, ru));
+		}
+		double[] values = new double[numVals2*numCols];
+		for( int k=0; k<numVals; k++ )
+			if( map[k] > 0 )
+				System.arraycopy(_values, k*numCols, values, (map[k]-1)*numCols, numCols);
+		byte[] data = new byte[ru-rl];
+		for( int i=rl; i<ru; i++ )
+			data[i-rl] = (byte)(map[_data[i]&0xFF]-1);
+		return new ColGroupDDC1(_colIndexes, ru-rl, values, data);
+	}
+	
+	@Override
+	public ColGroup sliceColumns(int cl, int cu) {
+		int[] pos = getColumnPositions(cl, cu);
+		if( pos == null )
+			return null;
+		
+		//shallow copy of data w/ projected value tuples
+		return new ColGroupDDC1(getShiftedColIndices(pos, cl), _numRows, projectValues(pos), _data);
+	}
 }
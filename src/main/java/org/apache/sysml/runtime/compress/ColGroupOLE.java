@@ -19,6 +19,8 @@
 
 package org.apache.sysml.runtime.compress;
 
+import java.io.DataInput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 
@@ -26,13 +28,13 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.compress.utils.IntArrayList;
 import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -77,11 +79,28 @@ public class ColGroupOLE extends ColGroupOffset
 		// compact bitmaps to linearized representation
 		createCompressedBitmaps(numVals, totalLen, lbitmaps);
 		
+		// create skip list for the second half of rows
+		createSkipList();
+		
+		//debug output
+		double ucSize = MatrixBlock.estimateSizeDenseInMemory(numRows, colIndices.length);
+		if( estimateInMemorySize() > ucSize )
+			LOG.warn("OLE group larger than UC dense: "+estimateInMemorySize()+" "+ucSize);
+	}
 
+	public ColGroupOLE(int[] colIndices, int numRows, boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) {
+		super(colIndices, numRows, zeros, values);
+		_data = bitmaps;
+		_ptr = bitmapOffs;
+		createSkipList();
+	}
+	
+	private void createSkipList() {
 		if( LOW_LEVEL_OPT && CREATE_SKIPLIST
-				&& numRows > 2*BitmapEncoder.BITMAP_BLOCK_SZ )
+				&& _numRows > 2*BitmapEncoder.BITMAP_BLOCK_SZ )
 		{
 			int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+			int numVals = getNumValues();
 			_skiplist = new int[numVals];
 			int rl = (getNumRows()/2/blksz)*blksz;
 			for (int k = 0; k < numVals; k++) {
@@ -94,17 +113,6 @@ public class ColGroupOLE extends ColGroupOffset
 				_skiplist[k] = bix;
 			}		
 		}
-		
-		//debug output
-		double ucSize = MatrixBlock.estimateSizeDenseInMemory(numRows, colIndices.length);
-		if( estimateInMemorySize() > ucSize )
-			LOG.warn("OLE group larger than UC dense: "+estimateInMemorySize()+" "+ucSize);
-	}
-
-	public ColGroupOLE(int[] colIndices, int numRows, boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) {
-		super(colIndices, numRows, zeros, values);
-		_data = bitmaps;
-		_ptr = bitmapOffs;
 	}
 	
 
@@ -117,6 +125,46 @@ public class ColGroupOLE extends ColGroupOffset
 	public Iterator<Integer> getDecodeIterator(int k) {
 		return new BitmapDecoderOLE(_data, _ptr[k], len(k));
 	}
+
+	@Override
+	public void readFields(DataInput in) 
+		throws IOException 
+	{
+		super.readFields(in);
+		createSkipList();
+	}
+	
+	@Override
+	protected ColGroupOffset createGroup(int[] colIndices, int numRows, 
+		boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) 
+	{
+		return new ColGroupOLE(colIndices, numRows, zeros, values, bitmaps, bitmapOffs);
+	}
+	
+	@Override
+	protected char[] genBitmap(int[] offsets, int len) {
+		return BitmapEncoder.genOffsetBitmap(offsets, len);
+	}
+	
+	@Override
+	protected void extractOffsets(int k, int rl, int ru, IntArrayList offsets) {
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		int boff = _ptr[k];
+		int blen = len(k);
+		
+		//skip bitmap blocks before row lower, and scan blocks until row upper
+		int slen;
+		for( int bix=0, off=0; bix<blen && off<ru; bix+=slen+1, off+=blksz ) {
+			slen = _data[boff+bix];
+			if( off+blksz <= rl )
+				continue;
+			for (int i = 1; i <= slen; i++) {
+				int rix = off + _data[boff+bix + i];
+				if( rix >= rl && rix < ru )
+					offsets.appendValue(rix - rl);
+			}
+		}
+	}
 	
 	@Override
 	public void decompressToBlock(MatrixBlock target, int rl, int ru) 
@@ -238,39 +286,6 @@ public class ColGroupOLE extends ColGroupOffset
 		}
 	}
 	
-	@Override
-	public ColGroup scalarOperation(ScalarOperator op)
-		throws DMLRuntimeException 
-	{
-		double val0 = op.executeScalar(0);
-		
-		//fast path: sparse-safe operations
-		// Note that bitmaps don't change and are shallow-copied
-		if( op.sparseSafe || val0==0 ) {
-			return new ColGroupOLE(_colIndexes, _numRows, _zeros, 
-					applyScalarOp(op), _data, _ptr);
-		}
-		
-		//slow path: sparse-unsafe operations (potentially create new bitmap)
-		//note: for efficiency, we currently don't drop values that become 0
-		boolean[] lind = computeZeroIndicatorVector();
-		int[] loff = computeOffsets(lind);
-		if( loff.length==0 ) { //empty offset list: go back to fast path
-			return new ColGroupOLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
-		}
-		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());		
-		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
-		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
-		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
-		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
-		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
-		
-		return new ColGroupOLE(_colIndexes, _numRows, loff.length<_numRows,
-				rvalues, rbitmaps, rbitmapOffs);
-	}
-
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
 			throws DMLRuntimeException 
@@ -444,25 +459,35 @@ public class ColGroupOLE extends ColGroupOffset
 		final int numVals = getNumValues();
 		final int numCols = getNumCols();
 		
+		final int[] counts = getCounts();
+		
 		for (int k = 0; k < numVals; k++) 
 		{
-			int boff = _ptr[k];
-			int blen = len(k);
 			int valOff = k * numCols;
 			
-			//iterate over bitmap blocks and count partial lengths
-			int count = 0;
-			for (int bix=0; bix < blen; bix+=_data[boff+bix]+1)
-				count += _data[boff+bix];
-			
 			//scale counts by all values
 			for( int j = 0; j < numCols; j++ )
-				kplus.execute3(kbuff, _values[ valOff+j ], count);
+				kplus.execute3(kbuff, _values[ valOff+j ], counts[k]);
 		}
 		
 		result.quickSetValue(0, 0, kbuff._sum);
 		result.quickSetValue(0, 1, kbuff._correction);
 	}
+	
+	@Override
+	public int[] getCounts() {
+		final int numVals = getNumValues();
+		int[] counts = new int[numVals];
+		for (int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			
+			//iterate over bitmap blocks and count partial lengths
+			for (int bix=0; bix < blen; bix+=_data[boff+bix]+1)
+				counts[k] += _data[boff+bix];
+		}
+		return counts;
+	}
 
 	@Override
 	protected final void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru)
@@ -602,13 +627,8 @@ public class ColGroupOLE extends ColGroupOffset
 		}
 	}
 	
-	/**
-	 * Utility function of sparse-unsafe operations.
-	 * 
-	 * @return zero indicator vector
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private boolean[] computeZeroIndicatorVector()
+	@Override
+	protected boolean[] computeZeroIndicatorVector()
 		throws DMLRuntimeException 
 	{
 		boolean[] ret = new boolean[_numRows];
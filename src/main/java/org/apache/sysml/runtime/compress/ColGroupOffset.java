@@ -23,9 +23,11 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.utils.IntArrayList;
 import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
@@ -35,8 +37,12 @@ import org.apache.sysml.runtime.functionobjects.ReduceAll;
 import org.apache.sysml.runtime.functionobjects.ReduceCol;
 import org.apache.sysml.runtime.functionobjects.ReduceRow;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -273,6 +279,194 @@ public abstract class ColGroupOffset extends ColGroupValue
 
 	//TODO getDecodeIterator(int k, int rl, int ru)
 
+	/**
+	 * Creates a column group of the same encoding with the given meta data,
+	 * which is used for shallow copies with modified values or bitmaps.
+	 * 
+	 * @param colIndices column indexes
+	 * @param numRows number of rows
+	 * @param zeros indicator if column group contains zero values
+	 * @param values linearized value tuples
+	 * @param bitmaps linearized bitmaps
+	 * @param bitmapOffs bitmap offsets per value tuple
+	 * @return column group
+	 */
+	protected abstract ColGroupOffset createGroup(int[] colIndices, int numRows, 
+		boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs);
+	
+	/**
+	 * Encodes the given row offsets into a bitmap of this group's encoding.
+	 * 
+	 * @param offsets sorted row offsets
+	 * @param len number of offsets
+	 * @return compressed bitmap
+	 */
+	protected abstract char[] genBitmap(int[] offsets, int len);
+	
+	/**
+	 * Appends the row offsets of the given value tuple within the given
+	 * row range, shifted relative to the row lower index.
+	 * 
+	 * @param k value tuple index
+	 * @param rl row lower index, inclusive
+	 * @param ru row upper index, exclusive
+	 * @param offsets output offset list
+	 */
+	protected abstract void extractOffsets(int k, int rl, int ru, IntArrayList offsets);
+	
+	/**
+	 * Utility function of sparse-unsafe operations.
+	 * 
+	 * @return zero indicator vector
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected abstract boolean[] computeZeroIndicatorVector()
+		throws DMLRuntimeException;
+	
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op)
+		throws DMLRuntimeException 
+	{
+		double val0 = op.executeScalar(0);
+		
+		//fast path: sparse-safe operations
+		// Note that bitmaps don't change and are shallow-copied
+		if( op.sparseSafe || val0==0 ) {
+			return createGroup(_colIndexes, _numRows, _zeros, 
+					applyScalarOp(op), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		double[] tuple0 = new double[getNumCols()];
+		Arrays.fill(tuple0, val0);
+		return createGroupWithZeroTuple(applyScalarOp(op), tuple0);
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+		throws DMLRuntimeException 
+	{
+		double val0 = op.fn.execute(0);
+		
+		//fast path: sparse-safe operations
+		if( op.sparseSafe || val0==0 ) {
+			return createGroup(_colIndexes, _numRows, _zeros, 
+					applyUnaryOp(op), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		double[] tuple0 = new double[getNumCols()];
+		Arrays.fill(tuple0, val0);
+		return createGroupWithZeroTuple(applyUnaryOp(op), tuple0);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+		throws DMLRuntimeException 
+	{
+		//compute result of zero rows per column
+		final int numCols = getNumCols();
+		double[] tuple0 = new double[numCols];
+		boolean sparseSafe = true;
+		for( int j=0; j<numCols; j++ ) {
+			tuple0[j] = op.fn.execute(0, v[_colIndexes[j]]);
+			sparseSafe &= (tuple0[j] == 0);
+		}
+		
+		//fast path: sparse-safe operations for all columns
+		if( sparseSafe ) {
+			return createGroup(_colIndexes, _numRows, _zeros, 
+					applyBinaryRowOp(op, v), _data, _ptr);
+		}
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		return createGroupWithZeroTuple(applyBinaryRowOp(op, v), tuple0);
+	}
+	
+	/**
+	 * Utility function of sparse-unsafe operations, which appends the given
+	 * value tuple for all rows not covered by any bitmap (i.e., zero rows).
+	 * Note that for efficiency, we currently don't drop values that became 0.
+	 * 
+	 * @param rvalues transformed values
+	 * @param tuple0 transformed zero tuple
+	 * @return column group without zero rows
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private ColGroup createGroupWithZeroTuple(double[] rvalues, double[] tuple0)
+		throws DMLRuntimeException
+	{
+		int[] loff = _zeros ? computeOffsets(computeZeroIndicatorVector()) : new int[0];
+		if( loff.length==0 ) { //empty offset list: go back to fast path
+			return createGroup(_colIndexes, _numRows, false,
+					rvalues, _data, _ptr);
+		}
+		
+		double[] rvalues2 = Arrays.copyOf(rvalues, rvalues.length+tuple0.length);
+		System.arraycopy(tuple0, 0, rvalues2, rvalues.length, tuple0.length);
+		char[] lbitmap = genBitmap(loff, loff.length);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		
+		return createGroup(_colIndexes, _numRows, false,
+				rvalues2, rbitmaps, rbitmapOffs);
+	}
+	
+	@Override
+	public ColGroup sliceRows(int rl, int ru) 
+	{
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
+		
+		//extract shifted offsets of all value tuples in row range
+		IntArrayList[] loffs = new IntArrayList[numVals];
+		int numVals2 = 0, numOffsets = 0;
+		for( int k=0; k<numVals; k++ ) {
+			loffs[k] = new IntArrayList();
+			extractOffsets(k, rl, ru, loffs[k]);
+			numVals2 += (loffs[k].size() > 0) ? 1 : 0;
+			numOffsets += loffs[k].size();
+		}
+		
+		//encode bitmaps, w/o value tuples of empty offset lists
+		double[] rvalues = new double[numVals2*numCols];
+		char[][] lbitmaps = new char[numVals2][];
+		int totalLen = 0;
+		for( int k=0, k2=0; k<numVals; k++ ) {
+			if( loffs[k].size() == 0 )
+				continue;
+			System.arraycopy(_values, k*numCols, rvalues, k2*numCols, numCols);
+			lbitmaps[k2] = genBitmap(loffs[k].extractValues(), loffs[k].size());
+			totalLen += lbitmaps[k2++].length;
+		}
+		
+		//compact bitmaps to linearized representation
+		int[] rbitmapOffs = new int[numVals2+1];
+		char[] rbitmaps = new char[totalLen];
+		for( int k=0, off=0; k<numVals2; k++ ) {
+			rbitmapOffs[k] = off;
+			System.arraycopy(lbitmaps[k], 0, rbitmaps, off, lbitmaps[k].length);
+			off += lbitmaps[k].length;
+		}
+		rbitmapOffs[numVals2] = totalLen;
+		
+		return createGroup(_colIndexes, ru-rl, numOffsets < ru-rl,
+				rvalues, rbitmaps, rbitmapOffs);
+	}
+	
+	@Override
+	public ColGroup sliceColumns(int cl, int cu) {
+		int[] pos = getColumnPositions(cl, cu);
+		if( pos == null )
+			return null;
+		
+		//shallow copy of bitmaps w/ projected value tuples
+		return createGroup(getShiftedColIndices(pos, cl), _numRows, 
+				_zeros, projectValues(pos), _data, _ptr);
+	}
+
 	/**
 	 * Utility function of sparse-unsafe operations.
 	 * 
@@ -421,4 +615,94 @@ public abstract class ColGroupOffset extends ColGroupValue
 	
 	protected abstract void computeRowMxx(MatrixBlock result, Builtin builtin, int rl, int ru);
 	
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros) {
+		return new OffsetValueIterator(rl, ru, inclZeros);
+	}
+	
+	/**
+	 * Value-major iterator over the cells of an OLE or RLE column group, which 
+	 * decodes the offsets per distinct value tuple. If zeros are requested, rows 
+	 * not covered by any bitmap are returned at the end (with a row indicator 
+	 * vector of the requested row range as the only temporary).
+	 */
+	private class OffsetValueIterator implements Iterator<IJV>
+	{
+		//iterator configuration
+		private final int _rl;
+		private final int _ru;
+		private final boolean _inclZeros;
+		private final BitSet _coveredRows;
+		
+		//iterator state
+		private final IJV _buff = new IJV();
+		private Iterator<Integer> _viter = null;
+		private int _vpos = -1; //current value tuple
+		private int _rpos = -1; //current row
+		private int _cpos = -1; //current column in group
+		private int _zpos = 0;  //current position in zero rows
+		private double _value = 0;
+		private boolean _done = false;
+		
+		public OffsetValueIterator(int rl, int ru, boolean inclZeros) {
+			_rl = rl;
+			_ru = ru;
+			_inclZeros = inclZeros;
+			_coveredRows = (inclZeros && _zeros) ? new BitSet(ru-rl) : null;
+			getNextValue();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return !_done;
+		}
+		
+		@Override
+		public IJV next() {
+			_buff.set(_rpos, _colIndexes[_cpos], _value);
+			getNextValue();
+			return _buff;
+		}
+		
+		private void getNextValue() {
+			final int numCols = getNumCols();
+			final int numVals = getNumValues();
+			while( true ) {
+				//next column of current row (of value tuple or zero row)
+				if( _rpos >= 0 && ++_cpos < numCols ) {
+					_value = (_vpos < numVals) ? _values[_vpos*numCols+_cpos] : 0;
+					if( _value != 0 || _inclZeros )
+						return;
+					continue;
+				}
+				_cpos = -1;
+				
+				//next row of current value tuple (offsets sorted in ascending order)
+				if( _vpos < numVals ) {
+					_rpos = -1;
+					int r = (_viter != null && _viter.hasNext()) ? _viter.next() : _ru;
+					while( r < _rl && _viter.hasNext() )
+						r = _viter.next();
+					if( r >= _rl && r < _ru ) {
+						_rpos = r;
+						if( _coveredRows != null )
+							_coveredRows.set(r - _rl);
+					}
+					else if( ++_vpos < numVals ) //next value tuple
+						_viter = getDecodeIterator(_vpos);
+					continue;
+				}
+				
+				//next zero row not covered by any value tuple
+				int r = (_coveredRows != null) ? _coveredRows.nextClearBit(_zpos) : _ru-_rl;
+				if( r < _ru-_rl ) {
+					_zpos = r + 1;
+					_rpos = _rl + r;
+					continue;
+				}
+				_done = true;
+				return;
+			}
+		}
+	}
 }
@@ -26,6 +26,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.compress.utils.IntArrayList;
 import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
@@ -33,7 +34,6 @@ import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
-import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 
 /** A group of columns compressed with a single run-length encoded bitmap. */
@@ -97,6 +97,34 @@ public class ColGroupRLE extends ColGroupOffset
 		return new BitmapDecoderRLE(_data, _ptr[k], len(k)); 
 	}
 	
+	@Override
+	protected ColGroupOffset createGroup(int[] colIndices, int numRows, 
+		boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) 
+	{
+		return new ColGroupRLE(colIndices, numRows, zeros, values, bitmaps, bitmapOffs);
+	}
+	
+	@Override
+	protected char[] genBitmap(int[] offsets, int len) {
+		return BitmapEncoder.genRLEBitmap(offsets, len);
+	}
+	
+	@Override
+	protected void extractOffsets(int k, int rl, int ru, IntArrayList offsets) {
+		int boff = _ptr[k];
+		int blen = len(k);
+		
+		//scan runs until row upper, and clip runs to row range
+		int curRunStartOff = 0;
+		int curRunEnd = 0;
+		for( int bix=0; bix < blen && curRunEnd < ru; bix+=2 ) {
+			curRunStartOff = curRunEnd + _data[boff+bix];
+			curRunEnd = curRunStartOff + _data[boff+bix+1];
+			for( int i=Math.max(curRunStartOff, rl); i<Math.min(curRunEnd, ru); i++ )
+				offsets.appendValue(i - rl);
+		}
+	}
+	
 	@Override
 	public void decompressToBlock(MatrixBlock target, int rl, int ru) 
 	{
@@ -410,65 +438,42 @@ public class ColGroupRLE extends ColGroupOffset
 	}
 
 	@Override
-	public ColGroup scalarOperation(ScalarOperator op)
-			throws DMLRuntimeException 
+	protected final void computeSum(MatrixBlock result, KahanFunction kplus)
 	{
-		double val0 = op.executeScalar(0);
+		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
 		
-		//fast path: sparse-safe operations
-		// Note that bitmaps don't change and are shallow-copied
-		if( op.sparseSafe || val0==0 ) {
-			return new ColGroupRLE(_colIndexes, _numRows, _zeros,
-					applyScalarOp(op), _data, _ptr);
-		}
+		final int numCols = getNumCols();
+		final int numVals = getNumValues();
 		
-		//slow path: sparse-unsafe operations (potentially create new bitmap)
-		//note: for efficiency, we currently don't drop values that become 0
-		boolean[] lind = computeZeroIndicatorVector();
-		int[] loff = computeOffsets(lind);
-		if( loff.length==0 ) { //empty offset list: go back to fast path
-			return new ColGroupRLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
-		}
+		final int[] counts = getCounts();
 		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());		
-		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
-		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
-		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
-		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
-		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		for (int k = 0; k < numVals; k++) {
+			int valOff = k * numCols;
+			
+			//scale counts by all values
+			for( int j = 0; j < numCols; j++ )
+				kplus.execute3(kbuff, _values[ valOff+j ], counts[k]);
+		}
 		
-		return new ColGroupRLE(_colIndexes, _numRows, loff.length<_numRows,
-				rvalues, rbitmaps, rbitmapOffs);
+		result.quickSetValue(0, 0, kbuff._sum);
+		result.quickSetValue(0, 1, kbuff._correction);
 	}
-
+	
 	@Override
-	protected final void computeSum(MatrixBlock result, KahanFunction kplus)
-	{
-		KahanObject kbuff = new KahanObject(result.quickGetValue(0, 0), result.quickGetValue(0, 1));
-		
-		final int numCols = getNumCols();
+	public int[] getCounts() {
 		final int numVals = getNumValues();
-		
+		int[] counts = new int[numVals];
 		for (int k = 0; k < numVals; k++) {
 			int boff = _ptr[k];
 			int blen = len(k);
-			int valOff = k * numCols;
 			int curRunEnd = 0;
-			int count = 0;
 			for (int bix = 0; bix < blen; bix+=2) {
 				int curRunStartOff = curRunEnd + _data[boff+bix];
 				curRunEnd = curRunStartOff + _data[boff+bix+1];
-				count += curRunEnd-curRunStartOff;
+				counts[k] += curRunEnd-curRunStartOff;
 			}
-			
-			//scale counts by all values
-			for( int j = 0; j < numCols; j++ )
-				kplus.execute3(kbuff, _values[ valOff+j ], count);
 		}
-		
-		result.quickSetValue(0, 0, kbuff._sum);
-		result.quickSetValue(0, 1, kbuff._correction);
+		return counts;
 	}
 
 	@Override
@@ -611,7 +616,8 @@ public class ColGroupRLE extends ColGroupOffset
 		}
 	}
 	
-	public boolean[] computeZeroIndicatorVector()
+	@Override
+	protected boolean[] computeZeroIndicatorVector()
 		throws DMLRuntimeException 
 	{	
 		boolean[] ret = new boolean[_numRows];
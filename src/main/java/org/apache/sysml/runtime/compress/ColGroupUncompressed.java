@@ -25,16 +25,20 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.ReduceRow;
+import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock.Type;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.SortUtils;
 
 
@@ -345,6 +349,66 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException 
+	{
+		//execute unary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.unaryOperations(op, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException 
+	{
+		//extract rhs values of the columns of this group
+		MatrixBlock vect = new MatrixBlock(1, _colIndexes.length, false);
+		vect.allocateDenseBlock();
+		double[] b = vect.getDenseBlock();
+		for( int j=0; j<_colIndexes.length; j++ )
+			b[j] = v[_colIndexes[j]];
+		vect.recomputeNonZeros();
+		
+		//execute binary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.binaryOperations(op, vect, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup sliceRows(int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		MatrixBlock retContent = _data.sliceOperations(
+				rl, ru-1, 0, _data.getNumColumns()-1, new MatrixBlock());
+		return new ColGroupUncompressed(getColIndices(), ru-rl, retContent);
+	}
+	
+	@Override
+	public ColGroup sliceColumns(int cl, int cu)
+			throws DMLRuntimeException 
+	{
+		int[] pos = getColumnPositions(cl, cu);
+		if( pos == null )
+			return null;
+		
+		//column positions are contiguous in the sorted column indexes
+		MatrixBlock retContent = (pos.length == _colIndexes.length) ? _data :
+			_data.sliceOperations(0, _numRows-1, pos[0], pos[pos.length-1], new MatrixBlock());
+		return new ColGroupUncompressed(getShiftedColIndices(pos, cl), _numRows, retContent);
+	}
+	
+	@Override
+	public long getNumberNonZeros() {
+		return _data.getNonZeros();
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret)
 		throws DMLRuntimeException 
@@ -407,4 +471,68 @@ public class ColGroupUncompressed extends ColGroup
 		for( int i=rl; i<ru; i++ )
 			rnnz[i-rl] += _data.recomputeNonZeros(i, i, 0, _data.getNumColumns()-1);
 	}
+	
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros) {
+		return new UCIterator(rl, ru, inclZeros);
+	}
+	
+	/**
+	 * Row-major iterator over the cells of an uncompressed column group,
+	 * which maps local to global column indexes.
+	 */
+	private class UCIterator implements Iterator<IJV>
+	{
+		//iterator configuration
+		private final int _ru;
+		private final boolean _inclZeros;
+		private final Iterator<IJV> _siter; //sparse w/o zeros
+		
+		//iterator state
+		private final IJV _buff = new IJV();
+		private int _rpos = -1;
+		private int _cpos = -1;
+		private double _value = 0;
+		
+		public UCIterator(int rl, int ru, boolean inclZeros) {
+			_ru = ru;
+			_inclZeros = inclZeros;
+			_siter = (_data.isInSparseFormat() && !inclZeros) ?
+				_data.getSparseBlockIterator(rl, ru) : null;
+			_rpos = rl;
+			_cpos = -1;
+			if( _siter == null )
+				getNextValue();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return (_siter != null) ? 
+				_siter.hasNext() : (_rpos < _ru);
+		}
+		
+		@Override
+		public IJV next() {
+			if( _siter != null ) {
+				IJV cell = _siter.next();
+				_buff.set(cell.getI(), _colIndexes[cell.getJ()], cell.getV());
+				return _buff;
+			}
+			_buff.set(_rpos, _colIndexes[_cpos], _value);
+			getNextValue();
+			return _buff;
+		}
+		
+		private void getNextValue() {
+			do {
+				boolean nextRow = (_cpos+1 >= getNumCols());
+				_rpos += nextRow ? 1 : 0; 
+				_cpos = nextRow ? 0 : _cpos+1;
+				if( _rpos >= _ru )
+					return; //reached end
+				_value = _data.quickGetValue(_rpos, _cpos);
+			}
+			while( !_inclZeros && _value==0 );
+		}
+	}
 }
@@ -29,7 +29,9 @@ import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -123,6 +125,14 @@ public abstract class ColGroupValue extends ColGroup
 		return _values;
 	}
 	
+	/**
+	 * Obtain the number of rows per distinct value tuple, which allows
+	 * value-based operations (e.g., aggregates) without decompression.
+	 * 
+	 * @return counts per value tuple, in the order of {@link #getValues}
+	 */
+	public abstract int[] getCounts();
+	
 	protected int containsAllZeroValue() {
 		int numVals = getNumValues();
 		int numCols = getNumCols();
@@ -268,21 +278,88 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 
-	protected double[] applyScalarOp(ScalarOperator op, double newVal, int numCols)
+	/**
+	 * Method for use by subclasses. Applies a unary operation to the value
+	 * metadata stored in the superclass.
+	 * 
+	 * @param op
+	 *            unary operation to perform
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyUnaryOp(UnaryOperator op)
 		throws DMLRuntimeException 
 	{
 		//scan over linearized values
-		double[] ret = new double[_values.length + numCols];
-		for( int i = 0; i < _values.length; i++ ) {
-			ret[i] = op.executeScalar(_values[i]);
+		double[] ret = new double[_values.length];
+		for (int i = 0; i < _values.length; i++) {
+			ret[i] = op.fn.execute(_values[i]);
+		}
+
+		return ret;
+	}
+	
+	/**
+	 * Method for use by subclasses. Applies a binary operation with a row
+	 * vector to the value metadata stored in the superclass.
+	 * 
+	 * @param op
+	 *            binary operation to perform
+	 * @param v
+	 *            dense row vector, indexed by column indexes of the matrix block
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyBinaryRowOp(BinaryOperator op, double[] v)
+		throws DMLRuntimeException 
+	{
+		//scan over linearized values, w/ column-aligned rhs values
+		final int numCols = getNumCols();
+		double[] ret = new double[_values.length];
+		for (int i = 0; i < _values.length; i++) {
+			ret[i] = op.fn.execute(_values[i], v[_colIndexes[i % numCols]]);
 		}
 		
-		//add new value to the end
-		Arrays.fill(ret, _values.length, _values.length+numCols, newVal);
+		return ret;
+	}
+	
+	/**
+	 * Method for use by subclasses. Projects the value tuples onto the given
+	 * column positions, where projected tuples might be duplicates or all zeros. 
+	 * 
+	 * @param pos column positions
+	 * @return projected copy of value metadata, or the values if all columns
+	 */
+	protected double[] projectValues(int[] pos) {
+		final int numCols = getNumCols();
+		if( pos.length == numCols )
+			return _values; //shallow copy
 		
+		final int numVals = getNumValues();
+		double[] ret = new double[numVals * pos.length];
+		for( int k=0, off=0; k<numVals; k++, off+=pos.length )
+			for( int j=0; j<pos.length; j++ )
+				ret[off+j] = _values[k*numCols+pos[j]];
 		return ret;
 	}
 	
+	@Override
+	public long getNumberNonZeros() {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		final int[] counts = getCounts();
+		
+		//scale non-zeros per value tuple by counts
+		long nnz = 0;
+		for( int k=0, off=0; k<numVals; k++, off+=numCols ) {
+			int lnnz = 0;
+			for( int j=0; j<numCols; j++ )
+				lnnz += (_values[off+j] != 0) ? 1 : 0;
+			nnz += (long)lnnz * counts[k];
+		}
+		return nnz;
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result) 
 		throws DMLRuntimeException 
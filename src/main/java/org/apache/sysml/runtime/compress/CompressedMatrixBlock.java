@@ -33,7 +33,6 @@ import java.util.List;
 import java.util.PriorityQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.LongStream;
 
@@ -51,7 +50,6 @@ import org.apache.sysml.runtime.compress.cocode.PlanningCoCoder;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeEstimator;
 import org.apache.sysml.runtime.compress.estim.CompressedSizeInfo;
 import org.apache.sysml.runtime.compress.estim.SizeEstimatorFactory;
-import org.apache.sysml.runtime.compress.utils.ConverterUtils;
 import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
@@ -68,6 +66,7 @@ import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -88,6 +87,8 @@ import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.IndexRange;
 
 /**
@@ -102,6 +103,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public static final boolean TRANSPOSE_INPUT = true;
 	public static final boolean MATERIALIZE_ZEROS = false;
 	public static final long MIN_PAR_AGG_THRESHOLD = 16*1024*1024; //16MB
+	public static final int MIN_SLICE_COMPRESSED_ROWS = 1024; //smaller slices uncompressed
 	public static final boolean INVESTIGATE_ESTIMATES = false;
 	public static boolean ALLOW_DDC_ENCODING = true;
 	private static final boolean LDEBUG = true; //local debug flag
@@ -391,7 +393,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throws DMLRuntimeException 
 	{	
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<SizeEstimTask> tasks = new ArrayList<SizeEstimTask>();
 			for( int col=0; col<clen; col++ )
 				tasks.add(new SizeEstimTask(estim, col));
@@ -420,7 +422,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		throws DMLRuntimeException
 	{
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<CompressTask> tasks = new ArrayList<CompressTask>();
 			for( int[] colIndexes : groups )
 				tasks.add(new CompressTask(in, estim, compRatios, rlen, colIndexes, denseEst));
@@ -585,7 +587,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		//multi-threaded decompression
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int rlen = getNumRows();
 			int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
 			int blklen = (int)(Math.ceil((double)rlen/k));
@@ -811,25 +813,27 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			return super.scalarOperations(sop, result);
 		}
 		
-		//allocate the output matrix block
-		CompressedMatrixBlock ret = null;
-		if( result==null || !(result instanceof CompressedMatrixBlock) )
-			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
-		else {
-			ret = (CompressedMatrixBlock) result;
-			ret.reset(rlen, clen);
-		}
-		
 		// Apply the operation recursively to each of the column groups.
 		// Most implementations will only modify metadata.
 		ArrayList<ColGroup> newColGroups = new ArrayList<ColGroup>();
 		for (ColGroup grp : _colGroups) {
 			newColGroups.add(grp.scalarOperation(sop));
 		}
-		ret._colGroups = newColGroups;
-		ret.setNonZeros(rlen*clen);
+		return createCompressedResult(result, rlen, clen, newColGroups);
+	}
+	
+	@Override
+	public void recomputeNonZeros() {
+		if( !isCompressed() ) {
+			super.recomputeNonZeros();
+			return;
+		}
 		
-		return ret;
+		//exact non-zeros from value tuples and counts
+		long nnz = 0;
+		for( ColGroup grp : _colGroups )
+			nnz += grp.getNumberNonZeros();
+		nonZeros = nnz;
 	}
 
 	@Override
@@ -868,7 +872,8 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 		ArrayList<ColGroup> inColGroups = ((CompressedMatrixBlock) that)._colGroups;
 		for( ColGroup group : inColGroups ) {
-			ColGroup tmp = ConverterUtils.copyColGroup(group);
+			//shallow copy via slice of all columns (deep copy of col indices)
+			ColGroup tmp = group.sliceColumns(0, that.getNumColumns());
 			tmp.shiftColIndices(clen);
 			ret2._colGroups.add(tmp);
 		}
@@ -1079,7 +1084,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				if( uc != null )
 					 ret = (MatrixBlock)uc.getData().aggregateUnaryOperations(op, ret, blockingFactorRow, blockingFactorCol, indexesIn, false);					
 				//compute all compressed column groups
-				ExecutorService pool = Executors.newFixedThreadPool( op.getNumThreads() );
+				ExecutorService pool = CommonThreadPool.get( op.getNumThreads() );
 				ArrayList<UnaryAggregateTask> tasks = new ArrayList<UnaryAggregateTask>();
 				if( op.indexFn instanceof ReduceCol && grpParts.length > 0 ) {
 					int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
@@ -1262,7 +1267,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if( !isEmptyBlock(false) ) {
 			//compute matrix mult
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ExecutorService pool = CommonThreadPool.get( k );
 				ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 				int numgrp = _colGroups.size();
 				int blklen = (int)(Math.ceil((double)numgrp/(2*k)));
@@ -1333,7 +1338,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				uc.rightMultByVector(vector, result, k);					
 			
 			//compute remaining compressed column groups in parallel
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int rlen = getNumRows();
 			int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
 			int blklen = (int)(Math.ceil((double)rlen/k));
@@ -1456,7 +1461,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				uc.leftMultByRowVector(vector, result, k);					
 			
 			//compute remaining compressed column groups in parallel
-			ExecutorService pool = Executors.newFixedThreadPool( Math.min(colGroups.size()-((uc!=null)?1:0), k) );
+			ExecutorService pool = CommonThreadPool.get( Math.min(colGroups.size()-((uc!=null)?1:0), k) );
 			ArrayList<LeftMatrixMultTask> tasks = new ArrayList<LeftMatrixMultTask>();
 			for( ColGroup grp : colGroups )
 				if( !(grp instanceof ColGroupUncompressed) )
@@ -1727,9 +1732,20 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
 			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.unaryOperations(op, result);
+		//call uncompressed or cumulative unary operations if necessary
+		if( !isCompressed() )
+			return super.unaryOperations(op, result);
+		if( LibMatrixAgg.isSupportedUnaryOperator(op) ) {
+			printDecompressWarning("unaryOperations");
+			return decompress().unaryOperations(op, result);
+		}
+		
+		//apply the cellwise operation to each of the column groups,
+		//which only rewrites the value dictionaries if sparse-safe
+		ArrayList<ColGroup> newColGroups = new ArrayList<ColGroup>();
+		for( ColGroup grp : _colGroups )
+			newColGroups.add(grp.unaryOperation(op));
+		return createCompressedResult(result, rlen, clen, newColGroups);
 	}
 
 	@Override
@@ -1743,6 +1759,19 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
 			throws DMLRuntimeException {
+		//apply matrix-row vector operations to each of the column groups
+		//(e.g., X - colMeans(X)), which only rewrites the value dictionaries
+		MatrixBlock that = (MatrixBlock) thatValue;
+		if( isCompressed() && !isCompressed(that) && rlen > 1
+			&& that.getNumRows() == 1 && that.getNumColumns() == clen ) 
+		{
+			double[] v = DataConverter.convertToDoubleVector(that);
+			ArrayList<ColGroup> newColGroups = new ArrayList<ColGroup>();
+			for( ColGroup grp : _colGroups )
+				newColGroups.add(grp.binaryRowOperation(op, v));
+			return createCompressedResult(result, rlen, clen, newColGroups);
+		}
+		
 		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
 		MatrixBlock left = isCompressed() ? decompress() : this;
 		MatrixBlock right = getUncompressed(thatValue);
@@ -1835,9 +1864,38 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public MatrixBlock sliceOperations(int rl, int ru, int cl, int cu, CacheBlock ret) 
 			throws DMLRuntimeException {
-		printDecompressWarning("sliceOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.sliceOperations(rl, ru, cl, cu, ret);
+		//call uncompressed matrix slice if necessary
+		if( !isCompressed() )
+			return super.sliceOperations(rl, ru, cl, cu, ret);
+		
+		// check the validity of bounds
+		if ( rl < 0 || rl >= getNumRows() || ru < rl || ru >= getNumRows()
+				|| cl < 0 || cu >= getNumColumns() || cu < cl || cu >= getNumColumns() ) {
+			throw new DMLRuntimeException("Invalid values for matrix indexing: ["+(rl+1)+":"+(ru+1)+"," + (cl+1)+":"+(cu+1)+"] " +
+							"must be within matrix dimensions ["+getNumRows()+","+getNumColumns()+"]");
+		}
+		
+		//slice column groups of column range (shallow copies of rows), and 
+		//slice the rows of the remaining groups on their offset lists or codes
+		boolean allRows = (rl == 0 && ru == rlen-1);
+		ArrayList<ColGroup> newColGroups = new ArrayList<ColGroup>();
+		for( ColGroup grp : _colGroups ) {
+			ColGroup tmp = grp.sliceColumns(cl, cu+1);
+			if( tmp != null )
+				newColGroups.add(allRows ? tmp : tmp.sliceRows(rl, ru+1));
+		}
+		CompressedMatrixBlock ret2 = createCompressedResult(
+				null, ru-rl+1, cu-cl+1, newColGroups);
+		
+		//return small slices (e.g., of row-wise access in loops) uncompressed
+		if( ru-rl+1 < MIN_SLICE_COMPRESSED_ROWS ) {
+			MatrixBlock tmp = ret2.decompress();
+			if( ret == null || ret instanceof CompressedMatrixBlock )
+				return tmp;
+			((MatrixBlock)ret).copy(tmp);
+			return (MatrixBlock)ret;
+		}
+		return ret2;
 	}
 
 	@Override
@@ -1899,12 +1957,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	}
 
 	@Override
-	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result)
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k)
 			throws DMLRuntimeException {
 		printDecompressWarning("sortOperations");
 		MatrixBlock left = isCompressed() ? decompress() : this;
 		MatrixBlock right = getUncompressed(weights);
-		return left.sortOperations(right, result);
+		return left.sortOperations(right, result, k);
 	}
 
 	@Override
@@ -2100,6 +2158,23 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return (mb instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)mb).isCompressed());
 	}
 
+	private CompressedMatrixBlock createCompressedResult(MatrixValue result, int m, int n, ArrayList<ColGroup> colGroups) {
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(m, n, sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(m, n);
+		}
+		
+		//meta data maintenance (exact nnz and sparse format of uncompressed block)
+		ret._colGroups = colGroups;
+		ret.recomputeNonZeros();
+		ret.sparse = MatrixBlock.evalSparseFormatInMemory(m, n, ret.nonZeros);
+		return ret;
+	}
+	
 	private static MatrixBlock getUncompressed(MatrixValue mVal) 
 			throws DMLRuntimeException {
 		return isCompressed((MatrixBlock)mVal) ? 
@@ -28,6 +28,7 @@ import org.apache.sysml.parser.ForStatementBlock;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -132,6 +133,9 @@ public class ForProgramBlock extends ProgramBlock
 			// prepare update in-place variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
 			
+			// prepare lifetime hints of loop-invariant inputs
+			ArrayList<CacheableData<?>> hints = prepareLifetimeHints(ec);
+			
 			// run for loop body for each instance of predicate sequence 
 			SequenceIterator seqIter = new SequenceIterator(iterVarName, from, to, incr);
 			for( IntObject iterVar : seqIter ) 
@@ -142,12 +146,17 @@ public class ForProgramBlock extends ProgramBlock
 				//execute all child blocks
 				for(int i=0 ; i < this._childBlocks.size() ; i++) {
 					ec.updateDebugState( i );
+					if( i == _childBlocks.size()-1 )
+						prefetchNextIteration(_childBlocks, ec);
 					_childBlocks.get(i).execute(ec);
 				}				
 			}
 			
 			// reset update-in-place variables
 			resetUpdateInPlaceVariableFlags(ec, flags);
+			
+			// reset lifetime hints
+			resetLifetimeHints(hints);
 		}
 		catch (DMLScriptException e) {
 			//propagate stop call
@@ -60,6 +60,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueStealing;
 import org.apache.sysml.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.RemoteDPParForMR;
@@ -144,6 +145,12 @@ public class ParForProgramBlock extends ForProgramBlock
 		UNSPECIFIED
 	}
 	
+	// task queue (local parworkers)
+	public enum PTaskQueue {
+		FIFO,       //shared synchronized fifo queue
+		STEALING,   //striped per-worker deques w/ work stealing
+	}
+	
 	public enum PDataPartitionFormat {
 		NONE,
 		ROW_WISE,
@@ -317,6 +324,8 @@ public class ParForProgramBlock extends ForProgramBlock
 	//specifics for caching
 	protected boolean          _enableCPCaching     = true;
 	protected boolean          _enableRuntimePiggybacking = false;
+	//specifics for local task distribution
+	protected PTaskQueue       _taskQueueType       = PTaskQueue.FIFO;
 	//specifics for spark 
 	protected Collection<String> _variablesRP = null;
 	protected Collection<String> _variablesECache = null;
@@ -474,6 +483,14 @@ public class ParForProgramBlock extends ForProgramBlock
 		_params.put(ParForStatementBlock.TASK_PARTITIONER, String.valueOf(_taskPartitioner)); //kept up-to-date for copies
 	}
 	
+	public void setTaskQueue( PTaskQueue queue ) {
+		_taskQueueType = queue;
+	}
+	
+	public PTaskQueue getTaskQueue() {
+		return _taskQueueType;
+	}
+	
 	public void setTaskSize( long tasksize ) {
 		_taskSize = tasksize;
 		_params.put(ParForStatementBlock.TASK_SIZE, String.valueOf(_taskSize)); //kept up-to-date for copies
@@ -616,6 +633,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_NUMTHREADS,      _numThreads);
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_TASKSIZE,        _taskSize);
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_TASKPARTITIONER, _taskPartitioner.ordinal());
+			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_TASKQUEUE,       _taskQueueType.ordinal());
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_DATAPARTITIONER, _dataPartitioner.ordinal());
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_EXECMODE,        _execMode.ordinal());
 		}
@@ -731,6 +749,7 @@ public class ParForProgramBlock extends ForProgramBlock
 
 		int numExecutedTasks = 0;
 		int numExecutedIterations = 0;
+		long numSteals = 0;
 		
 		//restrict recompilation to thread local memory
 		setMemoryBudget();
@@ -742,7 +761,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		try
 		{
 			// Step 1) init parallel workers, task queue and threads
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<Task>();
+			LocalTaskQueue<Task> queue = createTaskQueue();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			for( int i=0; i<_numThreads; i++ )
@@ -750,6 +769,7 @@ public class ParForProgramBlock extends ForProgramBlock
 				//create parallel workers as (lazy) deep copies
 				//including preparation of update-in-place variables
 				workers[i] = createParallelWorker( _pwIDs[i], queue, ec ); 
+				workers[i].setQueueIndex( i );
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY); 
 			}
@@ -805,7 +825,10 @@ public class ParForProgramBlock extends ForProgramBlock
 				localVariables[i] = workers[i].getVariables();
 				numExecutedTasks += workers[i].getExecutedTasks();
 				numExecutedIterations += workers[i].getExecutedIterations();			
+				numSteals += workers[i].getNumSteals();
 			}
+			if( DMLScript.STATISTICS )
+				Statistics.incrementParForTaskSteals(numSteals);
 			//consolidate results into global symbol table
 			consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
 					                    localVariables );
@@ -835,6 +858,7 @@ public class ParForProgramBlock extends ForProgramBlock
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_RESULTS_T, time.stop());
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_NUMTASKS, numExecutedTasks);
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_NUMITERS, numExecutedIterations);
+				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_NUMSTEALS, numSteals);
 			}
 		}
 	}	
@@ -1419,6 +1443,19 @@ public class ParForProgramBlock extends ForProgramBlock
 		return pw;
 	}
 	
+	/**
+	 * Creates a new task queue for local parworkers according to the specified 
+	 * runtime parameter.
+	 * 
+	 * @return task queue
+	 */
+	private LocalTaskQueue<Task> createTaskQueue() {
+		switch( _taskQueueType ) {
+			case STEALING: return new LocalTaskQueueStealing<Task>(_numThreads);
+			default:       return new LocalTaskQueue<Task>();
+		}
+	}
+	
 	/**
 	 * Creates a new task partitioner according to the specified runtime parameter.
 	 * 
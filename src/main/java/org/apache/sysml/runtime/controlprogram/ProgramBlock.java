@@ -31,14 +31,20 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.recompile.Recompiler;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.StatementBlock;
+import org.apache.sysml.parser.VariableSet;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CachePrefetcher;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
@@ -209,11 +215,17 @@ public class ProgramBlock
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec) 
 		throws DMLRuntimeException 
 	{
+		int lookahead = CachePrefetcher.getLookahead();
+		
 		for (int i = 0; i < inst.size(); i++) 
 		{
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
 			
+			//prefetch evicted inputs of upcoming instructions
+			if( lookahead > 0 )
+				prefetchInputs(inst, (i==0) ? 1 : i+lookahead, i+lookahead, ec);
+			
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
@@ -368,6 +380,69 @@ public class ProgramBlock
 				mo.setUpdateType(flags[i]);
 			}
 	}
+	
+	protected void prefetchNextIteration(ArrayList<ProgramBlock> childBlocks, ExecutionContext ec) 
+	{
+		//prefetch evicted inputs of the first instructions of the next 
+		//loop iteration (if the loop body starts with a basic block)
+		int lookahead = CachePrefetcher.getLookahead();
+		if( lookahead > 0 && !childBlocks.isEmpty() 
+			&& childBlocks.get(0).getClass() == ProgramBlock.class )
+			prefetchInputs(childBlocks.get(0).getInstructions(), 0, lookahead-1, ec);
+	}
+	
+	private static void prefetchInputs(ArrayList<Instruction> inst, int from, int to, ExecutionContext ec) 
+	{
+		for( int i=from; i<=Math.min(to, inst.size()-1); i++ ) {
+			if( inst.get(i) instanceof ComputationCPInstruction ) {
+				ComputationCPInstruction cinst = (ComputationCPInstruction) inst.get(i);
+				prefetchInput(cinst.input1, ec);
+				prefetchInput(cinst.input2, ec);
+				prefetchInput(cinst.input3, ec);
+			}
+		}
+	}
+	
+	private static void prefetchInput(CPOperand in, ExecutionContext ec) {
+		if( in == null || in.isLiteral() )
+			return;
+		Data dat = ec.getVariable(in.getName());
+		if( dat instanceof CacheableData )
+			((CacheableData<?>)dat).prefetch();
+	}
+	
+	protected ArrayList<CacheableData<?>> prepareLifetimeHints(ExecutionContext ec) 
+	{
+		if( _sb == null || LazyWriteBuffer.getPolicy() != RPolicy.LIFETIME 
+			|| !CacheableData.isCachingActive() )
+			return null;
+		
+		//mark loop-invariant inputs (read but not updated in the loop body), 
+		//according to the live variable analysis of the loop statement block
+		ArrayList<CacheableData<?>> ret = new ArrayList<CacheableData<?>>();
+		VariableSet read = _sb.variablesRead();
+		VariableSet updated = _sb.variablesUpdated();
+		for( String varname : read.getVariableNames() ) {
+			Data dat = ec.getVariable(varname);
+			if( !updated.containsVariable(varname) && dat instanceof CacheableData ) {
+				CacheableData<?> cd = (CacheableData<?>) dat;
+				cd.updateLifetimeHint(1);
+				ret.add(cd);
+			}
+		}
+		
+		return ret;
+	}
+	
+	protected void resetLifetimeHints(ArrayList<CacheableData<?>> hints) 
+	{
+		if( hints == null )
+			return;
+		
+		//release lifetime hints of loop-invariant inputs
+		for( CacheableData<?> cd : hints )
+			cd.updateLifetimeHint(-1);
+	}
 
 	private boolean isRemoveVariableInstruction(Instruction inst)
 	{
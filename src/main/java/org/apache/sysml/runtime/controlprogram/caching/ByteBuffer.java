@@ -24,9 +24,14 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Arrays;
 
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastByteCompressor;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 /**
@@ -36,10 +41,16 @@ import org.apache.sysml.runtime.util.LocalFileUtils;
  */
 public class ByteBuffer
 {
+	//min estimated compression ratio and sample sizes for compression decisions
+	private static final double COMPRESS_MIN_RATIO = 1.5;
+	private static final int COMPRESS_SAMPLE_BYTES = 64*1024;
+	
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
-	private final long _size;
+	private volatile boolean _compressed;
+	private long _size;
+	private int _ulen = -1; //uncompressed length of compressed byte data
 	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
@@ -66,6 +77,19 @@ public class ByteBuffer
 					_bdata = new byte[(int)_size];
 				DataOutput dout = new CacheDataOutput(_bdata);
 				cb.write(dout);
+				
+				//optional compression of serialized bytes
+				if( LazyWriteBuffer.isCompressionEnabled() && estimateCompressionRatio(
+					_bdata, (int)Math.min(_size, COMPRESS_SAMPLE_BYTES)) >= COMPRESS_MIN_RATIO )
+					compressBytes(_bdata, (int)_size);
+			}
+			else if( LazyWriteBuffer.isCompressionEnabled() && isCompressibleDense(cb) )
+			{
+				//deep serialize and compress dense matrix
+				byte[] tmp = new byte[(int)_size];
+				cb.write(new CacheDataOutput(tmp));
+				_shallow = false;
+				compressBytes(tmp, (int)_size);
 			}
 			else //SPARSE/DENSE -> DENSE
 			{
@@ -86,10 +110,8 @@ public class ByteBuffer
 		CacheBlock ret = null;
 		
 		if( !_shallow ) { //sparse matrix / string frame
-			DataInput din = _matrix ? new CacheDataInput(_bdata) :
-				new DataInputStream(new ByteArrayInputStream(_bdata));
-			ret = _matrix ? new MatrixBlock() : new FrameBlock();
-			ret.readFields(din);
+			ret = deserializeBytes(_compressed ? 
+				decompressBytes(_bdata, _ulen) : _bdata, _matrix);
 		}
 		else { //dense matrix/frame
 			ret = _cdata;
@@ -102,8 +124,10 @@ public class ByteBuffer
 		throws IOException
 	{
 		if( !_shallow ) {
-			//write out byte serialized array
+			//write out byte serialized (and potentially compressed) array
 			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			if( _compressed )
+				LazyWriteBuffer.addCompressedFile(fname, _ulen);
 		}
 		else {
 			//serialize cache block to output stream
@@ -119,6 +143,29 @@ public class ByteBuffer
 	public long getSize() {
 		return _size;
 	}
+	
+	/**
+	 * Sets the buffer size in bytes, used to release the reserved but
+	 * unused size of compressed buffers (under the write buffer lock).
+	 * 
+	 * @param size buffer size in bytes
+	 */
+	public void setSize(long size) {
+		_size = size;
+	}
+	
+	public boolean isCompressed() {
+		return _compressed;
+	}
+	
+	/**
+	 * Returns the size of the compressed byte array, if compressed.
+	 * 
+	 * @return compressed size in bytes
+	 */
+	public long getCompressedSize() {
+		return _compressed ? _bdata.length : _size;
+	}
 
 	public boolean isShallow() {
 		return _shallow;
@@ -128,7 +175,7 @@ public class ByteBuffer
 	{
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
-			if( CacheableData.CACHING_BUFFER_PAGECACHE )
+			if( CacheableData.CACHING_BUFFER_PAGECACHE && !_compressed )
 				PageCache.putPage(_bdata);
 			_bdata = null;
 		}
@@ -171,4 +218,87 @@ public class ByteBuffer
 			return true;
 		}
 	}
+	
+	/**
+	 * Deserializes a cache block from its byte representation.
+	 * 
+	 * @param bdata serialized byte array
+	 * @param matrix true if matrix block, false if frame block
+	 * @return cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock deserializeBytes( byte[] bdata, boolean matrix ) 
+		throws IOException
+	{
+		DataInput din = matrix ? new CacheDataInput(bdata) :
+			new DataInputStream(new ByteArrayInputStream(bdata));
+		CacheBlock ret = matrix ? new MatrixBlock() : new FrameBlock();
+		ret.readFields(din);
+		return ret;
+	}
+	
+	/**
+	 * Decompresses a compressed byte array (e.g., read from a local file).
+	 * 
+	 * @param cdata compressed byte array
+	 * @param ulen uncompressed length in bytes
+	 * @return uncompressed byte array
+	 */
+	public static byte[] decompressBytes( byte[] cdata, int ulen ) {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		byte[] ret = new byte[ulen];
+		FastByteCompressor.decompress(cdata, cdata.length, ret);
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementDecompressTime(System.nanoTime()-t0);
+		return ret;
+	}
+	
+	private void compressBytes( byte[] udata, int ulen ) {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		byte[] tmp = new byte[FastByteCompressor.maxCompressedLength(ulen)];
+		int clen = FastByteCompressor.compress(udata, ulen, tmp);
+		if( clen * COMPRESS_MIN_RATIO <= ulen ) {
+			//keep compressed representation
+			if( CacheableData.CACHING_BUFFER_PAGECACHE && udata == _bdata )
+				PageCache.putPage(_bdata);
+			_bdata = Arrays.copyOf(tmp, clen);
+			_ulen = ulen;
+			_compressed = true;
+		}
+		else if( udata != _bdata ) {
+			//keep uncompressed serialized representation
+			_bdata = udata;
+		}
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementCompress(_compressed, ulen, 
+				_compressed ? clen : ulen, System.nanoTime()-t0);
+	}
+	
+	private static boolean isCompressibleDense( CacheBlock cb ) {
+		if( !(cb instanceof MatrixBlock) || cb instanceof CompressedMatrixBlock )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		DenseBlock da = mb.getDenseBlockView();
+		if( da == null || mb.getExactSerializedSize() > Integer.MAX_VALUE )
+			return false;
+		
+		//estimate ratio on a sample of serialized dense values
+		//(from the first row block, which also covers large dense blocks)
+		double[] a = da.valuesAt(0);
+		int n = (int)Math.min((long)da.blockSize(0)*da.numCols(), COMPRESS_SAMPLE_BYTES/8);
+		byte[] tmp = new byte[8*n];
+		for( int i=0, pos=0; i<n; i++, pos+=8 ) {
+			long v = Double.doubleToRawLongBits(a[i]);
+			for( int j=0; j<8; j++ )
+				tmp[pos+j] = (byte)(v >>> (56-8*j));
+		}
+		return estimateCompressionRatio(tmp, tmp.length) >= COMPRESS_MIN_RATIO;
+	}
+	
+	private static double estimateCompressionRatio( byte[] sample, int len ) {
+		if( len <= 0 )
+			return 1;
+		byte[] tmp = new byte[FastByteCompressor.maxCompressedLength(len)];
+		return (double)len / FastByteCompressor.compress(sample, len, tmp);
+	}
 }
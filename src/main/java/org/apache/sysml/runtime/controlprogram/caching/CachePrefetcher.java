@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+
+/**
+ * Asynchronous prefetcher of evicted blocks. Program blocks announce the 
+ * inputs of upcoming instructions (a configurable number of instructions 
+ * ahead, incl. the first instructions of the next loop iteration), and the
+ * prefetcher restores evicted blocks from the off-heap tier or local files on
+ * a background thread. A subsequent restore obtains the prefetched block 
+ * instead of reading it in the critical path of the instruction stream.
+ * 
+ * Blocks in the write buffer are not prefetched because they are restored
+ * without I/O. Prefetched blocks are invalidated on writes and deletes of
+ * the same eviction file, and their total size is bounded by the write 
+ * buffer size.
+ * 
+ */
+public class CachePrefetcher 
+{
+	private static final Log LOG = LogFactory.getLog(CachePrefetcher.class.getName());
+	
+	//number of instructions ahead (0 disables prefetching)
+	private static int _lookahead = 0;
+	
+	//pending and completed prefetch tasks by eviction file name
+	private static HashMap<String, PrefetchTask> _tasks = null;
+	private static long _size = 0; //in bytes
+	
+	//single background thread for prefetch reads
+	private static ExecutorService _pool = null;
+	
+	public static synchronized void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		init( (conf != null) ? conf.getIntValue(DMLConfig.CP_CACHING_PREFETCH) : 0 );
+	}
+	
+	public static synchronized void init( int lookahead ) {
+		cleanup();
+		_lookahead = Math.max(lookahead, 0);
+		_tasks = new HashMap<String, PrefetchTask>();
+		_size = 0;
+		if( _lookahead > 0 )
+			_pool = Executors.newSingleThreadExecutor(new PrefetchThreadFactory());
+	}
+	
+	public static synchronized void cleanup() {
+		if( _tasks != null ) {
+			for( PrefetchTask task : _tasks.values() )
+				task.cancel();
+			_tasks.clear();
+		}
+		if( _pool != null ) {
+			_pool.shutdownNow();
+			_pool = null;
+		}
+		_size = 0;
+		_lookahead = 0;
+	}
+	
+	public static int getLookahead() {
+		return _lookahead;
+	}
+	
+	public static synchronized int getNumPending() {
+		return (_tasks != null) ? _tasks.size() : 0;
+	}
+	
+	/**
+	 * Issues an asynchronous restore of an evicted block, if it is not
+	 * already prefetched, not in the write buffer, and fits into the
+	 * prefetch budget.
+	 * 
+	 * @param fname eviction file name
+	 * @param matrix true if matrix block, false if frame block
+	 * @param size estimated in-memory size in bytes
+	 */
+	public static synchronized void prefetchBlock( String fname, boolean matrix, long size ) 
+	{
+		if( _pool == null || _tasks.containsKey(fname) 
+			|| _size + size > LazyWriteBuffer.getWriteBufferSize()
+			|| LazyWriteBuffer.containsBlock(fname) )
+			return;
+		
+		PrefetchTask task = new PrefetchTask(fname, matrix, size);
+		task.setFuture(_pool.submit(task));
+		_tasks.put(fname, task);
+		_size += size;
+		
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementPrefetchIssued();
+	}
+	
+	/**
+	 * Obtains a prefetched block and removes it from the prefetcher,
+	 * waiting for pending reads if necessary.
+	 * 
+	 * @param fname eviction file name
+	 * @return cache block, or null if not prefetched or the read failed
+	 */
+	public static CacheBlock getPrefetchedBlock( String fname ) 
+	{
+		PrefetchTask task = null;
+		synchronized( CachePrefetcher.class ) {
+			if( _tasks == null || (task = _tasks.remove(fname)) == null )
+				return null;
+			_size -= task.getSize();
+		}
+		
+		//wait for pending read (outside critical path)
+		long t0 = System.nanoTime();
+		CacheBlock ret = null;
+		try {
+			ret = task.getFuture().get();
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to prefetch "+fname+", falling back to synchronous read.", ex);
+			return null;
+		}
+		long twait = System.nanoTime() - t0;
+		
+		if( DMLScript.STATISTICS && ret != null ) {
+			CacheStatistics.incrementPrefetchHits();
+			CacheStatistics.incrementPrefetchSavedTime(Math.max(task.getReadTime()-twait, 0));
+		}
+		return ret;
+	}
+	
+	/**
+	 * Invalidates a prefetched block, e.g., on writes and deletes of
+	 * the eviction file.
+	 * 
+	 * @param fname eviction file name
+	 */
+	public static synchronized void invalidate( String fname ) {
+		if( _tasks == null || _tasks.isEmpty() )
+			return;
+		PrefetchTask task = _tasks.remove(fname);
+		if( task != null ) {
+			task.cancel();
+			_size -= task.getSize();
+		}
+	}
+	
+	private static class PrefetchTask implements Callable<CacheBlock>
+	{
+		private final String _fname;
+		private final boolean _matrix;
+		private final long _size;
+		private Future<CacheBlock> _future = null;
+		private volatile long _readTime = 0;
+		
+		public PrefetchTask( String fname, boolean matrix, long size ) {
+			_fname = fname;
+			_matrix = matrix;
+			_size = size;
+		}
+		
+		@Override
+		public CacheBlock call() throws Exception {
+			long t0 = System.nanoTime();
+			
+			//restore from off-heap tier or local file
+			CacheBlock ret = OffHeapBuffer.readBlock(_fname, _matrix);
+			if( ret == null && new File(_fname).exists() ) {
+				ret = LazyWriteBuffer.readBlockFromLocal(_fname, _matrix);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSHits();
+			}
+			
+			_readTime = System.nanoTime() - t0;
+			return ret;
+		}
+		
+		public void setFuture( Future<CacheBlock> future ) {
+			_future = future;
+		}
+		
+		public Future<CacheBlock> getFuture() {
+			return _future;
+		}
+		
+		public long getSize() {
+			return _size;
+		}
+		
+		public long getReadTime() {
+			return _readTime;
+		}
+		
+		public void cancel() {
+			_future.cancel(false);
+		}
+	}
+	
+	private static class PrefetchThreadFactory implements ThreadFactory 
+	{
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "SystemML-Prefetch");
+			t.setDaemon(true); //no blocking of JVM exit
+			return t;
+		}
+	}
+}
@@ -21,6 +21,8 @@ package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+
 /**
  * This singleton provides basic caching statistics in CP.
  * 
@@ -47,6 +49,14 @@ public class CacheStatistics
 		CACHE_TIME_ACQM, //acquire read
 		CACHE_TIME_RLS, //release
 		CACHE_TIME_EXP, //export 
+		CACHE_HITS_OFFHEAP,
+		CACHE_WRITES_OFFHEAP,
+		CACHE_PREFETCH_ISSUED,
+		CACHE_PREFETCH_HITS,
+		CACHE_TIME_PREFETCH_SAVED,
+		CACHE_COMPRESS_BLOCKS,
+		CACHE_TIME_COMPRESS,
+		CACHE_TIME_DECOMPRESS,
 	}
 	
 	//hit statistics (for acquire read)
@@ -60,6 +70,29 @@ public class CacheStatistics
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numWritesHDFS   = new LongAdder();
 	
+	//off-heap tier statistics (hits, writes, and bytes)
+	private static final LongAdder _numHitsOffHeap   = new LongAdder();
+	private static final LongAdder _numWritesOffHeap = new LongAdder();
+	private static final LongAdder _bytesReadOffHeap = new LongAdder();
+	private static final LongAdder _bytesWrittenOffHeap = new LongAdder();
+	
+	//prefetch statistics (issued, used, and saved read stall time)
+	private static final LongAdder _numPrefetchIssued = new LongAdder();
+	private static final LongAdder _numPrefetchHits   = new LongAdder();
+	private static final LongAdder _ctimePrefetchSaved = new LongAdder(); //in nano sec
+	
+	//compression statistics (attempted/compressed blocks, bytes, and time)
+	private static final LongAdder _numCompressTried = new LongAdder();
+	private static final LongAdder _numCompressed    = new LongAdder();
+	private static final LongAdder _bytesUncompressed = new LongAdder();
+	private static final LongAdder _bytesCompressed  = new LongAdder();
+	private static final LongAdder _ctimeCompress    = new LongAdder(); //in nano sec
+	private static final LongAdder _ctimeDecompress  = new LongAdder(); //in nano sec
+	
+	//write buffer hit/miss statistics per eviction policy
+	private static final LongAdder[] _numHitsPolicy   = createAdders(RPolicy.values().length);
+	private static final LongAdder[] _numMissesPolicy = createAdders(RPolicy.values().length);
+	
 	//time statistics caching
 	private static final LongAdder _ctimeAcquireR   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
@@ -76,6 +109,27 @@ public class CacheStatistics
 		_numWritesFS.reset();
 		_numWritesHDFS.reset();
 		
+		_numHitsOffHeap.reset();
+		_numWritesOffHeap.reset();
+		_bytesReadOffHeap.reset();
+		_bytesWrittenOffHeap.reset();
+		
+		_numPrefetchIssued.reset();
+		_numPrefetchHits.reset();
+		_ctimePrefetchSaved.reset();
+		
+		_numCompressTried.reset();
+		_numCompressed.reset();
+		_bytesUncompressed.reset();
+		_bytesCompressed.reset();
+		_ctimeCompress.reset();
+		_ctimeDecompress.reset();
+		
+		for( int i=0; i<_numHitsPolicy.length; i++ ) {
+			_numHitsPolicy[i].reset();
+			_numMissesPolicy[i].reset();
+		}
+		
 		_ctimeAcquireR.reset();
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
@@ -166,6 +220,103 @@ public class CacheStatistics
 		return _numWritesHDFS.longValue();
 	}
 	
+	public static void incrementOffHeapHits() {
+		_numHitsOffHeap.increment();
+	}
+	
+	public static long getOffHeapHits() {
+		return _numHitsOffHeap.longValue();
+	}
+	
+	public static void incrementOffHeapWrites() {
+		_numWritesOffHeap.increment();
+	}
+	
+	public static long getOffHeapWrites() {
+		return _numWritesOffHeap.longValue();
+	}
+	
+	public static void incrementOffHeapBytesRead(long delta) {
+		_bytesReadOffHeap.add(delta);
+	}
+	
+	public static long getOffHeapBytesRead() {
+		return _bytesReadOffHeap.longValue();
+	}
+	
+	public static void incrementOffHeapBytesWritten(long delta) {
+		_bytesWrittenOffHeap.add(delta);
+	}
+	
+	public static long getOffHeapBytesWritten() {
+		return _bytesWrittenOffHeap.longValue();
+	}
+	
+	public static void incrementPrefetchIssued() {
+		_numPrefetchIssued.increment();
+	}
+	
+	public static long getPrefetchIssued() {
+		return _numPrefetchIssued.longValue();
+	}
+	
+	public static void incrementPrefetchHits() {
+		_numPrefetchHits.increment();
+	}
+	
+	public static long getPrefetchHits() {
+		return _numPrefetchHits.longValue();
+	}
+	
+	public static void incrementPrefetchSavedTime(long delta) {
+		_ctimePrefetchSaved.add(delta);
+	}
+	
+	public static long getPrefetchSavedTime() {
+		return _ctimePrefetchSaved.longValue();
+	}
+	
+	public static void incrementCompress(boolean compressed, long ulen, long clen, long delta) {
+		_numCompressTried.increment();
+		if( compressed )
+			_numCompressed.increment();
+		_bytesUncompressed.add(ulen);
+		_bytesCompressed.add(clen);
+		_ctimeCompress.add(delta);
+	}
+	
+	public static long getCompressTried() {
+		return _numCompressTried.longValue();
+	}
+	
+	public static long getCompressed() {
+		return _numCompressed.longValue();
+	}
+	
+	public static void incrementDecompressTime(long delta) {
+		_ctimeDecompress.add(delta);
+	}
+	
+	public static long getDecompressTime() {
+		return _ctimeDecompress.longValue();
+	}
+	
+	public static void incrementPolicyHits(RPolicy policy) {
+		_numHitsPolicy[policy.ordinal()].increment();
+	}
+	
+	public static long getPolicyHits(RPolicy policy) {
+		return _numHitsPolicy[policy.ordinal()].longValue();
+	}
+	
+	public static void incrementPolicyMisses(RPolicy policy) {
+		_numMissesPolicy[policy.ordinal()].increment();
+	}
+	
+	public static long getPolicyMisses(RPolicy policy) {
+		return _numMissesPolicy[policy.ordinal()].longValue();
+	}
+	
 	public static void incrementAcquireRTime(long delta) {
 		_ctimeAcquireR.add(delta);
 	}
@@ -222,6 +373,75 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayOffHeap() {	
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsOffHeap.longValue());
+		sb.append("/");
+		sb.append(_numWritesOffHeap.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_bytesReadOffHeap.longValue())/(1024*1024))); //in MB
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_bytesWrittenOffHeap.longValue())/(1024*1024))); //in MB
+		
+		return sb.toString();
+	}
+	
+	public static String displayPrefetch() {
+		long issued = _numPrefetchIssued.longValue();
+		long hits = _numPrefetchHits.longValue();
+		StringBuilder sb = new StringBuilder();
+		sb.append(issued);
+		sb.append("/");
+		sb.append(hits);
+		sb.append(" (");
+		sb.append(String.format("%.3f", ((double)hits)/Math.max(issued, 1)));
+		sb.append("), ");
+		sb.append(String.format("%.3f", ((double)_ctimePrefetchSaved.longValue())/1000000000)); //in sec
+		sb.append(" sec");
+		
+		return sb.toString();
+	}
+	
+	public static String displayCompression() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numCompressed.longValue());
+		sb.append("/");
+		sb.append(_numCompressTried.longValue());
+		sb.append(", ");
+		sb.append(String.format("%.3f", ((double)_bytesUncompressed.longValue())/(1024*1024))); //in MB
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_bytesCompressed.longValue())/(1024*1024))); //in MB
+		sb.append(", ");
+		sb.append(String.format("%.3f", ((double)_ctimeCompress.longValue())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeDecompress.longValue())/1000000000)); //in sec
+		sb.append(" sec");
+		
+		return sb.toString();
+	}
+	
+	public static String displayPolicyHits() {
+		StringBuilder sb = new StringBuilder();
+		for( RPolicy policy : RPolicy.values() ) {
+			long hits = getPolicyHits(policy);
+			long misses = getPolicyMisses(policy);
+			if( hits + misses == 0 )
+				continue;
+			if( sb.length() > 0 )
+				sb.append(", ");
+			sb.append(policy.name());
+			sb.append(" ");
+			sb.append(hits);
+			sb.append("/");
+			sb.append(misses);
+			sb.append(" (");
+			sb.append(String.format("%.3f", ((double)hits)/(hits+misses)));
+			sb.append(")");
+		}
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
@@ -234,4 +454,11 @@ public class CacheStatistics
 		
 		return sb.toString();
 	}
+	
+	private static LongAdder[] createAdders(int len) {
+		LongAdder[] ret = new LongAdder[len];
+		for( int i=0; i<len; i++ )
+			ret[i] = new LongAdder();
+		return ret;
+	}
 }
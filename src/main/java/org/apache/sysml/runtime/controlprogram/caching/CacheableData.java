@@ -30,6 +30,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -902,6 +903,30 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			LOG.trace("Freeing evicted matrix - COMPLETED ... " + (System.currentTimeMillis()-begin) + " msec.");		
 	}
 
+	/**
+	 * Updates the lifetime hint of this data object in the buffer pool,
+	 * e.g., for loop-invariant inputs of active loops.
+	 *
+	 * @param delta increment or decrement of the hint
+	 */
+	public void updateLifetimeHint(int delta) {
+		if( isCachingActive() )
+			LazyWriteBuffer.updateLifetimeHint(getCacheFilePathAndName(), delta);
+	}
+
+	/**
+	 * Issues an asynchronous restore of this data object, if it has
+	 * been evicted and is not available via its soft reference.
+	 */
+	public synchronized void prefetch() {
+		if( !isCachingActive() || !isCached(false) || _data != null 
+			|| (_cache != null && _cache.get() != null) )
+			return;
+		long size = (_metaData instanceof MatrixDimensionsMetaData) ? 
+			OptimizerUtils.estimateSizeExactSparsity(getMatrixCharacteristics()) : 0;
+		CachePrefetcher.prefetchBlock(getCacheFilePathAndName(), this instanceof MatrixObject, size);
+	}
+
 	protected boolean isBelowCachingThreshold() {
 		return (_data.getInMemorySize() <= CACHING_THRESHOLD);
 	}
@@ -956,8 +981,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			MatrixCharacteristics mc = iimd.getMatrixCharacteristics ();
 			
 			// when outputFormat is binaryblock, make sure that matrixCharacteristics has correct blocking dimensions
-			// note: this is only required if singlenode (due to binarycell default) 
-			if ( oinfo == OutputInfo.BinaryBlockOutputInfo && DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE &&
+			// note: this is only required if singlenode (due to binarycell default), or for localbinaryblock
+			// which is always written from CP intermediates
+			if ( (oinfo == OutputInfo.BinaryBlockOutputInfo && DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE
+				|| oinfo == OutputInfo.LocalBinaryBlockOutputInfo) &&
 				(mc.getRowsPerBlock() != ConfigurationManager.getBlocksize() || mc.getColsPerBlock() != ConfigurationManager.getBlocksize()) ) 
 			{
 				mc = new MatrixCharacteristics(mc.getRows(), mc.getCols(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros());
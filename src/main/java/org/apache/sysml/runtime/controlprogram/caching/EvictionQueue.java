@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+
+/**
+ * Eviction queue of the lazy write buffer, i.e., a map of &lt;filename,buffer&gt;
+ * pairs that determines the next victim according to a replacement policy.
+ * All implementations are not thread-safe and rely on the synchronization
+ * of the lazy write buffer.
+ *
+ * Supported policies are FIFO and LRU (via linked hash maps), GreedyDual-Size
+ * with frequencies (GDS), which trades off the restore costs and sizes of
+ * entries, as well as LIFETIME, which keeps entries with lifetime hints from
+ * the compiler (e.g., loop-invariant inputs) and evicts unhinted entries in
+ * LRU order first.
+ *
+ */
+public abstract class EvictionQueue
+{
+	public static EvictionQueue createEvictionQueue( RPolicy policy ) {
+		switch( policy ) {
+			case FIFO:     return new LinkedEvictionQueue(false);
+			case LRU:      return new LinkedEvictionQueue(true);
+			case GDS:      return new GreedyDualSizeQueue();
+			case LIFETIME: return new LifetimeEvictionQueue();
+			default:
+				throw new RuntimeException("Unsupported buffer pool eviction policy: "+policy);
+		}
+	}
+
+	/**
+	 * Adds a new entry to the eviction queue.
+	 *
+	 * @param fname eviction file name (used as key)
+	 * @param bbuff write buffer entry
+	 */
+	public abstract void put( String fname, ByteBuffer bbuff );
+
+	/**
+	 * Probes the eviction queue and, if the entry exists, registers
+	 * the access according to the eviction policy.
+	 *
+	 * @param fname eviction file name
+	 * @return write buffer entry, or null if not in the queue
+	 */
+	public abstract ByteBuffer get( String fname );
+
+	public abstract ByteBuffer remove( String fname );
+
+	/**
+	 * Probes the eviction queue without registering an access.
+	 *
+	 * @param fname eviction file name
+	 * @return true if the entry exists
+	 */
+	public abstract boolean contains( String fname );
+
+	/**
+	 * Removes the next victim according to the eviction policy.
+	 *
+	 * @return entry of file name and write buffer entry
+	 */
+	public abstract Entry<String, ByteBuffer> removeFirst();
+
+	public abstract int size();
+
+	public abstract void clear();
+
+	/**
+	 * Obtains all entries in (approximate) eviction order.
+	 * NOTE: use only for debugging or testing.
+	 *
+	 * @return list of entries
+	 */
+	public abstract List<Entry<String, ByteBuffer>> getEntries();
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Updates the lifetime hint of a (potentially not yet existing) entry,
+	 * which is ignored by all policies except LIFETIME.
+	 *
+	 * @param fname eviction file name
+	 * @param delta increment or decrement of the hint
+	 */
+	public void updateLifetimeHint( String fname, int delta ) {
+		//do nothing
+	}
+
+	/**
+	 * FIFO or LRU eviction queue, implemented via linked hash map
+	 * for (1) queue semantics and (2) constant time get/insert/delete.
+	 */
+	private static class LinkedEvictionQueue extends EvictionQueue
+	{
+		protected final LinkedHashMap<String, ByteBuffer> _map;
+
+		public LinkedEvictionQueue( boolean lru ) {
+			//access order for LRU, insertion order for FIFO
+			_map = new LinkedHashMap<String, ByteBuffer>(16, 0.75f, lru);
+		}
+
+		@Override
+		public void put( String fname, ByteBuffer bbuff ) {
+			_map.put(fname, bbuff);
+		}
+
+		@Override
+		public ByteBuffer get( String fname ) {
+			return _map.get(fname);
+		}
+
+		@Override
+		public ByteBuffer remove( String fname ) {
+			return _map.remove(fname);
+		}
+
+		@Override
+		public boolean contains( String fname ) {
+			return _map.containsKey(fname);
+		}
+
+		@Override
+		public Entry<String, ByteBuffer> removeFirst() {
+			//move iterator to first entry and remove it
+			Iterator<Entry<String, ByteBuffer>> iter = _map.entrySet().iterator();
+			Entry<String, ByteBuffer> entry = iter.next();
+			iter.remove();
+			return entry;
+		}
+
+		@Override
+		public int size() {
+			return _map.size();
+		}
+
+		@Override
+		public void clear() {
+			_map.clear();
+		}
+
+		@Override
+		public List<Entry<String, ByteBuffer>> getEntries() {
+			return new ArrayList<Entry<String, ByteBuffer>>(_map.entrySet());
+		}
+	}
+
+	/**
+	 * GreedyDual-Size eviction queue with access frequencies (GDSF). Each entry
+	 * has a priority H = L + freq * cost / size, where cost is the estimated
+	 * time to restore the entry from local disk, and L is an inflation value
+	 * set to the priority of the last victim (aging). Hence, small and frequently
+	 * accessed entries are retained, while large entries are only retained if
+	 * they are accessed repeatedly (e.g., loop-invariant inputs).
+	 */
+	private static class GreedyDualSizeQueue extends EvictionQueue
+	{
+		//restore cost model: fixed latency [ms] and local read bandwidth [MB/s]
+		private static final double RESTORE_LATENCY = 5;
+		private static final double RESTORE_BANDWIDTH = 200;
+
+		private final HashMap<String, GDSNode> _map = new HashMap<String, GDSNode>();
+		private final TreeSet<GDSNode> _queue = new TreeSet<GDSNode>();
+		private double _inflation = 0;
+		private long _seq = 0;
+
+		@Override
+		public void put( String fname, ByteBuffer bbuff ) {
+			GDSNode node = _map.remove(fname);
+			if( node != null )
+				_queue.remove(node);
+			node = new GDSNode(fname, bbuff, _seq++);
+			node.priority = computePriority(node);
+			_map.put(fname, node);
+			_queue.add(node);
+		}
+
+		@Override
+		public ByteBuffer get( String fname ) {
+			GDSNode node = _map.get(fname);
+			if( node == null )
+				return null;
+			//reinsert with updated priority
+			_queue.remove(node);
+			node.freq++;
+			node.priority = computePriority(node);
+			node.seq = _seq++;
+			_queue.add(node);
+			return node.bbuff;
+		}
+
+		@Override
+		public ByteBuffer remove( String fname ) {
+			GDSNode node = _map.remove(fname);
+			if( node == null )
+				return null;
+			_queue.remove(node);
+			return node.bbuff;
+		}
+
+		@Override
+		public boolean contains( String fname ) {
+			return _map.containsKey(fname);
+		}
+
+		@Override
+		public Entry<String, ByteBuffer> removeFirst() {
+			GDSNode node = _queue.pollFirst();
+			_map.remove(node.fname);
+			_inflation = node.priority; //aging
+			return new SimpleEntry<String, ByteBuffer>(node.fname, node.bbuff);
+		}
+
+		@Override
+		public int size() {
+			return _map.size();
+		}
+
+		@Override
+		public void clear() {
+			_map.clear();
+			_queue.clear();
+			_inflation = 0;
+		}
+
+		@Override
+		public List<Entry<String, ByteBuffer>> getEntries() {
+			List<Entry<String, ByteBuffer>> ret = new ArrayList<Entry<String, ByteBuffer>>();
+			for( GDSNode node : _queue )
+				ret.add(new SimpleEntry<String, ByteBuffer>(node.fname, node.bbuff));
+			return ret;
+		}
+
+		private double computePriority( GDSNode node ) {
+			double size = Math.max(node.bbuff.getSize(), 1);
+			double cost = RESTORE_LATENCY + size / (1024*1024) / RESTORE_BANDWIDTH * 1000;
+			return _inflation + node.freq * cost / size;
+		}
+
+		private static class GDSNode implements Comparable<GDSNode>
+		{
+			private final String fname;
+			private final ByteBuffer bbuff;
+			private int freq = 1;
+			private double priority = 0;
+			private long seq;
+
+			public GDSNode( String fname, ByteBuffer bbuff, long seq ) {
+				this.fname = fname;
+				this.bbuff = bbuff;
+				this.seq = seq;
+			}
+
+			@Override
+			public int compareTo( GDSNode that ) {
+				//order by priority, ties broken by recency
+				int ret = Double.compare(priority, that.priority);
+				return (ret != 0) ? ret : Long.compare(seq, that.seq);
+			}
+		}
+	}
+
+	/**
+	 * Lifetime-hinted eviction queue in LRU order. Entries with positive
+	 * lifetime hints (reference counts of active loops that read the data
+	 * without updating it) are only evicted if no unhinted entries exist.
+	 */
+	private static class LifetimeEvictionQueue extends LinkedEvictionQueue
+	{
+		private final HashMap<String, Integer> _hints = new HashMap<String, Integer>();
+
+		public LifetimeEvictionQueue() {
+			super(true);
+		}
+
+		@Override
+		public ByteBuffer remove( String fname ) {
+			_hints.remove(fname);
+			return super.remove(fname);
+		}
+
+		@Override
+		public Entry<String, ByteBuffer> removeFirst() {
+			//evict least recently used entry without hint (if any)
+			Iterator<Entry<String, ByteBuffer>> iter = _map.entrySet().iterator();
+			while( iter.hasNext() ) {
+				Entry<String, ByteBuffer> entry = iter.next();
+				if( !_hints.containsKey(entry.getKey()) ) {
+					iter.remove();
+					return entry;
+				}
+			}
+			return super.removeFirst();
+		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			_hints.clear();
+		}
+
+		@Override
+		public void updateLifetimeHint( String fname, int delta ) {
+			Integer hint = _hints.get(fname);
+			int val = ((hint != null) ? hint : 0) + delta;
+			if( val > 0 )
+				_hints.put(fname, val);
+			else
+				_hints.remove(fname);
+		}
+	}
+}
@@ -158,6 +158,48 @@ public class FrameObject extends CacheableData<FrameBlock>
 		return mc.getCols();
 	}
 	
+	/**
+	 * Indicates if a column projection can be pushed down into the read,
+	 * which applies to unmodified frames of columnar input files that are 
+	 * not yet read into memory (in order to avoid reading the entire frame).
+	 * 
+	 * @return true if column projections are read from the input file
+	 */
+	public synchronized boolean isColumnProjectionReadable() {
+		return _data == null && isEmpty(false) && !isDirty() 
+			&& _hdfsFileName != null && getRDDHandle() == null
+			&& _metaData instanceof MatrixFormatMetaData
+			&& ((MatrixFormatMetaData)_metaData).getInputInfo() == InputInfo.ColumnarFrameInputInfo;
+	}
+	
+	/**
+	 * Reads the given column range directly from the input file, 
+	 * without reading the entire frame into the buffer pool.
+	 * 
+	 * @param cl column lower index, inclusive, 0-based
+	 * @param cu column upper index, inclusive, 0-based
+	 * @return frame block of projected columns
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized FrameBlock readColumnProjection(int cl, int cu) 
+		throws CacheException
+	{
+		MatrixFormatMetaData iimd = (MatrixFormatMetaData) _metaData;
+		MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
+		int clen = (int)mc.getCols();
+		ValueType[] lschema = (_schema!=null) ? _schema : 
+			UtilFunctions.nCopies(clen>=1 ? clen : 1, ValueType.STRING);
+		try {
+			FrameReader reader = FrameReaderFactory.createFrameReader(iimd.getInputInfo(), getFileFormatProperties());
+			return reader.readFrameFromHDFS(_hdfsFileName, lschema, 
+				reader.getDefColNames(clen), mc.getRows(), mc.getCols(), cl, cu);
+		}
+		catch(Exception ex) {
+			throw new CacheException("Reading of columns ["+(cl+1)+":"+(cu+1)+"] of "
+				+ _hdfsFileName + " ("+getVarName()+") failed.", ex);
+		}
+	}
+	
 	@Override
 	protected FrameBlock readBlobFromCache(String fname) throws IOException {
 		return (FrameBlock)LazyWriteBuffer.readBlock(fname, false);
@@ -20,21 +20,27 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 public class LazyWriteBuffer 
 {
 	public enum RPolicy {
-		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		FIFO,    //first-in, first-out eviction
+		LRU,     //least recently used eviction
+		GDS,     //greedy-dual-size (cost/size/frequency-aware) eviction
+		LIFETIME //lifetime-hinted (e.g., loop-invariant) eviction, otherwise LRU
 	}
 	
 	//global size limit in bytes
@@ -43,10 +49,18 @@ public class LazyWriteBuffer
 	//current size in bytes
 	private static long _size;  
 	
-	//eviction queue of <filename,buffer> pairs (implemented via linked hash map 
-	//for (1) queue semantics and (2) constant time get/insert/delete operations)
+	//eviction policy and queue of <filename,buffer> pairs
+	private static RPolicy _policy = CacheableData.CACHING_BUFFER_POLICY;
 	private static EvictionQueue _mQueue;
 	
+	//optional compression of evicted blocks, and uncompressed 
+	//lengths of compressed eviction files by file name
+	private static boolean _compress = false;
+	private static ConcurrentHashMap<String, Integer> _cFiles = new ConcurrentHashMap<String, Integer>();
+	
+	//optional trace of buffer pool accesses (for replay in benchmarks)
+	private static List<String> _trace = null;
+	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
@@ -64,6 +78,15 @@ public class LazyWriteBuffer
 		boolean requiresWrite = (   lSize > _limit  //global buffer limit
 			|| !ByteBuffer.isValidCapacity(lSize, cb) ); //local buffer limit
 	
+		if( _trace != null )
+			_trace.add("W\t"+fname+"\t"+lSize);
+		
+		//invalidate stale prefetched block, compressed file, and off-heap
+		//entry (of a restored block, which might be written to FS now)
+		CachePrefetcher.invalidate(fname);
+		_cFiles.remove(fname);
+		OffHeapBuffer.deleteBlock(fname);
+		
 		//handle caching/eviction if it fits in writebuffer
 		if( !requiresWrite ) 
 		{			
@@ -74,10 +97,10 @@ public class LazyWriteBuffer
 			//modify buffer pool
 			synchronized( _mQueue )
 			{
-				//evict matrices to make room (by default FIFO)
+				//evict matrices to make room (according to policy)
 				while( _size+lSize >= _limit )
 				{
-					//remove first entry from eviction queue
+					//remove next victim from eviction queue
 					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
 					String ftmp = entry.getKey();
 					ByteBuffer tmp = entry.getValue();
@@ -86,22 +109,35 @@ public class LazyWriteBuffer
 						//wait for pending serialization
 						tmp.checkSerialized();
 						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
+						//evict matrix (to off-heap tier if possible, otherwise to FS)
+						if( !OffHeapBuffer.writeBlock(ftmp, tmp) ) {
+							tmp.evictBuffer(ftmp);
+							numEvicted++;
+						}
 						tmp.freeMemory();
 						_size-=tmp.getSize();
-						numEvicted++;
 					}
 				}
 				
 				//put placeholder into buffer pool (reserve mem) 
-				_mQueue.addLast(fname, bbuff);
+				_mQueue.put(fname, bbuff);
 				_size += lSize;	
 			}
 			
 			//serialize matrix (outside synchronized critical path)
 			bbuff.serializeBlock(cb); 
 			
+			//release reserved but unused memory of compressed blocks
+			//(unless the entry has already been evicted)
+			if( bbuff.isCompressed() ) {
+				synchronized( _mQueue ) {
+					if( _mQueue.contains(fname) ) {
+						_size -= bbuff.getSize() - bbuff.getCompressedSize();
+						bbuff.setSize(bbuff.getCompressedSize());
+					}
+				}
+			}
+			
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSBuffWrites();
 				CacheStatistics.incrementFSWrites(numEvicted);
@@ -109,10 +145,12 @@ public class LazyWriteBuffer
 		}	
 		else
 		{
-			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
-			if( DMLScript.STATISTICS )
-				CacheStatistics.incrementFSWrites();
+			//write directly to off-heap tier or local FS (bypass buffer if too large)
+			if( !OffHeapBuffer.writeBlock(fname, cb) ) {
+				LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSWrites();
+			}
 		}	
 	}
 
@@ -120,6 +158,12 @@ public class LazyWriteBuffer
 	{
 		boolean requiresDelete = true;
 		
+		if( _trace != null )
+			_trace.add("D\t"+fname);
+		
+		//invalidate prefetched block
+		CachePrefetcher.invalidate(fname);
+		
 		synchronized( _mQueue )
 		{
 			//remove queue entry 
@@ -131,9 +175,13 @@ public class LazyWriteBuffer
 			}
 		}
 		
-		//delete from FS if required
-		if( requiresDelete )
+		//delete from off-heap tier (independent of the write buffer, 
+		//to release stale entries) or FS if required
+		boolean offHeap = OffHeapBuffer.deleteBlock(fname);
+		if( requiresDelete && !offHeap ) {
+			_cFiles.remove(fname);
 			_fClean.deleteFile(fname);
+		}
 	}
 
 	public static CacheBlock readBlock( String fname, boolean matrix ) 
@@ -142,19 +190,19 @@ public class LazyWriteBuffer
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
 		
-		//probe write buffer
-		synchronized( _mQueue )
-		{
+		if( _trace != null )
+			_trace.add("R\t"+fname);
+		
+		//probe write buffer (modifies eviction order according to policy)
+		synchronized( _mQueue ) {
 			ldata = _mQueue.get(fname);
-			
-			//modify eviction order (accordingly to access)
-			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
-				&& ldata != null )
-			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
-			}
+		}
+		
+		if( DMLScript.STATISTICS ) {
+			if( ldata != null )
+				CacheStatistics.incrementPolicyHits(_policy);
+			else
+				CacheStatistics.incrementPolicyMisses(_policy);
 		}
 		
 		//deserialize or read from FS if required
@@ -164,9 +212,12 @@ public class LazyWriteBuffer
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
-		else
+		else if( (cb = CachePrefetcher.getPrefetchedBlock(fname)) != null ) {
+			//restored asynchronously from off-heap tier or FS
+		}
+		else if( (cb = OffHeapBuffer.readBlock(fname, matrix)) == null )
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix); 
+			cb = readBlockFromLocal(fname, matrix); 
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
@@ -174,12 +225,84 @@ public class LazyWriteBuffer
 		return cb;
 	}
 
+	/**
+	 * Updates the lifetime hint of a buffer pool entry, which is used by
+	 * the LIFETIME policy to retain the entry with higher priority. Hints are
+	 * maintained independent of the entry's existence in the buffer pool.
+	 * 
+	 * @param fname eviction file name
+	 * @param delta increment or decrement of the hint
+	 */
+	public static void updateLifetimeHint( String fname, int delta ) {
+		if( _trace != null )
+			_trace.add("H\t"+fname+"\t"+delta);
+		
+		synchronized( _mQueue ) {
+			_mQueue.updateLifetimeHint(fname, delta);
+		}
+	}
+	
+	/**
+	 * Reads an evicted block from its local file, which might
+	 * be a compressed byte representation.
+	 * 
+	 * @param fname eviction file name
+	 * @param matrix true if matrix block, false if frame block
+	 * @return cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readBlockFromLocal( String fname, boolean matrix ) 
+		throws IOException
+	{
+		Integer ulen = _cFiles.get(fname);
+		if( ulen == null )
+			return LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+		byte[] cdata = LocalFileUtils.readByteArrayFromLocal(fname);
+		return ByteBuffer.deserializeBytes(ByteBuffer.decompressBytes(cdata, ulen), matrix);
+	}
+	
+	protected static void addCompressedFile( String fname, int ulen ) {
+		_cFiles.put(fname, ulen);
+	}
+	
+	public static boolean isCompressionEnabled() {
+		return _compress;
+	}
+	
+	public static void setCompressionEnabled( boolean flag ) {
+		_compress = flag;
+	}
+	
+	/**
+	 * Probes the write buffer without modifying the eviction order.
+	 * 
+	 * @param fname eviction file name
+	 * @return true if the block is in the write buffer
+	 */
+	public static boolean containsBlock( String fname ) {
+		synchronized( _mQueue ) {
+			return _mQueue.contains(fname);
+		}
+	}
+	
+	public static RPolicy getPolicy() {
+		return _policy;
+	}
+	
 	public static void init() {
-		_mQueue = new EvictionQueue();
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_policy = (conf != null) ? RPolicy.valueOf(
+			conf.getTextValue(DMLConfig.CP_CACHING_POLICY).toUpperCase()) :
+			CacheableData.CACHING_BUFFER_POLICY;
+		_mQueue = EvictionQueue.createEvictionQueue(_policy);
+		_compress = (conf != null) && conf.getBooleanValue(DMLConfig.CP_CACHING_COMPRESS);
+		_cFiles.clear();
 		_fClean = new FileCleaner();
 		_size = 0;
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
+		OffHeapBuffer.init();
+		CachePrefetcher.init();
 	}
 
 	public static void cleanup() {
@@ -187,8 +310,11 @@ public class LazyWriteBuffer
 			_mQueue.clear();
 		if( _fClean != null )
 			_fClean.close();
+		_cFiles.clear();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.clear();
+		OffHeapBuffer.cleanup();
+		CachePrefetcher.cleanup();
 	}
 
 	public static long getWriteBufferSize() {
@@ -211,10 +337,14 @@ public class LazyWriteBuffer
 				     "limit="+_limit+", " +
 				     "size[bytes]="+_size+", " +
 				     "size[elements]="+_mQueue.size()+"/"+_mQueue.size());
+		if( OffHeapBuffer.isEnabled() )
+			System.out.println("\tWB: Off-heap Meta Data: " +
+				     "size[bytes]="+OffHeapBuffer.getSize()+", " +
+				     "size[elements]="+OffHeapBuffer.getNumEntries());
 		
 		//print current buffer entries
 		int count = _mQueue.size();
-		for( Entry<String, ByteBuffer> entry : _mQueue.entrySet() )
+		for( Entry<String, ByteBuffer> entry : _mQueue.getEntries() )
 		{
 			String fname = entry.getKey();
 			ByteBuffer bbuff = entry.getValue();
@@ -236,7 +366,7 @@ public class LazyWriteBuffer
 		//evict all matrices and frames
 		while( !_mQueue.isEmpty() )
 		{
-			//remove first entry from eviction queue
+			//remove next victim from eviction queue
 			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
 			ByteBuffer tmp = entry.getValue();
 			
@@ -245,37 +375,34 @@ public class LazyWriteBuffer
 				tmp.checkSerialized();
 				
 				//evict matrix
-				tmp.evictBuffer(entry.getKey());
+				if( !OffHeapBuffer.writeBlock(entry.getKey(), tmp) )
+					tmp.evictBuffer(entry.getKey());
 				tmp.freeMemory();
+				_size -= tmp.getSize();
 			}
 		}
 	}
 	
 	/**
-	 * Extended LinkedHashMap with convenience methods for adding and removing 
-	 * last/first entries.
+	 * Starts the recording of a trace of buffer pool accesses (writes,
+	 * reads, deletes, and lifetime hints), which can be replayed against
+	 * different eviction policies. The trace is retained across cleanups.
+	 * NOTE: use only for debugging or testing.
+	 */
+	public static void startTrace() {
+		_trace = Collections.synchronizedList(new ArrayList<String>());
+	}
+	
+	/**
+	 * Stops the recording of buffer pool accesses.
+	 * NOTE: use only for debugging or testing.
 	 * 
+	 * @return list of trace entries in the order of accesses
 	 */
-	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
-	{
-		private static final long serialVersionUID = -5208333402581364859L;
-		
-		public void addLast( String fname, ByteBuffer bbuff ) {
-			//put entry into eviction queue w/ 'addLast' semantics
-			put(fname, bbuff);
-		}
-		
-		public Entry<String, ByteBuffer> removeFirst() 
-		{
-			//move iterator to first entry
-			Iterator<Entry<String, ByteBuffer>> iter = entrySet().iterator();
-			Entry<String, ByteBuffer> entry = iter.next();
-			
-			//remove current iterator entry
-			iter.remove();
-			
-			return entry;
-		}
+	public static List<String> stopTrace() {
+		List<String> ret = _trace;
+		_trace = null;
+		return ret;
 	}
 	
 	/**
@@ -539,8 +539,10 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 					InputInfo.getMatchingOutputInfo (iimd.getInputInfo ()));
 			
 			// when outputFormat is binaryblock, make sure that matrixCharacteristics has correct blocking dimensions
-			// note: this is only required if singlenode (due to binarycell default) 
-			if ( oinfo == OutputInfo.BinaryBlockOutputInfo && DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE &&
+			// note: this is only required if singlenode (due to binarycell default), or for localbinaryblock
+			// which is always written from CP intermediates
+			if ( (oinfo == OutputInfo.BinaryBlockOutputInfo && DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE
+				|| oinfo == OutputInfo.LocalBinaryBlockOutputInfo) &&
 				(mc.getRowsPerBlock() != ConfigurationManager.getBlocksize() || mc.getColsPerBlock() != ConfigurationManager.getBlocksize()) ) 
 			{
 				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, new MatrixCharacteristics(mc.getRows(), mc.getCols(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros()), rep, fprop);
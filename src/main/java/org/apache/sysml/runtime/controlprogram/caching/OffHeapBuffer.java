@@ -0,0 +1,434 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.IOUtilFunctions;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * Off-heap eviction tier between the (on-heap) lazy write buffer and the
+ * local file spill. Evicted blocks are copied into direct byte buffers or
+ * memory-mapped files in the local caching dir, which removes the serialized
+ * copy from the heap (and hence GC) without the costs of file writes/reads.
+ *
+ * Dense matrix blocks (incl large dense blocks of multiple arrays) are stored as 
+ * raw double arrays in native byte order, i.e., eviction and restore are bulk 
+ * copies without per-cell (de)serialization.
+ * All other blocks are stored in their serialized byte representation, which
+ * allows spilling them to local files (if the tier is full) without deserialization.
+ *
+ */
+public class OffHeapBuffer
+{
+	private static final Log LOG = LogFactory.getLog(OffHeapBuffer.class.getName());
+
+	public enum OffHeapType {
+		NONE,   //no off-heap tier
+		DIRECT, //direct byte buffers
+		MMAP,   //memory-mapped files in local caching dir
+	}
+
+	//max size of a single segment in bytes (multiple of 8)
+	private static final int SEGMENT_SIZE = 1 << 30;
+
+	private static OffHeapType _type = OffHeapType.NONE;
+
+	//global size limit and current size in bytes
+	private static long _limit = 0;
+	private static long _size = 0;
+
+	//spill queue of <filename,entry> pairs in insertion order
+	private static LinkedHashMap<String, OffHeapEntry> _mQueue = null;
+
+	//sequence for unique memory-mapped file names
+	private static long _seq = 0;
+
+	public static synchronized void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_type = (conf != null) ? OffHeapType.valueOf(
+			conf.getTextValue(DMLConfig.CP_CACHING_OFFHEAP).toUpperCase()) : OffHeapType.NONE;
+		_limit = (conf != null) ?
+			(long)conf.getIntValue(DMLConfig.CP_CACHING_OFFHEAP_SIZE) * 1024 * 1024 : 0;
+		_size = 0;
+		_mQueue = new LinkedHashMap<String, OffHeapEntry>();
+	}
+
+	public static synchronized void init( OffHeapType type, long limit ) {
+		_type = type;
+		_limit = limit;
+		_size = 0;
+		_mQueue = new LinkedHashMap<String, OffHeapEntry>();
+	}
+
+	public static synchronized void cleanup() {
+		if( _mQueue != null ) {
+			for( OffHeapEntry e : _mQueue.values() )
+				e.free();
+			_mQueue.clear();
+		}
+		_size = 0;
+	}
+
+	public static boolean isEnabled() {
+		return _type != OffHeapType.NONE && _limit > 0;
+	}
+
+	public static synchronized long getSize() {
+		return _size;
+	}
+
+	public static synchronized int getNumEntries() {
+		return (_mQueue != null) ? _mQueue.size() : 0;
+	}
+
+	/**
+	 * Writes an evicted write buffer entry into the off-heap tier.
+	 *
+	 * @param fname eviction file name (used as key)
+	 * @param bbuff serialized or shallow write buffer entry
+	 * @return true if written to the off-heap tier, false if the caller needs to spill
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBlock( String fname, ByteBuffer bbuff )
+		throws IOException
+	{
+		if( !isEnabled() )
+			return false;
+		if( bbuff.isCompressed() ) //decompress into off-heap representation
+			return writeBlock(fname, bbuff.deserializeBlock());
+		return bbuff.isShallow() ?
+			writeBlock(fname, bbuff._cdata) : writeBytes(fname, bbuff._bdata);
+	}
+
+	/**
+	 * Writes a cache block into the off-heap tier.
+	 *
+	 * @param fname eviction file name (used as key)
+	 * @param cb cache block
+	 * @return true if written to the off-heap tier, false if the caller needs to spill
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBlock( String fname, CacheBlock cb )
+		throws IOException
+	{
+		if( !isEnabled() || cb instanceof CompressedMatrixBlock )
+			return false;
+
+		if( cb instanceof MatrixBlock && !((MatrixBlock)cb).isInSparseFormat() ) {
+			//dense matrix block: raw copy of dense values
+			MatrixBlock mb = (MatrixBlock) cb;
+			DenseBlock a = mb.getDenseBlockView();
+			long len = (a!=null) ? (long)mb.getNumRows()*mb.getNumColumns() : 0;
+			synchronized( OffHeapBuffer.class ) {
+				OffHeapEntry e = allocate(fname, 8*len);
+				if( e == null )
+					return false;
+				e.putDense(mb, a);
+			}
+			return true;
+		}
+		else {
+			//other blocks: serialized representation
+			long size = cb.getExactSerializedSize();
+			if( size > Integer.MAX_VALUE )
+				return false;
+			byte[] bdata = new byte[(int)size];
+			cb.write(new CacheDataOutput(bdata));
+			return writeBytes(fname, bdata);
+		}
+	}
+
+	private static synchronized boolean writeBytes( String fname, byte[] bdata )
+		throws IOException
+	{
+		OffHeapEntry e = allocate(fname, bdata.length);
+		if( e == null )
+			return false;
+		e.putBytes(bdata);
+		return true;
+	}
+
+	/**
+	 * Reads a block from the off-heap tier, if available. The entry remains
+	 * in the off-heap tier until deleted or spilled.
+	 *
+	 * @param fname eviction file name (used as key)
+	 * @param matrix true if matrix block, false if frame block
+	 * @return cache block, or null if not available
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readBlock( String fname, boolean matrix )
+		throws IOException
+	{
+		if( !isEnabled() )
+			return null;
+
+		//probe off-heap entries (copy outside critical path, entries are
+		//filled under the lock and buffers of removed entries remain valid)
+		OffHeapEntry e = null;
+		synchronized( OffHeapBuffer.class ) {
+			e = _mQueue.get(fname);
+		}
+		if( e == null )
+			return null;
+
+		CacheBlock ret = e.get(matrix);
+		if( DMLScript.STATISTICS ) {
+			CacheStatistics.incrementOffHeapHits();
+			CacheStatistics.incrementOffHeapBytesRead(e.getSize());
+		}
+		return ret;
+	}
+
+	/**
+	 * Deletes a block from the off-heap tier, if available.
+	 *
+	 * @param fname eviction file name (used as key)
+	 * @return true if the block was deleted, false if not available
+	 */
+	public static synchronized boolean deleteBlock( String fname ) {
+		if( _mQueue == null )
+			return false;
+		OffHeapEntry e = _mQueue.remove(fname);
+		if( e == null )
+			return false;
+		_size -= e.getSize();
+		e.free();
+		return true;
+	}
+
+	private static OffHeapEntry allocate( String fname, long size )
+		throws IOException
+	{
+		//remove existing entry of the same file name (also if the
+		//new block is rejected, in order to not serve stale data)
+		OffHeapEntry old = _mQueue.remove(fname);
+		if( old != null ) {
+			_size -= old.getSize();
+			old.free();
+		}
+
+		//reject blocks larger than the tier
+		if( size > _limit )
+			return null;
+
+		//spill old entries to local files to make room
+		int numSpilled = 0;
+		while( _size + size > _limit && !_mQueue.isEmpty() ) {
+			Iterator<Entry<String, OffHeapEntry>> iter = _mQueue.entrySet().iterator();
+			Entry<String, OffHeapEntry> entry = iter.next();
+			iter.remove();
+			entry.getValue().spill(entry.getKey());
+			entry.getValue().free();
+			_size -= entry.getValue().getSize();
+			numSpilled++;
+		}
+
+		//allocate new entry (fallback to file on allocation failures,
+		//e.g., if the direct memory limit of the JVM is reached)
+		OffHeapEntry e = null;
+		try {
+			e = new OffHeapEntry(size);
+		}
+		catch(OutOfMemoryError | IOException ex) {
+			LOG.warn("Failed to allocate off-heap buffer of size "+size+": "+ex.getMessage());
+			return null;
+		}
+		_mQueue.put(fname, e);
+		_size += size;
+
+		if( DMLScript.STATISTICS ) {
+			CacheStatistics.incrementOffHeapWrites();
+			CacheStatistics.incrementOffHeapBytesWritten(size);
+			CacheStatistics.incrementFSWrites(numSpilled);
+		}
+		return e;
+	}
+
+	private static java.nio.ByteBuffer view( java.nio.ByteBuffer seg ) {
+		//duplicate for thread-safe positions (duplicate resets the byte order)
+		return seg.duplicate().order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Single off-heap entry, composed of one or many segments.
+	 */
+	private static class OffHeapEntry
+	{
+		private final long _esize;
+		private final java.nio.ByteBuffer[] _segs;
+		private File _file = null;
+
+		//meta data of dense matrix blocks
+		private boolean _dense = false;
+		private int _rlen = -1;
+		private int _clen = -1;
+		private long _nnz = -1;
+
+		public OffHeapEntry( long size )
+			throws IOException
+		{
+			_esize = size;
+			int nseg = (int)Math.max((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE, 1);
+			_segs = new java.nio.ByteBuffer[nseg];
+			if( _type == OffHeapType.MMAP ) {
+				_file = new File(CacheableData.cacheEvictionLocalFilePath,
+					CacheableData.cacheEvictionLocalFilePrefix+"_offheap_"+(_seq++)+".mmap");
+				RandomAccessFile raf = new RandomAccessFile(_file, "rw");
+				try {
+					FileChannel channel = raf.getChannel();
+					for( int i=0; i<nseg; i++ ) {
+						long off = (long)i * SEGMENT_SIZE;
+						_segs[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+							off, Math.min(SEGMENT_SIZE, size-off));
+					}
+				}
+				finally {
+					IOUtilFunctions.closeSilently(raf);
+				}
+			}
+			else {
+				for( int i=0; i<nseg; i++ ) {
+					long off = (long)i * SEGMENT_SIZE;
+					_segs[i] = java.nio.ByteBuffer.allocateDirect(
+						(int)Math.min(SEGMENT_SIZE, size-off));
+				}
+			}
+		}
+
+		public long getSize() {
+			return _esize;
+		}
+
+		public void putDense( MatrixBlock mb, DenseBlock a ) {
+			_dense = true;
+			_rlen = mb.getNumRows();
+			_clen = mb.getNumColumns();
+			_nnz = mb.getNonZeros();
+			if( a == null ) //empty block
+				return;
+			//copy row blocks in order (rows never span arrays)
+			long off = 0;
+			for( int bix=0; bix<a.numBlocks(); bix++ ) {
+				int len = a.blockSize(bix) * _clen;
+				copyDoubles(a.valuesAt(bix), off, len, true);
+				off += len;
+			}
+		}
+
+		public void putBytes( byte[] bdata ) {
+			for( int i=0, off=0; off<bdata.length; i++, off+=SEGMENT_SIZE )
+				view(_segs[i]).put(bdata, off, Math.min(SEGMENT_SIZE, bdata.length-off));
+		}
+
+		public CacheBlock get( boolean matrix )
+			throws IOException
+		{
+			if( _dense ) {
+				//bulk copy into allocated dense block
+				MatrixBlock ret = new MatrixBlock(_rlen, _clen, false);
+				if( _esize > 0 ) {
+					ret.allocateDenseBlock();
+					DenseBlock c = ret.getDenseBlockView();
+					long off = 0;
+					for( int bix=0; bix<c.numBlocks(); bix++ ) {
+						int len = c.blockSize(bix) * _clen;
+						copyDoubles(c.valuesAt(bix), off, len, false);
+						off += len;
+					}
+				}
+				ret.setNonZeros(_nnz);
+				return ret;
+			}
+			else {
+				//deserialize byte representation
+				byte[] bdata = getBytes();
+				DataInput din = matrix ? new CacheDataInput(bdata) :
+					new DataInputStream(new ByteArrayInputStream(bdata));
+				CacheBlock ret = matrix ? new MatrixBlock() : new FrameBlock();
+				ret.readFields(din);
+				return ret;
+			}
+		}
+
+		private void copyDoubles( double[] a, long off, int len, boolean put ) {
+			//copy from/to segments, starting at the given offset in doubles
+			int segLen = SEGMENT_SIZE / 8;
+			for( int aoff=0; aoff<len; ) {
+				int six = (int)(off / segLen);
+				int spos = (int)(off % segLen);
+				int n = Math.min(len-aoff, segLen-spos);
+				DoubleBuffer db = view(_segs[six]).asDoubleBuffer();
+				db.position(spos);
+				if( put )
+					db.put(a, aoff, n);
+				else
+					db.get(a, aoff, n);
+				aoff += n;
+				off += n;
+			}
+		}
+
+		private byte[] getBytes() {
+			byte[] bdata = new byte[(int)_esize];
+			for( int i=0, off=0; off<bdata.length; i++, off+=SEGMENT_SIZE )
+				view(_segs[i]).get(bdata, off, Math.min(SEGMENT_SIZE, bdata.length-off));
+			return bdata;
+		}
+
+		public void spill( String fname )
+			throws IOException
+		{
+			if( _dense ) //restore and write in matrix block format
+				LocalFileUtils.writeCacheBlockToLocal(fname, get(true));
+			else //write byte representation w/o heap copy
+				LocalFileUtils.writeByteBuffersToLocal(fname, _segs);
+		}
+
+		public void free() {
+			//direct buffers and mappings are released by GC, but we
+			//eagerly delete the mapped file (remains valid until unmapped)
+			if( _file != null )
+				_file.delete();
+		}
+	}
+}
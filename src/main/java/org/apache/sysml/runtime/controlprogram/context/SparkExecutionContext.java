@@ -392,13 +392,22 @@ public class SparkExecutionContext extends ExecutionContext
 				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
 				rdd = ((JavaPairRDD<MatrixIndexes, MatrixCell>)rdd).mapToPair( new CopyBinaryCellFunction() ); //cp is workaround for read bug
 			}
+			else if(inputInfo == InputInfo.LocalBinaryBlockInputInfo) {
+				//local files are not accessible by executors, hence read in CP and parallelize
+				MatrixBlock mb = mo.acquireRead(); //pin matrix in memory
+				rdd = toMatrixJavaPairRDD(sc, mb, (int)mo.getNumRowsPerBlock(), (int)mo.getNumColumnsPerBlock());
+				mo.release(); //unpin matrix
+				long rddSize = OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getMatrixCharacteristics());
+				if( _parRDDs.reserve(rddSize) )
+					_parRDDs.registerRDD(rdd.id(), rddSize, true);
+			}
 			else {
 				throw new DMLRuntimeException("Incorrect input format in getRDDHandleForVariable");
 			}
 			
 			//keep rdd handle for future operations on it
 			RDDObject rddhandle = new RDDObject(rdd, mo.getVarName());
-			rddhandle.setHDFSFile(true);
+			rddhandle.setHDFSFile(inputInfo != InputInfo.LocalBinaryBlockInputInfo);
 			mo.setRDDHandle(rddhandle);
 		}
 		
@@ -483,13 +492,22 @@ public class SparkExecutionContext extends ExecutionContext
 			else if(inputInfo2 == InputInfo.BinaryCellInputInfo) {
 				throw new DMLRuntimeException("Binarycell not supported for frames.");
 			}
+			else if(inputInfo2 == InputInfo.ColumnarFrameInputInfo) {
+				//columnar files have no hadoop input format, hence read in CP and parallelize
+				FrameBlock fb = fo.acquireRead(); //pin frame in memory
+				rdd = toFrameJavaPairRDD(sc, fb);
+				fo.release(); //unpin frame
+				long rddSize = OptimizerUtils.estimatePartitionedSizeExactSparsity(fo.getMatrixCharacteristics());
+				if( _parRDDs.reserve(rddSize) )
+					_parRDDs.registerRDD(rdd.id(), rddSize, true);
+			}
 			else {
 				throw new DMLRuntimeException("Incorrect input format in getRDDHandleForVariable");
 			}
 			
 			//keep rdd handle for future operations on it
 			RDDObject rddhandle = new RDDObject(rdd, fo.getVarName());
-			rddhandle.setHDFSFile(true);
+			rddhandle.setHDFSFile(inputInfo2 != InputInfo.ColumnarFrameInputInfo);
 			fo.setRDDHandle(rddhandle);
 		}
 		
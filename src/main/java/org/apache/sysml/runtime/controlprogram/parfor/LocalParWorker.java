@@ -40,6 +40,8 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.Timing;
 public class LocalParWorker extends ParWorker implements Runnable
 {
 	protected LocalTaskQueue<Task> _taskQueue   = null;
+	protected int                  _queueIx     = -1;
+	protected long                 _waitTime    = 0; //in nano sec
 	
 	protected Collection<String> _fnNames = null;
 	
@@ -66,6 +68,30 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	/**
+	 * Sets the index of this worker within its task queue, which allows 
+	 * worker-aware task queues to serve tasks from a worker-local deque.
+	 * 
+	 * @param ix worker index (0 to numWorkers-1)
+	 */
+	public void setQueueIndex(int ix) {
+		_queueIx = ix;
+	}
+	
+	public long getNumSteals() {
+		return _taskQueue.getNumSteals(_queueIx);
+	}
+	
+	/**
+	 * Obtain the accumulated time this worker spent in reading from the
+	 * task queue, including waiting for new tasks.
+	 * 
+	 * @return queue wait time in milli sec
+	 */
+	public double getQueueWaitTime() {
+		return _waitTime / 1e6;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -91,7 +117,9 @@ public class LocalParWorker extends ParWorker implements Runnable
 			//dequeue the next task (abort on NO_MORE_TASKS or error)
 			try
 			{
-				lTask = _taskQueue.dequeueTask();
+				long t0 = System.nanoTime();
+				lTask = _taskQueue.dequeueTask(_queueIx);
+				_waitTime += System.nanoTime() - t0;
 				
 				if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 					break; //normal end of parallel worker
@@ -144,6 +172,8 @@ public class LocalParWorker extends ParWorker implements Runnable
 		if( _monitor ) {
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMTASKS, _numTasks);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMITERS, _numIters);
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMSTEALS, getNumSteals());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_WAIT_T, getQueueWaitTime());
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
 		}
 	}
@@ -97,6 +97,30 @@ public class LocalTaskQueue<T>
 		return t;
 	}
 	
+	/**
+	 * Read and delete of the next task for the given worker. The default FIFO
+	 * queue is shared by all workers and hence ignores the worker index.
+	 * 
+	 * @param workerIx index of the reading worker (0 to numWorkers-1)
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public T dequeueTask( int workerIx ) 
+		throws InterruptedException
+	{
+		return dequeueTask();
+	}
+	
+	/**
+	 * Obtain the number of tasks the given worker took from other workers.
+	 * 
+	 * @param workerIx index of the worker
+	 * @return number of stolen tasks (always 0 for the shared FIFO queue)
+	 */
+	public long getNumSteals( int workerIx ) {
+		return 0;
+	}
+	
 	/**
 	 * Synchronized (logical) insert of a NO_MORE_TASKS symbol at the end of the FIFO queue in order to
 	 * mark that no more tasks will be inserted into the queue.
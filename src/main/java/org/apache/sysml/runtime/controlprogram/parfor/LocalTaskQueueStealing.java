@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Striped task queue with work stealing for local parfor workers. In contrast to
+ * the shared FIFO queue, each worker owns a lock-free deque. Incoming tasks are
+ * distributed round-robin over the worker deques; a worker takes tasks from the head
+ * of its own deque and, once empty, steals from the tail of other deques. Hence,
+ * readers only synchronize if all deques are empty, which avoids monitor contention
+ * for fine-grained tasks (e.g., naive task partitioning) with many workers.
+ *
+ * Readers that are not associated with a worker (see {@link #dequeueTask()})
+ * act as thieves on all deques.
+ *
+ */
+public class LocalTaskQueueStealing<T> extends LocalTaskQueue<T>
+{
+	private static final Log LOG = LogFactory.getLog(LocalTaskQueueStealing.class.getName());
+
+	private final ConcurrentLinkedDeque<T>[] _deques;
+	private final AtomicInteger _size     = new AtomicInteger(0);
+	private final AtomicInteger _waiting  = new AtomicInteger(0);
+	private final long[]        _steals;
+	private int                 _nextIx   = 0; //single writer
+	private volatile boolean    _closedInput = false;
+
+	@SuppressWarnings("unchecked")
+	public LocalTaskQueueStealing( int numWorkers )
+	{
+		int k = Math.max(numWorkers, 1);
+		_deques = new ConcurrentLinkedDeque[k];
+		for( int i=0; i<k; i++ )
+			_deques[i] = new ConcurrentLinkedDeque<T>();
+		_steals = new long[k];
+	}
+
+	public int getNumWorkers() {
+		return _deques.length;
+	}
+
+	/**
+	 * Insert of a new task to the end of the next worker deque (round-robin).
+	 * Note that the queue expects a single writer.
+	 *
+	 * @param t task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public void enqueueTask( T t )
+		throws InterruptedException
+	{
+		//max constraint reached, wait for reads (rare, hence timed wait w/o notify by readers)
+		if( _size.get() + 1 > MAX_SIZE ) {
+			LOG.warn("MAX_SIZE of task queue reached.");
+			synchronized( this ) {
+				while( _size.get() + 1 > MAX_SIZE )
+					wait(10);
+			}
+		}
+
+		//increment size before insert, so readers never see a size smaller than 
+		//the number of available tasks (and hence, never wait for existing tasks)
+		_size.incrementAndGet();
+		_deques[_nextIx].addLast( t );
+		_nextIx = (_nextIx + 1) % _deques.length;
+
+		//notify waiting readers (only if necessary)
+		if( _waiting.get() > 0 ) {
+			synchronized( this ) {
+				notifyAll();
+			}
+		}
+	}
+
+	@Override
+	public T dequeueTask()
+		throws InterruptedException
+	{
+		return dequeueTask( -1 );
+	}
+
+	/**
+	 * Read and delete of the next task for the given worker, either from the head of
+	 * its own deque or stolen from the tail of another deque. The reader blocks only if
+	 * all deques are empty and the input is not yet closed.
+	 *
+	 * @param workerIx index of the reading worker, or -1 for an unassociated reader
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T dequeueTask( int workerIx )
+		throws InterruptedException
+	{
+		while( true )
+		{
+			T t = tryDequeue( workerIx );
+			if( t != null )
+				return t;
+
+			//register as waiting reader before re-check in order to prevent lost
+			//notifications (enqueue adds before it checks for waiting readers)
+			_waiting.incrementAndGet();
+			try {
+				synchronized( this ) {
+					while( _size.get() == 0 ) {
+						if( _closedInput )
+							return (T)NO_MORE_TASKS;
+						wait(); // wait for writers
+					}
+				}
+			}
+			finally {
+				_waiting.decrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	public void closeInput()
+	{
+		_closedInput = true;
+		synchronized( this ) {
+			notifyAll(); //notify all waiting readers
+		}
+	}
+
+	@Override
+	public long getNumSteals( int workerIx ) {
+		return (workerIx >= 0 && workerIx < _steals.length) ?
+			_steals[workerIx] : 0;
+	}
+
+	public long getNumSteals() {
+		long ret = 0;
+		for( long s : _steals )
+			ret += s;
+		return ret;
+	}
+
+	private T tryDequeue( int workerIx )
+	{
+		int k = _deques.length;
+		boolean owner = (workerIx >= 0 && workerIx < k);
+
+		//take from head of own deque
+		if( owner ) {
+			T t = _deques[workerIx].pollFirst();
+			if( t != null ) {
+				_size.decrementAndGet();
+				return t;
+			}
+		}
+
+		//steal from tail of other deques (starting at right neighbor)
+		int start = owner ? workerIx + 1 : 0;
+		for( int i=0; i<k; i++ ) {
+			int ix = (start + i) % k;
+			if( owner && ix == workerIx )
+				continue;
+			T t = _deques[ix].pollLast();
+			if( t != null ) {
+				_size.decrementAndGet();
+				if( owner )
+					_steals[workerIx]++; //written by owner only
+				return t;
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append("STEALING TASK QUEUE (size=");
+		sb.append(_size.get());
+		sb.append(",workers=");
+		sb.append(_deques.length);
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(")\n");
+
+		for( int i=0; i<_deques.length; i++ )
+		{
+			int count = 1;
+			for( T t : _deques[i] )
+			{
+				sb.append("  WORKER #");
+				sb.append(i);
+				sb.append(" TASK #");
+				sb.append(count);
+				sb.append(": ");
+				sb.append(t.toString());
+				sb.append("\n");
+
+				count++;
+			}
+		}
+
+		return sb.toString();
+	}
+}
@@ -340,6 +340,7 @@ public class ProgramConverter
 		tmpPB.disableOptimization(); //already done in top-level parfor
 		tmpPB.disableMonitorReport(); //already done in top-level parfor
 		tmpPB.setResultVariables( pfpb.getResultVariables() );
+		tmpPB.setTaskQueue( pfpb.getTaskQueue() ); //set by optimizer, not part of params
 		
 		tmpPB.setFromInstructions( createDeepCopyInstructionSet(pfpb.getFromInstructions(), pid, IDPrefix, prog, fnStack, fnCreated, plain, true) );
 		tmpPB.setToInstructions( createDeepCopyInstructionSet(pfpb.getToInstructions(), pid, IDPrefix, prog, fnStack, fnCreated, plain, true) );
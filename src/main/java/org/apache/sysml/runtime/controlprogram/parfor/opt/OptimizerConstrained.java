@@ -163,6 +163,9 @@ public class OptimizerConstrained extends OptimizerRuleBased
 			// rewrite 11: task partitioning 
 			rewriteSetTaskPartitioner( pn, flagNested, flagLIX );
 
+			// rewrite 11b: task queue (local parworkers)
+			super.rewriteSetTaskQueue( pn, flagNested );
+
 			// rewrite 12: fused data partitioning and execution
 			rewriteSetFusedDataPartitioningExecution(pn, M1, flagLIX, partitionedMatrices, ec.getVariables(), tmpmode);
 
@@ -185,6 +188,9 @@ public class OptimizerConstrained extends OptimizerRuleBased
 			// rewrite 11: task partitioning
 			rewriteSetTaskPartitioner( pn, false, false ); //flagLIX always false 
 
+			// rewrite 11b: task queue (local parworkers)
+			super.rewriteSetTaskQueue( pn, false );
+
 			// rewrite 14: set in-place result indexing
 			HashSet<String> inplaceResultVars = new HashSet<String>();
 			super.rewriteSetInPlaceResultIndexing(pn, M1, ec.getVariables(), inplaceResultVars, ec);
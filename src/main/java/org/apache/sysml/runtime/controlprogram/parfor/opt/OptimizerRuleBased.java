@@ -82,6 +82,7 @@ import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PExecMode;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.POptMode;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PResultMerge;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PTaskPartitioner;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PTaskQueue;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PartitionFormat;
 import org.apache.sysml.runtime.controlprogram.WhileProgramBlock;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
@@ -159,6 +160,7 @@ public class OptimizerRuleBased extends Optimizer
 	public static final String FUNCTION_UNFOLD_NAMEPREFIX = "__unfold_";
 	
 	public static final boolean APPLY_REWRITE_UPDATE_INPLACE_INTERMEDIATE = true;
+	public static final int TASK_QUEUE_STEALING_MIN_K = 8; //min local parworkers for work stealing
 	
 	public static final double PAR_K_FACTOR        = OptimizationWrapper.PAR_FACTOR_INFRASTRUCTURE; 
 	public static final double PAR_K_MR_FACTOR     = 1.0 * OptimizationWrapper.PAR_FACTOR_INFRASTRUCTURE; 
@@ -294,6 +296,9 @@ public class OptimizerRuleBased extends Optimizer
 			// rewrite 11: task partitioning 
 			rewriteSetTaskPartitioner( pn, flagNested, flagLIX );
 			
+			// rewrite 11b: task queue (local parworkers)
+			rewriteSetTaskQueue( pn, flagNested );
+			
 			// rewrite 12: fused data partitioning and execution
 			rewriteSetFusedDataPartitioningExecution(pn, M1, flagLIX, partitionedMatrices, ec.getVariables());
 		
@@ -315,6 +320,9 @@ public class OptimizerRuleBased extends Optimizer
 			// rewrite 11: task partitioning
 			rewriteSetTaskPartitioner( pn, false, false ); //flagLIX always false 
 			
+			// rewrite 11b: task queue (local parworkers)
+			rewriteSetTaskQueue( pn, false );
+			
 			// rewrite 14: set in-place result indexing
 			HashSet<String> inplaceResultVars = new HashSet<String>();
 			rewriteSetInPlaceResultIndexing(pn, M1, ec.getVariables(), inplaceResultVars, ec);
@@ -1461,6 +1469,43 @@ public class OptimizerRuleBased extends Optimizer
 		LOG.debug(getOptMode()+" OPT: rewrite 'set task partitioner' - result="+partitioner+((flagLIX) ? ","+n.getParam(ParamType.TASK_SIZE) : "") );	
 	}
 	
+	///////
+	//REWRITE set task queue
+	///
+
+	protected void rewriteSetTaskQueue(OptNode pn, boolean flagNested) 
+	{
+		//assertions (warnings of corrupt optimizer decisions)
+		if( pn.getNodeType() != NodeType.PARFOR )
+			LOG.warn(getOptMode()+" OPT: Task queue can only be set for a ParFor node.");
+		
+		setTaskQueue( pn );
+		
+		//inner parfor of nested parallelism, executed by local parworkers
+		if( flagNested && pn.getChilds().get(0).getNodeType() == NodeType.PARFOR )
+			setTaskQueue( pn.getChilds().get(0) );
+	}
+
+	protected void setTaskQueue( OptNode n )
+	{
+		long id = n.getID();
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+                                     .getAbstractPlanMapping().getMappedProg(id)[1];
+		
+		//use the work-stealing queue for local parfor with many parworkers and fine-grained 
+		//tasks (naive, factoring), where the shared fifo queue suffers from monitor contention
+		//and idle workers; otherwise, the number of tasks is small and the fifo queue suffices.
+		String tp = n.getParam(ParamType.TASK_PARTITIONER);
+		boolean fineGrained = PTaskPartitioner.NAIVE.toString().equals(tp)
+			|| PTaskPartitioner.FACTORING.toString().equals(tp);
+		PTaskQueue queue = ( n.getExecType() == ExecType.CP && fineGrained 
+			&& n.getK() >= TASK_QUEUE_STEALING_MIN_K ) ? PTaskQueue.STEALING : PTaskQueue.FIFO;
+		pfpb.setTaskQueue( queue );
+		
+		_numEvaluatedPlans++;
+		LOG.debug(getOptMode()+" OPT: rewrite 'set task queue' - result="+queue );
+	}
+	
 	///////
 	//REWRITE set fused data partitioning / execution
 	///
@@ -39,6 +39,8 @@ public enum Stat
 	PARFOR_EXECMODE,	
 	PARFOR_NUMTASKS,
 	PARFOR_NUMITERS,
+	PARFOR_TASKQUEUE,
+	PARFOR_NUMSTEALS,
 	PARFOR_JITCOMPILE,
 	PARFOR_JVMGC_COUNT,
 	PARFOR_JVMGC_TIME,
@@ -54,6 +56,8 @@ public enum Stat
 	PARWRK_TASKSIZE,
 	PARWRK_ITER_T,
 	PARWRK_TASK_T,
+	PARWRK_NUMSTEALS,
+	PARWRK_WAIT_T,
 	PARWRK_EXEC_T;
 	
 
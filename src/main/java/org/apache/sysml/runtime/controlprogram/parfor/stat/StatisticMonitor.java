@@ -26,6 +26,7 @@ import java.util.Map.Entry;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PExecMode;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.POptMode;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PTaskPartitioner;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PTaskQueue;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitioner;
 
 /**
@@ -165,6 +166,10 @@ public class StatisticMonitor
 				sb.append("  Exec Mode        = "+PExecMode.values()[(int)(double)stats.get(Stat.PARFOR_EXECMODE).get(i)]+"\n");
 				sb.append("  Num Tasks        = "+(int)(double)stats.get(Stat.PARFOR_NUMTASKS).get(i)+"\n");
 				sb.append("  Num Iterations   = "+(int)(double)stats.get(Stat.PARFOR_NUMITERS).get(i)+"\n");
+				if( stats.containsKey(Stat.PARFOR_TASKQUEUE) )
+					sb.append("  Task Queue       = "+PTaskQueue.values()[(int)(double)stats.get(Stat.PARFOR_TASKQUEUE).get(i)]+"\n");
+				if( stats.containsKey(Stat.PARFOR_NUMSTEALS) && stats.get(Stat.PARFOR_NUMSTEALS).size() > i )
+					sb.append("  Num Steals       = "+(long)(double)stats.get(Stat.PARFOR_NUMSTEALS).get(i)+"\n");
 				
 				if( stats.containsKey(Stat.OPT_OPTIMIZER) )
 				{
@@ -198,6 +203,10 @@ public class StatisticMonitor
 						sb.append("   --- ParWorker #"+count2+" (ID="+ pid +") Execution Statistics:\n");						
 						sb.append("       Num Tasks = "+ntasks+"\n");
 						sb.append("       Num Iters = "+niters+"\n");
+						if( stats2.containsKey(Stat.PARWRK_NUMSTEALS) ) {
+							sb.append("       Num Steals = "+(long)(double)stats2.get(Stat.PARWRK_NUMSTEALS).get(0)+"\n");
+							sb.append("       Time WAIT = "+stats2.get(Stat.PARWRK_WAIT_T).get(0)+"ms\n");
+						}
 						sb.append("       Time EXEC = "+stats2.get(Stat.PARWRK_EXEC_T).get(0)+"ms\n");
 						
 						LinkedList<Double> taskexec = stats2.get(Stat.PARWRK_TASK_T);
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
@@ -46,12 +47,25 @@ public final class FrameIndexingCPInstruction extends IndexingCPInstruction
 		//right indexing
 		if( opcode.equalsIgnoreCase("rangeReIndex") )
 		{
-			//execute right indexing operation
-			FrameBlock in = ec.getFrameInput(input1.getName());
-			FrameBlock out = in.sliceOperations(ixrange, new FrameBlock());	
+			FrameObject fo = ec.getFrameObject(input1.getName());
+			FrameBlock out = null;
+			
+			if( ixrange.colEnd - ixrange.colStart + 1 < fo.getNumColumns() 
+				&& fo.isColumnProjectionReadable() ) {
+				//push column projection down into the read of columnar inputs
+				out = fo.readColumnProjection((int)ixrange.colStart, (int)ixrange.colEnd);
+				if( ixrange.rowStart > 0 || ixrange.rowEnd < out.getNumRows()-1 )
+					out = out.sliceOperations((int)ixrange.rowStart, (int)ixrange.rowEnd, 
+						0, out.getNumColumns()-1, new FrameBlock());
+			}
+			else {
+				//execute right indexing operation
+				FrameBlock in = ec.getFrameInput(input1.getName());
+				out = in.sliceOperations(ixrange, new FrameBlock());
 				
-			//unpin rhs input
-			ec.releaseFrameInput(input1.getName());
+				//unpin rhs input
+				ec.releaseFrameInput(input1.getName());
+			}
 			
 			//unpin output
 			ec.setFrameOutput(output.getName(), out);
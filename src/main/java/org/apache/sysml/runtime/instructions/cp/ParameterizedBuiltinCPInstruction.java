@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import java.util.HashMap;
 
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.ParameterizedBuiltinFunctionExpression;
 import org.apache.sysml.parser.Statement;
@@ -271,8 +272,9 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			String[] colNames = data.getColumnNames();
 			
 			//compute transformapply
+			int k = OptimizerUtils.getConstrainedNumThreads(-1);
 			Encoder encoder = EncoderFactory.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta);
-			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false));
+			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false), k);
 			
 			//release locks
 			ec.setMatrixOutput(output.getName(), mbout);
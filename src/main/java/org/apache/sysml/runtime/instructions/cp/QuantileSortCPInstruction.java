@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.SortKeys;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
@@ -93,7 +94,9 @@ public class QuantileSortCPInstruction extends UnaryCPInstruction
 		}
 		
  		//process core instruction
-		MatrixBlock resultBlock = (MatrixBlock) matBlock.sortOperations(wtBlock, new MatrixBlock());
+		//(multi-threaded sort w/ runtime constraint, similar to compression)
+		int k = OptimizerUtils.getConstrainedNumThreads(-1);
+		MatrixBlock resultBlock = (MatrixBlock) matBlock.sortOperations(wtBlock, new MatrixBlock(), k);
 		
 		//release inputs
 		ec.releaseMatrixInput(input1.getName());
@@ -50,7 +50,7 @@ import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
-import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleIterator;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public class TernarySPInstruction extends ComputationSPInstruction
@@ -459,16 +459,16 @@ public class TernarySPInstruction extends ComputationSPInstruction
 
 		private static final long serialVersionUID = -5933677686766674444L;
 		
-		@SuppressWarnings("deprecation")
 		@Override
 		public Iterator<Tuple2<MatrixIndexes, Double>> call(CTableMap ctableMap)
 				throws Exception {
-			ArrayList<Tuple2<MatrixIndexes, Double>> retVal = new ArrayList<Tuple2<MatrixIndexes, Double>>();
+			ArrayList<Tuple2<MatrixIndexes, Double>> retVal = new ArrayList<Tuple2<MatrixIndexes, Double>>(ctableMap.size());
 			
-			for(LLDoubleEntry ijv : ctableMap.entrySet()) {
-				long i = ijv.key1;
-				long j =  ijv.key2;
-				double v =  ijv.value;
+			LLDoubleIterator ijv = ctableMap.getIterator();
+			while( ijv.next() ) {
+				long i = ijv.getKey1();
+				long j =  ijv.getKey2();
+				double v =  ijv.getValue();
 				
 				// retVal.add(new Tuple2<MatrixIndexes, MatrixCell>(blockIndexes, cell));
 				retVal.add(new Tuple2<MatrixIndexes, Double>(new MatrixIndexes(i, j), v));
@@ -0,0 +1,489 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.sysml.runtime.transform.TfUtils;
+
+/**
+ * Byte-level CSV line tokenizer and number parser for the text CSV readers.
+ * In contrast to the default path of Text to String, splitCSV, and 
+ * Double.parseDouble per line, this parser tokenizes directly over the 
+ * UTF-8 bytes of a line (e.g., the reused buffer of a Hadoop Text) and
+ * parses numbers without creating intermediate strings or token arrays.
+ * 
+ * The tokenization follows the semantics of {@link IOUtilFunctions#splitCSV}, 
+ * including the handling of quotes, escaped inner quotes, empty tokens, and 
+ * the trimming of lines and tokens. Since quotes and delimiters are compared
+ * byte-wise, this is equivalent for UTF-8 encoded lines because multi-byte
+ * characters never contain ASCII bytes. Doubles are parsed with an exact
+ * fast path for small mantissas and exponents, and the Eisel-Lemire algorithm
+ * for the remaining common cases; rare inputs (e.g., NaN, Infinity, hex, 
+ * subnormals, or more than 18 significant digits) fall back to Double.parseDouble.
+ * 
+ * This class is not thread-safe; multi-threaded readers use one instance per task.
+ * 
+ */
+public class CSVByteParser 
+{
+	private static final byte CSV_QUOTE = '"';
+	
+	//powers of ten that are exactly representable as doubles
+	private static final double[] POW10 = new double[23];
+	
+	//128-bit approximations of powers of ten (normalized mantissa of 5^e)
+	private static final int MIN_EXP10 = -342;
+	private static final int MAX_EXP10 = 308;
+	private static final long[] POW5_HI = new long[MAX_EXP10-MIN_EXP10+1];
+	private static final long[] POW5_LO = new long[MAX_EXP10-MIN_EXP10+1];
+	
+	static {
+		for( int i=0; i<POW10.length; i++ )
+			POW10[i] = Double.parseDouble("1e"+i);
+		BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+		BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+		for( int e=MIN_EXP10; e<=MAX_EXP10; e++ ) {
+			BigInteger c = null;
+			if( e >= 0 ) { //truncated 5^e
+				BigInteger p5 = BigInteger.valueOf(5).pow(e);
+				int z = p5.bitLength();
+				c = (z <= 128) ? p5.shiftLeft(128-z) : p5.shiftRight(z-128);
+			}
+			else { //rounded up 2^b/5^-e 
+				BigInteger p5 = BigInteger.valueOf(5).pow(-e);
+				int z = p5.bitLength(); //5^-e is never a power of 2
+				int b = (e >= -27) ? z + 127 : 2 * z + 128;
+				c = BigInteger.ONE.shiftLeft(b).divide(p5).add(BigInteger.ONE);
+				while( c.compareTo(two128) >= 0 )
+					c = c.shiftRight(1);
+			}
+			POW5_HI[e-MIN_EXP10] = c.shiftRight(64).longValue();
+			POW5_LO[e-MIN_EXP10] = c.and(mask64).longValue();
+		}
+	}
+	
+	private final byte[] _delim;
+	private final int _delimChars;
+	private final byte[][] _naStrings;
+	
+	//current line (trimmed) and token positions
+	private byte[] _buf = null;
+	private int _off = -1;  //absolute line start 
+	private int _len = -1;  //line length
+	private int _pos = -1;  //relative start of next token
+	private int _tbeg = -1; //absolute token start (trimmed)
+	private int _tend = -1; //absolute token end (trimmed, exclusive)
+	
+	public CSVByteParser(String delim) {
+		this(delim, null);
+	}
+	
+	/**
+	 * Creates a parser for the given delimiter and optional NA strings, 
+	 * encoded as in the csv file format properties.
+	 * 
+	 * @param delim delimiter
+	 * @param naStrings NA strings separated by DELIM_NA_STRING_SEP, or null
+	 */
+	public CSVByteParser(String delim, String naStrings) {
+		_delim = delim.getBytes(StandardCharsets.UTF_8);
+		_delimChars = delim.length();
+		String[] na = TfUtils.parseNAStrings(naStrings);
+		_naStrings = (na != null) ? new byte[na.length][] : null;
+		for( int i=0; na!=null && i<na.length; i++ )
+			_naStrings[i] = na[i].getBytes(StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Resets the parser to the given line of UTF-8 bytes, which is 
+	 * trimmed as String.trim() before tokenization.
+	 * 
+	 * @param buf byte buffer
+	 * @param off line offset
+	 * @param len line length
+	 */
+	public void reset(byte[] buf, int off, int len) {
+		int end = off + len;
+		while( off < end && isWhitespace(buf[off]) )
+			off++;
+		while( end > off && isWhitespace(buf[end-1]) )
+			end--;
+		_buf = buf;
+		_off = off;
+		_len = end - off;
+		_pos = 0;
+		_tbeg = _tend = off;
+	}
+	
+	/**
+	 * Advances to the next token of the current line. Similar to splitCSV,
+	 * an empty line has a single empty token, and a trailing delimiter 
+	 * creates an additional empty token.
+	 * 
+	 * @return true if a token exists, false if the line is exhausted
+	 */
+	public boolean next() {
+		int from = _pos;
+		int len = _len;
+		if( from > len )
+			return false;
+		
+		int to = len;
+		if( from < len ) {
+			if( _buf[_off+from] == CSV_QUOTE && indexOfQuote(from+1) > 0 ) {
+				to = indexOfQuote(from+1);
+				// handle escaped inner quotes, e.g. "aa""a"
+				while( to+1 < len && _buf[_off+to+1]==CSV_QUOTE ) {
+					to = indexOfQuote(to+2); // to + ""
+					if( to < 0 ) { //unterminated escape
+						to = len - 1;
+						break;
+					}
+				}
+				to += 1; // last "
+				// handle remaining non-quoted characters "aa"a 
+				if( hasMoreThanOneChar(to) && !regionMatchesDelim(to) )
+					to = indexOfDelim(to+1);
+			}
+			else if( regionMatchesDelim(from) ) {
+				to = from; // empty string
+			}
+			else { // default: unquoted non-empty
+				to = indexOfDelim(from+1);
+			}
+			to = (to >= 0) ? to : len;
+		}
+		
+		// slice out (and trim) token and advance position
+		int tbeg = _off + from;
+		int tend = _off + to;
+		while( tbeg < tend && isWhitespace(_buf[tbeg]) )
+			tbeg++;
+		while( tend > tbeg && isWhitespace(_buf[tend-1]) )
+			tend--;
+		_tbeg = tbeg;
+		_tend = tend;
+		if( from >= len )
+			_pos = len + 1;
+		else if( to < len && !regionMatchesDelim(to) ) //dropped last char after quote
+			_pos = (_delimChars == 1) ? len : len + 1;
+		else
+			_pos = to + _delim.length;
+		return true;
+	}
+	
+	public boolean isEmpty() {
+		return _tbeg == _tend;
+	}
+	
+	public boolean isNA() {
+		if( _naStrings == null )
+			return false;
+		for( byte[] na : _naStrings )
+			if( equalsToken(na) )
+				return true;
+		return false;
+	}
+	
+	/**
+	 * Indicates if the current line starts with the given UTF-8 bytes.
+	 * 
+	 * @param prefix prefix bytes
+	 * @return true if the line starts with the prefix
+	 */
+	public boolean startsWith(byte[] prefix) {
+		if( prefix.length > _len )
+			return false;
+		for( int i=0; i<prefix.length; i++ )
+			if( _buf[_off+i] != prefix[i] )
+				return false;
+		return true;
+	}
+	
+	/**
+	 * Parses the current token as double, where a numeric value enclosed 
+	 * in quotes is parsed from its inner characters.
+	 * 
+	 * @return double value
+	 */
+	public double getDouble() {
+		int beg = _tbeg, end = _tend;
+		if( end - beg >= 2 && _buf[beg]==CSV_QUOTE && _buf[end-1]==CSV_QUOTE ) {
+			beg++; end--;
+		}
+		return parseDouble(_buf, beg, end);
+	}
+	
+	public long getLong() {
+		return parseLong(_buf, _tbeg, _tend);
+	}
+	
+	public boolean getBoolean() {
+		//semantics of Boolean.parseBoolean
+		return _tend - _tbeg == 4 
+			&& (_buf[_tbeg]   | 0x20) == 't' && (_buf[_tbeg+1] | 0x20) == 'r'
+			&& (_buf[_tbeg+2] | 0x20) == 'u' && (_buf[_tbeg+3] | 0x20) == 'e';
+	}
+	
+	public String getString() {
+		return new String(_buf, _tbeg, _tend-_tbeg, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Gets the current (trimmed) line as string, e.g., for error messages.
+	 * 
+	 * @return line string
+	 */
+	public String getLine() {
+		return new String(_buf, _off, _len, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Parses a double from the given UTF-8 bytes without creating
+	 * intermediate strings for all common number formats, and with
+	 * the semantics and results of Double.parseDouble otherwise.
+	 * 
+	 * @param buf byte buffer
+	 * @param beg start offset (inclusive)
+	 * @param end end offset (exclusive)
+	 * @return double value
+	 */
+	public static double parseDouble(byte[] buf, int beg, int end) {
+		int i = beg;
+		boolean neg = false;
+		if( i < end && (buf[i]=='-' || buf[i]=='+') )
+			neg = (buf[i++]=='-');
+		
+		//parse integer and fraction digits into mantissa and exponent
+		long m = 0;
+		int nd = 0, exp = 0, ndigits = 0;
+		for( ; i<end; i++, ndigits++ ) {
+			int d = buf[i] - '0';
+			if( d < 0 || d > 9 )
+				break;
+			if( m != 0 || d != 0 ) {
+				if( nd++ >= 18 )
+					return parseDoubleSlow(buf, beg, end);
+				m = m * 10 + d;
+			}
+		}
+		if( i < end && buf[i]=='.' ) {
+			for( i++; i<end; i++, ndigits++ ) {
+				int d = buf[i] - '0';
+				if( d < 0 || d > 9 )
+					break;
+				if( m != 0 || d != 0 ) {
+					if( nd++ >= 18 )
+						return parseDoubleSlow(buf, beg, end);
+					m = m * 10 + d;
+				}
+				exp--;
+			}
+		}
+		if( ndigits == 0 )
+			return parseDoubleSlow(buf, beg, end);
+		
+		//parse optional exponent
+		if( i < end && (buf[i]=='e' || buf[i]=='E') ) {
+			boolean eneg = false;
+			if( ++i < end && (buf[i]=='-' || buf[i]=='+') )
+				eneg = (buf[i++]=='-');
+			int e = 0, estart = i;
+			for( ; i<end; i++ ) {
+				int d = buf[i] - '0';
+				if( d < 0 || d > 9 )
+					break;
+				e = Math.min(e * 10 + d, 100000);
+			}
+			if( i == estart )
+				return parseDoubleSlow(buf, beg, end);
+			exp += eneg ? -e : e;
+		}
+		
+		//fallback for remaining characters (e.g., type suffixes)
+		if( i != end )
+			return parseDoubleSlow(buf, beg, end);
+		
+		//compose double from mantissa and exponent
+		if( m == 0 )
+			return neg ? -0d : 0d;
+		if( exp >= -22 && exp <= 22 && m < (1L << 53) ) {
+			//exact mantissa and power of ten, single correctly rounded op
+			double v = (exp < 0) ? m / POW10[-exp] : m * POW10[exp];
+			return neg ? -v : v;
+		}
+		double v = eiselLemire(m, exp, neg);
+		return !Double.isNaN(v) ? v : parseDoubleSlow(buf, beg, end);
+	}
+	
+	/**
+	 * Parses a long from the given UTF-8 bytes without creating 
+	 * intermediate strings, with the semantics of Long.parseLong.
+	 * 
+	 * @param buf byte buffer
+	 * @param beg start offset (inclusive)
+	 * @param end end offset (exclusive)
+	 * @return long value
+	 */
+	public static long parseLong(byte[] buf, int beg, int end) {
+		int i = beg;
+		boolean neg = false;
+		if( i < end && (buf[i]=='-' || buf[i]=='+') )
+			neg = (buf[i++]=='-');
+		if( i == end || end - i > 18 ) //empty or potential overflow
+			return Long.parseLong(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+		long ret = 0;
+		for( ; i<end; i++ ) {
+			int d = buf[i] - '0';
+			if( d < 0 || d > 9 )
+				return Long.parseLong(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+			ret = ret * 10 + d;
+		}
+		return neg ? -ret : ret;
+	}
+	
+	private static double parseDoubleSlow(byte[] buf, int beg, int end) {
+		return Double.parseDouble(new String(buf, beg, end-beg, StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Eisel-Lemire conversion of a decimal mantissa and exponent to the 
+	 * nearest double, based on 128-bit approximations of powers of ten.
+	 * 
+	 * @param m decimal mantissa (non-zero, at most 19 digits)
+	 * @param exp10 decimal exponent
+	 * @param neg negative sign
+	 * @return double value, or NaN if the result is ambiguous or out of range
+	 */
+	private static double eiselLemire(long m, int exp10, boolean neg) {
+		if( exp10 < MIN_EXP10 || exp10 > MAX_EXP10 )
+			return Double.NaN;
+		
+		//normalization and 128-bit multiplication
+		int clz = Long.numberOfLeadingZeros(m);
+		long man = m << clz;
+		long retExp2 = ((217706L * exp10) >> 16) + 64 + 1023 - clz;
+		int ix = exp10 - MIN_EXP10;
+		long xHi = unsignedMultiplyHigh(man, POW5_HI[ix]);
+		long xLo = man * POW5_HI[ix];
+		
+		//wider approximation if the lower bits are inconclusive
+		if( (xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + man, man) < 0 ) {
+			long yHi = unsignedMultiplyHigh(man, POW5_LO[ix]);
+			long yLo = man * POW5_LO[ix];
+			long mergedHi = xHi, mergedLo = xLo + yHi;
+			if( Long.compareUnsigned(mergedLo, xLo) < 0 )
+				mergedHi++;
+			if( (mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 
+				&& Long.compareUnsigned(yLo + man, man) < 0 )
+				return Double.NaN;
+			xHi = mergedHi;
+			xLo = mergedLo;
+		}
+		
+		//shifting to 54 bits, and check for half-way ambiguity
+		long msb = xHi >>> 63;
+		long retMan = xHi >>> (msb + 9);
+		retExp2 -= 1 ^ msb;
+		if( xLo == 0 && (xHi & 0x1FF) == 0 && (retMan & 3) == 1 )
+			return Double.NaN;
+		
+		//rounding from 54 to 53 bits
+		retMan += retMan & 1;
+		retMan >>>= 1;
+		if( (retMan >>> 53) > 0 ) {
+			retMan >>>= 1;
+			retExp2 += 1;
+		}
+		
+		//fallback for subnormals and overflow
+		if( retExp2 <= 0 || retExp2 >= 0x7FF )
+			return Double.NaN;
+		long bits = (retExp2 << 52) | (retMan & 0x000FFFFFFFFFFFFFL);
+		return Double.longBitsToDouble(neg ? bits | Long.MIN_VALUE : bits);
+	}
+	
+	private static long unsignedMultiplyHigh(long x, long y) {
+		long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+		long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+		long p00 = x0 * y0, p01 = x0 * y1;
+		long p10 = x1 * y0, p11 = x1 * y1;
+		long mid = (p00 >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+		return p11 + (p01 >>> 32) + (p10 >>> 32) + (mid >>> 32);
+	}
+	
+	private static boolean isWhitespace(byte b) {
+		//semantics of String.trim (all ASCII control characters and space)
+		return (b & 0xFF) <= ' ';
+	}
+	
+	private boolean hasMoreThanOneChar(int from) {
+		//equivalent of (to < len-1) over UTF-16 chars in splitCSV
+		int rem = _len - from;
+		if( rem <= 1 )
+			return false;
+		int b = _buf[_off+from] & 0xFF;
+		int clen = (b < 0x80) ? 1 : (b < 0xE0) ? 2 : (b < 0xF0) ? 3 : 4;
+		return rem > clen || clen == 4; //4 bytes as surrogate pair
+	}
+	
+	private int indexOfQuote(int from) {
+		for( int i=from; i<_len; i++ )
+			if( _buf[_off+i] == CSV_QUOTE )
+				return i;
+		return -1;
+	}
+	
+	private int indexOfDelim(int from) {
+		byte[] delim = _delim;
+		if( delim.length == 1 ) {
+			byte d = delim[0];
+			for( int i=Math.max(from, 0); i<_len; i++ )
+				if( _buf[_off+i] == d )
+					return i;
+			return -1;
+		}
+		for( int i=Math.max(from, 0); i<=_len-delim.length; i++ )
+			if( regionMatchesDelim(i) )
+				return i;
+		return -1;
+	}
+	
+	private boolean regionMatchesDelim(int from) {
+		byte[] delim = _delim;
+		if( from < 0 || from + delim.length > _len )
+			return false;
+		for( int i=0; i<delim.length; i++ )
+			if( _buf[_off+from+i] != delim[i] )
+				return false;
+		return true;
+	}
+	
+	private boolean equalsToken(byte[] str) {
+		if( str.length != _tend - _tbeg )
+			return false;
+		for( int i=0; i<str.length; i++ )
+			if( _buf[_tbeg+i] != str[i] )
+				return false;
+		return true;
+	}
+}
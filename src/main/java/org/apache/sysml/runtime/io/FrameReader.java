@@ -46,6 +46,29 @@ public abstract class FrameReader
 	public abstract FrameBlock readFrameFromHDFS( String fname, ValueType[] schema, String[] names, long rlen, long clen)
 		throws IOException, DMLRuntimeException;
 
+	/**
+	 * Reads the given column range of a frame. By default, the entire frame is
+	 * read and sliced, but format-specific readers may push the projection down
+	 * into the read, i.e., read only the projected columns.
+	 * 
+	 * @param fname file name
+	 * @param schema schema as array of ValueTypes
+	 * @param names column names
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param cl column lower index, inclusive, 0-based
+	 * @param cu column upper index, inclusive, 0-based
+	 * @return frame block of projected columns
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public FrameBlock readFrameFromHDFS( String fname, ValueType[] schema, String[] names, long rlen, long clen, int cl, int cu )
+		throws IOException, DMLRuntimeException
+	{
+		FrameBlock ret = readFrameFromHDFS(fname, schema, names, rlen, clen);
+		return ret.sliceOperations(0, ret.getNumRows()-1, cl, cu, new FrameBlock());
+	}
+
 	public FrameBlock readFrameFromHDFS( String fname, ValueType[] schema, long rlen, long clen )
 		throws IOException, DMLRuntimeException
 	{
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Single-threaded reader of the columnar frame format (see 
+ * {@link FrameWriterColumnar}). The schema, column names, and column meta 
+ * data are obtained from the file footer. Projections of column ranges are
+ * pushed down into the read, i.e., only the column chunks of projected 
+ * columns are read and decoded, which makes the read costs proportional
+ * to the number of projected columns instead of the frame width.
+ * 
+ */
+public class FrameReaderColumnar extends FrameReader
+{
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen) 
+		throws IOException, DMLRuntimeException 
+	{
+		return readColumnarFrameFromHDFS(fname, rlen, clen, 0, -1);
+	}
+	
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen, int cl, int cu) 
+		throws IOException, DMLRuntimeException 
+	{
+		return readColumnarFrameFromHDFS(fname, rlen, clen, cl, cu);
+	}
+	
+	private static FrameBlock readColumnarFrameFromHDFS(String fname, long rlen, long clen, int cl, int cu) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname ); 
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+		
+		FSDataInputStream in = fs.open(path);
+		try
+		{
+			//read footer and check consistency with given meta data
+			Footer footer = readFooter(in, fs.getFileStatus(path).getLen(), fname);
+			if( (rlen > 0 && rlen != footer.rlen) || (clen > 0 && clen != footer.clen) )
+				throw new DMLRuntimeException("Read frame inconsistent with given meta data: expected "
+					+ rlen+"x"+clen+", real "+footer.rlen+"x"+footer.clen+".");
+			int lcu = (cu < 0) ? footer.clen-1 : cu;
+			if( cl < 0 || lcu >= footer.clen || cl > lcu+1 )
+				throw new DMLRuntimeException("Invalid column projection ["+(cl+1)+":"+(lcu+1)
+					+ "] for frame with "+footer.clen+" columns.");
+			
+			//allocate output frame block for projected columns
+			FrameBlock ret = createOutputFrameBlock(Arrays.copyOfRange(footer.schema, cl, lcu+1), 
+				Arrays.copyOfRange(footer.names, cl, lcu+1), footer.rlen);
+			for( int j=cl; j<=lcu; j++ )
+				ret.setColumnMetadata(j-cl, footer.colmeta[j]);
+			
+			//read and decode column chunks of projected columns
+			byte[] buff = new byte[0];
+			int nrg = (footer.rlen + footer.rowGroupSize - 1) / footer.rowGroupSize;
+			for( int rg=0; rg<nrg; rg++ ) {
+				int rl = rg * footer.rowGroupSize;
+				int ru = Math.min(rl + footer.rowGroupSize, footer.rlen);
+				for( int j=cl; j<=lcu; j++ ) {
+					int ix = rg * footer.clen + j;
+					int len = footer.lengths[ix];
+					if( buff.length < len )
+						buff = new byte[Math.max(len, 2*buff.length)];
+					in.readFully(footer.offsets[ix], buff, 0, len);
+					readColumnChunk(buff, len, footer.encodings[ix], 
+						footer.schema[j], ret.getColumn(j-cl), rl, ru);
+				}
+			}
+			if( DMLScript.STATISTICS )
+				Statistics.incrementColumnarChunkReads((long)nrg * (lcu-cl+1));
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+	
+	private static Footer readFooter(FSDataInputStream in, long flen, String fname) 
+		throws IOException
+	{
+		//read tail of footer offset and magic number
+		if( flen < FrameWriterColumnar.TAIL_SIZE )
+			throw new IOException("Invalid columnar frame file: "+fname);
+		byte[] tail = new byte[FrameWriterColumnar.TAIL_SIZE];
+		in.readFully(flen - tail.length, tail);
+		ByteBuffer btail = ByteBuffer.wrap(tail);
+		long foff = btail.getLong();
+		if( btail.getInt() != FrameWriterColumnar.MAGIC )
+			throw new IOException("Invalid columnar frame file (wrong magic number): "+fname);
+		
+		//read footer (frame meta data and column chunk index)
+		byte[] data = new byte[(int)(flen - tail.length - foff)];
+		in.readFully(foff, data);
+		DataInputStream fin = new DataInputStream(new ByteArrayInputStream(data));
+		Footer footer = new Footer();
+		footer.rlen = fin.readInt();
+		footer.clen = fin.readInt();
+		footer.rowGroupSize = fin.readInt();
+		footer.schema = new ValueType[footer.clen];
+		footer.names = new String[footer.clen];
+		footer.colmeta = new ColumnMetadata[footer.clen];
+		for( int j=0; j<footer.clen; j++ ) {
+			footer.schema[j] = ValueType.values()[fin.readByte()];
+			footer.names[j] = fin.readUTF();
+			long ndistinct = fin.readLong();
+			String mvvalue = fin.readUTF();
+			footer.colmeta[j] = new ColumnMetadata(ndistinct, mvvalue.isEmpty() ? null : mvvalue);
+		}
+		int nchunks = (footer.rlen + footer.rowGroupSize - 1) / footer.rowGroupSize * footer.clen;
+		footer.offsets = new long[nchunks];
+		footer.lengths = new int[nchunks];
+		footer.encodings = new byte[nchunks];
+		for( int ix=0; ix<nchunks; ix++ ) {
+			footer.offsets[ix] = fin.readLong();
+			footer.lengths[ix] = fin.readInt();
+			footer.encodings[ix] = fin.readByte();
+		}
+		return footer;
+	}
+	
+	private static void readColumnChunk(byte[] buff, int len, byte enc, ValueType vt, Object col, int rl, int ru) 
+		throws IOException
+	{
+		switch( vt ) {
+			case STRING:  readStringChunk(buff, len, enc, (String[])col, rl, ru); break;
+			case BOOLEAN: readBooleanChunk(buff, len, enc, (boolean[])col, rl, ru); break;
+			case INT:     readLongChunk(buff, len, enc, (long[])col, rl, ru); break;
+			case DOUBLE:  readDoubleChunk(buff, len, enc, (double[])col, rl, ru); break;
+			default: throw new IOException("Unsupported value type: "+vt);
+		}
+	}
+	
+	private static void readStringChunk(byte[] buff, int len, byte enc, String[] col, int rl, int ru) 
+		throws IOException
+	{
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buff, 0, len));
+		if( enc == FrameWriterColumnar.ENC_DICT ) {
+			//decode dictionary and codes (0 for null)
+			String[] dict = new String[in.readInt()+1];
+			for( int k=1; k<dict.length; k++ )
+				dict[k] = in.readUTF();
+			int width = in.readByte();
+			for( int i=rl; i<ru; i++ )
+				col[i] = dict[(width == 1) ? in.readUnsignedByte() :
+					(width == 2) ? in.readUnsignedShort() : in.readInt()];
+		}
+		else {
+			for( int i=rl; i<ru; i++ ) {
+				String tmp = in.readUTF();
+				col[i] = (!tmp.isEmpty()) ? tmp : null;
+			}
+		}
+	}
+	
+	private static void readBooleanChunk(byte[] buff, int len, byte enc, boolean[] col, int rl, int ru) {
+		ByteBuffer in = ByteBuffer.wrap(buff, 0, len);
+		if( enc == FrameWriterColumnar.ENC_RLE ) {
+			int nruns = in.getInt();
+			for( int r=0, i=rl; r<nruns; r++ ) {
+				int rlen = in.getInt();
+				Arrays.fill(col, i, i+rlen, in.get() != 0);
+				i += rlen;
+			}
+		}
+		else {
+			for( int i=rl; i<ru; i+=8 ) {
+				int b = in.get();
+				for( int k=i; k<Math.min(i+8, ru); k++ )
+					col[k] = ((b >>> (k-i)) & 1) != 0;
+			}
+		}
+	}
+	
+	private static void readLongChunk(byte[] buff, int len, byte enc, long[] col, int rl, int ru) {
+		ByteBuffer in = ByteBuffer.wrap(buff, 0, len);
+		if( enc == FrameWriterColumnar.ENC_RLE ) {
+			int nruns = in.getInt();
+			for( int r=0, i=rl; r<nruns; r++ ) {
+				int rlen = in.getInt();
+				Arrays.fill(col, i, i+rlen, in.getLong());
+				i += rlen;
+			}
+		}
+		else {
+			//bulk copy of big-endian values
+			in.asLongBuffer().get(col, rl, ru-rl);
+		}
+	}
+	
+	private static void readDoubleChunk(byte[] buff, int len, byte enc, double[] col, int rl, int ru) {
+		ByteBuffer in = ByteBuffer.wrap(buff, 0, len);
+		if( enc == FrameWriterColumnar.ENC_RLE ) {
+			int nruns = in.getInt();
+			for( int r=0, i=rl; r<nruns; r++ ) {
+				int rlen = in.getInt();
+				Arrays.fill(col, i, i+rlen, in.getDouble());
+				i += rlen;
+			}
+		}
+		else {
+			//bulk copy of big-endian values
+			in.asDoubleBuffer().get(col, rl, ru-rl);
+		}
+	}
+	
+	private static class Footer {
+		private int rlen;
+		private int clen;
+		private int rowGroupSize;
+		private ValueType[] schema;
+		private String[] names;
+		private ColumnMetadata[] colmeta;
+		private long[] offsets;
+		private int[] lengths;
+		private byte[] encodings;
+	}
+}
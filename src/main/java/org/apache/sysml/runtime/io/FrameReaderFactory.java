@@ -63,6 +63,9 @@ public class FrameReaderFactory
 			else
 				reader = new FrameReaderBinaryBlock();
 		}
+		else if( iinfo == InputInfo.ColumnarFrameInputInfo ) {
+			reader = new FrameReaderColumnar();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create frame reader for unknown input info: "
 		                                   + InputInfo.inputInfoToString(iinfo));
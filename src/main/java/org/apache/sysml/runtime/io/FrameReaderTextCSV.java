@@ -20,6 +20,7 @@
 package org.apache.sysml.runtime.io;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -46,6 +47,9 @@ import org.apache.sysml.runtime.util.UtilFunctions;
  */
 public class FrameReaderTextCSV extends FrameReader
 {
+	private static final byte[] TXMTD_MVPREFIX = TfUtils.TXMTD_MVPREFIX.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] TXMTD_NDPREFIX = TfUtils.TXMTD_NDPREFIX.getBytes(StandardCharsets.UTF_8);
+	
 	protected CSVFileFormatProperties _props = null;
 	
 	public FrameReaderTextCSV(CSVFileFormatProperties props) {
@@ -120,43 +124,59 @@ public class FrameReaderTextCSV extends FrameReader
 		}
 			
 		// Read the data
+		CSVByteParser parser = new CSVByteParser(delim, _props.getNAStrings());
+		Object[] cols = new Object[(int)clen];
+		for( int j=0; j<clen; j++ )
+			cols[j] = dest.getColumn(j);
 		boolean emptyValuesFound = false;
 		try
 		{
 			while( reader.next(key, value) ) //foreach line
 			{
-				String cellStr = value.toString().trim();
+				parser.reset(value.getBytes(), 0, value.getLength());
 				emptyValuesFound = false; col = 0;
-				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
 				
 				//parse frame meta data (missing values / num distinct)
-				if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
-					if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
-						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setMvValue(parts[j+1]);
-					else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
-						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
-					continue;
+				if( parser.startsWith(TXMTD_MVPREFIX) || parser.startsWith(TXMTD_NDPREFIX) ) {
+					String[] parts = IOUtilFunctions.splitCSV(value.toString().trim(), delim);
+					if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
+						if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
+							for( int j=0; j<dest.getNumColumns(); j++ )
+								dest.getColumnMetadata(j).setMvValue(parts[j+1]);
+						else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+							for( int j=0; j<dest.getNumColumns(); j++ )
+								dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
+						continue;
+					}
 				}
 				
-				for( String part : parts ) //foreach cell
+				while( parser.next() ) //foreach cell
 				{
-					part = part.trim();
-					if ( part.isEmpty() ) {
-						if( isFill && dfillValue!=0 )
+					if ( parser.isEmpty() ) {
+						if( isFill && dfillValue!=0 && col < clen )
 							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
 						emptyValuesFound = true;
 					}
-					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+					else if( col < clen ) {
+						//direct write into column arrays w/o string tokens for numeric types
+						if( parser.isNA() && schema[col] == ValueType.DOUBLE )
+							((double[])cols[col])[row] = Double.NaN; //consistent w/ matrix reads
+						else if( parser.isNA() )
+							dest.set(row, col, null);
+						else switch( schema[col] ) {
+							case STRING:  ((String[])cols[col])[row] = parser.getString(); break;
+							case BOOLEAN: ((boolean[])cols[col])[row] = parser.getBoolean(); break;
+							case INT:     ((long[])cols[col])[row] = parser.getLong(); break;
+							case DOUBLE:  ((double[])cols[col])[row] = parser.getDouble(); break;
+							default: throw new IOException("Unsupported value type: "+schema[col]);
+						}
 					}
 					col++;
 				}
 				
 				//sanity checks for empty values and number of columns
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(parser, isFill, emptyValuesFound);
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", parser, col, clen);
 				row++;
 			}
 		}
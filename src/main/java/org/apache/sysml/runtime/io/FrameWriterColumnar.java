@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.util.StringDictionary;
+
+/**
+ * Single-threaded writer of the columnar frame format, which stores a frame
+ * as a single file of column chunks per row group, followed by a footer with
+ * the frame meta data and the index of column chunks (offset, length, and
+ * encoding), similar to parquet files. Every column chunk is encoded 
+ * independently, where string columns use dictionary encoding (if the 
+ * number of distinct values is small) and numeric and boolean columns use 
+ * run-length encoding (if smaller than the plain encoding). The columnar 
+ * layout allows readers to access only the column chunks of projected 
+ * columns (see {@link FrameReaderColumnar}).
+ * 
+ * File layout: [chunk(rg=0,c=0) ... chunk(rg=0,c=n-1) chunk(rg=1,c=0) ...]
+ * [footer] [footer offset (long)] [magic (int)]
+ * 
+ */
+public class FrameWriterColumnar extends FrameWriter
+{
+	public static final int MAGIC = 0x534D4C46; //SMLF
+	public static final int DEFAULT_ROWGROUP_SIZE = 64*1024;
+	public static final int TAIL_SIZE = 12;
+	
+	public static final byte ENC_PLAIN = 0;
+	public static final byte ENC_RLE = 1;
+	public static final byte ENC_DICT = 2;
+	
+	private final int _rowGroupSize;
+	
+	public FrameWriterColumnar() {
+		this(DEFAULT_ROWGROUP_SIZE);
+	}
+	
+	public FrameWriterColumnar(int rowGroupSize) {
+		_rowGroupSize = rowGroupSize;
+	}
+	
+	@Override
+	public final void writeFrameToHDFS( FrameBlock src, String fname, long rlen, long clen )
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Frame block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+					              "out of overall frame range [1:"+rlen+",1:"+clen+"].");
+		}
+		
+		//write columnar frame to single file
+		FileSystem fs = FileSystem.get(job);
+		writeColumnarFrameToFile(path, fs, src);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+	
+	private void writeColumnarFrameToFile( Path path, FileSystem fs, FrameBlock src )
+		throws IOException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		int nrg = (rlen + _rowGroupSize - 1) / _rowGroupSize;
+		long[] offsets = new long[nrg * clen];
+		int[] lengths = new int[nrg * clen];
+		byte[] encodings = new byte[nrg * clen];
+		
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fs.create(path, true)));
+		try
+		{
+			//write column chunks per row group (encoded into reused buffer)
+			ByteArrayOutputStream buff = new ByteArrayOutputStream();
+			DataOutputStream bout = new DataOutputStream(buff);
+			long pos = 0;
+			for( int rg=0, ix=0; rg<nrg; rg++ ) {
+				int rl = rg * _rowGroupSize;
+				int ru = Math.min(rl + _rowGroupSize, rlen);
+				for( int j=0; j<clen; j++, ix++ ) {
+					buff.reset();
+					encodings[ix] = writeColumnChunk(bout, src.getSchema()[j], src.getColumn(j), rl, ru);
+					bout.flush();
+					buff.writeTo(out);
+					offsets[ix] = pos;
+					lengths[ix] = buff.size();
+					pos += buff.size();
+				}
+			}
+			
+			//write footer (frame meta data and column chunk index)
+			out.writeInt(rlen);
+			out.writeInt(clen);
+			out.writeInt(_rowGroupSize);
+			for( int j=0; j<clen; j++ ) {
+				ColumnMetadata meta = src.getColumnMetadata(j);
+				out.writeByte(src.getSchema()[j].ordinal());
+				out.writeUTF(src.getColumnName(j));
+				out.writeLong(meta.getNumDistinct());
+				out.writeUTF((meta.getMvValue()!=null) ? meta.getMvValue() : "");
+			}
+			for( int ix=0; ix<offsets.length; ix++ ) {
+				out.writeLong(offsets[ix]);
+				out.writeInt(lengths[ix]);
+				out.writeByte(encodings[ix]);
+			}
+			out.writeLong(pos);
+			out.writeInt(MAGIC);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+	
+	private static byte writeColumnChunk( DataOutputStream out, ValueType vt, Object col, int rl, int ru ) 
+		throws IOException
+	{
+		switch( vt ) {
+			case STRING:  return writeStringChunk(out, (String[])col, rl, ru);
+			case BOOLEAN: return writeBooleanChunk(out, (boolean[])col, rl, ru);
+			case INT:     return writeLongChunk(out, (long[])col, rl, ru);
+			case DOUBLE:  return writeDoubleChunk(out, (double[])col, rl, ru);
+			default: throw new IOException("Unsupported value type: "+vt);
+		}
+	}
+	
+	private static byte writeStringChunk( DataOutputStream out, String[] col, int rl, int ru ) 
+		throws IOException
+	{
+		//build dictionary w/ fallback to plain encoding for many distinct values
+		int len = ru - rl;
+		StringDictionary dict = new StringDictionary();
+		int[] codes = new int[len];
+		for( int i=rl; i<ru && dict.size() <= len/2; i++ )
+			codes[i-rl] = (col[i] != null) ? dict.putIfAbsent(col[i]) : 0;
+		
+		if( dict.size() <= len/2 ) {
+			//dictionary encoding (1-based codes, 0 for null), w/ min code width
+			out.writeInt(dict.size());
+			for( int k=0; k<dict.size(); k++ )
+				out.writeUTF(dict.getToken(k));
+			int width = getCodeWidth(dict.size());
+			out.writeByte(width);
+			for( int i=0; i<len; i++ ) {
+				if( width == 1 ) out.writeByte(codes[i]);
+				else if( width == 2 ) out.writeShort(codes[i]);
+				else out.writeInt(codes[i]);
+			}
+			return ENC_DICT;
+		}
+		
+		//plain encoding (consistent w/ binary block, empty string for null)
+		for( int i=rl; i<ru; i++ )
+			out.writeUTF((col[i]!=null) ? col[i] : "");
+		return ENC_PLAIN;
+	}
+	
+	private static byte writeBooleanChunk( DataOutputStream out, boolean[] col, int rl, int ru ) 
+		throws IOException
+	{
+		int nruns = 1;
+		for( int i=rl+1; i<ru; i++ )
+			nruns += (col[i] != col[i-1]) ? 1 : 0;
+		
+		if( 4L + 5L*nruns < (ru-rl+7)/8 ) {
+			//run-length encoding (run length, value)
+			out.writeInt(nruns);
+			for( int i=rl; i<ru; ) {
+				int k = i + 1;
+				while( k<ru && col[k]==col[i] ) k++;
+				out.writeInt(k-i);
+				out.writeBoolean(col[i]);
+				i = k;
+			}
+			return ENC_RLE;
+		}
+		
+		//plain encoding (bit-packed, 8 values per byte)
+		for( int i=rl; i<ru; i+=8 ) {
+			int b = 0;
+			for( int k=i; k<Math.min(i+8, ru); k++ )
+				b |= col[k] ? (1 << (k-i)) : 0;
+			out.writeByte(b);
+		}
+		return ENC_PLAIN;
+	}
+	
+	private static byte writeLongChunk( DataOutputStream out, long[] col, int rl, int ru ) 
+		throws IOException
+	{
+		int nruns = 1;
+		for( int i=rl+1; i<ru; i++ )
+			nruns += (col[i] != col[i-1]) ? 1 : 0;
+		
+		if( 4L + 12L*nruns < 8L*(ru-rl) ) {
+			//run-length encoding (run length, value)
+			out.writeInt(nruns);
+			for( int i=rl; i<ru; ) {
+				int k = i + 1;
+				while( k<ru && col[k]==col[i] ) k++;
+				out.writeInt(k-i);
+				out.writeLong(col[i]);
+				i = k;
+			}
+			return ENC_RLE;
+		}
+		
+		//plain encoding
+		for( int i=rl; i<ru; i++ )
+			out.writeLong(col[i]);
+		return ENC_PLAIN;
+	}
+	
+	private static byte writeDoubleChunk( DataOutputStream out, double[] col, int rl, int ru ) 
+		throws IOException
+	{
+		//note: runs over raw bits for consistent handling of NaN and -0
+		int nruns = 1;
+		for( int i=rl+1; i<ru; i++ )
+			nruns += (Double.doubleToRawLongBits(col[i]) != Double.doubleToRawLongBits(col[i-1])) ? 1 : 0;
+		
+		if( 4L + 12L*nruns < 8L*(ru-rl) ) {
+			//run-length encoding (run length, value)
+			out.writeInt(nruns);
+			for( int i=rl; i<ru; ) {
+				long bits = Double.doubleToRawLongBits(col[i]);
+				int k = i + 1;
+				while( k<ru && Double.doubleToRawLongBits(col[k])==bits ) k++;
+				out.writeInt(k-i);
+				out.writeLong(bits);
+				i = k;
+			}
+			return ENC_RLE;
+		}
+		
+		//plain encoding
+		for( int i=rl; i<ru; i++ )
+			out.writeLong(Double.doubleToRawLongBits(col[i]));
+		return ENC_PLAIN;
+	}
+	
+	private static int getCodeWidth(int ndict) {
+		return (ndict < 256) ? 1 : (ndict < 65536) ? 2 : 4;
+	}
+}
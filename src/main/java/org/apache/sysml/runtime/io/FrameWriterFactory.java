@@ -60,6 +60,9 @@ public class FrameWriterFactory
 			else
 				writer = new FrameWriterBinaryBlock();
 		}
+		else if( oinfo == OutputInfo.ColumnarFrameOutputInfo ) {
+			writer = new FrameWriterColumnar();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create frame writer for unknown output info: "
 		                                   + OutputInfo.outputInfoToString(oinfo));
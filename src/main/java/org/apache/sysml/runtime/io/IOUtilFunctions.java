@@ -99,6 +99,23 @@ public class IOUtilFunctions
 		}
 	}
 	
+	public static void checkAndRaiseErrorCSVEmptyField(CSVByteParser line, boolean fill, boolean emptyFound) 
+		throws IOException
+	{
+		//construct line string only on errors
+		if ( !fill && emptyFound )
+			checkAndRaiseErrorCSVEmptyField(line.getLine(), fill, emptyFound);
+	}
+
+	public static void checkAndRaiseErrorCSVNumColumns(String fname, CSVByteParser line, int realncol, long ncol) 
+		throws IOException
+	{
+		if( realncol != ncol ) {
+			throw new IOException("Invalid number of columns (" + realncol + ", expected=" + ncol + ") "
+					+ "found in delimited file (" + fname + ") for line: " + line.getLine());
+		}
+	}
+	
 	/**
 	 * Splits a string by a specified delimiter into all tokens, including empty.
 	 * NOTE: This method is meant as a faster drop-in replacement of the regular 
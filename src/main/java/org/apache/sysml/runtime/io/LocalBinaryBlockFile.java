@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Memory-mapped access to the local binary block format, which stores all
+ * blocks of a matrix in a single indexed file on the local file system. 
+ * In contrast to the binary block sequence files, blocks are not stored as
+ * serialized writables but in a raw little-endian layout, which allows
+ * reading blocks via memory-mapped buffers with bulk copies, and using
+ * dense blocks zero-copy through read-only double buffer views.
+ * 
+ * The file layout is as follows, with all blocks aligned to 8 bytes:
+ * <ul>
+ * <li>Header (64 bytes): magic number, version, rlen, clen, brlen, bclen, nnz, number of blocks.</li>
+ * <li>Block index (40 bytes per block, in row-major block order): offset, length, 
+ *   nnz, rows, cols, type (empty, dense, or sparse).</li>
+ * <li>Blocks: dense blocks as row-major doubles; sparse blocks in CSR as
+ *   row pointers (rows+1 ints), column indexes (nnz ints), and values (nnz doubles).</li>
+ * </ul>
+ * 
+ */
+public class LocalBinaryBlockFile implements Closeable
+{
+	public static final int MAGIC = 0x534D4C42; //SMLB
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 64;
+	public static final int ENTRY_SIZE = 40;
+	
+	public static final int TYPE_EMPTY = 0;
+	public static final int TYPE_DENSE = 1;
+	public static final int TYPE_SPARSE = 2;
+	
+	private final FileChannel _channel;
+	private final long _rlen;
+	private final long _clen;
+	private final int _brlen;
+	private final int _bclen;
+	private final long _nnz;
+	private final int _ncblks;
+	private final long[] _offsets;
+	private final long[] _lengths;
+	private final long[] _blknnz;
+	private final int[] _types;
+	
+	private LocalBinaryBlockFile(FileChannel channel) 
+		throws IOException
+	{
+		_channel = channel;
+		
+		//read and validate header
+		ByteBuffer header = read(channel, 0, HEADER_SIZE);
+		if( header.getInt() != MAGIC || header.getInt() != VERSION )
+			throw new IOException("Invalid local binary block file (wrong magic number or version).");
+		_rlen = header.getLong();
+		_clen = header.getLong();
+		_brlen = header.getInt();
+		_bclen = header.getInt();
+		_nnz = header.getLong();
+		int nblks = header.getInt();
+		_ncblks = (int)Math.max(1, (_clen + _bclen - 1) / _bclen);
+		
+		//read block index
+		ByteBuffer index = read(channel, HEADER_SIZE, (long)nblks * ENTRY_SIZE);
+		_offsets = new long[nblks];
+		_lengths = new long[nblks];
+		_blknnz = new long[nblks];
+		_types = new int[nblks];
+		for( int i=0; i<nblks; i++ ) {
+			_offsets[i] = index.getLong();
+			_lengths[i] = index.getLong();
+			_blknnz[i] = index.getLong();
+			index.getInt(); //rows
+			index.getInt(); //cols
+			_types[i] = index.getInt();
+			index.getInt(); //reserved
+		}
+	}
+	
+	/**
+	 * Opens the given local binary block file for read-only access.
+	 * 
+	 * @param fname file name (local path or file URI)
+	 * @return local binary block file
+	 * @throws IOException if IOException occurs
+	 */
+	public static LocalBinaryBlockFile open(String fname) 
+		throws IOException
+	{
+		File file = getLocalFile(fname);
+		if( !file.exists() || file.length() == 0 )
+			throw new IOException("File "+fname+" does not exist or is empty.");
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			return new LocalBinaryBlockFile(channel);
+		}
+		catch(IOException ex) {
+			IOUtilFunctions.closeSilently(channel);
+			throw ex;
+		}
+	}
+	
+	public long getNumRows() {
+		return _rlen;
+	}
+	
+	public long getNumColumns() {
+		return _clen;
+	}
+	
+	public int getNumRowsPerBlock() {
+		return _brlen;
+	}
+	
+	public int getNumColumnsPerBlock() {
+		return _bclen;
+	}
+	
+	public long getNonZeros() {
+		return _nnz;
+	}
+	
+	public int getNumRowBlocks() {
+		return _offsets.length / _ncblks;
+	}
+	
+	public int getNumColumnBlocks() {
+		return _ncblks;
+	}
+	
+	/**
+	 * Gets the type of the given block.
+	 * 
+	 * @param bi row block index (0-based)
+	 * @param bj column block index (0-based)
+	 * @return block type, i.e., TYPE_EMPTY, TYPE_DENSE, or TYPE_SPARSE
+	 */
+	public int getBlockType(int bi, int bj) {
+		return _types[bi * _ncblks + bj];
+	}
+	
+	public long getBlockNonZeros(int bi, int bj) {
+		return _blknnz[bi * _ncblks + bj];
+	}
+	
+	public int getBlockNumRows(int bi) {
+		return (int)Math.min(_brlen, _rlen - (long)bi * _brlen);
+	}
+	
+	public int getBlockNumColumns(int bj) {
+		return (int)Math.min(_bclen, _clen - (long)bj * _bclen);
+	}
+	
+	/**
+	 * Maps the given block into memory as read-only, little-endian byte buffer.
+	 * 
+	 * @param bi row block index (0-based)
+	 * @param bj column block index (0-based)
+	 * @return mapped byte buffer, or null for empty blocks
+	 * @throws IOException if IOException occurs
+	 */
+	public ByteBuffer mapBlock(int bi, int bj) 
+		throws IOException
+	{
+		int ix = bi * _ncblks + bj;
+		if( _types[ix] == TYPE_EMPTY )
+			return null;
+		return _channel.map(FileChannel.MapMode.READ_ONLY, _offsets[ix], _lengths[ix])
+			.order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * Gets a zero-copy, read-only view of the row-major values of the 
+	 * given dense block, e.g., for read-only operations without 
+	 * deserialization into a matrix block.
+	 * 
+	 * @param bi row block index (0-based)
+	 * @param bj column block index (0-based)
+	 * @return read-only double buffer, or null if the block is not dense
+	 * @throws IOException if IOException occurs
+	 */
+	public DoubleBuffer getDenseBlockView(int bi, int bj) 
+		throws IOException
+	{
+		return (getBlockType(bi, bj) == TYPE_DENSE) ?
+			mapBlock(bi, bj).asDoubleBuffer() : null;
+	}
+	
+	/**
+	 * Reads the given block into a new matrix block, via bulk copies
+	 * from the memory-mapped block.
+	 * 
+	 * @param bi row block index (0-based)
+	 * @param bj column block index (0-based)
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBlock readBlock(int bi, int bj) 
+		throws IOException
+	{
+		int rows = getBlockNumRows(bi);
+		int cols = getBlockNumColumns(bj);
+		int type = getBlockType(bi, bj);
+		long nnz = getBlockNonZeros(bi, bj);
+		MatrixBlock ret = new MatrixBlock(rows, cols, type != TYPE_DENSE, nnz);
+		if( type == TYPE_DENSE ) {
+			ret.allocateDenseBlock();
+			mapBlock(bi, bj).asDoubleBuffer().get(ret.getDenseBlock(), 0, rows*cols);
+		}
+		else if( type == TYPE_SPARSE ) {
+			ByteBuffer buff = mapBlock(bi, bj);
+			IntBuffer rptr = getSparseRowPointers(buff, rows);
+			IntBuffer cix = getSparseColumnIndexes(buff, rows, nnz);
+			DoubleBuffer vals = getSparseValues(buff, rows, nnz);
+			ret.allocateSparseRowsBlock();
+			for( int i=0; i<rows; i++ ) {
+				int apos = rptr.get(i), alen = rptr.get(i+1) - apos;
+				if( alen > 0 )
+					ret.getSparseBlock().allocate(i, alen);
+				for( int k=apos; k<apos+alen; k++ )
+					ret.getSparseBlock().append(i, cix.get(k), vals.get(k));
+			}
+		}
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		_channel.close();
+	}
+	
+	///////////////////////////////////////
+	// layout of sparse blocks
+	
+	public static IntBuffer getSparseRowPointers(ByteBuffer buff, int rows) {
+		return slice(buff, 0, 4L*(rows+1)).asIntBuffer();
+	}
+	
+	public static IntBuffer getSparseColumnIndexes(ByteBuffer buff, int rows, long nnz) {
+		return slice(buff, align8(4L*(rows+1)), 4L*nnz).asIntBuffer();
+	}
+	
+	public static DoubleBuffer getSparseValues(ByteBuffer buff, int rows, long nnz) {
+		return slice(buff, align8(4L*(rows+1)) + align8(4L*nnz), 8L*nnz).asDoubleBuffer();
+	}
+	
+	public static long getDenseBlockSize(int rows, int cols) {
+		return 8L * rows * cols;
+	}
+	
+	public static long getSparseBlockSize(int rows, long nnz) {
+		return align8(4L*(rows+1)) + align8(4L*nnz) + 8L*nnz;
+	}
+	
+	public static long align8(long pos) {
+		return (pos + 7) & ~7L;
+	}
+	
+	/**
+	 * Obtains the local file for the given file name, which is either a
+	 * local path or a file URI.
+	 * 
+	 * @param fname file name
+	 * @return local file
+	 * @throws IOException if the file name refers to a non-local file system
+	 */
+	public static File getLocalFile(String fname) 
+		throws IOException
+	{
+		if( fname.startsWith("file:") )
+			return new File(URI.create(fname).getPath());
+		if( fname.contains("://") )
+			throw new IOException("Local binary block format requires local files: "+fname);
+		return new File(fname);
+	}
+	
+	private static ByteBuffer slice(ByteBuffer buff, long pos, long len) {
+		ByteBuffer tmp = buff.duplicate();
+		tmp.position((int)pos);
+		tmp.limit((int)(pos + len));
+		return tmp.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	private static ByteBuffer read(FileChannel channel, long pos, long len) 
+		throws IOException
+	{
+		ByteBuffer ret = ByteBuffer.allocate((int)len).order(ByteOrder.LITTLE_ENDIAN);
+		while( ret.hasRemaining() )
+			if( channel.read(ret, pos + ret.position()) < 0 )
+				throw new IOException("Unexpected end of local binary block file.");
+		ret.flip();
+		return ret;
+	}
+}
@@ -103,6 +103,8 @@ public abstract class MatrixReader
 		
 		//prepare result matrix block
 		MatrixBlock ret = new MatrixBlock((int)rlen, (int)clen, sparse, estnnz);
+		if( ret.isLargeDense() ) //not supported by readers yet
+			throw new DMLRuntimeException("Matrix too large for dense CP read: "+rlen+" x "+clen);
 		if( !sparse && mallocDense )
 			ret.allocateDenseBlockUnsafe((int)rlen, (int)clen);
 		else if( sparse && mallocSparse  ) {
@@ -72,6 +72,9 @@ public class MatrixWriterFactory
 			else
 				writer = new WriterBinaryBlock(replication);
 		}
+		else if( oinfo == OutputInfo.LocalBinaryBlockOutputInfo ) {
+			writer = new WriterLocalBinaryBlock();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create matrix writer for unknown output info: "
 		                                   + OutputInfo.outputInfoToString(oinfo));
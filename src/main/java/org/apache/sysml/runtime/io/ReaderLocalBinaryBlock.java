@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+
+/**
+ * Reader of the local binary block format (see {@link LocalBinaryBlockFile}),
+ * which memory-maps the individual blocks and copies them directly into the 
+ * output matrix block, i.e., without hadoop sequence file readers and writable
+ * deserialization. Dense blocks are copied with bulk gets per row segment (or
+ * entire blocks), and sparse blocks are appended row-wise. The parallel read
+ * distributes row blocks over threads, which write to disjoint rows.
+ * 
+ */
+public class ReaderLocalBinaryBlock extends MatrixReader
+{
+	private final int _numThreads;
+	
+	public ReaderLocalBinaryBlock(boolean parallel) {
+		_numThreads = parallel ? OptimizerUtils.getParallelBinaryReadParallelism() : 1;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		LocalBinaryBlockFile file = LocalBinaryBlockFile.open(fname);
+		try
+		{
+			//check consistency with given meta data
+			if( (rlen > 0 && rlen != file.getNumRows()) || (clen > 0 && clen != file.getNumColumns()) )
+				throw new DMLRuntimeException("Read matrix inconsistent with given meta data: expected "
+					+ rlen+"x"+clen+", real "+file.getNumRows()+"x"+file.getNumColumns()+".");
+			
+			//allocate output matrix block w/ exact nnz (incl block allocation for parallel)
+			MatrixBlock ret = createOutputMatrixBlock(file.getNumRows(), file.getNumColumns(), 
+				file.getNumRowsPerBlock(), file.getNumColumnsPerBlock(), file.getNonZeros(), true, true);
+			if( file.getNonZeros() == 0 )
+				return ret;
+			
+			//core read (sequential/parallel over row blocks)
+			int nrblks = file.getNumRowBlocks();
+			int k = (ret.isInSparseFormat() && !(ret.getSparseBlock() instanceof SparseBlockMCSR)) ?
+				1 : Math.min(_numThreads, nrblks);
+			if( k <= 1 ) {
+				readRowBlocks(file, ret, 0, nrblks);
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(k);
+				try {
+					ArrayList<ReadRowBlocksTask> tasks = new ArrayList<ReadRowBlocksTask>();
+					int blklen = (int)Math.ceil((double)nrblks / k);
+					for( int i=0; i<k & i*blklen<nrblks; i++ )
+						tasks.add(new ReadRowBlocksTask(file, ret, i*blklen, Math.min((i+1)*blklen, nrblks)));
+					List<Future<Object>> rt = pool.invokeAll(tasks);
+					for( Future<Object> task : rt )
+						task.get(); //error handling
+				}
+				catch(Exception ex) {
+					throw new IOException("Failed parallel read of local binary block input.", ex);
+				}
+				finally {
+					pool.shutdown();
+				}
+			}
+			
+			//post-processing (nnz from block index, representation)
+			ret.setNonZeros(file.getNonZeros());
+			ret.examSparsity();
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(file);
+		}
+	}
+	
+	private static void readRowBlocks(LocalBinaryBlockFile file, MatrixBlock dest, int bl, int bu) 
+		throws IOException
+	{
+		int ncblks = file.getNumColumnBlocks();
+		int bclen = file.getNumColumnsPerBlock();
+		int clen = (int)file.getNumColumns();
+		
+		for( int bi=bl; bi<bu; bi++ ) {
+			int rl = bi * file.getNumRowsPerBlock();
+			int rows = file.getBlockNumRows(bi);
+			if( dest.isInSparseFormat() ) {
+				//row-wise appends over all column blocks (sorted rows),
+				//with buffer views created once per block (rptr null if dense)
+				IntBuffer[] rptrs = new IntBuffer[ncblks];
+				IntBuffer[] aixs = new IntBuffer[ncblks];
+				DoubleBuffer[] avals = new DoubleBuffer[ncblks];
+				for( int bj=0; bj<ncblks; bj++ ) {
+					ByteBuffer buff = file.mapBlock(bi, bj);
+					if( buff == null )
+						continue;
+					if( file.getBlockType(bi, bj) == LocalBinaryBlockFile.TYPE_DENSE ) {
+						avals[bj] = buff.asDoubleBuffer();
+					}
+					else { //sparse
+						long nnz = file.getBlockNonZeros(bi, bj);
+						rptrs[bj] = LocalBinaryBlockFile.getSparseRowPointers(buff, rows);
+						aixs[bj] = LocalBinaryBlockFile.getSparseColumnIndexes(buff, rows, nnz);
+						avals[bj] = LocalBinaryBlockFile.getSparseValues(buff, rows, nnz);
+					}
+				}
+				SparseBlock c = dest.getSparseBlock();
+				for( int i=0; i<rows; i++ )
+					for( int bj=0; bj<ncblks; bj++ )
+						if( avals[bj] != null )
+							appendSparseRow(rptrs[bj], aixs[bj], avals[bj], 
+								file.getBlockNumColumns(bj), i, c, rl+i, bj*bclen);
+			}
+			else {
+				//bulk copy into dense output (per block)
+				double[] c = dest.getDenseBlock();
+				for( int bj=0; bj<ncblks; bj++ ) {
+					ByteBuffer buff = file.mapBlock(bi, bj);
+					if( buff == null ) 
+						continue;
+					int cl = bj * bclen;
+					int cols = file.getBlockNumColumns(bj);
+					if( file.getBlockType(bi, bj) == LocalBinaryBlockFile.TYPE_DENSE ) {
+						DoubleBuffer a = buff.asDoubleBuffer();
+						if( cols == clen ) //full rows
+							a.get(c, rl*clen, rows*cols);
+						else
+							for( int i=0, cix=rl*clen+cl; i<rows; i++, cix+=clen )
+								a.get(c, cix, cols);
+					}
+					else { //sparse
+						long nnz = file.getBlockNonZeros(bi, bj);
+						IntBuffer rptr = LocalBinaryBlockFile.getSparseRowPointers(buff, rows);
+						IntBuffer aix = LocalBinaryBlockFile.getSparseColumnIndexes(buff, rows, nnz);
+						DoubleBuffer avals = LocalBinaryBlockFile.getSparseValues(buff, rows, nnz);
+						for( int i=0, cix=rl*clen+cl; i<rows; i++, cix+=clen )
+							for( int k=rptr.get(i); k<rptr.get(i+1); k++ )
+								c[cix+aix.get(k)] = avals.get(k);
+					}
+				}
+			}
+		}
+	}
+	
+	private static void appendSparseRow(IntBuffer rptr, IntBuffer aix, DoubleBuffer avals, int cols, int i, SparseBlock c, int ci, int cl) {
+		if( rptr == null ) { //dense
+			for( int j=0, ix=i*cols; j<cols; j++ ) {
+				double val = avals.get(ix+j);
+				if( val != 0 )
+					c.append(ci, cl+j, val);
+			}
+		}
+		else { //sparse
+			for( int k=rptr.get(i); k<rptr.get(i+1); k++ )
+				c.append(ci, cl+aix.get(k), avals.get(k));
+		}
+	}
+	
+	private static class ReadRowBlocksTask implements Callable<Object> 
+	{
+		private final LocalBinaryBlockFile _file;
+		private final MatrixBlock _dest;
+		private final int _bl;
+		private final int _bu;
+		
+		public ReadRowBlocksTask(LocalBinaryBlockFile file, MatrixBlock dest, int bl, int bu) {
+			_file = file;
+			_dest = dest;
+			_bl = bl;
+			_bu = bu;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			readRowBlocks(_file, _dest, _bl, _bu);
+			return null;
+		}
+	}
+}
@@ -30,14 +30,15 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.LineReader;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.CSVReblockMR;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.util.UtilFunctions;
 
 public class ReaderTextCSV extends MatrixReader
 {
@@ -100,7 +101,9 @@ public class ReaderTextCSV extends MatrixReader
 		boolean sparse = dest.isInSparseFormat();
 		
 		/////////////////////////////////////////
-		String value = null;
+		//byte-level parsing of lines w/o intermediate strings
+		CSVByteParser parser = new CSVByteParser(delim, _props.getNAStrings());
+		Text value = new Text();
 		int row = 0;
 		int col = -1;
 		double cellValue = 0;
@@ -108,9 +111,9 @@ public class ReaderTextCSV extends MatrixReader
 		
 		for(int fileNo=0; fileNo<files.size(); fileNo++)
 		{
-			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files.get(fileNo))));
+			LineReader br = new LineReader(fs.open(files.get(fileNo)));
 			if(fileNo==0 && hasHeader ) 
-				br.readLine(); //ignore header
+				br.readLine(value); //ignore header
 			
 			// Read the data
 			boolean emptyValuesFound = false;
@@ -118,24 +121,22 @@ public class ReaderTextCSV extends MatrixReader
 			{
 				if( sparse ) //SPARSE<-value
 				{
-					while( (value=br.readLine())!=null ) //foreach line
+					while( br.readLine(value) > 0 ) //foreach line
 					{
-						String cellStr = value.toString().trim();
+						parser.reset(value.getBytes(), 0, value.getLength());
 						emptyValuesFound = false;
-						String[] parts = IOUtilFunctions.split(cellStr, delim);
 						col = 0;
 						
-						for(String part : parts) //foreach cell
+						while( parser.next() ) //foreach cell
 						{
-							part = part.trim();
-							if ( part.isEmpty() ) {
+							if ( parser.isEmpty() ) {
 								emptyValuesFound = true;
 								cellValue = fillValue;
 							}
 							else {
-								cellValue = UtilFunctions.parseToDouble(part);
+								cellValue = parser.isNA() ? Double.NaN : parser.getDouble();
 							}
-							if ( cellValue != 0 ) {
+							if ( cellValue != 0 && col < clen ) {
 								dest.appendValue(row, col, cellValue);
 								lnnz++;
 							}
@@ -143,31 +144,29 @@ public class ReaderTextCSV extends MatrixReader
 						}
 						
 						//sanity checks for empty values and number of columns
-						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(path.toString(), cellStr, parts, clen);
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(parser, fill, emptyValuesFound);
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(path.toString(), parser, col, clen);
 						row++;
 					}
 				} 
 				else //DENSE<-value
 				{
-					while( (value=br.readLine())!=null ) //foreach line
+					while( br.readLine(value) > 0 ) //foreach line
 					{
-						String cellStr = value.toString().trim();
+						parser.reset(value.getBytes(), 0, value.getLength());
 						emptyValuesFound = false;
-						String[] parts = IOUtilFunctions.split(cellStr, delim);
 						col = 0;
 						
-						for( String part : parts ) //foreach cell
+						while( parser.next() ) //foreach cell
 						{
-							part = part.trim();
-							if ( part.isEmpty() ) {
+							if ( parser.isEmpty() ) {
 								emptyValuesFound = true;
 								cellValue = fillValue;
 							}
 							else {
-								cellValue = UtilFunctions.parseToDouble(part);
+								cellValue = parser.isNA() ? Double.NaN : parser.getDouble();
 							}
-							if ( cellValue != 0 ) {
+							if ( cellValue != 0 && col < clen ) {
 								dest.setValueDenseUnsafe(row, col, cellValue);
 								lnnz++;
 							}
@@ -175,8 +174,8 @@ public class ReaderTextCSV extends MatrixReader
 						}
 						
 						//sanity checks for empty values and number of columns
-						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(path.toString(), cellStr, parts, clen);
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(parser, fill, emptyValuesFound);
+						IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(path.toString(), parser, col, clen);
 						row++;
 					}
 				}
@@ -23,7 +23,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.fs.FileSystem;
@@ -42,6 +41,7 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
@@ -120,7 +120,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
 
-		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
 
 		try 
 		{
@@ -129,7 +129,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 			int splitCount = 0;
 			for (InputSplit split : splits) {
 				tasks.add( new CSVReadTask(split, _offsets, informat, job, dest, 
-					rlen, clen, hasHeader, delim, fill, fillValue, splitCount++) );
+					rlen, clen, hasHeader, delim, fill, fillValue, _props.getNAStrings(), splitCount++) );
 			}
 			pool.invokeAll(tasks);
 			pool.shutdown();
@@ -179,7 +179,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		// count rows in parallel per split
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+			ExecutorService pool = CommonThreadPool.get(_numThreads);
 			ArrayList<CountRowsTask> tasks = new ArrayList<CountRowsTask>();
 			for (InputSplit split : splits) {
 				tasks.add(new CountRowsTask(split, informat, job, hasHeader));
@@ -311,6 +311,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		private boolean _fill = false;
 		private double _fillValue = 0;
 		private String _delim = null;
+		private String _naStrings = null;
 		private int _splitCount = 0;
 		
 		private boolean _rc = true;
@@ -320,7 +321,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 		public CSVReadTask(InputSplit split, SplitOffsetInfos offsets,
 				TextInputFormat informat, JobConf job, MatrixBlock dest,
 				long rlen, long clen, boolean hasHeader, String delim,
-				boolean fill, double fillValue, int splitCount) 
+				boolean fill, double fillValue, String naStrings, int splitCount) 
 		{
 			_split = split;
 			_splitoffsets = offsets; // new SplitOffsetInfos(offsets);
@@ -335,6 +336,7 @@ public class ReaderTextCSVParallel extends MatrixReader
 			_fill = fill;
 			_fillValue = fillValue;
 			_delim = delim;
+			_naStrings = naStrings;
 			_rc = true;
 			_splitCount = splitCount;
 		}
@@ -371,6 +373,8 @@ public class ReaderTextCSVParallel extends MatrixReader
 					reader.next(key, value);
 				}
 
+				//byte-level parsing of lines w/o intermediate strings
+				CSVByteParser parser = new CSVByteParser(_delim, _naStrings);
 				boolean noFillEmpty = false;
 				row = _splitoffsets.getOffsetPerSplit(_splitCount);
 
@@ -379,22 +383,19 @@ public class ReaderTextCSVParallel extends MatrixReader
 					{
 						while (reader.next(key, value)) // foreach line
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
+							parser.reset(value.getBytes(), 0, value.getLength());
 							col = 0;
 
-							for (String part : parts) // foreach cell
+							while (parser.next()) // foreach cell
 							{
-								part = part.trim();
-								if (part.isEmpty()) {
+								if (parser.isEmpty()) {
 									noFillEmpty |= !_fill;
 									cellValue = _fillValue;
 								} 
 								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
+									cellValue = parser.isNA() ? Double.NaN : parser.getDouble();
 								}
-
-								if( cellValue != 0 ) {
+								if( cellValue != 0 && col < _clen ) {
 									_dest.appendValue(row, col, cellValue);
 									lnnz++;
 								}
@@ -402,8 +403,8 @@ public class ReaderTextCSVParallel extends MatrixReader
 							}
 
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(parser, _fill, noFillEmpty);
+							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), parser, col, _clen);
 							
 							row++;
 						}
@@ -412,21 +413,19 @@ public class ReaderTextCSVParallel extends MatrixReader
 					{
 						while (reader.next(key, value)) // foreach line
 						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
+							parser.reset(value.getBytes(), 0, value.getLength());
 							col = 0;
 
-							for (String part : parts) // foreach cell
+							while (parser.next()) // foreach cell
 							{
-								part = part.trim();
-								if (part.isEmpty()) {
+								if (parser.isEmpty()) {
 									noFillEmpty |= !_fill;
 									cellValue = _fillValue;
 								} 
 								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
+									cellValue = parser.isNA() ? Double.NaN : parser.getDouble();
 								}
-								if( cellValue != 0 ) {
+								if( cellValue != 0 && col < _clen ) {
 									_dest.setValueDenseUnsafe(row, col, cellValue);
 									lnnz++;
 								}
@@ -434,8 +433,8 @@ public class ReaderTextCSVParallel extends MatrixReader
 							}
 
 							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
+							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(parser, _fill, noFillEmpty);
+							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), parser, col, _clen);
 							
 							row++;
 						}
@@ -25,8 +25,12 @@ import java.io.IOException;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.SequenceFile.CompressionType;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -70,7 +74,6 @@ public class WriterBinaryBlock extends MatrixWriter
 	}
 
 	@Override
-	@SuppressWarnings("deprecation")
 	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
 		throws IOException, DMLRuntimeException 
 	{
@@ -80,8 +83,7 @@ public class WriterBinaryBlock extends MatrixWriter
 
 		SequenceFile.Writer writer = null;
 		try {
-			writer = new SequenceFile.Writer(fs, job, path,
-					                        MatrixIndexes.class, MatrixBlock.class);
+			writer = createSequenceFileWriter(job, fs, path, -1);
 			
 			MatrixIndexes index = new MatrixIndexes(1, 1);
 			MatrixBlock block = new MatrixBlock((int)Math.min(rlen, brlen),
@@ -102,7 +104,6 @@ public class WriterBinaryBlock extends MatrixWriter
 		writeBinaryBlockMatrixToSequenceFile(path, job, fs, src, brlen, bclen, 0, (int)rlen);
 	}
 
-	@SuppressWarnings("deprecation")
 	protected final void writeBinaryBlockMatrixToSequenceFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int brlen, int bclen, int rl, int ru ) 
 		throws DMLRuntimeException, IOException
 	{
@@ -110,19 +111,8 @@ public class WriterBinaryBlock extends MatrixWriter
 		int rlen = src.getNumRows();
 		int clen = src.getNumColumns();
 		
-		// 1) create sequence file writer, with right replication factor 
-		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
-		SequenceFile.Writer writer = null;
-		if( _replication > 0 ) //if replication specified (otherwise default)
-		{
-			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
-					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
-		}
-		else	
-		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
-		}
+		// 1) create sequence file writer, with right replication factor and compression
+		SequenceFile.Writer writer = createSequenceFileWriter(job, fs, path, _replication);
 		
 		try
 		{
@@ -178,25 +168,13 @@ public class WriterBinaryBlock extends MatrixWriter
 		}
 	}
 
-	@SuppressWarnings("deprecation")
 	protected final void writeDiagBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen ) 
 		throws IOException, DMLRuntimeException
 	{
 		boolean sparse = src.isInSparseFormat();
 		
-		// 1) create sequence file writer, with right replication factor 
-		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
-		SequenceFile.Writer writer = null;
-		if( _replication > 0 ) //if replication specified (otherwise default)
-		{
-			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class, job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096),
-					                         (short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
-		}
-		else	
-		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
-		}
+		// 1) create sequence file writer, with right replication factor and compression
+		SequenceFile.Writer writer = createSequenceFileWriter(job, fs, path, _replication);
 		
 		try
 		{
@@ -263,7 +241,6 @@ public class WriterBinaryBlock extends MatrixWriter
 		}
 	}
 
-	@SuppressWarnings("deprecation")
 	public final void writePartitionedBinaryBlockMatrixToHDFS( Path path, JobConf job, MatrixBlock src, long rlen, long clen, int brlen, int bclen, PDataPartitionFormat pformat )
 			throws IOException, DMLRuntimeException
 	{
@@ -290,7 +267,7 @@ public class WriterBinaryBlock extends MatrixWriter
 					// 1) create sequence file writer, with right replication factor 
 					// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
 					Path path2 = new Path(path.toString()+File.separator+(++count));
-					SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path2, MatrixIndexes.class, MatrixBlock.class);
+					SequenceFile.Writer writer = createSequenceFileWriter(job, fs, path2, -1);
 					
 					//3) reblock and write
 					try
@@ -340,7 +317,7 @@ public class WriterBinaryBlock extends MatrixWriter
 					// 1) create sequence file writer, with right replication factor 
 					// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
 					Path path2 = new Path(path.toString()+File.separator+(++count));
-					SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path2, MatrixIndexes.class, MatrixBlock.class);
+					SequenceFile.Writer writer = createSequenceFileWriter(job, fs, path2, -1);
 					
 					//3) reblock and write
 					try
@@ -384,4 +361,65 @@ public class WriterBinaryBlock extends MatrixWriter
 				throw new DMLRuntimeException("Unsupported partition format for distributed cache input: "+pformat);
 		}
 	}
+
+	/**
+	 * Creates a sequence file writer for binary blocks, with the given replication
+	 * factor (if positive, otherwise default) and the block compression codec 
+	 * configured via {@code binary.compression} (if any). Compressed sequence 
+	 * files are transparently decompressed by all sequence file readers.
+	 * 
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param path file path
+	 * @param replication replication factor
+	 * @return sequence file writer
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public static SequenceFile.Writer createSequenceFileWriter( JobConf job, FileSystem fs, Path path, int replication ) 
+		throws IOException
+	{
+		//obtain block compression codec, i.e., none or the name or alias of 
+		//a hadoop compression codec (e.g., deflate, gzip, snappy, lz4)
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		CompressionCodec codec = getCompressionCodec(job, (conf != null) ? 
+			conf.getTextValue(DMLConfig.BINARY_COMPRESSION) : 
+			DMLConfig.getDefaultTextValue(DMLConfig.BINARY_COMPRESSION));
+		
+		//default writer w/o replication and compression
+		if( replication <= 0 && codec == null )
+			return new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
+		
+		//note: config via MRConfigurationNames.DFS_REPLICATION not possible since 
+		//sequence file internally calls fs.getDefaultReplication()
+		return SequenceFile.createWriter(job, 
+			SequenceFile.Writer.file(fs.makeQualified(path)),
+			SequenceFile.Writer.keyClass(MatrixIndexes.class),
+			SequenceFile.Writer.valueClass(MatrixBlock.class),
+			SequenceFile.Writer.bufferSize(job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096)),
+			SequenceFile.Writer.replication((replication > 0) ? 
+				(short)replication : fs.getDefaultReplication(path)),
+			SequenceFile.Writer.blockSize(fs.getDefaultBlockSize(path)),
+			(codec != null) ? SequenceFile.Writer.compression(CompressionType.BLOCK, codec) :
+				SequenceFile.Writer.compression(CompressionType.NONE));
+	}
+	
+	/**
+	 * Obtains the hadoop compression codec for the given codec name.
+	 * 
+	 * @param job job configuration
+	 * @param name codec name or alias, or none
+	 * @return compression codec, or null for none
+	 * @throws IOException if the codec does not exist
+	 */
+	public static CompressionCodec getCompressionCodec( JobConf job, String name ) 
+		throws IOException
+	{
+		if( name == null || name.isEmpty() || name.equalsIgnoreCase("none") )
+			return null;
+		CompressionCodec codec = new CompressionCodecFactory(job).getCodecByName(name);
+		if( codec == null )
+			throw new IOException("Unsupported binary block compression codec: "+name);
+		return codec;
+	}
 }
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * Single-threaded writer of the local binary block format (see
+ * {@link LocalBinaryBlockFile}), which writes the blocks of the given
+ * matrix block into a single indexed file without intermediate block
+ * slices. Each block is stored in the smaller of its dense and sparse
+ * (CSR) layout, and empty blocks are only recorded in the block index.
+ * 
+ */
+public class WriterLocalBinaryBlock extends MatrixWriter
+{
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Matrix block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+				"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+		
+		writeLocalBinaryBlockMatrix(src, fname, rlen, clen, brlen, bclen);
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		writeLocalBinaryBlockMatrix(new MatrixBlock((int)rlen, (int)clen, true), 
+			fname, rlen, clen, brlen, bclen);
+	}
+	
+	private static void writeLocalBinaryBlockMatrix(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException
+	{
+		File file = LocalBinaryBlockFile.getLocalFile(fname);
+		
+		//if the file already exists, remove it (incl directories of other formats)
+		LocalFileUtils.deleteFileIfExists(file.getPath());
+		
+		int nrblks = (int)((rlen + brlen - 1) / brlen);
+		int ncblks = (int)Math.max(1, (clen + bclen - 1) / bclen);
+		int nblks = nrblks * ncblks;
+		ByteBuffer index = ByteBuffer.allocate(LocalBinaryBlockFile.HEADER_SIZE 
+			+ nblks * LocalBinaryBlockFile.ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		index.position(LocalBinaryBlockFile.HEADER_SIZE);
+		
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, 
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		try
+		{
+			//write all blocks in row-major block order, after reserved header and index
+			long pos = LocalBinaryBlockFile.align8(index.capacity());
+			ByteBuffer buff = ByteBuffer.allocate((int)LocalBinaryBlockFile.getDenseBlockSize(
+				(int)Math.min(rlen, brlen), (int)Math.min(clen, bclen))).order(ByteOrder.LITTLE_ENDIAN);
+			long lnnz = 0;
+			for( int bi=0; bi<nrblks; bi++ ) {
+				int rl = bi * brlen, ru = (int)Math.min(rl + brlen, rlen);
+				for( int bj=0; bj<ncblks; bj++ ) {
+					int cl = bj * bclen, cu = (int)Math.min(cl + bclen, clen);
+					long bnnz = countNonZeros(src, rl, ru, cl, cu);
+					long dsize = LocalBinaryBlockFile.getDenseBlockSize(ru-rl, cu-cl);
+					long ssize = LocalBinaryBlockFile.getSparseBlockSize(ru-rl, bnnz);
+					int type = (bnnz == 0) ? LocalBinaryBlockFile.TYPE_EMPTY : (ssize < dsize) ? 
+						LocalBinaryBlockFile.TYPE_SPARSE : LocalBinaryBlockFile.TYPE_DENSE;
+					
+					//encode and write block
+					long len = 0;
+					if( type != LocalBinaryBlockFile.TYPE_EMPTY ) {
+						buff.clear();
+						if( type == LocalBinaryBlockFile.TYPE_DENSE )
+							writeDenseBlock(src, rl, ru, cl, cu, buff);
+						else
+							writeSparseBlock(src, rl, ru, cl, cu, bnnz, buff);
+						len = (type == LocalBinaryBlockFile.TYPE_DENSE) ? dsize : ssize;
+						buff.position(0).limit((int)len);
+						while( buff.hasRemaining() )
+							channel.write(buff, pos + buff.position());
+					}
+					
+					//append block index entry
+					index.putLong(pos).putLong(len).putLong(bnnz)
+						.putInt(ru-rl).putInt(cu-cl).putInt(type).putInt(0);
+					pos = LocalBinaryBlockFile.align8(pos + len);
+					lnnz += bnnz;
+				}
+			}
+			
+			//write header and block index
+			index.position(0);
+			index.putInt(LocalBinaryBlockFile.MAGIC).putInt(LocalBinaryBlockFile.VERSION)
+				.putLong(rlen).putLong(clen).putInt(brlen).putInt(bclen).putLong(lnnz).putInt(nblks);
+			index.position(0);
+			while( index.hasRemaining() )
+				channel.write(index, index.position());
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	private static long countNonZeros(MatrixBlock src, int rl, int ru, int cl, int cu) {
+		if( src.isEmptyBlock(false) )
+			return 0;
+		long nnz = 0;
+		if( src.isInSparseFormat() ) {
+			SparseBlock sblock = src.getSparseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				if( sblock.isEmpty(i) ) continue;
+				int apos = sblock.pos(i), alen = sblock.size(i);
+				int[] aix = sblock.indexes(i);
+				int k = (cl > 0) ? sblock.posFIndexGTE(i, cl) : apos;
+				for( ; k>=0 && k<apos+alen && aix[k]<cu; k++ )
+					nnz++;
+			}
+		}
+		else {
+			double[] a = src.getDenseBlock();
+			int n = src.getNumColumns();
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				for( int j=cl; j<cu; j++ )
+					nnz += (a[aix+j] != 0) ? 1 : 0;
+		}
+		return nnz;
+	}
+	
+	private static void writeDenseBlock(MatrixBlock src, int rl, int ru, int cl, int cu, ByteBuffer buff) {
+		DoubleBuffer out = buff.asDoubleBuffer();
+		int n = src.getNumColumns();
+		if( !src.isInSparseFormat() ) {
+			//bulk copy of row segments
+			double[] a = src.getDenseBlock();
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				out.put(a, aix+cl, cu-cl);
+		}
+		else {
+			//scatter sparse rows into reused row buffer
+			SparseBlock sblock = src.getSparseBlock();
+			double[] row = new double[cu-cl];
+			for( int i=rl; i<ru; i++ ) {
+				Arrays.fill(row, 0);
+				if( !sblock.isEmpty(i) ) {
+					int apos = sblock.pos(i), alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					double[] avals = sblock.values(i);
+					int k = (cl > 0) ? sblock.posFIndexGTE(i, cl) : apos;
+					for( ; k>=0 && k<apos+alen && aix[k]<cu; k++ )
+						row[aix[k]-cl] = avals[k];
+				}
+				out.put(row);
+			}
+		}
+	}
+	
+	private static void writeSparseBlock(MatrixBlock src, int rl, int ru, int cl, int cu, long nnz, ByteBuffer buff) {
+		IntBuffer rptr = LocalBinaryBlockFile.getSparseRowPointers(buff, ru-rl);
+		IntBuffer cix = LocalBinaryBlockFile.getSparseColumnIndexes(buff, ru-rl, nnz);
+		DoubleBuffer vals = LocalBinaryBlockFile.getSparseValues(buff, ru-rl, nnz);
+		rptr.put(0);
+		if( src.isInSparseFormat() ) {
+			SparseBlock sblock = src.getSparseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				if( !sblock.isEmpty(i) ) {
+					int apos = sblock.pos(i), alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					double[] avals = sblock.values(i);
+					int k = (cl > 0) ? sblock.posFIndexGTE(i, cl) : apos;
+					for( ; k>=0 && k<apos+alen && aix[k]<cu; k++ ) {
+						cix.put(aix[k]-cl);
+						vals.put(avals[k]);
+					}
+				}
+				rptr.put(cix.position());
+			}
+		}
+		else {
+			double[] a = src.getDenseBlock();
+			int n = src.getNumColumns();
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n ) {
+				for( int j=cl; j<cu; j++ )
+					if( a[aix+j] != 0 ) {
+						cix.put(j-cl);
+						vals.put(a[aix+j]);
+					}
+				rptr.put(cix.position());
+			}
+		}
+	}
+}
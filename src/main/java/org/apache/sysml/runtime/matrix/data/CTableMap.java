@@ -23,6 +23,8 @@ import java.util.ArrayList;
 
 import org.apache.sysml.runtime.util.LongLongDoubleHashMap;
 import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleIterator;
+import org.apache.sysml.runtime.util.SortUtils;
 
 /**
  * Ctable map is an abstraction for the hashmap used for ctable's hash group-by
@@ -53,6 +55,10 @@ public class CTableMap
 	{
 		return _map.extractValues();
 	}
+	
+	public LLDoubleIterator getIterator() {
+		return _map.getIterator();
+	}
 
 	public long getMaxRow() {
 		return _maxRow;
@@ -82,30 +88,68 @@ public class CTableMap
 		// copy map values into new matrix block
 		if( sparse ) //SPARSE <- cells
 		{
-			//append cells to sparse target (prevent shifting)
-			for( LLDoubleEntry e : _map.extractValues() ) 
-			{
-				double value = e.value;
-				int rix = (int)e.key1;
-				int cix = (int)e.key2;
-				if( value != 0 && rix<=rlen && cix<=clen )
-					mb.appendValue( rix-1, cix-1, value );
+			//count non-zeros per row (1-based rows, shifted by one for prefix sums)
+			int[] rptr = new int[rlen+1];
+			LLDoubleIterator it = _map.getIterator();
+			while( it.next() ) {
+				long rix = it.getKey1();
+				if( it.getValue() != 0 && rix<=rlen && it.getKey2()<=clen )
+					rptr[(int)rix]++;
 			}
+			for( int i=0; i<rlen; i++ )
+				rptr[i+1] += rptr[i];
 			
-			//sort sparse target representation
-			mb.sortSparseRows();
+			//scatter cells into row-major temporary arrays (counting sort by row)
+			int lnnz = rptr[rlen];
+			int[] cix = new int[lnnz];
+			double[] vals = new double[lnnz];
+			int[] pos = new int[rlen];
+			System.arraycopy(rptr, 0, pos, 0, rlen);
+			it = _map.getIterator();
+			while( it.next() ) {
+				double value = it.getValue();
+				long rix = it.getKey1();
+				long c = it.getKey2();
+				if( value != 0 && rix<=rlen && c<=clen ) {
+					int p = pos[(int)rix-1]++;
+					cix[p] = (int)c-1;
+					vals[p] = value;
+				}
+			}
+			
+			//sort columns per row and append sorted rows to sparse target
+			//(exact row allocation, no shifting or subsequent sorting)
+			mb.allocateSparseRowsBlock();
+			SparseBlock sblock = mb.getSparseBlock();
+			for( int i=0; i<rlen; i++ ) {
+				int apos = rptr[i], alen = rptr[i+1]-rptr[i];
+				if( alen == 0 )
+					continue;
+				if( alen > 1 )
+					SortUtils.sortByIndex(apos, apos+alen, cix, vals);
+				sblock.allocate(i, alen);
+				for( int j=apos; j<apos+alen; j++ )
+					sblock.append(i, cix[j], vals[j]);
+			}
+			mb.setNonZeros(lnnz);
 		}
 		else  //DENSE <- cells
 		{
 			//directly insert cells into dense target 
-			for( LLDoubleEntry e : _map.extractValues() ) 
-			{
-				double value = e.value;
-				int rix = (int)e.key1;
-				int cix = (int)e.key2;
-				if( value != 0 && rix<=rlen && cix<=clen )
-					mb.quickSetValue( rix-1, cix-1, value );
+			mb.allocateDenseBlock();
+			double[] c = mb.getDenseBlock();
+			long lnnz = 0;
+			LLDoubleIterator it = _map.getIterator();
+			while( it.next() ) {
+				double value = it.getValue();
+				long rix = it.getKey1();
+				long cix = it.getKey2();
+				if( value != 0 && rix<=rlen && cix<=clen ) {
+					c[(int)(rix-1)*clen+(int)cix-1] = value;
+					lnnz++;
+				}
 			}
+			mb.setNonZeros(lnnz);
 		}
 		
 		return mb;
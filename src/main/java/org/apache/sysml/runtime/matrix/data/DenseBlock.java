@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.io.Serializable;
+
+/**
+ * This DenseBlock is an abstraction for different dense, row-major
+ * matrix formats. Dense blocks are composed of one or multiple
+ * blocks of rows, each of which is a contiguous array that holds
+ * complete rows. Hence, operations can be implemented against the
+ * abstraction by processing one row (or block of rows) at a time,
+ * without additional index computation in inner loops.
+ *
+ * Supported formats are DRB (dense row block, i.e., a single array)
+ * and LDRB (large dense row block, i.e., multiple row-aligned arrays),
+ * which lifts the max size of 2^31-1 cells (16GB) per java array.
+ * 
+ * Note that LDRB is so far a runtime-level capability of MatrixBlock, used
+ * by matrix multiply, tsmm, mmchain, basic aggregates, binary cell operations,
+ * transpose, serialization, and the buffer pool. The compiler still restricts
+ * dense CP operations to a single array (see OptimizerUtils.MAX_NUMCELLS_CP_DENSE),
+ * and readers, datagen, and indexing reject large dense blocks.
+ *
+ */
+public abstract class DenseBlock implements Serializable
+{
+	private static final long serialVersionUID = 7517220490270237832L;
+
+	//max number of cells per contiguous array (limited by java arrays),
+	//non-final in order to test large dense blocks with small matrices
+	static long MAX_BLOCK_CELLS = Integer.MAX_VALUE;
+
+	public enum Type {
+		DRB,  //dense row block
+		LDRB, //large dense row block
+	}
+
+	/**
+	 * Get the max number of cells per contiguous array.
+	 *
+	 * @return max number of cells per block
+	 */
+	public static long getMaxBlockCells() {
+		return MAX_BLOCK_CELLS;
+	}
+
+	/**
+	 * Set the max number of cells per contiguous array, which allows
+	 * to test large dense blocks with small matrices.
+	 * NOTE: use only for testing.
+	 *
+	 * @param cells max number of cells per block
+	 */
+	public static void setMaxBlockCells(long cells) {
+		if( cells < 1 || cells > Integer.MAX_VALUE )
+			throw new RuntimeException("Invalid max number of cells per dense block: "+cells);
+		MAX_BLOCK_CELLS = cells;
+	}
+
+
+	////////////////////////
+	//basic allocation
+
+	/**
+	 * Resets the dense block by deleting non-zero values. After this
+	 * call all countNonZeros() calls are guaranteed to return 0. If
+	 * the new dimensions exceed the current capacity, the underlying
+	 * storage is extended accordingly.
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 */
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	/**
+	 * Resets the dense block by setting the given value.
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param v value
+	 */
+	public abstract void reset(int rlen, int clen, double v);
+
+
+	////////////////////////
+	//obtain basic meta data
+
+	/**
+	 * Get the number of rows.
+	 *
+	 * @return number of rows
+	 */
+	public abstract int numRows();
+
+	/**
+	 * Get the number of columns.
+	 *
+	 * @return number of columns
+	 */
+	public abstract int numCols();
+
+	/**
+	 * Get the number of allocated blocks.
+	 *
+	 * @return number of blocks
+	 */
+	public abstract int numBlocks();
+
+	/**
+	 * Get the number of rows per block, except last one.
+	 *
+	 * @return number of rows in block
+	 */
+	public abstract int blockSize();
+
+	/**
+	 * Get the number of rows of the given block.
+	 *
+	 * @param bix block index
+	 * @return number of rows in block
+	 */
+	public abstract int blockSize(int bix);
+
+	/**
+	 * Indicates if the dense block is backed by a single contiguous
+	 * array, which can be exploited for more efficient operations.
+	 *
+	 * @return true if single contiguous array
+	 */
+	public abstract boolean isContiguous();
+
+	/**
+	 * Get the length of the dense block as the product of row and
+	 * column dimensions.
+	 *
+	 * @return length of dense block
+	 */
+	public long size() {
+		return (long)numRows() * numCols();
+	}
+
+	/**
+	 * Get the total length of allocated blocks.
+	 *
+	 * @return capacity in number of cells
+	 */
+	public abstract long capacity();
+
+	/**
+	 * Computes the number of non zero elements of the entire dense block.
+	 *
+	 * @return number of non-zeros
+	 */
+	public long countNonZeros() {
+		return countNonZeros(0, numRows(), 0, numCols());
+	}
+
+	/**
+	 * Compute the number of non-zero values for the given row.
+	 *
+	 * @param r row index
+	 * @return number of non-zeros
+	 */
+	public int countNonZeros(int r) {
+		return (int) countNonZeros(r, r+1, 0, numCols());
+	}
+
+	/**
+	 * Compute the number of non-zero values in the given range,
+	 * which is given by row lower (inclusive) and upper (exclusive)
+	 * bounds, and column lower (inclusive) and upper (exclusive) bounds.
+	 *
+	 * @param rl row lower index
+	 * @param ru row upper index (exclusive)
+	 * @param cl column lower index
+	 * @param cu column upper index (exclusive)
+	 * @return number of non-zeros
+	 */
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			double[] a = values(i);
+			int ix = pos(i);
+			for( int j=ix+cl; j<ix+cu; j++ )
+				nnz += (a[j]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+
+	////////////////////////
+	//obtain indexes/values
+
+	/**
+	 * Get the allocated block for the given block index.
+	 *
+	 * @param bix block index
+	 * @return block
+	 */
+	public abstract double[] valuesAt(int bix);
+
+	/**
+	 * Get the allocated block for the given row. This call
+	 * is equivalent to valuesAt(index(r)).
+	 *
+	 * @param r row index
+	 * @return block
+	 */
+	public abstract double[] values(int r);
+
+	/**
+	 * Get the block index for a given row.
+	 *
+	 * @param r row index
+	 * @return block index
+	 */
+	public abstract int index(int r);
+
+	/**
+	 * Get the position for a given row within
+	 * its associated block.
+	 *
+	 * @param r row index
+	 * @return block position
+	 */
+	public abstract int pos(int r);
+
+	/**
+	 * Get the position for a given row and column
+	 * within the associated block.
+	 *
+	 * @param r row index
+	 * @param c column index
+	 * @return block position
+	 */
+	public int pos(int r, int c) {
+		return pos(r) + c;
+	}
+
+
+	////////////////////////
+	//update operations
+
+	/**
+	 * Set the given value for the entire dense block (fill).
+	 *
+	 * @param v value
+	 */
+	public void set(double v) {
+		set(0, numRows(), 0, numCols(), v);
+	}
+
+	/**
+	 * Set the given value for a given row and column range.
+	 *
+	 * @param rl row lower index
+	 * @param ru row upper index (exclusive)
+	 * @param cl column lower index
+	 * @param cu column upper index (exclusive)
+	 * @param v value
+	 */
+	public abstract void set(int rl, int ru, int cl, int cu, double v);
+
+	/**
+	 * Set the given value for a given row and column.
+	 *
+	 * @param r row index
+	 * @param c column index
+	 * @param v value
+	 */
+	public void set(int r, int c, double v) {
+		values(r)[pos(r, c)] = v;
+	}
+
+	/**
+	 * Copy the given vector into the given row.
+	 *
+	 * @param r row index
+	 * @param v value vector
+	 */
+	public void set(int r, double[] v) {
+		System.arraycopy(v, 0, values(r), pos(r), numCols());
+	}
+
+	/**
+	 * Copy the given dense block of equal dimensions.
+	 *
+	 * @param db dense block
+	 */
+	public void set(DenseBlock db) {
+		for( int i=0; i<numRows(); i++ )
+			System.arraycopy(db.values(i), db.pos(i), values(i), pos(i), numCols());
+	}
+
+	/**
+	 * Get the value for a given row and column.
+	 *
+	 * @param r row index
+	 * @param c column index
+	 * @return value
+	 */
+	public double get(int r, int c) {
+		return values(r)[pos(r, c)];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for(int i=0; i<numRows(); i++) {
+			double[] data = values(i);
+			int ix = pos(i);
+			for(int j=0; j<numCols(); j++) {
+				sb.append(data[ix+j]);
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Dense row block (DRB), i.e., a single contiguous array of
+ * size rlen*clen in row-major order, limited to 2^31-1 cells.
+ *
+ */
+public class DenseBlockDRB extends DenseBlock
+{
+	private static final long serialVersionUID = 8546237224412849543L;
+
+	private double[] _data;
+	private int _rlen;
+	private int _clen;
+
+	public DenseBlockDRB(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	public DenseBlockDRB(double[] data, int rlen, int clen) {
+		_data = data;
+		_rlen = rlen;
+		_clen = clen;
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		long len = (long)rlen * clen;
+		if( len > Integer.MAX_VALUE )
+			throw new RuntimeException("Dense row block ("+rlen+"x"+clen+") exceeds "
+				+ "supported size of "+Integer.MAX_VALUE+" elements.");
+		if( _data == null || _data.length < len ) {
+			_data = new double[(int)len];
+			if( v != 0 )
+				Arrays.fill(_data, v);
+		}
+		else {
+			Arrays.fill(_data, 0, (int)len, v);
+		}
+		_rlen = rlen;
+		_clen = clen;
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public int numCols() {
+		return _clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return _rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public long capacity() {
+		return (_data!=null) ? _data.length : -1;
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		if( cl == 0 && cu == _clen ) { //specific case: all cols
+			for( int i=rl*_clen; i<ru*_clen; i++ )
+				nnz += (_data[i]!=0) ? 1 : 0;
+		}
+		else {
+			for( int i=rl, ix=rl*_clen; i<ru; i++, ix+=_clen )
+				for( int j=cl; j<cu; j++ )
+					nnz += (_data[ix+j]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return _data;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _data;
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * _clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * _clen + c;
+	}
+
+	@Override
+	public void set(int rl, int ru, int cl, int cu, double v) {
+		if( cl==0 && cu == _clen )
+			Arrays.fill(_data, rl*_clen, ru*_clen, v);
+		else
+			for( int i=rl, ix=rl*_clen; i<ru; i++, ix+=_clen )
+				Arrays.fill(_data, ix+cl, ix+cu, v);
+	}
+
+	@Override
+	public void set(int r, int c, double v) {
+		_data[pos(r, c)] = v;
+	}
+
+	@Override
+	public void set(DenseBlock db) {
+		if( db.isContiguous() )
+			System.arraycopy(db.valuesAt(0), 0, _data, 0, _rlen*_clen);
+		else
+			super.set(db);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return _data[pos(r, c)];
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+public abstract class DenseBlockFactory
+{
+	public static DenseBlock createDenseBlock(int rlen, int clen) {
+		return createDenseBlock(getDenseBlockType(rlen, clen), rlen, clen);
+	}
+
+	public static DenseBlock createDenseBlock(DenseBlock.Type type, int rlen, int clen) {
+		switch( type ) {
+			case DRB: return new DenseBlockDRB(rlen, clen);
+			case LDRB: return new DenseBlockLDRB(rlen, clen);
+			default:
+				throw new RuntimeException("Unexpected dense block type: "+type.toString());
+		}
+	}
+
+	/**
+	 * Creates a dense block view of an existing dense array
+	 * (without copying the data).
+	 *
+	 * @param data dense array of at least rlen*clen cells
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @return dense block
+	 */
+	public static DenseBlock createDenseBlock(double[] data, int rlen, int clen) {
+		return new DenseBlockDRB(data, rlen, clen);
+	}
+
+	public static DenseBlock.Type getDenseBlockType(long rlen, long clen) {
+		return isLargeDenseBlock(rlen, clen) ?
+			DenseBlock.Type.LDRB : DenseBlock.Type.DRB;
+	}
+
+	/**
+	 * Indicates if a dense block of the given dimensions exceeds the
+	 * max size of a single contiguous array and thus requires the
+	 * LDRB format of multiple row-aligned arrays.
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @return true if large dense block
+	 */
+	public static boolean isLargeDenseBlock(long rlen, long clen) {
+		return rlen * clen > DenseBlock.MAX_BLOCK_CELLS;
+	}
+}
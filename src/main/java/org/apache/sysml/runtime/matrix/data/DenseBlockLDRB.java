@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Large dense row block (LDRB), i.e., multiple row-aligned contiguous
+ * arrays in row-major order, each of which holds up to MAX_BLOCK_CELLS
+ * cells. This format lifts the 2^31-1 cells limit of a single java
+ * array, while still allowing to process entire rows via
+ * values(r) and pos(r) without additional index computation.
+ *
+ */
+public class DenseBlockLDRB extends DenseBlock
+{
+	private static final long serialVersionUID = -1432930357547004434L;
+
+	private double[][] _data;
+	private int _rlen;
+	private int _clen;
+	private int _blen;
+
+	public DenseBlockLDRB(int rlen, int clen) {
+		this(rlen, clen, computeBlockSize(clen));
+	}
+
+	public DenseBlockLDRB(int rlen, int clen, int blen) {
+		_blen = blen;
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		//recompute block size on changed number of columns
+		if( clen != _clen && _clen > 0 )
+			_blen = computeBlockSize(clen);
+		int nblen = Math.max(_blen, 1);
+		int numBlocks = (int)Math.ceil((double)rlen / nblen);
+		if( _data == null || _data.length != numBlocks || clen != _clen )
+			_data = new double[numBlocks][];
+		_rlen = rlen;
+		_clen = clen;
+		_blen = nblen;
+
+		//allocate or reset individual blocks
+		for( int bix=0; bix<numBlocks; bix++ ) {
+			int len = blockSize(bix) * clen;
+			if( _data[bix] == null || _data[bix].length < len ) {
+				_data[bix] = new double[len];
+				if( v != 0 )
+					Arrays.fill(_data[bix], v);
+			}
+			else {
+				Arrays.fill(_data[bix], 0, len, v);
+			}
+		}
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public int numCols() {
+		return _clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return _data.length;
+	}
+
+	@Override
+	public int blockSize() {
+		return _blen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return Math.min(_blen, _rlen-bix*_blen);
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return _data.length <= 1;
+	}
+
+	@Override
+	public long capacity() {
+		long len = 0;
+		for( double[] block : _data )
+			len += block.length;
+		return len;
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		if( rl >= ru )
+			return nnz;
+		if( cl == 0 && cu == _clen ) { //specific case: all cols
+			for( int bix=index(rl); bix<=index(ru-1); bix++ ) {
+				double[] a = _data[bix];
+				int lpos = (bix==index(rl)) ? pos(rl) : 0;
+				int upos = (bix==index(ru-1)) ? pos(ru-1)+_clen : blockSize(bix)*_clen;
+				for( int i=lpos; i<upos; i++ )
+					nnz += (a[i]!=0) ? 1 : 0;
+			}
+		}
+		else {
+			nnz = super.countNonZeros(rl, ru, cl, cu);
+		}
+		return nnz;
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return _data[bix];
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _data[r / _blen];
+	}
+
+	@Override
+	public int index(int r) {
+		return r / _blen;
+	}
+
+	@Override
+	public int pos(int r) {
+		return (r % _blen) * _clen;
+	}
+
+	@Override
+	public void set(int rl, int ru, int cl, int cu, double v) {
+		for( int i=rl; i<ru; i++ ) {
+			int ix = pos(i);
+			Arrays.fill(values(i), ix+cl, ix+cu, v);
+		}
+	}
+
+	private static int computeBlockSize(int clen) {
+		//max number of rows per block (at least one row)
+		return (int) Math.max(Math.min(MAX_BLOCK_CELLS / Math.max(clen, 1), Integer.MAX_VALUE), 1);
+	}
+}
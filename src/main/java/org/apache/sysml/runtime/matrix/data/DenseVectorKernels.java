@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Divide;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+
+/**
+ * Explicitly vectorized (SIMD) implementations of the dense vector primitives
+ * of LibMatrixMult, LibMatrixBincell, and LibSpoofPrimitives. The scalar code
+ * with manual 8-way unrolling in these libraries remains the default and
+ * fallback, i.e., callers obtain the kernels via {@link #get(int)} and use
+ * them only if available for the given vector length.
+ * 
+ * The implementation on the JDK incubator Vector API (DenseVectorKernelsSIMD)
+ * is compiled in a separate source folder (src/vector/java, maven profile 
+ * vector-api with JDK 17+) and loaded via reflection, which keeps the main 
+ * sources Java 8 compatible. At runtime, the kernels are only available if
+ * the JVM was started with --add-modules jdk.incubator.vector.
+ * 
+ * All supported operations are lane-wise exact (+, -, *, /, abs, sqrt), except
+ * for the different order of additions in aggregates (dot product, sum).
+ */
+public abstract class DenseVectorKernels 
+{
+	private static final Log LOG = LogFactory.getLog(DenseVectorKernels.class.getName());
+	
+	private static final String SIMD_CLASS = "org.apache.sysml.runtime.matrix.data.DenseVectorKernelsSIMD";
+	
+	//min vector length for SIMD kernels (shorter vectors via scalar code)
+	public static final int MIN_VECTOR_LENGTH = 16;
+	
+	//runtime flag for enabling the SIMD kernels (if available)
+	public static boolean ENABLED = true;
+	
+	private static final DenseVectorKernels _simd = loadSIMDKernels();
+	
+	public enum BinaryType {
+		PLUS,
+		MINUS,
+		MULT,
+		DIV,
+	}
+	
+	public enum UnaryType {
+		ABS,
+		SQRT,
+	}
+	
+	/**
+	 * Indicates if the SIMD kernels are available in the current JVM.
+	 * 
+	 * @return true if available
+	 */
+	public static boolean isAvailable() {
+		return (_simd != null);
+	}
+	
+	/**
+	 * Gets the SIMD kernels if available, enabled, and beneficial
+	 * for the given vector length.
+	 * 
+	 * @param len vector length
+	 * @return SIMD kernels, or null if the scalar code should be used
+	 */
+	public static DenseVectorKernels get(int len) {
+		return (ENABLED && len >= MIN_VECTOR_LENGTH) ? _simd : null;
+	}
+	
+	public static BinaryType getBinaryType(ValueFunction fn) {
+		if( fn instanceof Plus )          return BinaryType.PLUS;
+		else if( fn instanceof Minus )    return BinaryType.MINUS;
+		else if( fn instanceof Multiply ) return BinaryType.MULT;
+		else if( fn instanceof Divide )   return BinaryType.DIV;
+		return null;
+	}
+	
+	public static UnaryType getUnaryType(ValueFunction fn) {
+		if( !(fn instanceof Builtin) )
+			return null;
+		switch( ((Builtin)fn).getBuiltinCode() ) {
+			case ABS:  return UnaryType.ABS;
+			case SQRT: return UnaryType.SQRT;
+			default:   return null;
+		}
+	}
+	
+	private static DenseVectorKernels loadSIMDKernels() {
+		try {
+			//note: fails w/o compiled class, on Java 8, or w/o vector module
+			DenseVectorKernels ret = (DenseVectorKernels) Class
+				.forName(SIMD_CLASS).newInstance();
+			if( ret.getVectorLength() < 2 )
+				return null;
+			LOG.debug("Using SIMD vector kernels with "+ret.getVectorLength()+" lanes.");
+			return ret;
+		}
+		catch(Throwable ex) {
+			LOG.debug("SIMD vector kernels not available: "+ex.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Gets the number of double lanes of the used vector species.
+	 * 
+	 * @return number of lanes
+	 */
+	public abstract int getVectorLength();
+	
+	/**
+	 * Computes the dot product sum(a * b).
+	 * 
+	 * @param a dense vector a
+	 * @param b dense vector b
+	 * @param ai start position in a
+	 * @param bi start position in b
+	 * @param len number of processed elements
+	 * @return dot product
+	 */
+	public abstract double dotProduct(double[] a, double[] b, int ai, int bi, int len);
+	
+	/**
+	 * Computes c = aval * b + c.
+	 * 
+	 * @param aval scalar value
+	 * @param b dense vector b
+	 * @param c dense vector c
+	 * @param bi start position in b
+	 * @param ci start position in c
+	 * @param len number of processed elements
+	 */
+	public abstract void vectMultiplyAdd(double aval, double[] b, double[] c, int bi, int ci, int len);
+	
+	/**
+	 * Computes c = aval * b.
+	 * 
+	 * @param aval scalar value
+	 * @param b dense vector b
+	 * @param c dense vector c
+	 * @param bi start position in b
+	 * @param ci start position in c
+	 * @param len number of processed elements
+	 */
+	public abstract void vectMultiplyWrite(double aval, double[] b, double[] c, int bi, int ci, int len);
+	
+	/**
+	 * Computes c = a + c.
+	 * 
+	 * @param a dense vector a
+	 * @param c dense vector c
+	 * @param ai start position in a
+	 * @param ci start position in c
+	 * @param len number of processed elements
+	 */
+	public abstract void vectAdd(double[] a, double[] c, int ai, int ci, int len);
+	
+	/**
+	 * Computes sum(a).
+	 * 
+	 * @param a dense vector a
+	 * @param ai start position in a
+	 * @param len number of processed elements
+	 * @return sum
+	 */
+	public abstract double vectSum(double[] a, int ai, int len);
+	
+	/**
+	 * Computes c = a op b for two dense vectors.
+	 * 
+	 * @param type binary operation type
+	 * @param a dense vector a
+	 * @param b dense vector b
+	 * @param c dense vector c
+	 * @param ai start position in a
+	 * @param bi start position in b
+	 * @param ci start position in c
+	 * @param len number of processed elements
+	 */
+	public abstract void vectBinaryWrite(BinaryType type, double[] a, double[] b, double[] c, int ai, int bi, int ci, int len);
+	
+	/**
+	 * Computes c = a op bval for a dense vector and scalar.
+	 * 
+	 * @param type binary operation type
+	 * @param a dense vector a
+	 * @param bval scalar value
+	 * @param c dense vector c
+	 * @param ai start position in a
+	 * @param ci start position in c
+	 * @param len number of processed elements
+	 */
+	public abstract void vectBinaryWrite(BinaryType type, double[] a, double bval, double[] c, int ai, int ci, int len);
+	
+	/**
+	 * Computes c = op(a) for a dense vector.
+	 * 
+	 * @param type unary operation type
+	 * @param a dense vector a
+	 * @param c dense vector c
+	 * @param ai start position in a
+	 * @param ci start position in c
+	 * @param len number of processed elements
+	 */
+	public abstract void vectUnaryWrite(UnaryType type, double[] a, double[] c, int ai, int ci, int len);
+	
+	/**
+	 * Counts the number of non-zero values in a.
+	 * 
+	 * @param a dense vector a
+	 * @param ai start position in a
+	 * @param len number of processed elements
+	 * @return number of non-zeros
+	 */
+	public abstract int countNonZeros(double[] a, int ai, int len);
+}
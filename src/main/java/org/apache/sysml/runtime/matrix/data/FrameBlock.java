@@ -41,6 +41,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.util.IndexRange;
+import org.apache.sysml.runtime.util.StringDictionary;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 @SuppressWarnings({"rawtypes","unchecked"}) //allow generic native arrays
@@ -68,12 +69,12 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	private Array[] _coldata = null;
 	
 	/** Cache for recode maps from frame meta data, indexed by column 0-based */
-	private Map<Integer, SoftReference<HashMap<String,Long>>> _rcdMapCache = null;
+	private Map<Integer, SoftReference<StringDictionary>> _rcdMapCache = null;
 	
 	public FrameBlock() {
 		_numRows = 0;
 		if( REUSE_RECODE_MAPS )
-			_rcdMapCache = new HashMap<Integer, SoftReference<HashMap<String,Long>>>();
+			_rcdMapCache = new HashMap<Integer, SoftReference<StringDictionary>>();
 	}
 	
 	/**
@@ -121,7 +122,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		for( int i=0; i<data.length; i++ )
 			appendRow(data[i]);
 		if( REUSE_RECODE_MAPS )
-			_rcdMapCache = new HashMap<Integer, SoftReference<HashMap<String,Long>>>();
+			_rcdMapCache = new HashMap<Integer, SoftReference<StringDictionary>>();
 	}
 	
 	/**
@@ -966,43 +967,53 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	
 	/**
 	 * This function will split every Recode map in the column using delimiter Lop.DATATYPE_PREFIX, 
-	 * as Recode map generated earlier in the form of Code+Lop.DATATYPE_PREFIX+Token and store it in a map 
-	 * which contains token and code for every unique tokens.
+	 * as Recode map generated earlier in the form of Token+Lop.DATATYPE_PREFIX+Code and store it in a 
+	 * compact string dictionary which contains token and code for every unique tokens.
 	 *
 	 * @param col	is the column # from frame data which contains Recode map generated earlier.
-	 * @return map of token and code for every element in the input column of a frame containing Recode map
+	 * @return dictionary of token and code for every element in the input column of a frame containing Recode map
 	 */
-	public HashMap<String,Long> getRecodeMap(int col) {
-		//probe cache for existing map
+	public StringDictionary getRecodeDictionary(int col) {
+		//probe cache for existing dictionary
 		if( REUSE_RECODE_MAPS ) {
-			SoftReference<HashMap<String,Long>> tmp = _rcdMapCache.get(col);
-			HashMap<String,Long> map = (tmp!=null) ? tmp.get() : null;
-			if( map != null ) return map;
+			SoftReference<StringDictionary> tmp = _rcdMapCache.get(col);
+			StringDictionary dict = (tmp!=null) ? tmp.get() : null;
+			if( dict != null ) return dict;
 		}
 		
-		//construct recode map
-		HashMap<String,Long> map = new HashMap<String,Long>();
+		//construct recode dictionary
+		StringDictionary dict = new StringDictionary(getNumRows());
 		Array ldata = _coldata[col]; 
 		for( int i=0; i<getNumRows(); i++ ) {
 			Object val = ldata.get(i);
 			if( val != null ) {
-//				String[] tmp = IOUtilFunctions.splitCSV(
-//						val.toString(), Lop.DATATYPE_PREFIX);
-
 				// Instead of using splitCSV which is forcing string with RFC-4180 format, using Lop.DATATYPE_PREFIX separator to split token and code 
-				String[] tmp = 	new String[2];
-				int pos = val.toString().lastIndexOf(Lop.DATATYPE_PREFIX);
-				tmp[0] = val.toString().substring(0, pos);
-				tmp[1] = val.toString().substring(pos+1);
-				map.put(tmp[0], Long.parseLong(tmp[1]));
+				String tmp = val.toString();
+				int pos = tmp.lastIndexOf(Lop.DATATYPE_PREFIX);
+				dict.put(tmp.substring(0, pos), Integer.parseInt(tmp.substring(pos+1)));
 			}
 		}
 		
-		//put created map into cache
+		//put created dictionary into cache
 		if( REUSE_RECODE_MAPS ) {
-			_rcdMapCache.put(col, new SoftReference<HashMap<String,Long>>(map));
+			_rcdMapCache.put(col, new SoftReference<StringDictionary>(dict));
 		}
 		
+		return dict;
+	}
+	
+	/**
+	 * Obtains the recode map of the given column as a map of token and code,
+	 * constructed from the (cached) recode dictionary.
+	 * 
+	 * @param col	is the column # from frame data which contains Recode map generated earlier.
+	 * @return map of token and code for every element in the input column of a frame containing Recode map
+	 */
+	public HashMap<String,Long> getRecodeMap(int col) {
+		StringDictionary dict = getRecodeDictionary(col);
+		HashMap<String,Long> map = new HashMap<String,Long>();
+		for( int i=0; i<dict.size(); i++ )
+			map.put(dict.getToken(i), Long.valueOf(dict.getCode(i)));
 		return map;
 	}
 
@@ -83,6 +83,14 @@ public class InputInfo implements Serializable
 	public static final InputInfo CSVInputInfo=new InputInfo(TextInputFormat.class, 
 			 LongWritable.class, Text.class);
 	
+	// Format of memory-mapped local binary block files (CP only, no hadoop input format)
+	public static final InputInfo LocalBinaryBlockInputInfo=new InputInfo(null, 
+			MatrixIndexes.class, MatrixBlock.class);
+	
+	// Format of columnar frame files (CP only, no hadoop input format)
+	public static final InputInfo ColumnarFrameInputInfo=new InputInfo(null, 
+			LongWritable.class, FrameBlock.class);
+	
 	public static OutputInfo getMatchingOutputInfo(InputInfo ii) throws DMLRuntimeException {
 		if ( ii == InputInfo.BinaryBlockInputInfo )
 			return OutputInfo.BinaryBlockOutputInfo;
@@ -100,6 +108,10 @@ public class InputInfo implements Serializable
 			return OutputInfo.WeightedPairOutputInfo;
 		else if ( ii == InputInfo.CSVInputInfo)
 			return OutputInfo.CSVOutputInfo;
+		else if ( ii == InputInfo.LocalBinaryBlockInputInfo)
+			return OutputInfo.LocalBinaryBlockOutputInfo;
+		else if ( ii == InputInfo.ColumnarFrameInputInfo)
+			return OutputInfo.ColumnarFrameOutputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + ii);
 	}
@@ -125,6 +137,10 @@ public class InputInfo implements Serializable
 			return WeightedPairInputInfo;
 		else if ( str.equalsIgnoreCase("csv"))
 			return CSVInputInfo;
+		else if ( str.equalsIgnoreCase("localbinaryblock"))
+			return LocalBinaryBlockInputInfo;
+		else if ( str.equalsIgnoreCase("columnar"))
+			return ColumnarFrameInputInfo;
 		return null;
 	}
 
@@ -137,6 +153,10 @@ public class InputInfo implements Serializable
 			return InputInfo.CSVInputInfo; 
 		else if( DataExpression.FORMAT_TYPE_VALUE_BINARY.equals(str) )
 			return InputInfo.BinaryBlockInputInfo; 		
+		else if( DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY.equals(str) )
+			return InputInfo.LocalBinaryBlockInputInfo;
+		else if( DataExpression.FORMAT_TYPE_VALUE_COLUMNAR.equals(str) )
+			return InputInfo.ColumnarFrameInputInfo;
 		return null;
 	}
 	
@@ -159,6 +179,10 @@ public class InputInfo implements Serializable
 			return "matrixmarket";
 		else if ( ii == CSVInputInfo )
 			return "csv";
+		else if ( ii == LocalBinaryBlockInputInfo )
+			return "localbinaryblock";
+		else if ( ii == ColumnarFrameInputInfo )
+			return "columnar";
 		else
 			throw new DMLRuntimeException("Unrecognized inputInfo: " + ii);
 	}
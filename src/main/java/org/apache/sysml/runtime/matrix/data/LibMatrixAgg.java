@@ -25,7 +25,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.lops.PartialAggregate.CorrectionLocationType;
@@ -55,6 +54,7 @@ import org.apache.sysml.runtime.matrix.operators.CMOperator;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -247,7 +247,7 @@ public class LibMatrixAgg
 		//core multi-threaded unary aggregate computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<AggTask> tasks = new ArrayList<AggTask>();
 			int blklen = (int)(Math.ceil((double)m/k));
 			for( int i=0; i<k & i*blklen<m; i++ ) {
@@ -341,7 +341,7 @@ public class LibMatrixAgg
 		//core multi-threaded unary aggregate computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			int blklen = (int)(Math.ceil((double)m/k));
 			
 			//step 1: compute aggregates per row partition
@@ -436,7 +436,7 @@ public class LibMatrixAgg
 		//Timing time = new Timing(true);
 		
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<AggTernaryTask> tasks = new ArrayList<AggTernaryTask>();
 			int blklen = (int)(Math.ceil((double)in1.rlen/k));
 			IndexFunction ixFn = op.indexFn;
@@ -510,7 +510,7 @@ public class LibMatrixAgg
 		//core multi-threaded grouped aggregate computation
 		//(currently: parallelization over columns to avoid additional memory requirements)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<GrpAggTask> tasks = new ArrayList<GrpAggTask>();
 			int blklen = (int)(Math.ceil((double)target.clen/k));
 			for( int i=0; i<k & i*blklen<target.clen; i++ )
@@ -1292,6 +1292,12 @@ public class LibMatrixAgg
 	private static void aggregateUnaryMatrixDense(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, IndexFunction ixFn, int rl, int ru) 
 			throws DMLRuntimeException
 	{
+		//large dense inputs (multiple row-aligned arrays)
+		if( in.isLargeDense() ) {
+			aggregateUnaryMatrixLargeDense(in, out, optype, vFn, ixFn, rl, ru);
+			return;
+		}
+		
 		final int m = in.rlen;
 		final int n = in.clen;
 		
@@ -1411,6 +1417,80 @@ public class LibMatrixAgg
 		}
 	}
 
+	private static void aggregateUnaryMatrixLargeDense(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, IndexFunction ixFn, int rl, int ru) 
+			throws DMLRuntimeException
+	{
+		final int n = in.clen;
+		
+		DenseBlock a = in.getDenseBlockView();
+		double[] c = out.getDenseBlock();
+		
+		//row-wise aggregation via the dense primitives (rows never span multiple arrays)
+		switch( optype )
+		{
+			case KAHAN_SUM: //SUM via k+
+			case KAHAN_SUM_SQ: //SUM_SQ via k+
+			{
+				KahanObject kbuff = new KahanObject(0, 0);
+				boolean sq = (optype == AggType.KAHAN_SUM_SQ);
+				
+				if( ixFn instanceof ReduceAll ) { // SUM/SUM_SQ
+					for( int i=rl; i<ru; i++ ) {
+						if( sq ) sumSq(a.values(i), a.pos(i), n, kbuff, (KahanPlusSq)vFn);
+						else sum(a.values(i), a.pos(i), n, kbuff, (KahanPlus)vFn);
+					}
+					c[0] = kbuff._sum;
+					c[1] = kbuff._correction;
+				}
+				else if( ixFn instanceof ReduceCol ) { //ROWSUM/ROWSUM_SQ
+					for( int i=rl, cix=rl*2; i<ru; i++, cix+=2 ) {
+						kbuff.set(0, 0); //reset buffer
+						if( sq ) sumSq(a.values(i), a.pos(i), n, kbuff, (KahanPlusSq)vFn);
+						else sum(a.values(i), a.pos(i), n, kbuff, (KahanPlus)vFn);
+						c[cix+0] = kbuff._sum;
+						c[cix+1] = kbuff._correction;
+					}
+				}
+				else if( ixFn instanceof ReduceRow ) { //COLSUM/COLSUM_SQ
+					for( int i=rl; i<ru; i++ ) {
+						if( sq ) sumSqAgg(a.values(i), c, a.pos(i), 0, n, kbuff, (KahanPlusSq)vFn);
+						else sumAgg(a.values(i), c, a.pos(i), 0, n, kbuff, (KahanPlus)vFn);
+					}
+				}
+				else
+					throw new DMLRuntimeException("Unsupported large dense aggregation: "+optype+" "+ixFn.getClass().getSimpleName());
+				break;
+			}
+			case MIN: 
+			case MAX: //MAX/MIN
+			{
+				double init = Double.MAX_VALUE * ((optype==AggType.MAX)?-1:1);
+				
+				if( ixFn instanceof ReduceAll ) { // MIN/MAX
+					double val = init;
+					for( int i=rl; i<ru; i++ )
+						val = builtin(a.values(i), a.pos(i), val, n, (Builtin)vFn);
+					c[0] = val;
+				}
+				else if( ixFn instanceof ReduceCol ) { //ROWMIN/ROWMAX
+					for( int i=rl; i<ru; i++ )
+						c[i] = builtin(a.values(i), a.pos(i), init, n, (Builtin)vFn);
+				}
+				else if( ixFn instanceof ReduceRow ) { //COLMIN/COLMAX
+					Arrays.fill(c, init);
+					for( int i=rl; i<ru; i++ )
+						builtinAgg(a.values(i), c, a.pos(i), n, (Builtin)vFn);
+				}
+				else
+					throw new DMLRuntimeException("Unsupported large dense aggregation: "+optype+" "+ixFn.getClass().getSimpleName());
+				break;
+			}
+			
+			default:
+				throw new DMLRuntimeException("Unsupported large dense aggregation type: "+optype);
+		}
+	}
+
 	private static void aggregateUnaryMatrixSparse(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, IndexFunction ixFn, int rl, int ru) 
 			throws DMLRuntimeException
 	{
@@ -38,7 +38,9 @@ import org.apache.sysml.runtime.functionobjects.Plus;
 import org.apache.sysml.runtime.functionobjects.PlusMultiply;
 import org.apache.sysml.runtime.functionobjects.Power2;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.data.DenseVectorKernels.BinaryType;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
@@ -210,6 +212,12 @@ public class LibMatrixBincell
 		{
 			return;
 		}
+		
+		//large dense inputs or outputs (multiple row-aligned arrays)
+		if( m1.isLargeDense() || m2.isLargeDense() || ret.isLargeDense() ) {
+			binaryLargeDense(m1, m2, ret, op);
+			return;
+		}
 	
 		int rlen = m1.rlen;
 		int clen = m1.clen;
@@ -391,12 +399,20 @@ public class LibMatrixBincell
 				ValueFunction fn = op.fn;
 				
 				//compute dense-dense binary, maintain nnz on-the-fly
-				int nnz = 0;
-				for( int i=0; i<m*n; i++ ) {
-					c[i] = fn.execute(a[i], b[i]);
-					nnz += (c[i]!=0)? 1 : 0;
+				DenseVectorKernels simd = DenseVectorKernels.get(m*n);
+				BinaryType btype = DenseVectorKernels.getBinaryType(fn);
+				if( simd != null && btype != null ) {
+					simd.vectBinaryWrite(btype, a, b, c, 0, 0, 0, m*n);
+					ret.nonZeros = simd.countNonZeros(c, 0, m*n);
+				}
+				else {
+					int nnz = 0;
+					for( int i=0; i<m*n; i++ ) {
+						c[i] = fn.execute(a[i], b[i]);
+						nnz += (c[i]!=0)? 1 : 0;
+					}
+					ret.nonZeros = nnz;
 				}
-				ret.nonZeros = nnz;
 			}
 			else if( skipEmpty && (m1.sparse || m2.sparse) ) 
 			{
@@ -438,6 +454,106 @@ public class LibMatrixBincell
 		}
 	}
 
+	/**
+	 * Binary cell operations over large dense inputs or outputs, which
+	 * are processed row by row via the dense block abstraction. Sparse
+	 * or vector inputs are expanded into temporary rows, and the
+	 * operation is applied to all cells (hence sparse-safe and
+	 * sparse-unsafe).
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix (always dense)
+	 * @param op binary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void binaryLargeDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+		throws DMLRuntimeException 
+	{
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		if( atype == BinaryAccessType.INVALID )
+			throw new DMLRuntimeException("Unsupported large dense binary operation: "
+				+m1.rlen+"x"+m1.clen+" and "+m2.rlen+"x"+m2.clen);
+		
+		ret.sparse = false;
+		ret.allocateDenseBlock();
+		DenseBlock c = ret.getDenseBlockView();
+		final int m = ret.rlen;
+		final int n = ret.clen;
+		boolean outer = (atype == BinaryAccessType.OUTER_VECTOR_VECTOR);
+		boolean mvc = (atype == BinaryAccessType.MATRIX_COL_VECTOR);
+		
+		//prepare broadcast row vector of m2, if required
+		double[] tmp1 = new double[n];
+		double[] tmp2 = new double[n];
+		double[] brow = (outer || atype == BinaryAccessType.MATRIX_ROW_VECTOR) ?
+			getRowValues(m2, 0, n, new double[n]) : null;
+		
+		long nnz = 0;
+		for( int i=0; i<m; i++ ) {
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			
+			//obtain left and right rows (without copy for large dense inputs)
+			double[] avals = null, bvals = brow;
+			int aix = 0, bix = 0;
+			if( !outer && !m1.sparse && m1.isLargeDense() ) {
+				DenseBlock a = m1.getDenseBlockView();
+				avals = a.values(i);
+				aix = a.pos(i);
+			}
+			else if( !outer )
+				avals = getRowValues(m1, i, n, tmp1);
+			if( !mvc && !outer && !m2.sparse && m2.isLargeDense() ) {
+				DenseBlock b = m2.getDenseBlockView();
+				bvals = b.values(i);
+				bix = b.pos(i);
+			}
+			else if( !mvc && !outer )
+				bvals = getRowValues(m2, i, n, tmp2);
+			
+			//compute row of output, incl nnz maintenance
+			if( outer ) {
+				double v1 = m1.quickGetValue(i, 0);
+				for( int j=0; j<n; j++ )
+					cvals[cix+j] = op.fn.execute(v1, bvals[j]);
+			}
+			else if( mvc ) {
+				double v2 = m2.quickGetValue(i, 0);
+				for( int j=0; j<n; j++ )
+					cvals[cix+j] = op.fn.execute(avals[aix+j], v2);
+			}
+			else {
+				for( int j=0; j<n; j++ )
+					cvals[cix+j] = op.fn.execute(avals[aix+j], bvals[bix+j]);
+			}
+			nnz += c.countNonZeros(i);
+		}
+		ret.nonZeros = nnz;
+	}
+	
+	private static double[] getRowValues(MatrixBlock mb, int r, int n, double[] tmp) {
+		Arrays.fill(tmp, 0);
+		if( mb.isEmptyBlock(false) )
+			return tmp;
+		if( mb.sparse ) {
+			SparseBlock a = mb.sparseBlock;
+			if( r < a.numRows() && !a.isEmpty(r) ) {
+				int apos = a.pos(r);
+				int alen = a.size(r);
+				int[] aix = a.indexes(r);
+				double[] avals = a.values(r);
+				for( int k=apos; k<apos+alen; k++ )
+					tmp[aix[k]] = avals[k];
+			}
+		}
+		else {
+			DenseBlock a = mb.getDenseBlockView();
+			System.arraycopy(a.values(r), a.pos(r), tmp, 0, n);
+		}
+		return tmp;
+	}
+
 	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
 		throws DMLRuntimeException 
 	{
@@ -809,6 +925,12 @@ public class LibMatrixBincell
 	private static void unsafeBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
 		throws DMLRuntimeException 
 	{
+		//large dense inputs or outputs (multiple row-aligned arrays)
+		if( m1.isLargeDense() || m2.isLargeDense() || ret.isLargeDense() ) {
+			binaryLargeDense(m1, m2, ret, op);
+			return;
+		}
+		
 		int rlen = m1.rlen;
 		int clen = m1.clen;
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
@@ -978,7 +1100,26 @@ public class LibMatrixBincell
 		if( ret.sparse )
 			throw new DMLRuntimeException("Unsupported unsafe binary scalar operations over sparse output representation.");
 		
-		if( m1.sparse ) //SPARSE MATRIX
+		if( m1.sparse && ret.isLargeDense() ) //SPARSE MATRIX, LARGE DENSE OUTPUT
+		{
+			ret.allocateDenseBlock();
+			SparseBlock a = m1.sparseBlock;
+			DenseBlock c = ret.getDenseBlockView();
+			
+			//init dense result with unsafe 0-value, and compute non-zero input values
+			c.set(op.executeScalar(0));
+			for(int i=0; i<m1.rlen; i++) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for(int j=apos; j<apos+alen; j++)
+					c.set(i, aix[j], op.executeScalar(avals[j]));
+			}
+			ret.recomputeNonZeros();
+		}
+		else if( m1.sparse ) //SPARSE MATRIX
 		{
 			ret.allocateDenseBlock();
 			
@@ -1019,11 +1160,37 @@ public class LibMatrixBincell
 		//allocate dense block (if necessary), incl clear nnz
 		ret.allocateDenseBlock(true);
 		
+		//large dense inputs (multiple row-aligned arrays)
+		if( m1.isLargeDense() ) {
+			DenseBlock a = m1.getDenseBlockView();
+			DenseBlock c = ret.getDenseBlockView();
+			final int n = m1.clen;
+			long nnz = 0;
+			for( int i=0; i<m1.rlen; i++ ) {
+				double[] avals = a.values(i), cvals = c.values(i);
+				for( int j=0, aix=a.pos(i), cix=c.pos(i); j<n; j++ ) {
+					cvals[cix+j] = op.executeScalar( avals[aix+j] );
+					nnz += (cvals[cix+j] != 0) ? 1 : 0;
+				}
+			}
+			ret.nonZeros = nnz;
+			return;
+		}
+		
 		double[] a = m1.denseBlock;
 		double[] c = ret.denseBlock;
 		
 		//compute scalar operation, incl nnz maintenance
 		int limit = m1.rlen*m1.clen;
+		DenseVectorKernels simd = DenseVectorKernels.get(limit);
+		BinaryType btype = (op instanceof RightScalarOperator 
+			|| op.fn instanceof Plus || op.fn instanceof Multiply) ? //commutative
+			DenseVectorKernels.getBinaryType(op.fn) : null;
+		if( simd != null && btype != null ) {
+			simd.vectBinaryWrite(btype, a, op.getConstant(), c, 0, 0, limit);
+			ret.nonZeros = simd.countNonZeros(c, 0, limit);
+			return;
+		}
 		int nnz = 0;
 		for( int i=0; i<limit; i++ ) {
 			c[i] = op.executeScalar( a[i] );
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -34,6 +33,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * This class allows users to invoke deep learning related operations 
@@ -1065,7 +1065,7 @@ public class LibMatrixDNN {
 						type, params, im2ColOutBlocks, doutReshapedBlocks, partialRetBlocks));
 			
 			try {
-				ExecutorService pool = Executors.newFixedThreadPool( poolSize );
+				ExecutorService pool = CommonThreadPool.get( poolSize );
 				List<Future<Long>> taskret = pool.invokeAll(tasks);
 				pool.shutdown();
 				for( Future<Long> task : taskret )
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.stream.LongStream;
 
@@ -35,6 +34,7 @@ import org.apache.commons.math3.random.Well1024a;
 import org.apache.sysml.hops.DataGenOp;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.NormalPRNGenerator;
 import org.apache.sysml.runtime.util.PRNGenerator;
 import org.apache.sysml.runtime.util.PoissonPRNGenerator;
@@ -234,6 +234,8 @@ public class LibMatrixDatagen
 		//for consistency with memory estimates and prevent OOMs.
 		if( out.sparse )
 			out.allocateSparseRowsBlock();
+		else if( out.isLargeDense() ) //not supported by datagen yet
+			throw new DMLRuntimeException("Matrix too large for dense CP rand: "+rows+" x "+cols);
 		else
 			out.allocateDenseBlock();	
 		
@@ -321,6 +323,8 @@ public class LibMatrixDatagen
 		out.reset(rows, cols, lsparse);
 		if( out.sparse )
 			out.allocateSparseRowsBlock();
+		else if( out.isLargeDense() ) //not supported by datagen yet
+			throw new DMLRuntimeException("Matrix too large for dense CP rand: "+rows+" x "+cols);
 		else
 			out.allocateDenseBlock();	
 	
@@ -340,7 +344,7 @@ public class LibMatrixDatagen
 		
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<RandTask> tasks = new ArrayList<RandTask>();
 			int blklen = ((int)(Math.ceil((double)parnb/k)));
 			for( int i=0; i<k & i*blklen<parnb; i++ ) {
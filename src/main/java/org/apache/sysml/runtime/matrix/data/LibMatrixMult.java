@@ -26,7 +26,6 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.commons.math3.util.FastMath;
@@ -40,6 +39,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
@@ -73,6 +73,18 @@ public class LibMatrixMult
 	private static final long PAR_MINFLOP_THRESHOLD = 2L*1024*1024; //MIN 2 MFLOP
 	private static final int L2_CACHESIZE = 256 *1024; //256KB (common size)
 	
+	//configuration of packed dense-dense matrix mult (register tile MRxNR, 
+	//MRxKC a sliver and KCxNR b sliver in L1, MCxKC a block in L2, KCxNC b panel in L3)
+	private static final int PACK_MR = 4;    //micro-kernel rows
+	private static final int PACK_NR = 4;    //micro-kernel cols
+	private static final int PACK_KC = 256;  //8KB a/b slivers
+	private static final int PACK_MC = 96;   //192KB a block
+	private static final int PACK_NC = 2048; //4MB b panel
+	
+	//use packed, register-tiled dense-dense matrix mult w/ 2D task decomposition
+	//(experimental, enabled via cp.packed.matrixmult)
+	public static boolean PACKED_DENSE_MM = false;
+	
 	private LibMatrixMult() {
 		//prevent instantiation via private constructor
 	}
@@ -133,6 +145,12 @@ public class LibMatrixMult
 			return;
 		}
 		
+		//large dense inputs or outputs (multiple row-aligned arrays)
+		if( checkLargeDenseMatrixMult(m1, m2) ) {
+			matrixMultLargeDense(m1, m2, ret, rl, ru, examSparsity, 1);
+			return;
+		}
+		
 		//Timing time = new Timing(true);
 		
 		//pre-processing: output allocation
@@ -189,6 +207,12 @@ public class LibMatrixMult
 			return;
 		}
 		
+		//large dense inputs or outputs (multiple row-aligned arrays)
+		if( checkLargeDenseMatrixMult(m1, m2) ) {
+			matrixMultLargeDense(m1, m2, ret, 0, m1.rlen, true, k);
+			return;
+		}
+		
 		//check too high additional vector-matrix memory requirements (fallback to sequential)
 		//check too small workload in terms of flops (fallback to sequential too)
 		if( m1.rlen == 1 && (8L * m2.clen * k > MEM_OVERHEAD_THRESHOLD || !LOW_LEVEL_OPTIMIZATION || m2.clen==1 || m1.isUltraSparse() || m2.isUltraSparse()) 
@@ -221,14 +245,34 @@ public class LibMatrixMult
 		int num = pm2r ? m2.rlen : pm2c ? m2.clen : m1.rlen; 
 		
 		//core multi-threaded matrix mult computation
-		//(currently: always parallelization over number of rows)
+		//(parallelization over rows, except for rhs-parallel vector-matrix, 
+		//and 2D row/column partitioning for packed dense-dense matrix mult)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultTask> tasks = new ArrayList<MatrixMultTask>();
-			int nk = (pm2r||pm2c) ? k : UtilFunctions.roundToNext(Math.min(8*k,num/32), k);
-			ArrayList<Integer> blklens = getBalancedBlockSizes(num, nk);
-			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
-				tasks.add(new MatrixMultTask(m1, m2, ret, tm2, pm2r, pm2c, lb, lb+blklens.get(i)));
+			if( checkPackedMatrixMultDenseDense(m1, m2, tm2, pm2r || pm2c) ) {
+				//2D decomposition into row x column blocks (col blocks aligned to micro tiles)
+				int nk = UtilFunctions.roundToNext(Math.min(8*k, Math.max(m1.rlen/32,1)), k);
+				int ncb = (int)Math.max(1, Math.min(nk, Math.round(Math.sqrt((double)nk*m2.clen/m1.rlen))));
+				ncb = Math.min(ncb, (int)Math.ceil((double)m2.clen/PACK_NR));
+				int nrb = Math.min((int)Math.ceil((double)nk/ncb), m1.rlen);
+				ArrayList<Integer> rblklens = getBalancedBlockSizes(m1.rlen, nrb);
+				ArrayList<Integer> cblklens = getBalancedBlockSizes((int)Math.ceil((double)m2.clen/PACK_NR), ncb);
+				for( int i=0, rl=0; i<rblklens.size(); rl+=rblklens.get(i), i++ )
+					for( int j=0, cl=0; j<cblklens.size(); cl+=cblklens.get(j)*PACK_NR, j++ )
+						tasks.add(new MatrixMultTask(m1, m2, ret, tm2, false, false, rl, rl+rblklens.get(i), 
+							cl, Math.min(cl+cblklens.get(j)*PACK_NR, m2.clen)));
+			}
+			else {
+				int nk = (pm2r||pm2c) ? k : UtilFunctions.roundToNext(Math.min(8*k,num/32), k);
+				ArrayList<Integer> blklens = getBalancedBlockSizes(num, nk);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ ) {
+					int ub = lb + blklens.get(i);
+					tasks.add( pm2c ? 
+						new MatrixMultTask(m1, m2, ret, tm2, pm2r, pm2c, 0, m1.rlen, lb, ub) :
+						new MatrixMultTask(m1, m2, ret, tm2, pm2r, pm2c, lb, ub, 0, ret.clen) );
+				}
+			}
 			//execute tasks
 			List<Future<Object>> taskret = pool.invokeAll(tasks);	
 			pool.shutdown();
@@ -285,6 +329,8 @@ public class LibMatrixMult
 		//core matrix mult chain computation
 		if( mX.sparse )
 			matrixMultChainSparse(mX, mV, mW, ret, ct, 0, mX.rlen);
+		else if( mX.isLargeDense() )
+			matrixMultChainLargeDense(mX, mV, mW, ret, ct, 0, mX.rlen);
 		else
 			matrixMultChainDense(mX, mV, mW, ret, ct, 0, mX.rlen);
 		
@@ -338,7 +384,7 @@ public class LibMatrixMult
 		//core matrix mult chain computation
 		//(currently: always parallelization over number of rows)
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultChainTask> tasks = new ArrayList<MatrixMultChainTask>();
 			int blklen = (int)(Math.ceil((double)mX.rlen/k));
 			blklen += (blklen%24 != 0)?24-blklen%24:0;
@@ -379,7 +425,9 @@ public class LibMatrixMult
 		ret.sparse = false;
 		ret.allocateDenseBlock();
 
-		if( m1.sparse )
+		if( m1.isLargeDense() || ret.isLargeDense() )
+			matrixMultTransposeSelfLargeDense(m1, ret, leftTranspose, 0, ret.rlen);
+		else if( m1.sparse )
 			matrixMultTransposeSelfSparse(m1, ret, leftTranspose, 0, ret.rlen);
 		else 
 			matrixMultTransposeSelfDense(m1, ret, leftTranspose, 0, ret.rlen );
@@ -420,7 +468,7 @@ public class LibMatrixMult
 	
 		//core multi-threaded matrix mult computation
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			ArrayList<MatrixMultTransposeTask> tasks = new ArrayList<MatrixMultTransposeTask>();
 			//load balance via #tasks=2k due to triangular shape 
 			int blklen = (int)(Math.ceil((double)ret.rlen/(2*k)));
@@ -500,7 +548,7 @@ public class LibMatrixMult
 		
 		try
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultPermuteTask> tasks = new ArrayList<MatrixMultPermuteTask>();
 			int blklen = (int)(Math.ceil((double)pm1.rlen/k));
 			for( int i=0; i<k & i*blklen<pm1.rlen; i++ )
@@ -571,7 +619,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWSLossTask> tasks = new ArrayList<MatrixMultWSLossTask>();
 			int blklen = (int)(Math.ceil((double)mX.rlen/k));
 			for( int i=0; i<k & i*blklen<mX.rlen; i++ )
@@ -643,7 +691,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWSigmoidTask> tasks = new ArrayList<MatrixMultWSigmoidTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -758,7 +806,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWDivTask> tasks = new ArrayList<MatrixMultWDivTask>();			
 			//create tasks (for wdivmm-left, parallelization over columns;
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
@@ -835,7 +883,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWCeTask> tasks = new ArrayList<MatrixMultWCeTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -907,7 +955,7 @@ public class LibMatrixMult
 		
 		try 
 		{			
-			ExecutorService pool = Executors.newFixedThreadPool(k);
+			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<MatrixMultWuTask> tasks = new ArrayList<MatrixMultWuTask>();
 			int blklen = (int)(Math.ceil((double)mW.rlen/k));
 			for( int i=0; i<k & i*blklen<mW.rlen; i++ )
@@ -935,6 +983,88 @@ public class LibMatrixMult
 	// optimized matrix mult implementation //
 	//////////////////////////////////////////
 
+	private static void matrixMultLargeDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int rl, int ru, boolean examSparsity, int k) 
+		throws DMLRuntimeException
+	{
+		//pre-processing: output allocation (always dense, potentially large)
+		ret.sparse = false;
+		ret.allocateDenseBlock();
+		
+		//core matrix mult computation (row-wise over m1, sequential or parallel)
+		if( k <= 1 || ru-rl == 1 ) {
+			ret.nonZeros = matrixMultLargeDense(m1, m2, ret, rl, ru);
+		}
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get( k );
+				ArrayList<MatrixMultLargeDenseTask> tasks = new ArrayList<MatrixMultLargeDenseTask>();
+				ArrayList<Integer> blklens = getBalancedBlockSizes(ru-rl, Math.min(8*k, ru-rl));
+				for( int i=0, lb=rl; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new MatrixMultLargeDenseTask(m1, m2, ret, lb, lb+blklens.get(i)));
+				List<Future<Long>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				ret.nonZeros = 0;
+				for( Future<Long> task : taskret )
+					ret.nonZeros += task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		//post-processing: representation
+		if( examSparsity )
+			ret.examSparsity();
+	}
+	
+	private static long matrixMultLargeDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int rl, int ru) 
+	{
+		DenseBlock a = !m1.sparse ? m1.getDenseBlockView() : null;
+		DenseBlock b = !m2.sparse ? m2.getDenseBlockView() : null;
+		DenseBlock c = ret.getDenseBlockView();
+		SparseBlock sb = m2.sparse ? m2.sparseBlock : null;
+		final int cd = m1.clen;
+		final int n = m2.clen;
+		long nnz = 0;
+		
+		for( int i=rl; i < ru; i++ ) {
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			
+			if( a != null ) { //DENSE LEFT
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				if( n == 1 && b != null && b.isContiguous() ) //MATRIX-VECTOR
+					cvals[cix] = dotProduct(avals, b.values(0), aix, 0, cd);
+				else
+					for( int k=0; k < cd; k++ )
+						matrixMultLargeDenseRow(avals[aix+k], b, sb, k, cvals, cix, n);
+			}
+			else if( !m1.sparseBlock.isEmpty(i) ) { //SPARSE LEFT
+				SparseBlock sa = m1.sparseBlock;
+				int apos = sa.pos(i);
+				int alen = sa.size(i);
+				int[] aix = sa.indexes(i);
+				double[] avals = sa.values(i);
+				for( int k=apos; k < apos+alen; k++ )
+					matrixMultLargeDenseRow(avals[k], b, sb, aix[k], cvals, cix, n);
+			}
+			
+			nnz += c.countNonZeros(i);
+		}
+		
+		return nnz;
+	}
+	
+	private static void matrixMultLargeDenseRow(double aval, DenseBlock b, SparseBlock sb, int k, double[] c, int ci, int n) {
+		if( aval == 0 )
+			return;
+		if( b != null ) //DENSE RIGHT
+			vectMultiplyAdd(aval, b.values(k), c, b.pos(k), ci, n);
+		else if( !sb.isEmpty(k) ) //SPARSE RIGHT
+			vectMultiplyAdd(aval, sb.values(k), c, sb.indexes(k), sb.pos(k), ci, sb.size(k));
+	}
+	
 	private static void matrixMultDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean tm2, boolean pm2, int rl, int ru, int cl, int cu) 
 		throws DMLRuntimeException
 	{			
@@ -1038,6 +1168,10 @@ public class LibMatrixMult
 					for( int j=0, bix=0; j<n2; j++, bix+=cd )
 						c[cix+j] = dotProduct(a, b, aix, bix, cd);
 			}
+			else if( PACKED_DENSE_MM && m>=PACK_MR && n>=PACK_NR ) //MATRIX-MATRIX (packed)
+			{
+				matrixMultDenseDensePacked(a, b, c, n, cd, rl, ru, cl, cu);
+			}
 			else                          //MATRIX-MATRIX
 			{	
 				//1) Unrolled inner loop (for better instruction-level parallelism)
@@ -1102,6 +1236,127 @@ public class LibMatrixMult
 		
 	}
 
+	/**
+	 * Packed, register-tiled dense-dense matrix mult (GotoBLAS/BLIS-style) for
+	 * the output range [rl,ru) x [cl,cu). We pack KCxNC panels of b into NR-wide 
+	 * column slivers and MCxKC blocks of a into MR-high row slivers (both k-major
+	 * and zero-padded), and compute MRxNR tiles of c with an unrolled micro kernel 
+	 * that keeps all partial results in registers.
+	 * 
+	 * @param a dense lhs
+	 * @param b dense rhs
+	 * @param c dense output
+	 * @param n number of columns in rhs/output
+	 * @param cd common dimension
+	 * @param rl row lower bound
+	 * @param ru row upper bound (exclusive)
+	 * @param cl column lower bound
+	 * @param cu column upper bound (exclusive)
+	 */
+	private static void matrixMultDenseDensePacked(double[] a, double[] b, double[] c, final int n, final int cd, int rl, int ru, int cl, int cu) 
+	{
+		//thread-local packing buffers (padded to full micro tiles)
+		final int kc = Math.min(PACK_KC, cd);
+		double[] pa = new double[UtilFunctions.roundToNext(Math.min(PACK_MC, ru-rl), PACK_MR) * kc];
+		double[] pb = new double[UtilFunctions.roundToNext(Math.min(PACK_NC, cu-cl), PACK_NR) * kc];
+		
+		//blocked execution (b panel in L3, a block in L2, slivers in L1)
+		for( int bj = cl; bj < cu; bj+=PACK_NC ) {
+			int bjlen = Math.min(cu, bj+PACK_NC)-bj;
+			for( int bk = 0; bk < cd; bk+=PACK_KC ) {
+				int bklen = Math.min(cd, bk+PACK_KC)-bk;
+				packRightPanel(b, pb, n, bk, bklen, bj, bjlen);
+				for( int bi = rl; bi < ru; bi+=PACK_MC ) {
+					int bilen = Math.min(ru, bi+PACK_MC)-bi;
+					packLeftBlock(a, pa, cd, bi, bilen, bk, bklen);
+					
+					//macro kernel over MRxNR tiles of c
+					for( int j = 0; j < bjlen; j+=PACK_NR ) {
+						int jlen = Math.min(PACK_NR, bjlen-j);
+						for( int i = 0, cix = bi*n+bj+j; i < bilen; i+=PACK_MR, cix+=PACK_MR*n ) {
+							int ilen = Math.min(PACK_MR, bilen-i);
+							if( ilen==PACK_MR && jlen==PACK_NR )
+								packedMicroKernel4x4(pa, pb, c, i*bklen, j*bklen, cix, n, bklen);
+							else
+								packedMicroKernelEdge(pa, pb, c, i*bklen, j*bklen, cix, n, bklen, ilen, jlen);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	private static void packLeftBlock(double[] a, double[] pa, final int cd, int bi, int bilen, int bk, int bklen) {
+		//pack a block into MR-high row slivers (k-major, zero-padded)
+		for( int i = 0, pix = 0; i < bilen; i+=PACK_MR ) {
+			int ilen = Math.min(PACK_MR, bilen-i);
+			for( int k = 0, aix = (bi+i)*cd+bk; k < bklen; k++, aix++, pix+=PACK_MR ) {
+				for( int r = 0; r < ilen; r++ )
+					pa[pix+r] = a[aix+r*cd];
+				for( int r = ilen; r < PACK_MR; r++ )
+					pa[pix+r] = 0;
+			}
+		}
+	}
+	
+	private static void packRightPanel(double[] b, double[] pb, final int n, int bk, int bklen, int bj, int bjlen) {
+		//pack b panel into NR-wide column slivers (k-major, zero-padded)
+		for( int j = 0, pix = 0; j < bjlen; j+=PACK_NR ) {
+			int jlen = Math.min(PACK_NR, bjlen-j);
+			for( int k = 0, bix = bk*n+bj+j; k < bklen; k++, bix+=n, pix+=PACK_NR ) {
+				if( jlen == PACK_NR ) {
+					pb[pix]   = b[bix];
+					pb[pix+1] = b[bix+1];
+					pb[pix+2] = b[bix+2];
+					pb[pix+3] = b[bix+3];
+				}
+				else {
+					for( int r = 0; r < jlen; r++ )
+						pb[pix+r] = b[bix+r];
+					for( int r = jlen; r < PACK_NR; r++ )
+						pb[pix+r] = 0;
+				}
+			}
+		}
+	}
+	
+	private static void packedMicroKernel4x4(double[] pa, double[] pb, double[] c, int pai, int pbi, int cix, final int n, final int len) 
+	{
+		//4x4 register tile of partial results
+		double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+		double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+		double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+		double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+		
+		//rank-1 updates over common dimension
+		for( int k = 0; k < len; k++, pai+=PACK_MR, pbi+=PACK_NR ) {
+			final double a0 = pa[pai], a1 = pa[pai+1], a2 = pa[pai+2], a3 = pa[pai+3];
+			final double b0 = pb[pbi], b1 = pb[pbi+1], b2 = pb[pbi+2], b3 = pb[pbi+3];
+			c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+			c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+			c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+			c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+		}
+		
+		//write back register tile
+		c[cix] += c00; c[cix+1] += c01; c[cix+2] += c02; c[cix+3] += c03; cix += n;
+		c[cix] += c10; c[cix+1] += c11; c[cix+2] += c12; c[cix+3] += c13; cix += n;
+		c[cix] += c20; c[cix+1] += c21; c[cix+2] += c22; c[cix+3] += c23; cix += n;
+		c[cix] += c30; c[cix+1] += c31; c[cix+2] += c32; c[cix+3] += c33;
+	}
+	
+	private static void packedMicroKernelEdge(double[] pa, double[] pb, double[] c, int pai, int pbi, int cix, final int n, final int len, int ilen, int jlen) 
+	{
+		//partial tiles at the bottom/right fringe of the output range
+		for( int i = 0; i < ilen; i++, cix+=n )
+			for( int j = 0; j < jlen; j++ ) {
+				double val = 0;
+				for( int k = 0, aix = pai+i, bix = pbi+j; k < len; k++, aix+=PACK_MR, bix+=PACK_NR )
+					val += pa[aix] * pb[bix];
+				c[cix+j] += val;
+			}
+	}
+
 	private static void matrixMultDenseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
@@ -1609,6 +1864,27 @@ public class LibMatrixMult
 		}
 	}
 
+	private static void matrixMultChainLargeDense(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
+	{
+		DenseBlock a = mX.getDenseBlockView();
+		double[] b = mV.denseBlock;
+		double[] w = (mW!=null) ? mW.denseBlock : null;
+		double[] c = ret.denseBlock;
+		final int cd = mX.clen; //features in X
+		boolean weights = (ct == ChainType.XtwXv);
+		boolean weights2 = (ct == ChainType.XtXvy);
+		
+		//row-wise mmchain computation (rows never span multiple arrays)
+		for( int i=rl; i < ru; i++ ) {
+			double[] avals = a.values(i);
+			int aix = a.pos(i);
+			double val = dotProduct(avals, b, aix, 0, cd);
+			val *= (weights) ? w[i] : 1;
+			val -= (weights2) ? w[i] : 0;
+			vectMultiplyAdd(val, avals, c, aix, 0, cd);
+		}
+	}
+
 	private static void matrixMultChainSparse(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
 	{
 		SparseBlock a = mX.sparseBlock;
@@ -1657,6 +1933,45 @@ public class LibMatrixMult
 		}
 	}
 
+	private static void matrixMultTransposeSelfLargeDense( MatrixBlock m1, MatrixBlock ret, boolean leftTranspose, int rl, int ru ) 
+		throws DMLRuntimeException
+	{
+		//transpose self matrix multiply for large dense inputs or outputs
+		// (compute only upper-triangular matrix due to symmetry)
+		if( m1.sparse )
+			throw new DMLRuntimeException("Unsupported sparse tsmm with large dense output.");
+		DenseBlock a = m1.getDenseBlockView();
+		DenseBlock c = ret.getDenseBlockView();
+		int m = m1.rlen;
+		int n = m1.clen;
+		
+		if( leftTranspose ) // t(X)%*%X
+		{
+			//row-wise rank-1 updates of output rows [rl,ru)
+			for( int i=0; i < m; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=rl; j < ru; j++ ) {
+					double val = avals[aix+j];
+					if( val != 0 )
+						vectMultiplyAdd(val, avals, c.values(j), aix+j, c.pos(j)+j, n-j);
+				}
+			}
+		}
+		else // X%*%t(X)
+		{
+			//dot products of row pairs for output rows [rl,ru)
+			for( int i=rl; i < ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				double[] cvals = c.values(i);
+				int cix = c.pos(i);
+				for( int j=i; j < m; j++ )
+					cvals[cix+j] = dotProduct(avals, a.values(j), aix, a.pos(j), n);
+			}
+		}
+	}
+
 	private static void matrixMultTransposeSelfDense( MatrixBlock m1, MatrixBlock ret, boolean leftTranspose, int rl, int ru ) 
 		throws DMLRuntimeException
 	{
@@ -2879,6 +3194,10 @@ public class LibMatrixMult
 	 */
 	private static double dotProduct( double[] a, double[] b, final int len )
 	{
+		DenseVectorKernels simd = DenseVectorKernels.get(len);
+		if( simd != null )
+			return simd.dotProduct(a, b, 0, 0, len);
+		
 		double val = 0;
 		final int bn = len%8;
 				
@@ -2908,6 +3227,10 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static double dotProduct( double[] a, double[] b, int ai, int bi, final int len )
 	{
+		DenseVectorKernels simd = DenseVectorKernels.get(len);
+		if( simd != null )
+			return simd.dotProduct(a, b, ai, bi, len);
+		
 		double val = 0;
 		final int bn = len%8;
 				
@@ -2967,6 +3290,12 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyAdd( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
+		DenseVectorKernels simd = DenseVectorKernels.get(len);
+		if( simd != null ) {
+			simd.vectMultiplyAdd(aval, b, c, bi, ci, len);
+			return;
+		}
+		
 		final int bn = len%8;
 		
 		//rest, not aligned to 8-blocks
@@ -3122,6 +3451,12 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyWrite( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
+		DenseVectorKernels simd = DenseVectorKernels.get(len);
+		if( simd != null ) {
+			simd.vectMultiplyWrite(aval, b, c, bi, ci, len);
+			return;
+		}
+		
 		final int bn = len%8;
 		
 		//rest, not aligned to 8-blocks
@@ -3199,6 +3534,12 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static void vectAdd( double[] a, double[] c, int ai, int ci, final int len )
 	{
+		DenseVectorKernels simd = DenseVectorKernels.get(len);
+		if( simd != null ) {
+			simd.vectAdd(a, c, ai, ci, len);
+			return;
+		}
+		
 		final int bn = len%8;
 		
 		//rest, not aligned to 8-blocks
@@ -3416,6 +3757,15 @@ public class LibMatrixMult
 	 */
 	private static void copyUpperToLowerTriangle( MatrixBlock ret )
 	{
+		//large dense output (multiple row-aligned arrays)
+		if( ret.isLargeDense() ) {
+			DenseBlock c = ret.getDenseBlockView();
+			for( int i=0; i<ret.rlen; i++ )
+				for( int j=i+1; j<ret.clen; j++ )
+					c.set(j, i, c.get(i, j));
+			return;
+		}
+		
 		double[] c = ret.denseBlock;
 		final int m = ret.rlen;
 		final int n = ret.clen;
@@ -3442,6 +3792,13 @@ public class LibMatrixMult
 		return ret;
 	}
 
+	private static boolean checkLargeDenseMatrixMult( MatrixBlock m1, MatrixBlock m2 ) {
+		//use large dense kernel if any dense input or the dense output exceeds a single array
+		return m1.isLargeDense() || m2.isLargeDense() 
+			|| (!m1.isUltraSparse() && !m2.isUltraSparse() 
+				&& DenseBlockFactory.isLargeDenseBlock(m1.rlen, m2.clen));
+	}
+
 	private static boolean checkPrepMatrixMultRightInput( MatrixBlock m1, MatrixBlock m2 )
 	{
 		//transpose if dense-dense, skinny rhs matrix (not vector), and memory guarded by output 
@@ -3450,6 +3807,12 @@ public class LibMatrixMult
 				&& 8*m2.rlen*m2.clen < 256*1024 ); //rhs fits in L2 cache
 	}
 
+	private static boolean checkPackedMatrixMultDenseDense( MatrixBlock m1, MatrixBlock m2, boolean tm2, boolean pm2 ) {
+		//use packed kernel if enabled, dense-dense, and general matrix-matrix (see matrixMultDenseDense)
+		return (PACKED_DENSE_MM && LOW_LEVEL_OPTIMIZATION && !m1.sparse && !m2.sparse
+				&& !tm2 && !pm2 && m1.clen > 1 && m1.rlen >= PACK_MR && m2.clen >= PACK_NR );
+	}
+
 	private static boolean checkParMatrixMultRightInputRows( MatrixBlock m1, MatrixBlock m2, int k ) {
 		//parallelize over rows in rhs matrix if number of rows in lhs/output is very small
 		return (m1.rlen==1 && LOW_LEVEL_OPTIMIZATION && m2.clen>1 && !(m1.isUltraSparse()||m2.isUltraSparse()))
@@ -3564,9 +3927,11 @@ public class LibMatrixMult
 		
 		private int _rl = -1;
 		private int _ru = -1;
+		private int _cl = -1;
+		private int _cu = -1;
 
 		protected MatrixMultTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, 
-				boolean tm2, boolean pm2r, boolean pm2c, int rl, int ru )
+				boolean tm2, boolean pm2r, boolean pm2c, int rl, int ru, int cl, int cu )
 		{
 			_m1 = m1;
 			_m2 = m2;
@@ -3575,6 +3940,8 @@ public class LibMatrixMult
 			_pm2c = pm2c;
 			_rl = rl;
 			_ru = ru;
+			_cl = cl;
+			_cu = cu;
 			
 			if( pm2r ) { //vector-matrix / matrix-matrix
 				//allocate local result for partial aggregation
@@ -3589,10 +3956,8 @@ public class LibMatrixMult
 		public Object call() throws DMLRuntimeException
 		{
 			//setup target index ranges
-			int rl = _pm2c ? 0 : _rl;
-			int ru = _pm2c ? _m1.rlen : _ru;
-			int cl = _pm2c ? _rl : 0;
-			int cu = _pm2c ? _ru : _ret.clen;
+			int rl = _rl, ru = _ru;
+			int cl = _cl, cu = _cu;
 			
 			//thread-local allocation
 			if( _pm2r )
@@ -3618,6 +3983,28 @@ public class LibMatrixMult
 		}
 	}
 
+	private static class MatrixMultLargeDenseTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+
+		protected MatrixMultLargeDenseTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int rl, int ru ) {
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			return matrixMultLargeDense(_m1, _m2, _ret, _rl, _ru);
+		}
+	}
+
 	private static class MatrixMultChainTask implements Callable<double[]> 
 	{
 		private MatrixBlock _m1  = null;
@@ -3647,6 +4034,8 @@ public class LibMatrixMult
 			
 			if( _m1.sparse )
 				matrixMultChainSparse(_m1, _m2, _m3, ret, _ct, _rl, _ru);
+			else if( _m1.isLargeDense() )
+				matrixMultChainLargeDense(_m1, _m2, _m3, ret, _ct, _rl, _ru);
 			else
 				matrixMultChainDense(_m1, _m2, _m3, ret, _ct, _rl, _ru);
 			
@@ -3678,7 +4067,9 @@ public class LibMatrixMult
 		@Override
 		public Object call() throws DMLRuntimeException
 		{
-			if( _m1.sparse )
+			if( _m1.isLargeDense() || _ret.isLargeDense() )
+				matrixMultTransposeSelfLargeDense(_m1, _ret, _left, _rl, _ru);
+			else if( _m1.sparse )
 				matrixMultTransposeSelfSparse(_m1, _ret, _left, _rl, _ru);
 			else
 				matrixMultTransposeSelfDense(_m1, _ret, _left, _rl, _ru);
@@ -30,7 +30,6 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -41,6 +40,7 @@ import org.apache.sysml.runtime.functionobjects.SortIndex;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -105,7 +105,7 @@ public class LibMatrixReorg
 				return diag(in, out); 
 			case SORT:      
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			
 			default:        
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
@@ -122,6 +122,12 @@ public class LibMatrixReorg
 		//set basic meta data
 		out.nonZeros = in.nonZeros;
 		
+		//large dense inputs or outputs (multiple row-aligned arrays)
+		if( in.isLargeDense() || out.isLargeDense() ) {
+			transposeLargeDense( in, out );
+			return out;
+		}
+		
 		//shallow dense vector transpose (w/o result allocation)
 		//since the physical representation of dense vectors is always the same,
 		//we don't need to create a copy, given our copy on write semantics.
@@ -162,7 +168,8 @@ public class LibMatrixReorg
 		if( in.isEmptyBlock(false) || (in.rlen * in.clen < PAR_NUMCELL_THRESHOLD) || k == 1
 			|| (SHALLOW_DENSE_VECTOR_TRANSPOSE && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1) )
 			|| (in.sparse && !out.sparse && in.rlen==1) || (!in.sparse && out.sparse && in.rlen==1) 
-			|| (!in.sparse && out.sparse) || !out.isThreadSafe())
+			|| (!in.sparse && out.sparse) || !out.isThreadSafe()
+			|| in.isLargeDense() || out.isLargeDense() )
 		{
 			return transpose(in, out);
 		}
@@ -178,7 +185,7 @@ public class LibMatrixReorg
 		
 		//core multi-threaded transpose
 		try {
-			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ExecutorService pool = CommonThreadPool.get( k );
 			//pre-processing (compute nnz per column once for sparse)
 			int[] cnt = null;
 			if( in.sparse && out.sparse ) {
@@ -310,6 +317,27 @@ public class LibMatrixReorg
 
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
+	{
+		return sort(in, out, by, desc, ixret, 1);
+	}
+	
+	/**
+	 * CP sort operation of data or indexes by a given column. The parameter k (k&gt;=1) 
+	 * determines the max parallelism for sorting large inputs, which produces exactly
+	 * the same (stable) output as the sequential sort. For sparse inputs, only the
+	 * non-zeros of the sort column are sorted and the zero rows are spliced in.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param by sort column (1-based)
+	 * @param desc if true, sort in descending order
+	 * @param ixret if true, return sorted indexes instead of data
+	 * @param k maximum parallelism
+	 * @return output matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret, int k) 
+		throws DMLRuntimeException
 	{
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
@@ -331,7 +359,10 @@ public class LibMatrixReorg
 			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense
-				Arrays.sort(out.denseBlock);
+				if( k > 1 && rlen >= PAR_NUMCELL_THRESHOLD )
+					sortParallel(out.denseBlock, null, rlen, false, true, k);
+				else
+					Arrays.sort(out.denseBlock);
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -348,38 +379,9 @@ public class LibMatrixReorg
 		}
 		
 		//step 3: index vector sorting
-		
-		//create index vector and extract values
-		int[] vix = new int[rlen];
-		double[] values = new double[rlen];
-		for( int i=0; i<rlen; i++ ) {
-			vix[i] = i;
-			values[i] = in.quickGetValue(i, by-1);
-		}
-		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
-
-		//flip order if descending requested (note that this needs to happen
-		//before we ensure stable outputs, hence we also flip values)
-		if(desc) {
-			sortReverseDense(vix);
-			sortReverseDense(values);
-		}
-		
-		//final pass to ensure stable output
-		for( int i=0; i<rlen-1; i++ ) {
-			double tmp = values[i];
-			//determine run of equal values
-			int len = 0;
-			while( i+len+1<rlen && tmp==values[i+len+1] )
-				len++;
-			//unstable sort of run indexes (equal value guaranteed)
-			if( len>0 ) {
-				Arrays.sort(vix, i, i+len+1);
-				i += len; //skip processed run
-			}
-		}
+		int[] vix = sparse ? 
+			sortIndexesSparse(in, by, desc, k) : 
+			sortIndexesDense(in, by, desc, k);
 
 		//step 4: create output matrix (guaranteed non-empty, see step 2)
 		if( !ixret )
@@ -414,6 +416,188 @@ public class LibMatrixReorg
 		return out;
 	}
 	
+	private static int[] sortIndexesDense(MatrixBlock in, int by, boolean desc, int k) 
+		throws DMLRuntimeException
+	{
+		final int rlen = in.rlen;
+		
+		//create index vector and extract values
+		int[] vix = new int[rlen];
+		double[] values = new double[rlen];
+		for( int i=0; i<rlen; i++ ) {
+			vix[i] = i;
+			values[i] = in.quickGetValue(i, by-1);
+		}
+		
+		//stable sort of index vector on extracted data
+		if( k > 1 && rlen >= PAR_NUMCELL_THRESHOLD )
+			sortParallel(values, vix, rlen, desc, false, k);
+		else
+			sortIndexesStable(values, vix, 0, rlen, desc);
+		
+		return vix;
+	}
+	
+	private static int[] sortIndexesSparse(MatrixBlock in, int by, boolean desc, int k) 
+		throws DMLRuntimeException
+	{
+		final int rlen = in.rlen;
+		SparseBlock a = in.sparseBlock;
+		
+		//extract non-zeros of sort column (in front, w/ row indexes)
+		//and row indexes of zeros (at the end, in reverse order)
+		int[] vix = new int[rlen];
+		double[] values = new double[rlen];
+		int nnz = 0, nz = rlen;
+		for( int i=0; i<rlen; i++ ) {
+			double val = (a==null || a.isEmpty(i)) ? 0 : a.get(i, by-1);
+			if( val != 0 ) {
+				values[nnz] = val;
+				vix[nnz++] = i;
+			}
+			else
+				vix[--nz] = i;
+		}
+		sortReverseDense(vix, nnz, rlen);
+		
+		//stable sort of non-zeros only
+		if( k > 1 && nnz >= PAR_NUMCELL_THRESHOLD )
+			sortParallel(values, vix, nnz, desc, false, k);
+		else
+			sortIndexesStable(values, vix, 0, nnz, desc);
+		
+		//splice in zeros (after negative/positive values for asc/desc)
+		int pos = 0;
+		while( pos < nnz && (desc ? values[pos] > 0 : values[pos] < 0) )
+			pos++;
+		if( pos < nnz && nnz < rlen ) {
+			int[] tmp = Arrays.copyOfRange(vix, pos, nnz);
+			System.arraycopy(vix, nnz, vix, pos, rlen-nnz);
+			System.arraycopy(tmp, 0, vix, pos+rlen-nnz, tmp.length);
+		}
+		
+		return vix;
+	}
+	
+	private static void sortIndexesStable(double[] values, int[] vix, int rl, int ru, boolean desc) 
+	{
+		//sort index vector on extracted data (unstable)
+		SortUtils.sortByValue(rl, ru, values, vix);
+
+		//flip order if descending requested (note that this needs to happen
+		//before we ensure stable outputs, hence we also flip values)
+		if(desc) {
+			sortReverseDense(vix, rl, ru);
+			sortReverseDense(values, rl, ru);
+		}
+		
+		//final pass to ensure stable output
+		for( int i=rl; i<ru-1; i++ ) {
+			double tmp = values[i];
+			//determine run of equal values
+			int len = 0;
+			while( i+len+1<ru && tmp==values[i+len+1] )
+				len++;
+			//unstable sort of run indexes (equal value guaranteed)
+			if( len>0 ) {
+				Arrays.sort(vix, i, i+len+1);
+				i += len; //skip processed run
+			}
+		}
+	}
+	
+	/**
+	 * Parallel merge sort of values (and optionally an aligned index vector) in 
+	 * the range [0,len). We sort k contiguous runs in parallel, and subsequently
+	 * merge adjacent pairs of runs in parallel rounds. Since ties are always taken 
+	 * from the left run, the output is identical to the sequential stable sort.
+	 * 
+	 * @param values values to sort
+	 * @param vix index vector (optional) 
+	 * @param len number of values
+	 * @param desc if true, sort in descending order (only w/ index vector)
+	 * @param total if true, use total order of Arrays.sort (only w/o index vector)
+	 * @param k maximum parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void sortParallel(double[] values, int[] vix, int len, boolean desc, boolean total, int k) 
+		throws DMLRuntimeException
+	{
+		try {
+			ExecutorService pool = CommonThreadPool.get( k );
+			
+			//sort k runs independently
+			ArrayList<Integer> bounds = new ArrayList<Integer>();
+			ArrayList<SortTask> tasks = new ArrayList<SortTask>();
+			int blklen = (int)(Math.ceil((double)len/k));
+			for( int i=0; i<k & i*blklen<len; i++ ) {
+				bounds.add(i*blklen);
+				tasks.add(new SortTask(values, vix, i*blklen, Math.min((i+1)*blklen, len), desc));
+			}
+			bounds.add(len);
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//merge adjacent runs pairwise until single run
+			double[] src = values, tgt = new double[len];
+			int[] srcix = vix, tgtix = (vix != null) ? new int[len] : null;
+			while( bounds.size() > 2 ) {
+				ArrayList<MergeTask> mtasks = new ArrayList<MergeTask>();
+				ArrayList<Integer> mbounds = new ArrayList<Integer>();
+				for( int i=0; i<bounds.size()-1; i+=2 ) {
+					int rl = bounds.get(i);
+					int rm = bounds.get(Math.min(i+1, bounds.size()-1));
+					int ru = bounds.get(Math.min(i+2, bounds.size()-1));
+					mtasks.add(new MergeTask(src, srcix, tgt, tgtix, rl, rm, ru, desc, total));
+					mbounds.add(rl);
+				}
+				mbounds.add(len);
+				for( Future<Object> task : pool.invokeAll(mtasks) )
+					task.get();
+				double[] tmp = src; src = tgt; tgt = tmp;
+				int[] tmpix = srcix; srcix = tgtix; tgtix = tmpix;
+				bounds = mbounds;
+			}
+			pool.shutdown();
+			
+			//copy back into the input arrays if necessary
+			if( src != values ) {
+				System.arraycopy(src, 0, values, 0, len);
+				if( vix != null )
+					System.arraycopy(srcix, 0, vix, 0, len);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void mergeRuns(double[] a, int[] aix, double[] c, int[] cix, int rl, int rm, int ru, boolean desc, boolean total) 
+	{
+		int i = rl, j = rm, pos = rl;
+		while( i < rm && j < ru ) {
+			//take from right run only if strictly ordered before left (stable)
+			boolean right = total ? Double.compare(a[j], a[i]) < 0 :
+				desc ? a[j] > a[i] : a[j] < a[i];
+			int ix = right ? j++ : i++;
+			c[pos] = a[ix];
+			if( aix != null )
+				cix[pos] = aix[ix];
+			pos++;
+		}
+		//copy remaining runs
+		if( i < rm ) {
+			System.arraycopy(a, i, c, pos, rm-i);
+			if( aix != null )
+				System.arraycopy(aix, i, cix, pos, rm-i);
+		}
+		else if( j < ru ) {
+			System.arraycopy(a, j, c, pos, ru-j);
+			if( aix != null )
+				System.arraycopy(aix, j, cix, pos, ru-j);
+		}
+	}
+	
 	/**
 	 * CP reshape operation (single input, single output matrix) 
 	 * 
@@ -740,6 +924,64 @@ public class LibMatrixReorg
 		return ReorgType.INVALID;
 	}
 
+	private static void transposeLargeDense(MatrixBlock in, MatrixBlock out)
+	{
+		final int m = in.rlen;
+		final int n = in.clen;
+		
+		//allocate output arrays (if required)
+		if( out.sparse )
+			out.allocateSparseRowsBlock(false);
+		else
+			out.allocateDenseBlock(false);
+		DenseBlock c = out.getDenseBlockView();
+		
+		if( in.sparse ) //SPARSE <- LARGE DENSE
+		{
+			SparseBlock a = in.getSparseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					c.set(aix[j], i, avals[j]);
+			}
+		}
+		else if( out.sparse ) //LARGE DENSE -> SPARSE
+		{
+			//append in row-major order of the output (no shifting)
+			DenseBlock a = in.getDenseBlockView();
+			SparseBlock c2 = out.getSparseBlock();
+			for( int j=0; j<n; j++ )
+				for( int i=0; i<m; i++ ) {
+					double val = a.get(i, j);
+					if( val != 0 )
+						c2.append(j, i, val);
+				}
+		}
+		else //LARGE DENSE <-> DENSE
+		{
+			//blocked execution for cache-conscious writes
+			DenseBlock a = in.getDenseBlockView();
+			final int blocksizeI = 128;
+			final int blocksizeJ = 128;
+			for( int bi = 0; bi < m; bi+=blocksizeI ) {
+				int bimin = Math.min(bi+blocksizeI, m);
+				for( int bj = 0; bj < n; bj+=blocksizeJ ) {
+					int bjmin = Math.min(bj+blocksizeJ, n);
+					for( int i=bi; i<bimin; i++ ) {
+						double[] avals = a.values(i);
+						int aix = a.pos(i);
+						for( int j=bj; j<bjmin; j++ )
+							c.set(j, i, avals[aix+j]);
+					}
+				}
+			}
+		}
+	}
+
 	private static void transposeDenseToDense(MatrixBlock in, MatrixBlock out, int rl, int ru, int cl, int cu) 
 		throws DMLRuntimeException
 	{
@@ -1975,25 +2217,21 @@ public class LibMatrixReorg
 		}
 	}
 
-	private static void sortReverseDense( int[] a )
+	private static void sortReverseDense( int[] a, int rl, int ru )
 	{
-		int rlen = a.length;
-		
-		for( int i=0; i<rlen/2; i++ ) {
+		for( int i=rl, j=ru-1; i<j; i++, j-- ) {
 			int tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+			a[i] = a[j];
+			a[j] = tmp;
 		}
 	}
 
-	private static void sortReverseDense( double[] a )
+	private static void sortReverseDense( double[] a, int rl, int ru )
 	{
-		int rlen = a.length;
-		
-		for( int i=0; i<rlen/2; i++ ) {
+		for( int i=rl, j=ru-1; i<j; i++, j-- ) {
 			double tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+			a[i] = a[j];
+			a[j] = tmp;
 		}
 	}
 
@@ -2124,6 +2362,63 @@ public class LibMatrixReorg
 		}
 	}
 
+	private static class SortTask implements Callable<Object>
+	{
+		private double[] _values = null;
+		private int[] _vix = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		private boolean _desc = false;
+
+		protected SortTask(double[] values, int[] vix, int rl, int ru, boolean desc) {
+			_values = values;
+			_vix = vix;
+			_rl = rl;
+			_ru = ru;
+			_desc = desc;
+		}
+		
+		@Override
+		public Object call() {
+			if( _vix != null )
+				sortIndexesStable(_values, _vix, _rl, _ru, _desc);
+			else
+				Arrays.sort(_values, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class MergeTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private int[] _aix = null;
+		private double[] _c = null;
+		private int[] _cix = null;
+		private int _rl = -1;
+		private int _rm = -1;
+		private int _ru = -1;
+		private boolean _desc = false;
+		private boolean _total = false;
+
+		protected MergeTask(double[] a, int[] aix, double[] c, int[] cix, int rl, int rm, int ru, boolean desc, boolean total) {
+			_a = a;
+			_aix = aix;
+			_c = c;
+			_cix = cix;
+			_rl = rl;
+			_rm = rm;
+			_ru = ru;
+			_desc = desc;
+			_total = total;
+		}
+		
+		@Override
+		public Object call() {
+			mergeRuns(_a, _aix, _c, _cix, _rl, _rm, _ru, _desc, _total);
+			return null;
+		}
+	}
+
 	private static class CountNnzTask implements Callable<int[]>
 	{
 		private MatrixBlock _in = null;
@@ -64,6 +64,7 @@ import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.DenseVectorKernels.UnaryType;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell.BinaryAccessType;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
@@ -119,6 +120,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	//matrix data (sparse or dense)
 	protected double[] denseBlock    = null;
 	protected SparseBlock sparseBlock = null;
+	
+	//large dense matrix data (>2^31-1 cells), used instead of denseBlock
+	protected DenseBlock largeDenseBlock = null;
 		
 	//sparse-block-specific attributes (allocation only)
 	protected int estimatedNNzsPerRow = -1; 
@@ -167,6 +171,31 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		sparseBlock = sblock;
 	}
 	
+	/**
+	 * Constructs a dense {@link MatrixBlock} that wraps the given row-major
+	 * array without copying. The caller must not modify the array while 
+	 * the matrix block is in use.
+	 * 
+	 * @param rl number of rows
+	 * @param cl number of columns
+	 * @param nnz number of non zeroes, or -1 if unknown (recomputed)
+	 * @param dblock row-major dense array of at least rl*cl cells
+	 */
+	public MatrixBlock(int rl, int cl, long nnz, double[] dblock) {
+		this(rl, cl, false, -1);
+		
+		//sanity check dense array size
+		if( dblock.length < (long)rl*cl )
+			throw new RuntimeException("Dense array of length "+dblock.length
+				+" too small for matrix of dimensions ("+rl+","+cl+").");
+		
+		denseBlock = dblock;
+		if( nnz < 0 )
+			recomputeNonZeros();
+		else
+			nonZeros = nnz;
+	}
+	
 	public MatrixBlock(MatrixBlock that, SparseBlock.Type stype, boolean deep) {
 		this(that.rlen, that.clen, that.sparse);
 		
@@ -228,7 +257,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		rlen = rl;
 		clen = cl;
 		sparse = (val == 0) ? sp : false;
-		nonZeros = (val == 0) ? 0 : rl*cl;		
+		nonZeros = (val == 0) ? 0 : (long)rl*cl;		
 		estimatedNNzsPerRow = (estnnz < 0 || !sparse) ? -1 :
 			(int)Math.ceil((double)estnnz/(double)rlen);
 		
@@ -252,6 +281,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	private void resetDense(double val) {
+		//handle to large dense block allocation (reuse if still large)
+		if( DenseBlockFactory.isLargeDenseBlock(rlen, clen) ) {
+			denseBlock = null;
+			if( largeDenseBlock != null )
+				largeDenseBlock.reset(rlen, clen, val);
+			else if( val != 0 ) {
+				allocateDenseBlock(false);
+				largeDenseBlock.set(val);
+			}
+			return;
+		}
+		largeDenseBlock = null;
+		
 		//handle to dense block allocation
 		if( denseBlock != null && denseBlock.length<rlen*clen && val==0)
 			denseBlock = null;
@@ -284,8 +326,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock();
 		
 		//copy and compute nnz
-		for(int i=0, ix=0; i < r; i++, ix+=clen) 
-			System.arraycopy(arr[i], 0, denseBlock, ix, arr[i].length);
+		if( largeDenseBlock != null ) {
+			for(int i=0; i < r; i++)
+				System.arraycopy(arr[i], 0, largeDenseBlock.values(i), largeDenseBlock.pos(i), arr[i].length);
+		}
+		else {
+			for(int i=0, ix=0; i < r; i++, ix+=clen) 
+				System.arraycopy(arr[i], 0, denseBlock, ix, arr[i].length);
+		}
 		recomputeNonZeros();
 	}
 	
@@ -319,7 +367,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( sparse )
 			return (sparseBlock!=null);
 		else
-			return (denseBlock!=null);
+			return (denseBlock!=null || largeDenseBlock!=null);
 	}
 
 	public void allocateDenseBlock() 
@@ -340,16 +388,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		long limit = (long)rlen * clen;
 		
-		//check max size constraint (16GB dense), since java arrays are limited to 2^(32-1) elements)
-		if( limit > Integer.MAX_VALUE ) {
-			String execType = OptimizerUtils.isSparkExecutionMode() ? "SPARK" : "MR";
-			throw new RuntimeException("Dense in-memory matrix block ("+rlen+"x"+clen+") exceeds supported size of "+Integer.MAX_VALUE+" elements (16GB). " +
-					                   "Please, report this issue and reduce the JVM heapsize to execute this operation in "+execType+".");
+		//allocate large dense block of row-aligned arrays if the size exceeds
+		//the max size of java arrays (2^31-1 elements, i.e., 16GB dense)
+		if( DenseBlockFactory.isLargeDenseBlock(rlen, clen) ) {
+			if( largeDenseBlock == null || largeDenseBlock.numRows() != rlen 
+				|| largeDenseBlock.numCols() != clen ) {
+				largeDenseBlock = DenseBlockFactory.createDenseBlock(DenseBlock.Type.LDRB, rlen, clen);
+			}
+			denseBlock = null;
 		}
-		
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
-		if(denseBlock == null || denseBlock.length < limit) {
+		else if(denseBlock == null || denseBlock.length < limit) {
 			denseBlock = new double[(int)limit];
+			largeDenseBlock = null;
 		}
 		
 		//clear nnz if necessary
@@ -408,8 +459,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 * @param sparse if true, set sparse block to null
 	 */
 	public void cleanupBlock( boolean dense, boolean sparse ) {
-		if(dense)
+		if(dense) {
 			denseBlock = null;
+			largeDenseBlock = null;
+		}
 		if(sparse)
 			sparseBlock = null;
 	}
@@ -466,7 +519,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		boolean ret = false;
 		if( sparse && sparseBlock==null )
 			ret = true;
-		else if( !sparse && denseBlock==null ) 	
+		else if( !sparse && denseBlock==null && largeDenseBlock==null )
 			ret = true;
 		if( nonZeros==0 )
 		{
@@ -489,12 +542,51 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	////////
 	// Data handling
 	
+	/**
+	 * Returns the single dense array of this matrix block, which is
+	 * null for sparse, empty, and large dense blocks (see 
+	 * {@link #getDenseBlockView()} and {@link #isLargeDense()}).
+	 * 
+	 * @return dense array
+	 */
 	public double[] getDenseBlock() {
 		if( sparse )
 			return null;
 		return denseBlock;
 	}
 	
+	/**
+	 * Returns the dense block of this matrix block as a dense block
+	 * abstraction, i.e., a view of the single dense array, or the
+	 * large dense block of multiple row-aligned arrays.
+	 * 
+	 * @return dense block, or null if sparse or not allocated
+	 */
+	public DenseBlock getDenseBlockView() {
+		if( sparse )
+			return null;
+		if( largeDenseBlock != null )
+			return largeDenseBlock;
+		return (denseBlock != null) ? 
+			DenseBlockFactory.createDenseBlock(denseBlock, rlen, clen) : null;
+	}
+	
+	/**
+	 * Indicates if this matrix block is in dense format and exceeds
+	 * the max size of a single dense array, i.e., if it is represented
+	 * as a large dense block of multiple row-aligned arrays.
+	 * 
+	 * @return true if large dense block
+	 */
+	public boolean isLargeDense() {
+		return !sparse && DenseBlockFactory.isLargeDenseBlock(rlen, clen);
+	}
+	
+	private DenseBlock getDenseBlockViewUnsafe() {
+		return (largeDenseBlock != null) ? largeDenseBlock :
+			DenseBlockFactory.createDenseBlock(denseBlock, rlen, clen);
+	}
+	
 	public SparseBlock getSparseBlock() {
 		if( !sparse )
 			return null;
@@ -560,6 +652,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else
 		{
+			if( largeDenseBlock!=null )
+				return largeDenseBlock.get(r, c);
 			if( denseBlock==null )
 				return 0;
 			return denseBlock[r*clen+c]; 
@@ -585,17 +679,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 		{
 			//early abort
-			if( denseBlock==null && v==0 )
+			if( denseBlock==null && largeDenseBlock==null && v==0 )
 				return;		
 			
 			//allocate and init dense block (w/o overwriting nnz)
 			allocateDenseBlock(false);
 			
 			//set value and maintain nnz
-			int index=r*clen+c;
-			if( denseBlock[index]==0 )
+			double[] a = (largeDenseBlock!=null) ? largeDenseBlock.values(r) : denseBlock;
+			int index = (largeDenseBlock!=null) ? largeDenseBlock.pos(r, c) : r*clen+c;
+			if( a[index]==0 )
 				nonZeros++;
-			denseBlock[index] = v;
+			a[index] = v;
 			if( v==0 )
 				nonZeros--;
 		}
@@ -603,6 +698,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	public double getValueDenseUnsafe(int r, int c) 
 	{
+		if(largeDenseBlock!=null)
+			return largeDenseBlock.get(r, c);
 		if(denseBlock==null)
 			return 0;
 		return denseBlock[r*clen+c]; 
@@ -620,7 +717,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public void setValueDenseUnsafe(int r, int c, double v) 
 	{
-		denseBlock[r*clen+c]=v;		
+		if( largeDenseBlock!=null )
+			largeDenseBlock.set(r, c, v);
+		else
+			denseBlock[r*clen+c]=v;
 	}
 	
 	public double getValueSparseUnsafe(int r, int c) 
@@ -650,7 +750,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			allocateDenseBlock(false);
 			
 			//set value and maintain nnz
-			denseBlock[r*clen+c] = v;
+			if( largeDenseBlock!=null )
+				largeDenseBlock.set(r, c, v);
+			else
+				denseBlock[r*clen+c] = v;
 			nonZeros++;
 		}
 		else //SPARSE
@@ -1042,22 +1145,24 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		sparse = true;
 		
 		//early abort on empty blocks
-		if(denseBlock==null)
+		if(denseBlock==null && largeDenseBlock==null)
 			return;
 		
 		//allocate sparse target block (reset required to maintain nnz again)
+		DenseBlock da = getDenseBlockViewUnsafe();
 		allocateSparseRowsBlock();
 		reset();
 		
 		//copy dense to sparse with (1) row pre-allocation to avoid repeated 
 		//allocation on append, and (2) nnz re-computation 
-		double[] a = denseBlock;
 		SparseBlock c = sparseBlock;
 		final int m = rlen;
 		final int n = clen;
 		
 		long nnz = 0;
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=0; i<m; i++ ) {
+			double[] a = da.values(i);
+			int aix = da.pos(i);
 			//recompute nnz per row (not via recomputeNonZeros as sparse allocated)
 			int lnnz = 0;
 			for(int j=0; j<n; j++)
@@ -1077,6 +1182,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//update nnz and cleanup dense block
 		nonZeros = nnz;
 		denseBlock = null;
+		largeDenseBlock = null;
 	}
 
 	public void sparseToDense() 
@@ -1089,21 +1195,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if(sparseBlock==null)
 			return;
 		
-		int limit=rlen*clen;
-		if ( limit < 0 ) {
-			throw new DMLRuntimeException("Unexpected error in sparseToDense().. limit < 0: " + rlen + ", " + clen + ", " + limit);
-		}
-		
 		//allocate dense target block, but keep nnz (no need to maintain)
 		allocateDenseBlock(false);
-		Arrays.fill(denseBlock, 0, limit, 0);
+		DenseBlock dc = getDenseBlockViewUnsafe();
+		dc.set(0);
 		
 		//copy sparse to dense
 		SparseBlock a = sparseBlock;
-		double[] c = denseBlock;
 		
-		for( int i=0, cix=0; i<rlen; i++, cix+=clen)
+		for( int i=0; i<rlen; i++ )
 			if( !a.isEmpty(i) ) {
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
 				int apos = a.pos(i);
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
@@ -1129,6 +1232,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			//note: rlen might be <= sparseBlock.numRows()
 			nonZeros = sparseBlock.size(0, rlen);
 		}
+		else if( !sparse && largeDenseBlock!=null ) //LARGE DENSE (max long)
+		{
+			nonZeros = largeDenseBlock.countNonZeros();
+		}
 		else if( !sparse && denseBlock!=null ) //DENSE (max int)
 		{
 			double[] a = denseBlock;
@@ -1170,6 +1277,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			}
 			return nnz;
 		}
+		else if( !sparse && largeDenseBlock!=null ) //LARGE DENSE (max long)
+		{
+			return largeDenseBlock.countNonZeros(rl, ru+1, cl, cu+1);
+		}
 		else if( !sparse && denseBlock!=null ) //DENSE (max int)
 		{
 			double[] a = denseBlock;
@@ -1279,13 +1390,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	private void copyDenseToDense(MatrixBlock that)
 	{
 		nonZeros = that.nonZeros;
-		int limit = rlen*clen;
 		
 		//plain reset to 0 for empty input
 		if( that.isEmptyBlock(false) )
 		{
-			if(denseBlock!=null)
-				Arrays.fill(denseBlock, 0, limit, 0);
+			if( largeDenseBlock!=null )
+				largeDenseBlock.set(0);
+			else if(denseBlock!=null)
+				Arrays.fill(denseBlock, 0, rlen*clen, 0);
 			return;
 		}
 		
@@ -1293,7 +1405,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock(false);
 		
 		//actual copy 
-		System.arraycopy(that.denseBlock, 0, denseBlock, 0, limit);
+		if( largeDenseBlock!=null )
+			largeDenseBlock.set(that.largeDenseBlock);
+		else
+			System.arraycopy(that.denseBlock, 0, denseBlock, 0, rlen*clen);
 	}
 	
 	private void copySparseToDense(MatrixBlock that)
@@ -1301,16 +1416,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		this.nonZeros=that.nonZeros;
 		if( that.isEmptyBlock(false) )
 		{
-			if(denseBlock!=null)
+			if( largeDenseBlock!=null )
+				largeDenseBlock.set(0);
+			else if(denseBlock!=null)
 				Arrays.fill(denseBlock, 0);
 			return;
 		}
 		
 		//allocate and init dense block (w/o overwriting nnz)
 		allocateDenseBlock(false);
+		DenseBlock c = getDenseBlockViewUnsafe();
 		
-		int start=0;
-		for(int r=0; r<Math.min(that.sparseBlock.numRows(), rlen); r++, start+=clen)
+		for(int r=0; r<Math.min(that.sparseBlock.numRows(), rlen); r++)
 		{
 			if(that.sparseBlock.isEmpty(r)) 
 				continue;
@@ -1318,9 +1435,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			int len = that.sparseBlock.size(r);
 			int[] aix = that.sparseBlock.indexes(r);
 			double[] avals = that.sparseBlock.values(r);
+			double[] cvals = c.values(r);
+			int start = c.pos(r);
 			
 			for(int i=pos; i<pos+len; i++) {
-				denseBlock[start+aix[i]]=avals[i];
+				cvals[start+aix[i]]=avals[i];
 			}
 		}
 	}
@@ -1335,14 +1454,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		
 		allocateSparseRowsBlock(false);
+		DenseBlock a = that.getDenseBlockViewUnsafe();
 	
-		for(int i=0, ix=0; i<rlen; i++)
+		for(int i=0; i<rlen; i++)
 		{			
 			sparseBlock.reset(i, estimatedNNzsPerRow, clen);
+			double[] avals = a.values(i);
+			int ix = a.pos(i);
 			
 			for(int j=0; j<clen; j++)
 			{
-				double val = that.denseBlock[ix++];
+				double val = avals[ix++];
 				if( val != 0 ) {
 					//create sparse row only if required
 					sparseBlock.allocate(i, estimatedNNzsPerRow, clen);
@@ -1814,6 +1936,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		allocateDenseBlock(true); //allocate block, clear nnz
 		
+		//read large dense blocks of multiple row-aligned arrays
+		if( largeDenseBlock != null ) {
+			readLargeDenseBlock(in);
+			return;
+		}
+		
 		int limit = rlen*clen;
 		
 		if( in instanceof MatrixBlockDataInput ) //fast deserialize
@@ -1845,6 +1973,29 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 	}
 
+	private void readLargeDenseBlock(DataInput in) 
+		throws IOException 
+	{
+		DenseBlock a = largeDenseBlock;
+		if( in instanceof MatrixBlockDataInput ) //fast deserialize
+		{
+			MatrixBlockDataInput mbin = (MatrixBlockDataInput)in;
+			for( int bix=0; bix<a.numBlocks(); bix++ )
+				nonZeros += mbin.readDoubleArray(a.blockSize(bix)*clen, a.valuesAt(bix));
+		}
+		else //default deserialize
+		{
+			for( int bix=0; bix<a.numBlocks(); bix++ ) {
+				double[] avals = a.valuesAt(bix);
+				int len = a.blockSize(bix)*clen;
+				for( int i=0; i<len; i++ ) {
+					avals[i] = in.readDouble();
+					nonZeros += (avals[i]!=0) ? 1 : 0;
+				}
+			}
+		}
+	}
+
 	private void readSparseBlock(DataInput in) 
 		throws IOException 
 	{			
@@ -1886,16 +2037,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws IOException, DMLRuntimeException 
 	{
 		allocateDenseBlock(false); //allocate block
-		Arrays.fill(denseBlock, 0);
+		DenseBlock a = getDenseBlockViewUnsafe();
+		a.set(0);
 		
 		for(int r=0; r<rlen; r++)
 		{
 			int nr = in.readInt();
+			double[] avals = a.values(r);
+			int ix = a.pos(r);
 			for( int j=0; j<nr; j++ )
 			{
 				int c = in.readInt();
 				double val = in.readDouble(); 
-				denseBlock[r*clen+c] = val;
+				avals[ix+c] = val;
 			}
 		}
 	}
@@ -1933,7 +2087,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws IOException, DMLRuntimeException 
 	{	
 		allocateDenseBlock(false); //allocate block
-		Arrays.fill(denseBlock, 0);
+		DenseBlock a = getDenseBlockViewUnsafe();
+		a.set(0);
 		
 		if( clen > 1 ) //ULTRA-SPARSE BLOCK
 		{ 
@@ -1942,7 +2097,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				int r = in.readInt();
 				int c = in.readInt();
 				double val = in.readDouble();			
-				denseBlock[r*clen+c] = val;
+				a.set(r, c, val);
 			}
 		}
 		else //ULTRA-SPARSE COL
@@ -1951,7 +2106,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			for(long i=0; i<nonZeros; i++) {
 				int r = in.readInt();
 				double val = in.readDouble();			
-				denseBlock[r] = val;
+				a.set(r, 0, val);
 			}
 		}
 	}
@@ -1983,7 +2138,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 		{
 			//write dense to *
-			if( denseBlock==null || nonZeros==0 ) 
+			if( (denseBlock==null && largeDenseBlock==null) || nonZeros==0 ) 
 				writeEmptyBlock(out);
 			else if( nonZeros<rlen && sparseDst )
 				writeDenseToUltraSparse(out);
@@ -2006,6 +2161,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
 		
+		//write large dense blocks of multiple row-aligned arrays
+		if( largeDenseBlock != null ) {
+			DenseBlock a = largeDenseBlock;
+			for( int bix=0; bix<a.numBlocks(); bix++ ) {
+				int len = a.blockSize(bix)*clen;
+				if( out instanceof MatrixBlockDataOutput ) //fast serialize
+					((MatrixBlockDataOutput)out).writeDoubleArray(len, a.valuesAt(bix));
+				else //general case (if fast serialize not supported)
+					for(int i=0; i<len; i++)
+						out.writeDouble(a.valuesAt(bix)[i]);
+			}
+			return;
+		}
+		
 		int limit=rlen*clen;
 		if( out instanceof MatrixBlockDataOutput ) //fast serialize
 			((MatrixBlockDataOutput)out).writeDoubleArray(limit, denseBlock);
@@ -2138,27 +2307,32 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 		long wnnz = 0;
 		
+		DenseBlock a = getDenseBlockViewUnsafe();
 		if( clen > 1 ) //ULTRA-SPARSE BLOCK
 		{
 			//block: write ijv-triples
-			for(int r=0, ix=0; r<rlen; r++)
-				for(int c=0; c<clen; c++, ix++)
-					if( denseBlock[ix]!=0 ) {
+			for(int r=0; r<rlen; r++) {
+				double[] avals = a.values(r);
+				for(int c=0, ix=a.pos(r); c<clen; c++, ix++)
+					if( avals[ix]!=0 ) {
 						out.writeInt(r);
 						out.writeInt(c);
-						out.writeDouble(denseBlock[ix]);
+						out.writeDouble(avals[ix]);
 						wnnz++;
 					}
+			}
 		}
 		else //ULTRA-SPARSE COL
 		{
 			//col: write iv-pairs
-			for(int r=0; r<rlen; r++)
-				if( denseBlock[r]!=0 ) {
+			for(int r=0; r<rlen; r++) {
+				double val = a.get(r, 0);
+				if( val!=0 ) {
 					out.writeInt(r);
-					out.writeDouble(denseBlock[r]);
+					out.writeDouble(val);
 					wnnz++;
 				}
+			}
 		}
 		
 		//validity check (nnz must exactly match written nnz)
@@ -2173,21 +2347,24 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		out.writeByte( BlockType.SPARSE_BLOCK.ordinal() ); //block type
 		writeNnzInfo( out, false );
 		
-		int start=0;
+		DenseBlock a = getDenseBlockViewUnsafe();
 		for(int r=0; r<rlen; r++)
 		{
+			double[] avals = a.values(r);
+			int start = a.pos(r);
+			
 			//count nonzeros
 			int nr=0;
 			for(int i=start; i<start+clen; i++)
-				if(denseBlock[i]!=0.0)
+				if(avals[i]!=0.0)
 					nr++;
 			out.writeInt(nr);
 			for(int c=0; c<clen; c++)
 			{
-				if(denseBlock[start]!=0.0)
+				if(avals[start]!=0.0)
 				{
 					out.writeInt(c);
-					out.writeDouble(denseBlock[start]);
+					out.writeDouble(avals[start]);
 				}
 				start++;
 			}
@@ -2316,7 +2493,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 		{
 			//write dense to *
-			if(denseBlock==null || lnonZeros==0)
+			if((denseBlock==null && largeDenseBlock==null) || lnonZeros==0)
 				return HEADER_SIZE; //empty block
 			else if( lnonZeros<lrlen && sparseDst )
 				return estimateSizeUltraSparseOnDisk(lrlen, lclen, lnonZeros); //ultra sparse block
@@ -2676,12 +2853,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			int len = m * n;
 			
 			//unary op, incl nnz maintenance
-			int nnz = 0;
-			for( int i=0; i<len; i++ ) {
-				c[i] = op.fn.execute(a[i]);
-				nnz += (c[i] != 0) ? 1 : 0;
+			DenseVectorKernels simd = DenseVectorKernels.get(len);
+			UnaryType utype = DenseVectorKernels.getUnaryType(op.fn);
+			if( simd != null && utype != null ) {
+				simd.vectUnaryWrite(utype, a, c, 0, 0, len);
+				ret.nonZeros = simd.countNonZeros(c, 0, len);
+			}
+			else {
+				int nnz = 0;
+				for( int i=0; i<len; i++ ) {
+					c[i] = op.fn.execute(a[i]);
+					nnz += (c[i] != 0) ? 1 : 0;
+				}
+				ret.nonZeros = nnz;
 			}
-			ret.nonZeros = nnz;
 		}
 	}
 
@@ -3611,6 +3796,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		MatrixBlock result = ret;		
 		boolean sp = estimateSparsityOnLeftIndexing(rlen, clen, nonZeros, 
 				     rhsMatrix.getNumRows(), rhsMatrix.getNumColumns(), rhsMatrix.getNonZeros());
+		checkLargeDenseIndexing(sp);
 		
 		if( !update.isInPlace() ) //general case
 		{
@@ -3690,6 +3876,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		double inVal = scalar.getDoubleValue();
 		boolean sp = estimateSparsityOnLeftIndexing(rlen, clen, nonZeros, 1, 1, (inVal!=0)?1:0);
+		checkLargeDenseIndexing(sp);
 		
 		if( !update.isInPlace() ) //general case
 		{
@@ -3764,12 +3951,22 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			//core slicing operation (nnz maintained internally)
 			if (sparse) 
 				sliceSparse(rl, ru, cl, cu, result);
-			else 
+			else {
+				checkLargeDenseIndexing(false);
 				sliceDense(rl, ru, cl, cu, result);
+			}
 		}
 		
 		return result;
 	}
+	
+	private void checkLargeDenseIndexing(boolean sparseOut) 
+		throws DMLRuntimeException
+	{
+		//indexing not ported to large dense blocks yet (fail fast)
+		if( isLargeDense() || (!sparseOut && DenseBlockFactory.isLargeDenseBlock(rlen, clen)) )
+			throw new DMLRuntimeException("Matrix too large for dense CP indexing: "+rlen+" x "+clen);
+	}
 
 	private void sliceSparse(int rl, int ru, int cl, int cu, MatrixBlock dest) 
 		throws DMLRuntimeException
@@ -4603,6 +4800,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 
 	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result) throws DMLRuntimeException {
+		return sortOperations(weights, result, 1);
+	}
+	
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k) throws DMLRuntimeException {
 		boolean wtflag = (weights!=null);
 		
 		MatrixBlock wts= (weights == null ? null : checkType(weights));
@@ -4660,7 +4861,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		// Sort td and tw based on values inside td (ascending sort), incl copy into result
 		SortIndex sfn = SortIndex.getSortIndexFnObject(1, false, false);
-		ReorgOperator rop = new ReorgOperator(sfn);
+		ReorgOperator rop = new ReorgOperator(sfn, k);
 		LibMatrixReorg.reorg(tdw, (MatrixBlock)result, rop);
 		
 		return result;
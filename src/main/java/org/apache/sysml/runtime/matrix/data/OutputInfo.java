@@ -72,6 +72,12 @@ public class OutputInfo implements Serializable
 			MatrixIndexes.class, WeightedPair.class);
 	public static final OutputInfo CSVOutputInfo=new OutputInfo(UnPaddedOutputFormat.class, 
 			NullWritable.class, RowBlockForTextOutput.class);
+	// Format of memory-mapped local binary block files (CP only, no hadoop output format)
+	public static final OutputInfo LocalBinaryBlockOutputInfo=new OutputInfo(null, 
+			MatrixIndexes.class, MatrixBlock.class);
+	// Format of columnar frame files (CP only, no hadoop output format)
+	public static final OutputInfo ColumnarFrameOutputInfo=new OutputInfo(null, 
+			LongWritable.class, FrameBlock.class);
 
 	public static InputInfo getMatchingInputInfo(OutputInfo oi) throws DMLRuntimeException {
 		if ( oi == OutputInfo.BinaryBlockOutputInfo )
@@ -90,6 +96,10 @@ public class OutputInfo implements Serializable
 			return InputInfo.WeightedPairInputInfo;
 		else if ( oi == OutputInfo.CSVOutputInfo)
 			return InputInfo.CSVInputInfo;
+		else if ( oi == OutputInfo.LocalBinaryBlockOutputInfo)
+			return InputInfo.LocalBinaryBlockInputInfo;
+		else if ( oi == OutputInfo.ColumnarFrameOutputInfo)
+			return InputInfo.ColumnarFrameInputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + oi);
 	}
@@ -115,6 +125,10 @@ public class OutputInfo implements Serializable
 			return WeightedPairOutputInfo;
 		else if ( str.equalsIgnoreCase("csv") )
 			return CSVOutputInfo;
+		else if ( str.equalsIgnoreCase("localbinaryblock") )
+			return LocalBinaryBlockOutputInfo;
+		else if ( str.equalsIgnoreCase("columnar") )
+			return ColumnarFrameOutputInfo;
 		return null;
 	}
 	
@@ -137,6 +151,10 @@ public class OutputInfo implements Serializable
 			return "weightedpair";
 		else if ( oi == CSVOutputInfo )
 			return "csv";
+		else if ( oi == LocalBinaryBlockOutputInfo )
+			return "localbinaryblock";
+		else if ( oi == ColumnarFrameOutputInfo )
+			return "columnar";
 		else
 			throw new DMLRuntimeException("Unrecognized outputInfo: " + oi);
 	}
@@ -152,6 +170,10 @@ public class OutputInfo implements Serializable
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo 
 				|| oinfo == OutputInfo.BinaryCellOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_BINARY;
+		else if( oinfo == OutputInfo.LocalBinaryBlockOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY;
+		else if( oinfo == OutputInfo.ColumnarFrameOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_COLUMNAR;
 		else
 			return "specialized";
 	}
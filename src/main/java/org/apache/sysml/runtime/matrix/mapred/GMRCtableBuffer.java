@@ -32,7 +32,7 @@ import org.apache.sysml.runtime.matrix.data.CTableMap;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
-import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleIterator;
 
 
 public class GMRCtableBuffer 
@@ -105,7 +105,6 @@ public class GMRCtableBuffer
 		return _blockBuffer;
 	}
 
-	@SuppressWarnings("deprecation")
 	public void flushBuffer( Reporter reporter ) 
 		throws RuntimeException 
 	{
@@ -129,9 +128,10 @@ public class GMRCtableBuffer
 					}
 					
 					//output result data 
-					for(LLDoubleEntry e: resultMap.entrySet()) {
-						key = new MatrixIndexes(e.key1, e.key2);
-						value.setValue(e.value);
+					LLDoubleIterator e = resultMap.getIterator();
+					while( e.next() ) {
+						key = new MatrixIndexes(e.getKey1(), e.getKey2());
+						value.setValue(e.getValue());
 						for(Integer i: resultIDs) {
 							_collector.collectOutput(key, value, i, reporter);
 						}
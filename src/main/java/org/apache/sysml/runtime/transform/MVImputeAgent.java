@@ -31,6 +31,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -53,6 +56,7 @@ import org.apache.sysml.runtime.matrix.operators.CMOperator;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysml.runtime.transform.encode.Encoder;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 public class MVImputeAgent extends Encoder 
@@ -924,42 +928,72 @@ public class MVImputeAgent extends Encoder
 	@Override
 	public void build(FrameBlock in) {
 		try {
+			for( int j=0; j<_colList.length; j++ )
+				buildColumn(in, j);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( k <= 1 || _colList.length <= 1 ) {
+			build(in);
+			return;
+		}
+		
+		try {
+			//allocate all histograms upfront, as the tasks only
+			//modify their own histograms but not the map of histograms
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<MVImputeBuildTask> tasks = new ArrayList<MVImputeBuildTask>();
 			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j];
-				if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
-					//compute global column mean (scale)
-					long off = _countList[j];
-					for( int i=0; i<in.getNumRows(); i++ )
-						_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
-							in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
-					_replacementList[j] = String.valueOf(_meanList[j]._sum);
-					_countList[j] += in.getNumRows();
-				}
-				else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
-					//compute global column mode (categorical), i.e., most frequent category
-					HashMap<String,Long> hist = _hist.containsKey(colID) ? 
-							_hist.get(colID) : new HashMap<String,Long>();
-					for( int i=0; i<in.getNumRows(); i++ ) {
-						String key = String.valueOf(in.get(i, colID-1));
-						if( key != null && !key.isEmpty() ) {
-							Long val = hist.get(key);
-							hist.put(key, (val!=null) ? val+1 : 1);
-						}	
-					}
-					_hist.put(colID, hist);
-					long max = Long.MIN_VALUE; 
-					for( Entry<String, Long> e : hist.entrySet() ) 
-						if( e.getValue() > max  ) {
-							_replacementList[j] = e.getKey();
-							max = e.getValue();
-						}
-				}
+				if( _mvMethodList[j] == MVMethod.GLOBAL_MODE && !_hist.containsKey(_colList[j]) )
+					_hist.put(_colList[j], new HashMap<String,Long>());
+				tasks.add(new MVImputeBuildTask(in, j));
 			}
+			List<Future<Object>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> task : taskret )
+				task.get();
 		}
 		catch(Exception ex) {
 			throw new RuntimeException(ex);
 		}
 	}
+	
+	private void buildColumn(FrameBlock in, int j) {
+		int colID = _colList[j];
+		if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+			//compute global column mean (scale)
+			long off = _countList[j];
+			for( int i=0; i<in.getNumRows(); i++ )
+				_meanFn.execute2(_meanList[j], UtilFunctions.objectToDouble(
+					in.getSchema()[colID-1], in.get(i, colID-1)), off+i+1);
+			_replacementList[j] = String.valueOf(_meanList[j]._sum);
+			_countList[j] += in.getNumRows();
+		}
+		else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+			//compute global column mode (categorical), i.e., most frequent category
+			HashMap<String,Long> hist = _hist.get(colID);
+			if( hist == null )
+				_hist.put(colID, hist = new HashMap<String,Long>());
+			for( int i=0; i<in.getNumRows(); i++ ) {
+				String key = String.valueOf(in.get(i, colID-1));
+				if( key != null && !key.isEmpty() ) {
+					Long val = hist.get(key);
+					hist.put(key, (val!=null) ? val+1 : 1);
+				}	
+			}
+			long max = Long.MIN_VALUE; 
+			for( Entry<String, Long> e : hist.entrySet() ) 
+				if( e.getValue() > max  ) {
+					_replacementList[j] = e.getKey();
+					max = e.getValue();
+				}
+		}
+	}
 
 	@Override
 	public String[] apply(String[] words) 
@@ -1019,10 +1053,10 @@ public class MVImputeAgent extends Encoder
 			int colID = _colList[j];	
 			String mvVal = UtilFunctions.unquote(meta.getColumnMetadata(colID-1).getMvValue()); 
 			if( _rcList.contains(colID) ) {
-				Long mvVal2 = meta.getRecodeMap(colID-1).get(mvVal);
-				if( mvVal2 == null)
+				int mvVal2 = meta.getRecodeDictionary(colID-1).get(mvVal);
+				if( mvVal2 < 0 )
 					throw new RuntimeException("Missing recode value for impute value '"+mvVal+"' (colID="+colID+").");
-				_replacementList[j] = mvVal2.toString();
+				_replacementList[j] = String.valueOf(mvVal2);
 			}
 			else {
 				_replacementList[j] = mvVal;
@@ -1043,4 +1077,21 @@ public class MVImputeAgent extends Encoder
 	public HashMap<String,Long> getHistogram( int colID ) {
 		return _hist.get(colID);
 	}
+	
+	private class MVImputeBuildTask implements Callable<Object> 
+	{
+		private final FrameBlock _in;
+		private final int _j;
+		
+		protected MVImputeBuildTask(FrameBlock in, int j) {
+			_in = in;
+			_j = j;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			buildColumn(_in, _j);
+			return null;
+		}
+	}
 }
@@ -30,7 +30,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -46,6 +48,8 @@ import org.apache.sysml.runtime.transform.MVImputeAgent.MVMethod;
 import org.apache.sysml.runtime.transform.decode.DecoderRecode;
 import org.apache.sysml.runtime.transform.encode.Encoder;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.apache.sysml.runtime.util.StringDictionary;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
@@ -62,6 +66,9 @@ public class RecodeAgent extends Encoder
 	private HashMap<Integer, HashMap<String,String>> _finalMaps = null;
 	private HashMap<Integer, HashSet<Object>> _rcdMapsPart = null;
 	
+	//compact recode dictionaries of frame-based build/apply
+	private HashMap<Integer, StringDictionary> _rcdDicts = new HashMap<Integer, StringDictionary>();
+	
 	public RecodeAgent(JSONObject parsedSpec, String[] colnames, int clen)
 		throws JSONException 
 	{
@@ -369,12 +376,27 @@ public class RecodeAgent extends Encoder
 	private String lookupRCDMap(int colID, String key) {
 		if( _finalMaps!=null )
 			return _finalMaps.get(colID).get(key);
+		else if( _rcdDicts.containsKey(colID) ) { //used for frames
+			int code = (key!=null) ? _rcdDicts.get(colID).get(key) : -1;
+			return (code>=0) ? Integer.toString(code) : null;
+		}
 		else { //used for cp
 			Long tmp = _rcdMaps.get(colID).get(key);
 			return (tmp!=null) ? Long.toString(tmp) : null;
 		}
 	}
 	
+	/**
+	 * Exposes the compact recode dictionary of the given column after
+	 * frame-based build or meta data initialization.
+	 * 
+	 * @param colID column ID (1-based)
+	 * @return recode dictionary, or null if not existing
+	 */
+	public StringDictionary getRecodeDictionary(int colID) {
+		return _rcdDicts.get(colID);
+	}
+	
 
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
@@ -393,20 +415,52 @@ public class RecodeAgent extends Encoder
 		if( !isApplicable() )
 			return;		
 
-		Iterator<String[]> iter = in.getStringRowIterator();
-		while( iter.hasNext() ) {
-			String[] row = iter.next(); 
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j]; //1-based
-				//allocate column map if necessary
-				if( !_rcdMaps.containsKey(colID) ) 
-					_rcdMaps.put(colID, new HashMap<String,Long>());
-				//probe and build column map
-				HashMap<String,Long> map = _rcdMaps.get(colID);
-				String key = row[colID-1];
-				if( key!=null && !key.isEmpty() && !map.containsKey(key) )
-					map.put(key, Long.valueOf(map.size()+1));
-			}
+		//build column maps column-wise for sequential access
+		//(codes in order of first occurrence, as row-wise build)
+		for( int j=0; j<_colList.length; j++ )
+			buildColumnDict(in, _colList[j], getColumnDict(_colList[j]));
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() )
+			return;
+		if( k <= 1 || _colList.length <= 1 ) {
+			build(in);
+			return;
+		}
+		
+		try {
+			//allocate all column maps upfront, as the tasks only
+			//modify their own column maps but not the map of maps
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<RecodeBuildTask> tasks = new ArrayList<RecodeBuildTask>();
+			for( int j=0; j<_colList.length; j++ )
+				tasks.add(new RecodeBuildTask(in, _colList[j], getColumnDict(_colList[j])));
+			List<Future<Object>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Object> task : taskret )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private StringDictionary getColumnDict(int colID) {
+		//allocate column dictionary if necessary
+		if( !_rcdDicts.containsKey(colID) ) 
+			_rcdDicts.put(colID, new StringDictionary());
+		return _rcdDicts.get(colID);
+	}
+	
+	private static void buildColumnDict(FrameBlock in, int colID, StringDictionary dict) {
+		//probe and build column dictionary
+		for( int i=0; i<in.getNumRows(); i++ ) {
+			Object okey = in.get(i, colID-1);
+			String key = (okey!=null) ? okey.toString() : null;
+			if( key!=null && !key.isEmpty() )
+				dict.putIfAbsent(key);
 		}
 	}
 
@@ -462,12 +516,19 @@ public class RecodeAgent extends Encoder
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
+			StringDictionary dict = _rcdDicts.get(colID);
 			for( int i=0; i<in.getNumRows(); i++ ) {
 				Object okey = in.get(i, colID-1);
-				String key = (okey!=null) ? okey.toString() : null;
-				String val = lookupRCDMap(colID, key);			
-				out.quickSetValue(i, colID-1, (val!=null) ? 
-						Double.parseDouble(val) : Double.NaN);
+				if( dict != null ) { //direct lookup of int codes
+					int code = (okey!=null) ? dict.get(okey.toString()) : -1;
+					out.quickSetValue(i, colID-1, (code>=0) ? code : Double.NaN);
+				}
+				else {
+					String key = (okey!=null) ? okey.toString() : null;
+					String val = lookupRCDMap(colID, key);			
+					out.quickSetValue(i, colID-1, (val!=null) ? 
+							Double.parseDouble(val) : Double.NaN);
+				}
 			}
 		}
 		
@@ -484,21 +545,22 @@ public class RecodeAgent extends Encoder
 		//allocate output rows
 		int maxDistinct = 0;
 		for( int j=0; j<_colList.length; j++ )
-			if( _rcdMaps.containsKey(_colList[j]) )
-				maxDistinct = Math.max(maxDistinct, _rcdMaps.get(_colList[j]).size());
+			if( _rcdDicts.containsKey(_colList[j]) )
+				maxDistinct = Math.max(maxDistinct, _rcdDicts.get(_colList[j]).size());
 		meta.ensureAllocatedColumns(maxDistinct);
 		
 		//create compact meta data representation
+		//(entries in insertion order, i.e., in order of codes after build)
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
-			int rowID = 0;
-			if( _rcdMaps.containsKey(_colList[j]) )
-				for( Entry<String, Long> e : _rcdMaps.get(colID).entrySet() ) {
-					String tmp = constructRecodeMapEntry(e.getKey(), e.getValue());
-					meta.set(rowID++, colID-1, tmp); 
-				}
-			meta.getColumnMetadata(colID-1).setNumDistinct(
-					_rcdMaps.get(colID).size());
+			StringDictionary dict = _rcdDicts.get(colID);
+			if( dict == null )
+				continue;
+			for( int i=0; i<dict.size(); i++ ) {
+				String tmp = constructRecodeMapEntry(dict.getToken(i), dict.getCode(i));
+				meta.set(i, colID-1, tmp); 
+			}
+			meta.getColumnMetadata(colID-1).setNumDistinct(dict.size());
 		}
 		
 		return meta;
@@ -517,7 +579,7 @@ public class RecodeAgent extends Encoder
 		
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
-			_rcdMaps.put(colID, meta.getRecodeMap(colID-1));
+			_rcdDicts.put(colID, meta.getRecodeDictionary(colID-1));
 		}
 	}
 	
@@ -527,8 +589,27 @@ public class RecodeAgent extends Encoder
 	 * @param code  is code for token 
 	 * @return the concatenation of code and token with delimiter in between
 	 */
-	public static String constructRecodeMapEntry(String token, Long code) {
-		return token + Lop.DATATYPE_PREFIX + code.toString();
+	public static String constructRecodeMapEntry(String token, long code) {
+		return token + Lop.DATATYPE_PREFIX + code;
+	}
+	
+	private static class RecodeBuildTask implements Callable<Object> 
+	{
+		private final FrameBlock _in;
+		private final int _colID;
+		private final StringDictionary _dict;
+		
+		protected RecodeBuildTask(FrameBlock in, int colID, StringDictionary dict) {
+			_in = in;
+			_colID = colID;
+			_dict = dict;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			buildColumnDict(_in, _colID, _dict);
+			return null;
+		}
 	}
 }
  
\ No newline at end of file
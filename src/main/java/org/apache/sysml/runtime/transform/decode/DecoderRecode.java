@@ -19,26 +19,25 @@
 
 package org.apache.sysml.runtime.transform.decode;
 
-import java.util.HashMap;
-
-import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.StringDictionary;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
  * Simple atomic decoder for recoded columns. This decoder builds internally
- * inverted recode maps from the given frame meta data. 
+ * inverted recode maps from the given frame meta data, which are dense
+ * arrays of decoded values indexed by code-1.
  *  
  */
 public class DecoderRecode extends Decoder
 {
 	private static final long serialVersionUID = -3784249774608228805L;
 
-	private HashMap<Long, Object>[] _rcMaps = null;
+	private Object[][] _rcMaps = null;
 	private boolean _onOut = false;
 	
 	protected DecoderRecode(ValueType[] schema, boolean onOut, int[] rcCols) {
@@ -54,8 +53,7 @@ public class DecoderRecode extends Decoder
 					int colID = _colList[j];
 					double val = UtilFunctions.objectToDouble(
 							out.getSchema()[colID-1], out.get(i, colID-1));
-					long key = UtilFunctions.toLong(val);
-					out.set(i, colID-1, _rcMaps[j].get(key));
+					out.set(i, colID-1, lookupRCDMap(j, val));
 				}
 			}
 		}
@@ -64,27 +62,34 @@ public class DecoderRecode extends Decoder
 			for( int i=0; i<in.getNumRows(); i++ ) {
 				for( int j=0; j<_colList.length; j++ ) {
 					double val = in.quickGetValue(i, _colList[j]-1);
-					long key = UtilFunctions.toLong(val);
-					out.set(i, _colList[j]-1, _rcMaps[j].get(key));
+					out.set(i, _colList[j]-1, lookupRCDMap(j, val));
 				}
 			}
 		}
 		return out;
 	}
 
+	private Object lookupRCDMap(int j, double val) {
+		long key = UtilFunctions.toLong(val);
+		Object[] map = _rcMaps[j];
+		return (key >= 1 && key <= map.length) ? map[(int)key-1] : null;
+	}
+
 	@Override
-	@SuppressWarnings("unchecked")
 	public void initMetaData(FrameBlock meta) {
-		//initialize recode maps according to schema
-		_rcMaps = new HashMap[_colList.length];
+		//initialize inverted recode maps according to schema
+		_rcMaps = new Object[_colList.length][];
 		for( int j=0; j<_colList.length; j++ ) {
-			HashMap<Long, Object> map = new HashMap<Long, Object>();
-			for( int i=0; i<meta.getNumRows(); i++ ) {
-				if( meta.get(i, _colList[j]-1)==null )
-					break; //reached end of recode map
-				String[] tmp = meta.get(i, _colList[j]-1).toString().split(Lop.DATATYPE_PREFIX);				
-				Object obj = UtilFunctions.stringToObject(_schema[_colList[j]-1], tmp[0]);
-				map.put(Long.parseLong(tmp[1]), obj);				
+			StringDictionary dict = meta.getRecodeDictionary(_colList[j]-1);
+			int maxCode = 0;
+			for( int i=0; i<dict.size(); i++ )
+				maxCode = Math.max(maxCode, dict.getCode(i));
+			Object[] map = new Object[maxCode];
+			for( int i=0; i<dict.size(); i++ ) {
+				int code = dict.getCode(i);
+				if( code >= 1 )
+					map[code-1] = UtilFunctions.stringToObject(
+						_schema[_colList[j]-1], dict.getToken(i));
 			}
 			_rcMaps[j] = map;
 		}
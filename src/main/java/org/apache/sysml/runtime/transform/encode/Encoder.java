@@ -109,6 +109,20 @@ public abstract class Encoder implements Serializable
 	 * @return output matrix block
 	 */
 	public abstract MatrixBlock encode(FrameBlock in, MatrixBlock out);
+	
+	/**
+	 * Block encode: build and apply (transform encode) with a degree of
+	 * parallelism of k. Encoders without a multi-threaded encode fall back
+	 * to the single-threaded encode.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return encode(in, out);
+	}
 
 	/**
 	 * Build the transform meta data for the given block input. This call modifies
@@ -118,6 +132,18 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract void build(FrameBlock in);
 	
+	/**
+	 * Build the transform meta data for the given block input with a degree
+	 * of parallelism of k. Encoders without a multi-threaded build fall back
+	 * to the single-threaded build.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		build(in);
+	}
+	
 	/**
 	 * Encode input data blockwise according to existing transform meta
 	 * data (transform apply).
@@ -128,6 +154,20 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
 	
+	/**
+	 * Encode input data blockwise according to existing transform meta
+	 * data (transform apply) with a degree of parallelism of k. Encoders 
+	 * without a multi-threaded apply fall back to the single-threaded apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out);
+	}
+	
 	/**
 	 * Encode input data according to existing transform meta
 	 * data (transform apply).
@@ -20,8 +20,12 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -29,10 +33,14 @@ import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.OutputCollector;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.DistinctValue;
+import org.apache.sysml.runtime.transform.DummycodeAgent;
+import org.apache.sysml.runtime.transform.OmitAgent;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * Simple composite encoder that applies a list of encoders 
@@ -44,6 +52,11 @@ public class EncoderComposite extends Encoder
 {
 	private static final long serialVersionUID = -8473768154646831882L;
 	
+	//min number of cells and max number of rows per task for multi-threaded apply,
+	//where the latter bounds the size of temporary outputs of concurrent tasks
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;
+	private static final int PAR_MAX_BLOCK_ROWS = 64*1024;
+	
 	private List<Encoder> _encoders = null;
 	private FrameBlock _meta = null;
 	
@@ -71,11 +84,7 @@ public class EncoderComposite extends Encoder
 			encoder.build(in);
 		
 		//propagate meta data 
-		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
-		for( Encoder encoder : _encoders )
-			_meta = encoder.getMetaData(_meta);
-		for( Encoder encoder : _encoders )
-			encoder.initMetaData(_meta);
+		propagateMetaData(in);
 		
 		//apply meta data
 		for( Encoder encoder : _encoders )
@@ -83,12 +92,38 @@ public class EncoderComposite extends Encoder
 			
 		return out;
 	}
+	
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		//build meta data first (for all encoders)
+		build(in, k);
+		
+		//propagate meta data 
+		propagateMetaData(in);
+		
+		//apply meta data
+		return apply(in, out, k);
+	}
 
 	@Override
 	public void build(FrameBlock in) {
 		for( Encoder encoder : _encoders )
 			encoder.build(in);
 	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		for( Encoder encoder : _encoders )
+			encoder.build(in, k);
+	}
+	
+	private void propagateMetaData(FrameBlock in) {
+		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
+		for( Encoder encoder : _encoders )
+			_meta = encoder.getMetaData(_meta);
+		for( Encoder encoder : _encoders )
+			encoder.initMetaData(_meta);
+	}
 
 
 	@Override
@@ -105,6 +140,50 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//sequential apply for small inputs or omit (which changes the number of rows)
+		int nrow = in.getNumRows();
+		if( k <= 1 || nrow <= 1 || (long)nrow * in.getNumColumns() < PAR_NUMCELL_THRESHOLD
+			|| containsEncoder(OmitAgent.class) )
+			return apply(in, out);
+		
+		//preallocate dense output (w/ number of columns after dummy coding)
+		int ncol = in.getNumColumns();
+		for( Encoder encoder : _encoders )
+			if( encoder instanceof DummycodeAgent )
+				ncol = encoder.getNumCols();
+		out.reset(nrow, ncol, false);
+		out.allocateDenseBlock();
+		
+		//apply all encoders on row partitions and copy into output rows
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<ApplyTask> tasks = new ArrayList<ApplyTask>();
+			int blklen = Math.min((int)Math.ceil((double)nrow/k), PAR_MAX_BLOCK_ROWS);
+			for( int i=0; i*blklen<nrow; i++ )
+				tasks.add(new ApplyTask(in, out, i*blklen, Math.min((i+1)*blklen, nrow)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			out.setNonZeros(nnz);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		
+		return out;
+	}
+	
+	private boolean containsEncoder(Class<? extends Encoder> clazz) {
+		for( Encoder encoder : _encoders )
+			if( clazz.isInstance(encoder) )
+				return true;
+		return false;
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		if( _meta != null )
@@ -134,4 +213,39 @@ public class EncoderComposite extends Encoder
 	public void loadTxMtd(JobConf job, FileSystem fs, Path txMtdDir, TfUtils agents) throws IOException {
 		throw new RuntimeException("File-based api not supported.");
 	}
+	
+	private class ApplyTask implements Callable<Long> 
+	{
+		private final FrameBlock _in;
+		private final MatrixBlock _out;
+		private final int _rl;
+		private final int _ru;
+		
+		protected ApplyTask(FrameBlock in, MatrixBlock out, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			//apply encoders on row partition (read-only access to encoder state)
+			FrameBlock in = _in.sliceOperations(_rl, _ru-1, 0, _in.getNumColumns()-1, new FrameBlock());
+			MatrixBlock tmp = apply(in, new MatrixBlock(_ru-_rl, _in.getNumColumns(), false));
+			tmp.recomputeNonZeros();
+			if( tmp.isEmptyBlock(false) )
+				return 0L;
+			
+			//copy partition into disjoint rows of preallocated output
+			if( tmp.isInSparseFormat() )
+				tmp.sparseToDense();
+			DenseBlock a = tmp.getDenseBlockView();
+			DenseBlock c = _out.getDenseBlockView();
+			int n = _out.getNumColumns();
+			for( int i=0; i<_ru-_rl; i++ )
+				System.arraycopy(a.values(i), a.pos(i), c.values(_rl+i), c.pos(_rl+i), n);
+			return tmp.getNonZeros();
+		}
+	}
 }
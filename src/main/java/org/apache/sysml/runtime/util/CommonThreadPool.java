@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Process-wide, work-stealing compute pool shared by all multi-threaded block 
+ * operations (e.g., matrix mult, aggregates, reorg, dnn, datagen, compression, 
+ * codegen) and the parallel readers and writers. This avoids the repeated creation 
+ * of thread pools per operation, which is significant for small operations in loops.
+ * 
+ * Operations obtain an executor via {@link #get(int)}, which caps the degree of 
+ * parallelism of this operation to k while sharing the long-lived worker threads. 
+ * Shutting down such an executor only affects the per-operation view. The lifetime
+ * of the shared pool is scoped by reference counting: scripts and connections 
+ * {@link #acquire()} the pool and {@link #release()} it when done, and the pool is 
+ * shut down once the last user released it (and lazily recreated on the next request).
+ * Hence, closing one JMLC connection does not affect other live connections.
+ */
+public class CommonThreadPool 
+{
+	private static ForkJoinPool _pool = null;
+	private static int _refCount = 0;
+	
+	//pool statistics (number of tasks, pending and max pending tasks, work steals)
+	private static final LongAdder _numTasks = new LongAdder();
+	private static final AtomicLong _numQueued = new AtomicLong(0);
+	private static final AtomicLong _maxQueued = new AtomicLong(0);
+	private static long _numSteals = 0;  //steals of already closed pools
+	private static long _baseSteals = 0; //steals of current pool before reset
+	
+	private CommonThreadPool() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Obtains an executor service over the shared compute pool, which
+	 * executes at most k tasks of the calling operation concurrently. 
+	 * Calls from a worker of the shared pool (nested parallelism) are 
+	 * executed inline in order to prevent deadlocks on blocked workers.
+	 * 
+	 * @param k maximum degree of parallelism of the calling operation
+	 * @return executor service
+	 */
+	public static ExecutorService get(int k) {
+		Thread t = Thread.currentThread();
+		boolean nested = (t instanceof ForkJoinWorkerThread
+			&& ((ForkJoinWorkerThread)t).getPool() == _pool);
+		return new BoundedExecutor(nested ? 0 : Math.max(k, 1));
+	}
+	
+	/**
+	 * Registers a user (e.g., script execution or JMLC connection) of
+	 * the shared compute pool, which keeps the pool alive until the 
+	 * matching call of {@link #release()}.
+	 */
+	public static synchronized void acquire() {
+		_refCount++;
+	}
+	
+	/**
+	 * Unregisters a user of the shared compute pool, and shuts down 
+	 * the pool if this was the last registered user.
+	 */
+	public static synchronized void release() {
+		_refCount = Math.max(_refCount-1, 0);
+		if( _refCount == 0 )
+			shutdown();
+	}
+	
+	/**
+	 * Shuts down the shared compute pool, after all submitted tasks
+	 * completed, independent of registered users. A subsequent request 
+	 * creates a new pool.
+	 */
+	public static synchronized void shutdown() {
+		if( _pool != null ) {
+			_numSteals += _pool.getStealCount() - _baseSteals;
+			_baseSteals = 0;
+			_pool.shutdown();
+			_pool = null;
+		}
+	}
+	
+	public static synchronized boolean isActive() {
+		return (_pool != null);
+	}
+	
+	public static long getNumTasks() {
+		return _numTasks.longValue();
+	}
+	
+	/**
+	 * Gets the maximum number of tasks that were submitted to the
+	 * per-operation executors but not yet started by a runner.
+	 * 
+	 * @return max number of pending tasks
+	 */
+	public static long getMaxQueueDepth() {
+		return _maxQueued.get();
+	}
+	
+	public static synchronized long getNumSteals() {
+		return _numSteals + ((_pool != null) ? 
+			_pool.getStealCount() - _baseSteals : 0);
+	}
+	
+	public static synchronized void resetStatistics() {
+		_numTasks.reset();
+		_maxQueued.set(0);
+		_numSteals = 0;
+		_baseSteals = (_pool != null) ? _pool.getStealCount() : 0;
+	}
+	
+	private static synchronized ForkJoinPool getPool() {
+		if( _pool == null ) {
+			int par = Math.max(InfrastructureAnalyzer.getLocalParallelism(), 1);
+			_pool = new ForkJoinPool(par, new ComputeThreadFactory(), null, false);
+		}
+		return _pool;
+	}
+	
+	private static void updateMaxQueued(long queued) {
+		long max = _maxQueued.get();
+		while( queued > max && !_maxQueued.compareAndSet(max, queued) )
+			max = _maxQueued.get();
+	}
+	
+	private static class ComputeThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory
+	{
+		private final AtomicInteger _threadID = new AtomicInteger(0);
+		
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			t.setName("SystemML-compute-" + _threadID.getAndIncrement());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+	
+	/**
+	 * Per-operation executor that queues tasks locally and drains them
+	 * with at most k concurrent runners in the shared pool (or inline for k=0).
+	 */
+	private static class BoundedExecutor extends AbstractExecutorService 
+	{
+		private final int _k;
+		private final ConcurrentLinkedQueue<Runnable> _queue = new ConcurrentLinkedQueue<Runnable>();
+		private final AtomicInteger _active = new AtomicInteger(0);
+		private volatile boolean _shutdown = false;
+		
+		public BoundedExecutor(int k) {
+			_k = k;
+		}
+		
+		@Override
+		public void execute(Runnable task) {
+			if( _shutdown )
+				throw new RejectedExecutionException("Executor has already been shut down.");
+			_numTasks.increment();
+			
+			if( _k <= 0 ) //inline execution
+				task.run();
+			else {
+				_queue.offer(task);
+				updateMaxQueued(_numQueued.incrementAndGet());
+				schedule();
+			}
+		}
+		
+		private void schedule() {
+			ForkJoinPool pool = getPool();
+			while( !_queue.isEmpty() ) {
+				int active = _active.get();
+				if( active >= _k )
+					break;
+				if( _active.compareAndSet(active, active+1) )
+					pool.execute(new Runner());
+			}
+		}
+		
+		private void done() {
+			synchronized( this ) {
+				if( _active.decrementAndGet() == 0 && _queue.isEmpty() )
+					notifyAll();
+			}
+			//recheck for tasks that were enqueued while all runners were active
+			if( !_queue.isEmpty() )
+				schedule();
+		}
+		
+		@Override
+		public void shutdown() {
+			_shutdown = true;
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			_shutdown = true;
+			List<Runnable> ret = new ArrayList<Runnable>();
+			for( Runnable r = _queue.poll(); r != null; r = _queue.poll() ) {
+				_numQueued.decrementAndGet();
+				ret.add(r);
+			}
+			return ret;
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return _shutdown;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return _shutdown && _active.get() == 0 && _queue.isEmpty();
+		}
+
+		@Override
+		public synchronized boolean awaitTermination(long timeout, TimeUnit unit) 
+			throws InterruptedException 
+		{
+			long end = System.nanoTime() + unit.toNanos(timeout);
+			while( !isTerminated() ) {
+				long remaining = end - System.nanoTime();
+				if( remaining <= 0 )
+					return false;
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+			return true;
+		}
+		
+		private class Runner implements Runnable 
+		{
+			@Override
+			public void run() {
+				try {
+					for( Runnable r = _queue.poll(); r != null; r = _queue.poll() ) {
+						_numQueued.decrementAndGet();
+						r.run();
+					}
+				}
+				finally {
+					done();
+				}
+			}
+		}
+	}
+}
@@ -311,6 +311,34 @@ public class DataConverter
 		int rows = mb.getNumRows();
 		int cols = mb.getNumColumns();
 		double[] ret = new double[rows*cols]; //0-initialized 
+		return convertToDoubleVector(mb, ret, false);
+	}
+	
+	/**
+	 * Converts the given matrix block into a row-major double array,
+	 * reusing the given output buffer if it is sufficiently large.
+	 * 
+	 * @param mb matrix block
+	 * @param buff output buffer, or null
+	 * @return output buffer or newly allocated array (if buff too small)
+	 */
+	public static double[] convertToDoubleVector( MatrixBlock mb, double[] buff )
+	{
+		int rows = mb.getNumRows();
+		int cols = mb.getNumColumns();
+		boolean reuse = (buff != null && buff.length >= rows*cols);
+		double[] ret = reuse ? buff : new double[rows*cols];
+		return convertToDoubleVector(mb, ret, reuse);
+	}
+	
+	private static double[] convertToDoubleVector( MatrixBlock mb, double[] ret, boolean reset )
+	{
+		int rows = mb.getNumRows();
+		int cols = mb.getNumColumns();
+		
+		//reset reused buffer for sparse or empty inputs
+		if( reset && (mb.isInSparseFormat() || mb.getNonZeros()==0) )
+			Arrays.fill(ret, 0, rows*cols, 0);
 		
 		if( mb.getNonZeros() > 0 )
 		{
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+/**
+ * Fast, allocation-light byte compressor in the LZ4 block format (literal runs
+ * and matches with 16-bit offsets, greedy single-probe hash matching). It is 
+ * used for blocks evicted by the buffer pool, which are compressed and 
+ * decompressed as a whole and hence require no framing. The compression ratio
+ * is typically lower than deflate-based codecs, but compression and especially 
+ * decompression run close to memory bandwidth.
+ * 
+ */
+public class FastByteCompressor 
+{
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MF_LIMIT = 12;
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_LOG = 14;
+	private static final int SKIP_TRIGGER = 6;
+	
+	private FastByteCompressor() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Obtains the worst-case compressed length for incompressible inputs.
+	 * 
+	 * @param len input length in bytes
+	 * @return maximum compressed length in bytes
+	 */
+	public static int maxCompressedLength(int len) {
+		return len + len/255 + 16;
+	}
+	
+	/**
+	 * Compresses the first len bytes of src into dst, which needs to provide
+	 * at least {@link #maxCompressedLength(int)} bytes.
+	 * 
+	 * @param src input byte array
+	 * @param len number of input bytes
+	 * @param dst output byte array
+	 * @return compressed length in bytes
+	 */
+	public static int compress(byte[] src, int len, byte[] dst) 
+	{
+		int[] table = new int[1 << HASH_LOG]; //positions+1 (0 for empty)
+		int sp = 0, anchor = 0, dp = 0;
+		int limit = len - MF_LIMIT;
+		
+		while( sp < limit ) {
+			int seq = readInt(src, sp);
+			int h = hash(seq);
+			int ref = table[h] - 1;
+			table[h] = sp + 1;
+			
+			//no match: skip ahead faster in incompressible regions
+			if( ref < 0 || sp - ref > MAX_OFFSET || readInt(src, ref) != seq ) {
+				sp += 1 + ((sp - anchor) >>> SKIP_TRIGGER);
+				continue;
+			}
+			
+			//extend match forward (but keep last literals)
+			int mlen = MIN_MATCH;
+			int maxLen = len - LAST_LITERALS - sp;
+			while( mlen < maxLen && src[ref+mlen] == src[sp+mlen] )
+				mlen++;
+			
+			dp = writeSequence(src, anchor, sp-anchor, sp-ref, mlen, dst, dp);
+			sp += mlen;
+			anchor = sp;
+		}
+		
+		//write remaining literals as last sequence
+		int lit = len - anchor;
+		dst[dp++] = (byte)(Math.min(lit, 15) << 4);
+		dp = writeLength(lit - 15, dst, dp);
+		System.arraycopy(src, anchor, dst, dp, lit);
+		return dp + lit;
+	}
+	
+	/**
+	 * Decompresses the first clen bytes of src into dst.
+	 * 
+	 * @param src compressed byte array
+	 * @param clen number of compressed bytes
+	 * @param dst output byte array of the uncompressed length
+	 * @return uncompressed length in bytes
+	 */
+	public static int decompress(byte[] src, int clen, byte[] dst) 
+	{
+		int sp = 0, dp = 0;
+		while( sp < clen ) {
+			int token = src[sp++] & 0xFF;
+			
+			//copy literals
+			int lit = token >>> 4;
+			if( lit == 15 ) {
+				int b;
+				do { b = src[sp++] & 0xFF; lit += b; } while( b == 255 );
+			}
+			System.arraycopy(src, sp, dst, dp, lit);
+			sp += lit;
+			dp += lit;
+			if( sp >= clen )
+				break; //last sequence
+			
+			//copy match (byte-wise for overlapping matches)
+			int off = (src[sp] & 0xFF) | ((src[sp+1] & 0xFF) << 8);
+			sp += 2;
+			int mlen = token & 0x0F;
+			if( mlen == 15 ) {
+				int b;
+				do { b = src[sp++] & 0xFF; mlen += b; } while( b == 255 );
+			}
+			mlen += MIN_MATCH;
+			int ref = dp - off;
+			if( off >= mlen )
+				System.arraycopy(dst, ref, dst, dp, mlen);
+			else
+				for( int i=0; i<mlen; i++ )
+					dst[dp+i] = dst[ref+i];
+			dp += mlen;
+		}
+		return dp;
+	}
+	
+	private static int writeSequence(byte[] src, int lpos, int lit, int off, int mlen, byte[] dst, int dp) {
+		int mlen4 = mlen - MIN_MATCH;
+		dst[dp++] = (byte)((Math.min(lit, 15) << 4) | Math.min(mlen4, 15));
+		dp = writeLength(lit - 15, dst, dp);
+		System.arraycopy(src, lpos, dst, dp, lit);
+		dp += lit;
+		dst[dp++] = (byte) off;
+		dst[dp++] = (byte)(off >>> 8);
+		return writeLength(mlen4 - 15, dst, dp);
+	}
+	
+	private static int writeLength(int len, byte[] dst, int dp) {
+		//extended length (only if the token nibble is 15)
+		if( len < 0 )
+			return dp;
+		while( len >= 255 ) {
+			dst[dp++] = (byte) 255;
+			len -= 255;
+		}
+		dst[dp++] = (byte) len;
+		return dp;
+	}
+	
+	private static int readInt(byte[] src, int pos) {
+		return (src[pos] & 0xFF) | ((src[pos+1] & 0xFF) << 8)
+			| ((src[pos+2] & 0xFF) << 16) | ((src[pos+3] & 0xFF) << 24);
+	}
+	
+	private static int hash(int seq) {
+		return (seq * -1640531535) >>> (32 - HASH_LOG);
+	}
+}
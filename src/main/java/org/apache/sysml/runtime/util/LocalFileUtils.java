@@ -31,6 +31,7 @@ import java.io.InputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
@@ -173,6 +174,12 @@ public class LocalFileUtils
 		}	
 	}
 
+	public static byte[] readByteArrayFromLocal( String filePathAndName )
+		throws IOException
+	{
+		return Files.readAllBytes(Paths.get(filePathAndName));
+	}
+
 	public static void writeByteArrayToLocal( String filePathAndName, byte[] data )
 		throws IOException
 	{	
@@ -189,6 +196,34 @@ public class LocalFileUtils
 		}
 	}
 
+	/**
+	 * Writes the contents of a sequence of byte buffers (e.g., direct or
+	 * memory-mapped buffers) to a local file, without copying them to the heap.
+	 * 
+	 * @param filePathAndName file to write
+	 * @param data byte buffers, written from position 0 to their limit
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeByteBuffersToLocal( String filePathAndName, ByteBuffer[] data )
+		throws IOException
+	{	
+		FileChannel channel = null;
+		try {
+			Path path = Paths.get(filePathAndName);
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			for( ByteBuffer buff : data ) {
+				ByteBuffer tmp = buff.duplicate();
+				tmp.rewind();
+				while( tmp.hasRemaining() )
+					channel.write(tmp);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+
 	public static int readBlockSequenceFromLocal( String filePathAndName, Pair<MatrixIndexes,MatrixValue>[] outValues, HashMap<MatrixIndexes, Integer> outMap) 
 		throws IOException
 	{
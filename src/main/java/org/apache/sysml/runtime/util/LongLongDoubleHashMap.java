@@ -20,6 +20,7 @@
 package org.apache.sysml.runtime.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * This native long long - double hashmap is specifically designed for
@@ -28,19 +29,39 @@ import java.util.ArrayList;
  * to be more memory-efficient which is important for large maps in order
  * to keep data in the caches and prevent high-latency random memory access. 
  * 
+ * The map uses open addressing with linear probing over parallel arrays
+ * of keys and values, i.e., it does not allocate any objects per entry. 
+ * Free slots are marked by Long.MIN_VALUE as first key, which is hence 
+ * not supported as a key (ctable keys are positive row/column indexes).
+ * 
  */
 public class LongLongDoubleHashMap 
 {
 	private static final int INIT_CAPACITY = 8;
+	private static final int MAX_CAPACITY = 1 << 30;
 	private static final int RESIZE_FACTOR = 2;
 	private static final float LOAD_FACTOR = 0.75f;
+	private static final long EMPTY = Long.MIN_VALUE;
 
-	private LLDoubleEntry[] data = null;
+	private long[] keys1 = null;
+	private long[] keys2 = null;
+	private double[] values = null;
 	private int size = -1;
 	
-	public LongLongDoubleHashMap()
-	{
-		data = new LLDoubleEntry[INIT_CAPACITY];
+	public LongLongDoubleHashMap() {
+		this(INIT_CAPACITY);
+	}
+	
+	/**
+	 * Creates a map that is able to hold the given number of entries
+	 * without resizing.
+	 * 
+	 * @param capacity expected number of entries
+	 */
+	public LongLongDoubleHashMap(int capacity) {
+		int len = (int)Math.min(MAX_CAPACITY, 
+			Math.max(INIT_CAPACITY, (long)Math.ceil(capacity/LOAD_FACTOR)+1));
+		allocate(UtilFunctions.nextIntPow2(len));
 		size = 0;
 	}
 
@@ -50,92 +71,143 @@ public class LongLongDoubleHashMap
 
 	public void addValue(long key1, long key2, double value)
 	{
-		//compute entry index position
-		int hash = hash(key1, key2);
-		int ix = indexFor(hash, data.length);
-
-		//find existing entry and add value
-		for( LLDoubleEntry e = data[ix]; e!=null; e = e.next ) {
-			if( e.key1==key1 && e.key2==key2 ) {
-				e.value += value;
+		if( key1 == EMPTY )
+			throw new IllegalArgumentException("Unsupported key: "+key1);
+		
+		//probe from hash position to existing entry or free slot
+		int mask = keys1.length - 1;
+		int ix = hash(key1, key2) & mask;
+		while( keys1[ix] != EMPTY ) {
+			if( keys1[ix]==key1 && keys2[ix]==key2 ) {
+				values[ix] += value;
 				return; //no need to append or resize
 			}
+			ix = (ix + 1) & mask;
 		}
 		
 		//add non-existing entry (constant time)
-		LLDoubleEntry enew = new LLDoubleEntry(key1, key2, value);
-		enew.next = data[ix]; //colliding entries / null
-		data[ix] = enew;
+		keys1[ix] = key1;
+		keys2[ix] = key2;
+		values[ix] = value;
 		size++;
 		
 		//resize if necessary
-		if( size >= LOAD_FACTOR*data.length )
+		if( size >= LOAD_FACTOR*keys1.length )
 			resize();
 	}
+	
+	public double get(long key1, long key2) {
+		int mask = keys1.length - 1;
+		int ix = hash(key1, key2) & mask;
+		while( keys1[ix] != EMPTY ) {
+			if( keys1[ix]==key1 && keys2[ix]==key2 )
+				return values[ix];
+			ix = (ix + 1) & mask;
+		}
+		return 0;
+	}
 
+	/**
+	 * Extracts all entries as objects, which is only meant for small maps
+	 * as it creates one entry object per distinct key. Use
+	 * {@link #getIterator()} for non-allocating scans.
+	 * 
+	 * @return list of entries in hash order
+	 */
 	public ArrayList<LLDoubleEntry> extractValues()
 	{
-		ArrayList<LLDoubleEntry> ret = new ArrayList<LLDoubleEntry>();
-		for( LLDoubleEntry e : data ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					ret.add(e);
-					e = e.next;
-				}
-				ret.add(e);	
-			}
-		}
-
+		ArrayList<LLDoubleEntry> ret = new ArrayList<LLDoubleEntry>(size);
+		for( int i=0; i<keys1.length; i++ )
+			if( keys1[i] != EMPTY )
+				ret.add(new LLDoubleEntry(keys1[i], keys2[i], values[i]));
 		return ret;
 	}
+	
+	public LLDoubleIterator getIterator() {
+		return new LLDoubleIterator();
+	}
 
+	private void allocate(int len) {
+		keys1 = new long[len];
+		keys2 = new long[len];
+		values = new double[len];
+		Arrays.fill(keys1, EMPTY);
+	}
+	
 	private void resize() {
-		//check for integer overflow on resize
-		if( data.length > Integer.MAX_VALUE/RESIZE_FACTOR )
+		//check for max capacity (no resize but failure on full map)
+		if( keys1.length >= MAX_CAPACITY ) {
+			if( size >= keys1.length - 1 )
+				throw new RuntimeException("Maximum capacity of hash map reached: "+size);
 			return;
+		}
 		
-		//resize data array and copy existing contents
-		LLDoubleEntry[] olddata = data;
-		data = new LLDoubleEntry[data.length*RESIZE_FACTOR];
-		size = 0;
+		//resize data arrays and copy existing contents
+		long[] okeys1 = keys1;
+		long[] okeys2 = keys2;
+		double[] ovalues = values;
+		allocate(keys1.length*RESIZE_FACTOR);
 		
-		//rehash all entries
-		for( LLDoubleEntry e : olddata ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					addValue(e.key1, e.key2, e.value);
-					e = e.next;
-				}
-				addValue(e.key1, e.key2, e.value);	
-			}
+		//rehash all entries (w/o duplicate checks)
+		int mask = keys1.length - 1;
+		for( int i=0; i<okeys1.length; i++ ) {
+			if( okeys1[i] == EMPTY )
+				continue;
+			int ix = hash(okeys1[i], okeys2[i]) & mask;
+			while( keys1[ix] != EMPTY )
+				ix = (ix + 1) & mask;
+			keys1[ix] = okeys1[i];
+			keys2[ix] = okeys2[i];
+			values[ix] = ovalues[i];
 		}
 	}
 
 	private static int hash(long key1, long key2) {
-		int h = UtilFunctions.longlongHashCode(key1, key2);
-		
-		// This function ensures that hashCodes that differ only by
-		// constant multiples at each bit position have a bounded
-		// number of collisions (approximately 8 at default load factor).
-		h ^= (h >>> 20) ^ (h >>> 12);
-		return h ^ (h >>> 7) ^ (h >>> 4);
+		//64bit mixing (murmur3 finalizer) of both keys because linear
+		//probing is sensitive to clustered hash codes of sequential keys
+		long h = key1 * 0x9E3779B97F4A7C15L + key2;
+		h ^= (h >>> 33);
+		h *= 0xff51afd7ed558ccdL;
+		h ^= (h >>> 33);
+		return (int)h;
 	}
 
-	private static int indexFor(int h, int length) {
-		return h & (length-1);
+	/**
+	 * Non-allocating iterator over all entries in hash order. 
+	 * Usage: while( it.next() ) { it.getKey1(); it.getKey2(); it.getValue(); }
+	 */
+	public class LLDoubleIterator {
+		private int _pos = -1;
+		
+		public boolean next() {
+			do {
+				_pos++;
+			} while( _pos < keys1.length && keys1[_pos] == EMPTY );
+			return _pos < keys1.length;
+		}
+		
+		public long getKey1() {
+			return keys1[_pos];
+		}
+		
+		public long getKey2() {
+			return keys2[_pos];
+		}
+		
+		public double getValue() {
+			return values[_pos];
+		}
 	}
-
-	public class LLDoubleEntry {
+	
+	public static class LLDoubleEntry {
 		public long key1 = Long.MAX_VALUE;
 		public long key2 = Long.MAX_VALUE;
 		public double value = Double.MAX_VALUE;
-		public LLDoubleEntry next = null;
 		
 		public LLDoubleEntry(long k1, long k2, double val) {
 			key1 = k1;
 			key2 = k2;
 			value = val;
-			next = null;
 		}
 	}
 }
@@ -457,7 +457,8 @@ public class MapReduceTool
 			mtd.put(DataExpression.READCOLPARAM, mc.getCols());
 			// handle output nnz and binary block configuration
 			if( dt.isMatrix() ) {
-				if (outinfo == OutputInfo.BinaryBlockOutputInfo ) {
+				if (outinfo == OutputInfo.BinaryBlockOutputInfo 
+					|| outinfo == OutputInfo.LocalBinaryBlockOutputInfo ) {
 					mtd.put(DataExpression.ROWBLOCKCOUNTPARAM, mc.getRowsPerBlock());
 					mtd.put(DataExpression.COLUMNBLOCKCOUNTPARAM, mc.getColsPerBlock());
 				}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This compact string dictionary is specifically designed for recode maps,
+ * which map distinct string tokens to integer codes. In contrast to a
+ * HashMap&lt;String,Long&gt;, which requires roughly 100 bytes per entry
+ * (entry, string, char array, and boxed long objects), the dictionary does
+ * not allocate any objects per entry.
+ *
+ * All tokens are interned into a single char array, referenced by offsets
+ * per entry. The hash table uses open addressing with linear probing over
+ * an array of entry indexes (0 marks free slots), where the cached hash
+ * codes per entry avoid most token comparisons and rehashing on resize.
+ * Entries are kept in insertion order, which allows for efficient scans
+ * and serialization, e.g., into the rows of transform meta data frames.
+ *
+ */
+public class StringDictionary implements Serializable
+{
+	private static final long serialVersionUID = -2587354162736475619L;
+
+	private static final int INIT_CAPACITY = 8;
+	private static final int MAX_CAPACITY = 1 << 30;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private int[] _table = null;   //hash table of entry indexes (1-based)
+	private int[] _hashes = null;  //hash codes per entry
+	private int[] _codes = null;   //codes per entry
+	private int[] _offsets = null; //token start offsets per entry (+1 end offset)
+	private char[] _data = null;   //interned token data
+	private int _size = 0;
+
+	public StringDictionary() {
+		this(INIT_CAPACITY);
+	}
+
+	/**
+	 * Creates a dictionary that is able to hold the given number of
+	 * entries without resizing.
+	 *
+	 * @param capacity expected number of entries
+	 */
+	public StringDictionary(int capacity) {
+		int len = (int)Math.min(MAX_CAPACITY,
+			Math.max(INIT_CAPACITY, (long)Math.ceil(capacity/LOAD_FACTOR)+1));
+		_table = new int[UtilFunctions.nextIntPow2(len)];
+		int cap = Math.max(capacity, INIT_CAPACITY);
+		_hashes = new int[cap];
+		_codes = new int[cap];
+		_offsets = new int[cap+1];
+		_data = new char[cap*8];
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Gets the code of the given token.
+	 *
+	 * @param token string token
+	 * @return code, or -1 if the token does not exist
+	 */
+	public int get(String token) {
+		int e = probe(token, hash(token));
+		return (_table[e] > 0) ? _codes[_table[e]-1] : -1;
+	}
+
+	public boolean containsKey(String token) {
+		return _table[probe(token, hash(token))] > 0;
+	}
+
+	/**
+	 * Adds the given token with the next code (i.e., size+1) if it does
+	 * not exist yet, which assigns codes in order of first occurrence.
+	 *
+	 * @param token string token
+	 * @return code of existing or added token
+	 */
+	public int putIfAbsent(String token) {
+		int h = hash(token);
+		int e = probe(token, h);
+		if( _table[e] > 0 )
+			return _codes[_table[e]-1];
+		return append(e, token, h, _size+1);
+	}
+
+	/**
+	 * Adds or updates the given token with the given code.
+	 *
+	 * @param token string token
+	 * @param code code
+	 */
+	public void put(String token, int code) {
+		int h = hash(token);
+		int e = probe(token, h);
+		if( _table[e] > 0 )
+			_codes[_table[e]-1] = code;
+		else
+			append(e, token, h, code);
+	}
+
+	/**
+	 * Gets the token of the given entry, where entries are
+	 * indexed in insertion order.
+	 *
+	 * @param ix entry index in [0, size)
+	 * @return string token
+	 */
+	public String getToken(int ix) {
+		return new String(_data, _offsets[ix], _offsets[ix+1]-_offsets[ix]);
+	}
+
+	/**
+	 * Gets the code of the given entry, where entries are
+	 * indexed in insertion order.
+	 *
+	 * @param ix entry index in [0, size)
+	 * @return code
+	 */
+	public int getCode(int ix) {
+		return _codes[ix];
+	}
+
+	/**
+	 * Gets the size of this dictionary in memory, including unused
+	 * capacity of the hash table, entry arrays, and token data.
+	 *
+	 * @return size in bytes
+	 */
+	public long getInMemorySize() {
+		//object header and references, and arrays w/ headers
+		return 48 + 16L + 4L*_table.length + 16L + 4L*_hashes.length + 16L
+			+ 4L*_codes.length + 16L + 4L*_offsets.length + 16L + 2L*_data.length;
+	}
+
+	private int probe(String token, int h) {
+		//probe from hash position to existing entry or free slot
+		int mask = _table.length - 1;
+		int ix = h & mask;
+		while( _table[ix] > 0 ) {
+			int e = _table[ix]-1;
+			if( _hashes[e] == h && equals(e, token) )
+				return ix;
+			ix = (ix + 1) & mask;
+		}
+		return ix;
+	}
+
+	private boolean equals(int e, String token) {
+		int off = _offsets[e];
+		int len = _offsets[e+1] - off;
+		if( len != token.length() )
+			return false;
+		for( int i=0; i<len; i++ )
+			if( _data[off+i] != token.charAt(i) )
+				return false;
+		return true;
+	}
+
+	private int append(int ix, String token, int h, int code) {
+		//ensure capacity of entry arrays and token data
+		if( _size == _codes.length ) {
+			int ncap = Math.max(_size*2, INIT_CAPACITY);
+			_hashes = Arrays.copyOf(_hashes, ncap);
+			_codes = Arrays.copyOf(_codes, ncap);
+			_offsets = Arrays.copyOf(_offsets, ncap+1);
+		}
+		int off = _offsets[_size];
+		if( off + token.length() > _data.length )
+			_data = Arrays.copyOf(_data, (int)Math.min(Integer.MAX_VALUE,
+				Math.max(2L*_data.length, (long)off+token.length())));
+
+		//add non-existing entry (constant time)
+		token.getChars(0, token.length(), _data, off);
+		_offsets[_size+1] = off + token.length();
+		_hashes[_size] = h;
+		_codes[_size] = code;
+		_table[ix] = ++_size;
+
+		//resize if necessary
+		if( _size >= LOAD_FACTOR*_table.length )
+			resize();
+		return code;
+	}
+
+	private void resize() {
+		//check for max capacity (no resize but failure on full map)
+		if( _table.length >= MAX_CAPACITY ) {
+			if( _size >= _table.length - 1 )
+				throw new RuntimeException("Maximum capacity of string dictionary reached: "+_size);
+			return;
+		}
+
+		//rehash all entries w/ cached hash codes (w/o duplicate checks)
+		_table = new int[_table.length*2];
+		int mask = _table.length - 1;
+		for( int e=0; e<_size; e++ ) {
+			int ix = _hashes[e] & mask;
+			while( _table[ix] > 0 )
+				ix = (ix + 1) & mask;
+			_table[ix] = e+1;
+		}
+	}
+
+	private static int hash(String token) {
+		//mixing of the string hash code (murmur3 finalizer) because linear
+		//probing is sensitive to clustered hash codes of similar tokens
+		int h = token.hashCode();
+		h ^= (h >>> 16);
+		h *= 0x85ebca6b;
+		h ^= (h >>> 13);
+		h *= 0xc2b2ae35;
+		h ^= (h >>> 16);
+		return h;
+	}
+}
@@ -32,6 +32,7 @@ import org.apache.sysml.hops.HopsException;
 import org.apache.sysml.hops.LiteralOp;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.codegen.cplan.CNode;
+import org.apache.sysml.hops.codegen.cplan.CNodeMultiAgg;
 import org.apache.sysml.hops.codegen.cplan.CNodeTpl;
 import org.apache.sysml.hops.globalopt.gdfgraph.GDFLoopNode;
 import org.apache.sysml.hops.globalopt.gdfgraph.GDFNode;
@@ -379,10 +380,16 @@ public class Explain
 		sb.append("--inputs: "+Arrays.toString(cplan.getInputNames())+"\n");
 		sb.append("----------------------------------------\n");
 		
-		//explain body dag
-		cplan.getOutput().resetVisitStatus();
-		sb.append(explainCNode(cplan.getOutput(), 1));
-		cplan.getOutput().resetVisitStatus();
+		//explain body dag (all outputs of multi-aggregates)
+		ArrayList<CNode> outputs = (cplan instanceof CNodeMultiAgg) ?
+			((CNodeMultiAgg)cplan).getOutputs() : 
+			new ArrayList<CNode>(Arrays.asList(cplan.getOutput()));
+		for( CNode output : outputs )
+			output.resetVisitStatus();
+		for( CNode output : outputs )
+			sb.append(explainCNode(output, 1));
+		for( CNode output : outputs )
+			output.resetVisitStatus();
 		sb.append("----------------------------------------\n");
 		
 		return sb.toString();
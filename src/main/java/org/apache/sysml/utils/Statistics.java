@@ -42,6 +42,7 @@ import org.apache.sysml.runtime.instructions.MRJobInstruction;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysml.runtime.instructions.spark.SPInstruction;
 import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysml.runtime.util.CommonThreadPool;
 
 /**
  * This class captures all statistics.
@@ -80,6 +81,8 @@ public class Statistics
 	private static final LongAdder codegenClassCompile = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheHits = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheTotal = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheHits = new LongAdder(); //count
+	private static final LongAdder codegenClassCompileTimeSaved = new LongAdder(); //in nano
 	
 	//Function recompile stats 
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
@@ -99,6 +102,7 @@ public class Statistics
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static long parforTaskSteals = 0; //count
 	
 	//heavy hitter counts and times 
 	private static HashMap<String,Long> _cpInstTime = new HashMap<String, Long>();
@@ -107,6 +111,9 @@ public class Statistics
 	private static final LongAdder lTotalUIPVar = new LongAdder();
 	private static final LongAdder lTotalLix = new LongAdder();
 	private static final LongAdder lTotalLixUIP = new LongAdder();
+	
+	//columnar frame read stats (decoded column chunks)
+	private static final LongAdder columnarChunkReads = new LongAdder(); //count
 
 	public static synchronized long getNoOfExecutedMRJobs() {
 		return numExecutedMRJobs.longValue();
@@ -172,6 +179,14 @@ public class Statistics
 		lTotalLix.increment();
 	}
 
+	public static long getColumnarChunkReads() {
+		return columnarChunkReads.longValue();
+	}
+
+	public static void incrementColumnarChunkReads(long delta) {
+		columnarChunkReads.add(delta);
+	}
+
 	public static void resetNoOfCompiledJobs( int count ) {
 		//reset both mr/sp for multiple tests within one jvm
 		numCompiledSPInst.reset();
@@ -251,6 +266,14 @@ public class Statistics
 		codegenPlanCacheTotal.increment();
 	}
 	
+	public static void incrementCodegenClassCacheHits() {
+		codegenClassCacheHits.increment();
+	}
+	
+	public static void incrementCodegenClassCompileTimeSaved(long delta) {
+		codegenClassCompileTimeSaved.add(delta);
+	}
+	
 	public static long getCodegenDAGCompile() {
 		return codegenHopCompile.longValue();
 	}
@@ -278,6 +301,14 @@ public class Statistics
 	public static long getCodegenPlanCacheTotal() {
 		return codegenPlanCacheTotal.longValue();
 	}
+	
+	public static long getCodegenClassCacheHits() {
+		return codegenClassCacheHits.longValue();
+	}
+	
+	public static long getCodegenClassCompileTimeSaved() {
+		return codegenClassCompileTimeSaved.longValue();
+	}
 
 	public static void incrementFunRecompileTime( long delta ) {
 		funRecompileTime.add(delta);
@@ -302,6 +333,10 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForTaskSteals( long count ) {
+		parforTaskSteals += count;
+	}
 
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
@@ -355,11 +390,14 @@ public class Statistics
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforTaskSteals = 0;
 		
 		lTotalLix.reset();
 		lTotalLixUIP.reset();
 		lTotalUIPVar.reset();
 		
+		columnarChunkReads.reset();
+		
 		resetJITCompileTime();
 		resetJVMgcTime();
 		resetJVMgcCount();
@@ -367,6 +405,7 @@ public class Statistics
 
 		GPUStatistics.reset();
 		LibMatrixDNN.resetStatistics();
+		CommonThreadPool.resetStatistics();
 	}
 
 	public static void resetJITCompileTime(){
@@ -580,6 +619,10 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforTaskSteals(){
+		return parforTaskSteals;
+	}
 
 	/**
 	 * Returns statistics of the DML program that was recently completed as a string
@@ -623,7 +666,17 @@ public class Statistics
 		{
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			if( CacheStatistics.getOffHeapWrites() > 0 )
+				sb.append("Cache off-heap (hits, writes, MB r/w):\t" + CacheStatistics.displayOffHeap() + ".\n");
+			if( CacheStatistics.getFSBuffWrites() > 0 )
+				sb.append("Cache WB policy (hits/misses):\t" + CacheStatistics.displayPolicyHits() + ".\n");
+			if( CacheStatistics.getPrefetchIssued() > 0 )
+				sb.append("Cache prefetch (issued/hits, saved):\t" + CacheStatistics.displayPrefetch() + ".\n");
+			if( CacheStatistics.getCompressTried() > 0 )
+				sb.append("Cache compress (blocks, MB raw/comp, c/d):\t" + CacheStatistics.displayCompression() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( getColumnarChunkReads() > 0 )
+				sb.append("Columnar chunks read:\t\t" + getColumnarChunkReads() + ".\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
 			if( getFunRecompiles()>0 ) {
@@ -635,6 +688,10 @@ public class Statistics
 				sb.append("Codegen compile times (DAG,JC):\t" + String.format("%.3f", (double)getCodegenCompileTime()/1000000000) + "/" + 
 						String.format("%.3f", (double)getCodegenClassCompileTime()/1000000000)  + " sec.\n");
 				sb.append("Codegen plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
+				if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN_CLASSCACHE) ) {
+					sb.append("Codegen class cache hits:\t" + getCodegenClassCacheHits() + ".\n");
+					sb.append("Codegen JC time saved:\t\t" + String.format("%.3f", (double)getCodegenClassCompileTimeSaved()/1000000000) + " sec.\n");
+				}
 			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
@@ -655,6 +712,13 @@ public class Statistics
 				sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getParforInitTime())/1000) + " sec.\n");	
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
+				if( parforTaskSteals>0 )
+					sb.append("ParFor task steals:\t\t" + getParforTaskSteals() + ".\n");
+			}
+
+			if( CommonThreadPool.getNumTasks()>0 ) {
+				sb.append("Compute pool tasks/steals:\t" + CommonThreadPool.getNumTasks() + "/" + CommonThreadPool.getNumSteals() + ".\n");
+				sb.append("Compute pool max queue depth:\t" + CommonThreadPool.getMaxQueueDepth() + ".\n");
 			}
 
 			sb.append("Total JIT compile time:\t\t" + ((double)getJITCompileTime())/1000 + " sec.\n");
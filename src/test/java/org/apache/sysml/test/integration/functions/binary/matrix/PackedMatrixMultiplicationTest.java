@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Compares the packed, register-tiled dense-dense matrix multiplication
+ * against the default kernel for tall-skinny, square and wide shapes.
+ */
+public class PackedMatrixMultiplicationTest extends AutomatedTestBase
+{
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testTallSkinnySingleThreaded() {
+		runPackedMatrixMultTest(3017, 523, 71, 1);
+	}
+	
+	@Test
+	public void testSquareSingleThreaded() {
+		runPackedMatrixMultTest(601, 599, 603, 1);
+	}
+	
+	@Test
+	public void testWideSingleThreaded() {
+		runPackedMatrixMultTest(35, 701, 4313, 1);
+	}
+	
+	@Test
+	public void testTallSkinnyMultiThreaded() {
+		runPackedMatrixMultTest(3017, 523, 71, 7);
+	}
+	
+	@Test
+	public void testSquareMultiThreaded() {
+		runPackedMatrixMultTest(601, 599, 603, 7);
+	}
+	
+	@Test
+	public void testWideMultiThreaded() {
+		runPackedMatrixMultTest(35, 701, 4313, 7);
+	}
+
+	private void runPackedMatrixMultTest(int m, int cd, int n, int k)
+	{
+		boolean flagOld = LibMatrixMult.PACKED_DENSE_MM;
+		
+		try
+		{
+			MatrixBlock m1 = DataConverter.convertToMatrixBlock(
+					TestUtils.generateTestMatrix(m, cd, -1, 1, 1.0, 7));
+			MatrixBlock m2 = DataConverter.convertToMatrixBlock(
+					TestUtils.generateTestMatrix(cd, n, -1, 1, 1.0, 3));
+			
+			//default dense-dense matrix mult
+			LibMatrixMult.PACKED_DENSE_MM = false;
+			MatrixBlock ret1 = new MatrixBlock(m, n, false);
+			LibMatrixMult.matrixMult(m1, m2, ret1, k);
+			
+			//packed dense-dense matrix mult
+			LibMatrixMult.PACKED_DENSE_MM = true;
+			MatrixBlock ret2 = new MatrixBlock(m, n, false);
+			LibMatrixMult.matrixMult(m1, m2, ret2, k);
+			
+			//compare results and meta data
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, m, n, eps);
+			if( ret1.getNonZeros() != ret2.getNonZeros() )
+				throw new RuntimeException("Wrong number of non-zeros: "
+					+ ret2.getNonZeros() + " (expected " + ret1.getNonZeros() + ")");
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LibMatrixMult.PACKED_DENSE_MM = flagOld;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.FastByteCompressor;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the compression of evicted blocks, checking
+ * the per-block compression decision as well as round trips through the
+ * write buffer representation and compressed local files.
+ *
+ */
+public class CacheCompressionTest extends AutomatedTestBase
+{
+	private final static int rows = 1021;
+	private final static int cols = 157;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCompressDenseOneHot() throws IOException {
+		runCacheCompressionTest(createOneHot(rows, cols), false, true);
+	}
+
+	@Test
+	public void testCompressDenseInteger() throws IOException {
+		double[][] A = getRandomMatrix(rows, cols, 0, 3, sparsity1, 7);
+		for( double[] row : A )
+			for( int j=0; j<row.length; j++ )
+				row[j] = Math.round(row[j]);
+		runCacheCompressionTest(A, false, true);
+	}
+
+	@Test
+	public void testCompressDenseRandom() throws IOException {
+		runCacheCompressionTest(getRandomMatrix(rows, cols, -1, 1, sparsity1, 7), false, false);
+	}
+
+	@Test
+	public void testCompressSparseRandom() throws IOException {
+		runCacheCompressionTest(getRandomMatrix(rows, cols, -1, 1, sparsity2, 3), true, false);
+	}
+
+	@Test
+	public void testCompressorRoundTrip() {
+		Random rand = new Random(7);
+		for( int i=0; i<100; i++ ) {
+			byte[] in = new byte[rand.nextInt(100000)];
+			for( int j=0; j<in.length; j++ )
+				in[j] = (byte)((i%2==0) ? rand.nextInt(256) : (rand.nextInt(8)==0 ? rand.nextInt(4) : j/1000));
+			byte[] tmp = new byte[FastByteCompressor.maxCompressedLength(in.length)];
+			int clen = FastByteCompressor.compress(in, in.length, tmp);
+			byte[] out = new byte[in.length];
+			Assert.assertEquals(in.length, FastByteCompressor.decompress(tmp, clen, out));
+			Assert.assertTrue(Arrays.equals(in, out));
+		}
+	}
+
+	private void runCacheCompressionTest(double[][] A, boolean sparse, boolean compressed)
+		throws IOException
+	{
+		String dir = LocalFileUtils.getUniqueWorkingDir("compress");
+		LocalFileUtils.createLocalFileIfNotExist(dir);
+		String oldDir = CacheableData.cacheEvictionLocalFilePath;
+		CacheableData.cacheEvictionLocalFilePath = dir;
+
+		try {
+			LazyWriteBuffer.init();
+			LazyWriteBuffer.setCompressionEnabled(true);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			if( sparse )
+				mbA.examSparsity();
+
+			//check compression decision and write buffer round trip
+			ByteBuffer bbuff = new ByteBuffer(mbA.getExactSerializedSize());
+			bbuff.serializeBlock(mbA);
+			Assert.assertEquals(compressed, bbuff.isCompressed());
+			if( compressed )
+				Assert.assertTrue(bbuff.getCompressedSize() < bbuff.getSize());
+			MatrixBlock ret = (MatrixBlock) bbuff.deserializeBlock();
+			Assert.assertEquals(mbA.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+
+			//check local file round trip
+			String fnameA = dir + "/cacheA";
+			bbuff.evictBuffer(fnameA);
+			ret = (MatrixBlock) LazyWriteBuffer.readBlockFromLocal(fnameA, true);
+			Assert.assertEquals(mbA.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			LazyWriteBuffer.setCompressionEnabled(false);
+			CacheableData.cacheEvictionLocalFilePath = oldDir;
+			LocalFileUtils.deleteFileIfExists(dir);
+		}
+	}
+
+	private static double[][] createOneHot(int rows, int cols) {
+		Random rand = new Random(7);
+		double[][] ret = new double[rows][cols];
+		for( int i=0; i<rows; i++ )
+			ret[i][rand.nextInt(cols)] = 1;
+		return ret;
+	}
+}
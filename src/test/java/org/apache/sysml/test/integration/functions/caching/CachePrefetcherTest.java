@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.CachePrefetcher;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the asynchronous prefetch of evicted blocks,
+ * checking prefetched restores from local files, as well as invalidation
+ * on deletes and writes of the eviction file.
+ *
+ */
+public class CachePrefetcherTest extends AutomatedTestBase
+{
+	private final static int rows = 1021;
+	private final static int cols = 157;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testPrefetchDense() throws IOException {
+		runCachePrefetcherTest(sparsity1, false);
+	}
+
+	@Test
+	public void testPrefetchSparse() throws IOException {
+		runCachePrefetcherTest(sparsity2, false);
+	}
+
+	@Test
+	public void testPrefetchInvalidateDense() throws IOException {
+		runCachePrefetcherTest(sparsity1, true);
+	}
+
+	@Test
+	public void testPrefetchInvalidateSparse() throws IOException {
+		runCachePrefetcherTest(sparsity2, true);
+	}
+
+	private void runCachePrefetcherTest(double sparsity, boolean invalidate)
+		throws IOException
+	{
+		String dir = LocalFileUtils.getUniqueWorkingDir("prefetch");
+		LocalFileUtils.createLocalFileIfNotExist(dir);
+		String oldDir = CacheableData.cacheEvictionLocalFilePath;
+		CacheableData.cacheEvictionLocalFilePath = dir;
+
+		try {
+			LazyWriteBuffer.init();
+			CachePrefetcher.init(2);
+
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			mbA.examSparsity();
+			String fnameA = dir + "/cacheA";
+			LocalFileUtils.writeCacheBlockToLocal(fnameA, mbA);
+
+			//issue prefetch (repeated requests are ignored)
+			CachePrefetcher.prefetchBlock(fnameA, true, mbA.getInMemorySize());
+			CachePrefetcher.prefetchBlock(fnameA, true, mbA.getInMemorySize());
+			Assert.assertEquals(1, CachePrefetcher.getNumPending());
+			if( invalidate )
+				LazyWriteBuffer.deleteBlock(fnameA);
+
+			//check prefetched block (consumed on first access)
+			MatrixBlock ret = (MatrixBlock) CachePrefetcher.getPrefetchedBlock(fnameA);
+			Assert.assertEquals(invalidate, ret == null);
+			if( !invalidate ) {
+				Assert.assertEquals(mbA.getNonZeros(), ret.getNonZeros());
+				TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+			}
+			Assert.assertNull(CachePrefetcher.getPrefetchedBlock(fnameA));
+			Assert.assertEquals(0, CachePrefetcher.getNumPending());
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			CacheableData.cacheEvictionLocalFilePath = oldDir;
+			LocalFileUtils.deleteFileIfExists(dir);
+		}
+	}
+}
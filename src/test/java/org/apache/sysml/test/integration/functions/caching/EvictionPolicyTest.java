@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.EvictionQueue;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the eviction policies of the buffer pool,
+ * checking the victim selection of a loop-invariant input (large, accessed
+ * in every iteration) in the presence of short-lived temporaries.
+ *
+ */
+public class EvictionPolicyTest extends AutomatedTestBase
+{
+	private final static String fnameX = "cacheX";
+	private final static long sizeX = 64L*1024*1024;
+	private final static long sizeTmp = 8L*1024*1024;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testEvictionPolicyFIFO() {
+		runEvictionPolicyTest(RPolicy.FIFO, false, true);
+	}
+
+	@Test
+	public void testEvictionPolicyLRU() {
+		runEvictionPolicyTest(RPolicy.LRU, false, false);
+	}
+
+	@Test
+	public void testEvictionPolicyGDS() {
+		runEvictionPolicyTest(RPolicy.GDS, false, false);
+	}
+
+	@Test
+	public void testEvictionPolicyLifetime() {
+		runEvictionPolicyTest(RPolicy.LIFETIME, false, false);
+	}
+
+	@Test
+	public void testEvictionPolicyLifetimeHint() {
+		runEvictionPolicyTest(RPolicy.LIFETIME, true, false);
+	}
+
+	@Test
+	public void testEvictionPolicyLifetimeHintNoAccess() {
+		for( boolean hint : new boolean[]{false, true} ) {
+			//X is least recently used, but retained if hinted
+			EvictionQueue queue = EvictionQueue.createEvictionQueue(RPolicy.LIFETIME);
+			queue.put(fnameX, new ByteBuffer(sizeX));
+			if( hint )
+				queue.updateLifetimeHint(fnameX, 1);
+			for( int i=0; i<3; i++ )
+				queue.put("cacheTmp"+i, new ByteBuffer(sizeTmp));
+			Assert.assertEquals(!hint, queue.removeFirst().getKey().equals(fnameX));
+		}
+	}
+
+	@Test
+	public void testEvictionPolicyRemove() {
+		for( RPolicy policy : RPolicy.values() ) {
+			EvictionQueue queue = EvictionQueue.createEvictionQueue(policy);
+			queue.put("a", new ByteBuffer(sizeTmp));
+			queue.put("b", new ByteBuffer(sizeTmp));
+			Assert.assertNotNull(queue.remove("a"));
+			Assert.assertNull(queue.remove("a"));
+			Assert.assertNull(queue.get("a"));
+			Assert.assertEquals("b", queue.removeFirst().getKey());
+			Assert.assertTrue(queue.isEmpty());
+		}
+	}
+
+	/**
+	 * Simulates a loop that reads X and then creates a temporary, where the
+	 * previous temporary is accessed once more (e.g., by the next iteration).
+	 *
+	 * @param policy eviction policy
+	 * @param hint if true, X is marked as loop-invariant
+	 * @param evictX expected eviction of X as the next victim
+	 */
+	private void runEvictionPolicyTest(RPolicy policy, boolean hint, boolean evictX)
+	{
+		EvictionQueue queue = EvictionQueue.createEvictionQueue(policy);
+		if( hint )
+			queue.updateLifetimeHint(fnameX, 1);
+		queue.put(fnameX, new ByteBuffer(sizeX));
+
+		for( int i=0; i<10; i++ ) {
+			Assert.assertNotNull(queue.get(fnameX));
+			queue.put("cacheTmp"+i, new ByteBuffer(sizeTmp));
+			if( i > 0 )
+				Assert.assertNotNull(queue.get("cacheTmp"+(i-1)));
+		}
+		Assert.assertEquals(11, queue.size());
+
+		//check next victim
+		String victim = queue.removeFirst().getKey();
+		Assert.assertEquals(evictX, victim.equals(fnameX));
+		Assert.assertEquals(10, queue.size());
+
+		//check all remaining entries eventually evicted
+		if( hint )
+			queue.updateLifetimeHint(fnameX, -1);
+		while( !queue.isEmpty() )
+			Assert.assertNotNull(queue.removeFirst().getValue());
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapBuffer.OffHeapType;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the off-heap eviction tier of the buffer pool,
+ * checking dense, large dense, and sparse round trips, the spill of old 
+ * entries to local files if the tier is full, as well as the invalidation
+ * of off-heap entries of restored blocks that are modified and evicted again.
+ *
+ */
+public class OffHeapBufferTest extends AutomatedTestBase
+{
+	private final static int rows = 1021;
+	private final static int cols = 157;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static long maxCells = 10000; //force large dense blocks
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testOffHeapDirectDense() throws IOException {
+		runOffHeapBufferTest(OffHeapType.DIRECT, sparsity1, false);
+	}
+
+	@Test
+	public void testOffHeapDirectSparse() throws IOException {
+		runOffHeapBufferTest(OffHeapType.DIRECT, sparsity2, false);
+	}
+
+	@Test
+	public void testOffHeapMMapDense() throws IOException {
+		runOffHeapBufferTest(OffHeapType.MMAP, sparsity1, false);
+	}
+
+	@Test
+	public void testOffHeapMMapSparse() throws IOException {
+		runOffHeapBufferTest(OffHeapType.MMAP, sparsity2, false);
+	}
+
+	@Test
+	public void testOffHeapDirectDenseSpill() throws IOException {
+		runOffHeapBufferTest(OffHeapType.DIRECT, sparsity1, true);
+	}
+
+	@Test
+	public void testOffHeapMMapSparseSpill() throws IOException {
+		runOffHeapBufferTest(OffHeapType.MMAP, sparsity2, true);
+	}
+
+	@Test
+	public void testOffHeapDirectLargeDense() throws IOException {
+		runOffHeapBufferTest(OffHeapType.DIRECT, sparsity1, false, true);
+	}
+
+	@Test
+	public void testOffHeapMMapLargeDense() throws IOException {
+		runOffHeapBufferTest(OffHeapType.MMAP, sparsity1, false, true);
+	}
+
+	@Test
+	public void testOffHeapDirectLargeDenseSpill() throws IOException {
+		runOffHeapBufferTest(OffHeapType.DIRECT, sparsity1, true, true);
+	}
+
+	@Test
+	public void testOffHeapDirectRewriteLarger() throws IOException {
+		runOffHeapRewriteTest(OffHeapType.DIRECT, false);
+	}
+
+	@Test
+	public void testOffHeapMMapRewriteLarger() throws IOException {
+		runOffHeapRewriteTest(OffHeapType.MMAP, false);
+	}
+
+	@Test
+	public void testOffHeapDirectRestoreDelete() throws IOException {
+		runOffHeapRewriteTest(OffHeapType.DIRECT, true);
+	}
+
+	private void runOffHeapBufferTest(OffHeapType type, double sparsity, boolean spill)
+		throws IOException
+	{
+		runOffHeapBufferTest(type, sparsity, spill, false);
+	}
+
+	private void runOffHeapBufferTest(OffHeapType type, double sparsity, boolean spill, boolean large)
+		throws IOException
+	{
+		long maxCellsOld = DenseBlock.getMaxBlockCells();
+		if( large )
+			DenseBlock.setMaxBlockCells(maxCells);
+		String dir = LocalFileUtils.getUniqueWorkingDir("offheap");
+		LocalFileUtils.createLocalFileIfNotExist(dir);
+		String oldDir = CacheableData.cacheEvictionLocalFilePath;
+		CacheableData.cacheEvictionLocalFilePath = dir;
+
+		try {
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			double[][] B = getRandomMatrix(rows, cols, -1, 1, sparsity, 3);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(B);
+			mbA.examSparsity();
+			mbB.examSparsity();
+			Assert.assertEquals(large, mbA.isLargeDense() && mbB.isLargeDense());
+			String fnameA = dir + "/cacheA";
+			String fnameB = dir + "/cacheB";
+
+			//limit too small for both blocks if spill is requested
+			long size = getOffHeapSize(mbA) + getOffHeapSize(mbB);
+			OffHeapBuffer.init(type, spill ? size-1 : 2*size);
+
+			Assert.assertTrue(OffHeapBuffer.writeBlock(fnameA, mbA));
+			Assert.assertTrue(OffHeapBuffer.writeBlock(fnameB, mbB));
+
+			//check round trip (entry remains available after read)
+			for( int i=0; i<2; i++ ) {
+				MatrixBlock ret = (MatrixBlock) OffHeapBuffer.readBlock(fnameB, true);
+				Assert.assertNotNull(ret);
+				Assert.assertEquals(mbB.getNonZeros(), ret.getNonZeros());
+				Assert.assertEquals(large, ret.isLargeDense());
+				TestUtils.compareMatrices(B, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+			}
+
+			//check first block (spilled to local file or off-heap)
+			MatrixBlock ret = (MatrixBlock) OffHeapBuffer.readBlock(fnameA, true);
+			Assert.assertEquals(spill, ret == null);
+			Assert.assertEquals(spill, new File(fnameA).exists());
+			if( spill )
+				ret = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fnameA, true);
+			Assert.assertEquals(mbA.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+
+			//check delete
+			Assert.assertTrue(OffHeapBuffer.deleteBlock(fnameB));
+			Assert.assertFalse(OffHeapBuffer.deleteBlock(fnameB));
+			Assert.assertNull(OffHeapBuffer.readBlock(fnameB, true));
+		}
+		finally {
+			OffHeapBuffer.cleanup();
+			OffHeapBuffer.init(OffHeapType.NONE, 0);
+			CacheableData.cacheEvictionLocalFilePath = oldDir;
+			LocalFileUtils.deleteFileIfExists(dir);
+			DenseBlock.setMaxBlockCells(maxCellsOld);
+		}
+	}
+
+	private void runOffHeapRewriteTest(OffHeapType type, boolean delete)
+		throws IOException
+	{
+		String dir = LocalFileUtils.getUniqueWorkingDir("offheap");
+		LocalFileUtils.createLocalFileIfNotExist(dir);
+		String oldDir = CacheableData.cacheEvictionLocalFilePath;
+		CacheableData.cacheEvictionLocalFilePath = dir;
+
+		try {
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			double[][] B = getRandomMatrix(2*rows, cols, -1, 1, sparsity1, 3);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(B);
+			String fname = dir + "/cacheA";
+
+			//off-heap tier large enough for the original but not the modified block
+			LazyWriteBuffer.init();
+			OffHeapBuffer.init(type, getOffHeapSize(mbA) + 1024);
+
+			//evict to off-heap tier and restore (entry remains in the tier)
+			LazyWriteBuffer.writeBlock(fname, mbA);
+			LazyWriteBuffer.forceEviction();
+			Assert.assertEquals(1, OffHeapBuffer.getNumEntries());
+			MatrixBlock ret = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+
+			if( delete ) {
+				//delete of restored block releases the off-heap entry
+				LazyWriteBuffer.deleteBlock(fname);
+			}
+			else {
+				//modify and evict again, now to local FS as too large for the tier
+				LazyWriteBuffer.writeBlock(fname, mbB);
+				LazyWriteBuffer.forceEviction();
+				Assert.assertTrue(new File(fname).exists());
+				ret = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+				Assert.assertEquals(mbB.getNonZeros(), ret.getNonZeros());
+				TestUtils.compareMatrices(B, DataConverter.convertToDoubleMatrix(ret), 2*rows, cols, 0);
+			}
+			Assert.assertEquals(0, OffHeapBuffer.getNumEntries());
+			Assert.assertEquals(0, OffHeapBuffer.getSize());
+			Assert.assertNull(OffHeapBuffer.readBlock(fname, true));
+		}
+		finally {
+			LazyWriteBuffer.cleanup();
+			OffHeapBuffer.init(OffHeapType.NONE, 0);
+			CacheableData.cacheEvictionLocalFilePath = oldDir;
+			LocalFileUtils.deleteFileIfExists(dir);
+		}
+	}
+
+	private static long getOffHeapSize(MatrixBlock mb) {
+		//dense blocks stored as raw values, otherwise serialized
+		return mb.isInSparseFormat() ?
+			mb.getExactSerializedSize() : 8L*mb.getNumRows()*mb.getNumColumns();
+	}
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.apache.sysml.runtime.codegen.LibSpoofPrimitives;
+import org.apache.sysml.runtime.codegen.SpoofCellwise;
+import org.apache.sysml.runtime.codegen.SpoofCellwise.AggOp;
+import org.apache.sysml.runtime.codegen.SpoofCellwise.CellType;
+import org.apache.sysml.runtime.codegen.SpoofOperator;
+import org.apache.sysml.runtime.codegen.SpoofRowAggregate;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.cp.DoubleObject;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the execution of generated cellwise and 
+ * row aggregate operators over sparse and compressed main inputs, which
+ * compares the results against the execution over dense inputs. The 
+ * operators are hand-written equivalents of generated classes.
+ *
+ */
+public class CellwiseCompressedTest extends AutomatedTestBase
+{
+	private final static int rows = 1763;
+	private final static int cols = 13;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+	private final static double eps = 1e-8;
+	
+	public enum InputType {
+		SPARSE,
+		COMPRESSED_OLE,
+		COMPRESSED_DDC,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testFullSumSparse() {
+		runCellwiseTest(new TestCell(CellType.FULL_AGG, AggOp.SUM, true), InputType.SPARSE, sparsity2);
+	}
+	
+	@Test
+	public void testFullSumCompressedOLE() {
+		runCellwiseTest(new TestCell(CellType.FULL_AGG, AggOp.SUM, true), InputType.COMPRESSED_OLE, sparsity2);
+	}
+	
+	@Test
+	public void testFullSumSqCompressedDDC() {
+		runCellwiseTest(new TestCell(CellType.FULL_AGG, AggOp.SUM_SQ, true), InputType.COMPRESSED_DDC, sparsity1);
+	}
+	
+	@Test
+	public void testFullSumUnsafeSparse() {
+		runCellwiseTest(new TestCell(CellType.FULL_AGG, AggOp.SUM, false), InputType.SPARSE, sparsity2);
+	}
+	
+	@Test
+	public void testFullSumUnsafeCompressedOLE() {
+		runCellwiseTest(new TestCell(CellType.FULL_AGG, AggOp.SUM, false), InputType.COMPRESSED_OLE, sparsity2);
+	}
+	
+	@Test
+	public void testFullMaxCompressedOLE() {
+		runCellwiseTest(new TestCell(CellType.FULL_AGG, AggOp.MAX, true), InputType.COMPRESSED_OLE, sparsity2);
+	}
+	
+	@Test
+	public void testFullMinUnsafeCompressedDDC() {
+		runCellwiseTest(new TestCell(CellType.FULL_AGG, AggOp.MIN, false), InputType.COMPRESSED_DDC, sparsity1);
+	}
+	
+	@Test
+	public void testFullSumSideInputCompressedOLE() {
+		runCellwiseTest(new TestCellSide(CellType.FULL_AGG, AggOp.SUM), InputType.COMPRESSED_OLE, sparsity2);
+	}
+	
+	@Test
+	public void testNoAggSparse() {
+		runCellwiseTest(new TestCell(CellType.NO_AGG, null, true), InputType.SPARSE, sparsity2);
+	}
+	
+	@Test
+	public void testNoAggUnsafeSparse() {
+		runCellwiseTest(new TestCell(CellType.NO_AGG, null, false), InputType.SPARSE, sparsity2);
+	}
+	
+	@Test
+	public void testNoAggSideInputSparse() {
+		runCellwiseTest(new TestCellSide(CellType.NO_AGG, null), InputType.SPARSE, sparsity2);
+	}
+	
+	@Test
+	public void testNoAggCompressedDDC() {
+		runCellwiseTest(new TestCell(CellType.NO_AGG, null, true), InputType.COMPRESSED_DDC, sparsity1);
+	}
+	
+	@Test
+	public void testNoAggUnsafeCompressedOLE() {
+		runCellwiseTest(new TestCell(CellType.NO_AGG, null, false), InputType.COMPRESSED_OLE, sparsity2);
+	}
+	
+	@Test
+	public void testRowSumsSparse() {
+		runCellwiseTest(new TestCell(CellType.ROW_AGG, AggOp.SUM, true), InputType.SPARSE, sparsity2);
+	}
+	
+	@Test
+	public void testRowSumsCompressedOLE() {
+		runCellwiseTest(new TestCell(CellType.ROW_AGG, AggOp.SUM, true), InputType.COMPRESSED_OLE, sparsity2);
+	}
+	
+	@Test
+	public void testRowMaxsCompressedOLE() {
+		runCellwiseTest(new TestCell(CellType.ROW_AGG, AggOp.MAX, true), InputType.COMPRESSED_OLE, sparsity2);
+	}
+	
+	@Test
+	public void testRowMinsUnsafeCompressedDDC() {
+		runCellwiseTest(new TestCell(CellType.ROW_AGG, AggOp.MIN, false), InputType.COMPRESSED_DDC, sparsity1);
+	}
+	
+	@Test
+	public void testRowAggColSumsSparse() {
+		runCellwiseTest(new TestRowAgg(), InputType.SPARSE, sparsity2);
+	}
+	
+	@Test
+	public void testRowAggColSumsCompressedOLE() {
+		runCellwiseTest(new TestRowAgg(), InputType.COMPRESSED_OLE, sparsity2);
+	}
+	
+	@Test
+	public void testRowAggColSumsCompressedDDC() {
+		runCellwiseTest(new TestRowAgg(), InputType.COMPRESSED_DDC, sparsity1);
+	}
+	
+	private void runCellwiseTest(SpoofOperator op, InputType itype, double sparsity)
+	{
+		boolean oldFlag = CompressedMatrixBlock.ALLOW_DDC_ENCODING;
+		try
+		{
+			//generate input data (rounded values and an uncompressed column)
+			double[][] A = TestUtils.round(getRandomMatrix(rows, cols, -10, 10, sparsity, 7));
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			mbA = mbA.appendOperations(MatrixBlock.seqOperations(0.1, rows-0.1, 1), new MatrixBlock());
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, cols+1, -1, 1, 1.0, 3));
+			
+			//dense reference input
+			MatrixBlock dense = new MatrixBlock(mbA.getNumRows(), mbA.getNumColumns(), false);
+			dense.copy(mbA, false);
+			
+			//sparse or compressed input
+			MatrixBlock in = null;
+			if( itype == InputType.SPARSE ) {
+				in = new MatrixBlock(mbA.getNumRows(), mbA.getNumColumns(), true);
+				in.copy(mbA, true);
+			}
+			else {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (itype == InputType.COMPRESSED_DDC);
+				CompressedMatrixBlock cmb = new CompressedMatrixBlock(mbA);
+				cmb.compress();
+				in = cmb;
+			}
+			
+			ArrayList<ScalarObject> scalars = new ArrayList<ScalarObject>();
+			scalars.add(new DoubleObject(3));
+			double[][] ret1 = execute(op, dense, mbB, scalars);
+			double[][] ret2 = execute(op, in, mbB, scalars);
+			TestUtils.compareMatrices(ret1, ret2, ret1.length, ret1[0].length, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = oldFlag;
+		}
+	}
+	
+	private static double[][] execute(SpoofOperator op, MatrixBlock in, MatrixBlock side, ArrayList<ScalarObject> scalars) 
+		throws Exception 
+	{
+		ArrayList<MatrixBlock> inputs = new ArrayList<MatrixBlock>();
+		inputs.add(in);
+		if( op instanceof TestCellSide )
+			inputs.add(side);
+		
+		if( op instanceof SpoofCellwise && ((SpoofCellwise)op).getCellType()==CellType.FULL_AGG ) {
+			double val = ((SpoofCellwise)op).execute(inputs, scalars, 1).getDoubleValue();
+			return new double[][]{{val}};
+		}
+		MatrixBlock out = new MatrixBlock();
+		op.execute(inputs, scalars, out);
+		return DataConverter.convertToDoubleMatrix(out);
+	}
+	
+	private static class TestCell extends SpoofCellwise {
+		private static final long serialVersionUID = 4329815629327164816L;
+		public TestCell(CellType type, AggOp aggOp, boolean sparseSafe) {
+			super(type, aggOp, sparseSafe);
+		}
+		@Override
+		protected double genexec(double a, double[][] b, double[] scalars, int m, int n, int rowIndex, int colIndex) {
+			return isSparseSafe() ? a * scalars[0] : a + scalars[0];
+		}
+	}
+	
+	private static class TestCellSide extends SpoofCellwise {
+		private static final long serialVersionUID = -1823741207766520918L;
+		public TestCellSide(CellType type, AggOp aggOp) {
+			super(type, aggOp, true);
+		}
+		@Override
+		protected double genexec(double a, double[][] b, double[] scalars, int m, int n, int rowIndex, int colIndex) {
+			return a * b[0][rowIndex*n+colIndex];
+		}
+	}
+	
+	private static class TestRowAgg extends SpoofRowAggregate {
+		private static final long serialVersionUID = 2876154212385638119L;
+		public TestRowAgg() {
+			super(false, 0);
+		}
+		@Override
+		protected void genexecRowDense(double[] a, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex) {
+			LibSpoofPrimitives.vectMultAdd(a, scalars[0], c, ai, 0, len);
+		}
+		@Override
+		protected void genexecRowSparse(double[] avals, int[] aix, int ai, double[][] b, double[] scalars, double[] c, int len, int rowIndex) {
+			LibSpoofPrimitives.vectMultAdd(avals, scalars[0], c, aix, ai, 0, len);
+		}
+	}
+}
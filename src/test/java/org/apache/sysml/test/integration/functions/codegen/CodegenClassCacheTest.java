@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.hops.codegen.SpoofCompiler;
+import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
+import org.apache.sysml.runtime.codegen.CodegenClassCache;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class CodegenClassCacheTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/codegen/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CodegenClassCacheTest.class.getSimpleName() + "/";
+	private final static String CACHE_DIR = "target/testTemp/" + TEST_CLASS_DIR + "classcache";
+	
+	private final static String SRC = "package codegen;\n"
+		+ "public final class %1$s {\n"
+		+ "  public %1$s() {}\n"
+		+ "  public double exec(double a) { double %2$s = a * %3$d; return %2$s; }\n"
+		+ "}\n";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testCanonicalHash() {
+		String h1 = CodegenClassCache.getCanonicalHash(String.format(SRC, "TMP7", "TMP8", 2));
+		String h2 = CodegenClassCache.getCanonicalHash(String.format(SRC, "TMP21", "TMP13", 2));
+		String h3 = CodegenClassCache.getCanonicalHash(String.format(SRC, "TMP7", "TMP8", 3));
+		Assert.assertEquals(h1, h2);
+		Assert.assertNotEquals(h1, h3);
+	}
+	
+	@Test
+	public void testPutGetEviction() {
+		LocalFileUtils.deleteFileIfExists(CACHE_DIR);
+		try {
+			CodegenClassCache.init(CACHE_DIR, 3000);
+			byte[] data = new byte[1000];
+			for( int i=0; i<4; i++ )
+				CodegenClassCache.put("h"+i, data, 7);
+			
+			//check size bound after eviction
+			Assert.assertTrue(CodegenClassCache.getSize() <= 3000);
+			Assert.assertEquals(2, new File(CACHE_DIR).list().length);
+			
+			//check read of existing and non-existing entries
+			CodegenClassCache.init(CACHE_DIR, 1024*1024);
+			CodegenClassCache.put("h5", data, 11);
+			long[] ctime = new long[1];
+			Assert.assertEquals(data.length, CodegenClassCache.get("h5", ctime).length);
+			Assert.assertEquals(11, ctime[0]);
+			Assert.assertNull(CodegenClassCache.get("h9", ctime));
+		}
+		finally {
+			CodegenClassCache.disable();
+		}
+	}
+	
+	@Test
+	public void testCompileAndReuseJavac() throws Exception {
+		CompilerType oldCompiler = SpoofCompiler.JAVA_COMPILER;
+		LocalFileUtils.deleteFileIfExists(CACHE_DIR);
+		try {
+			SpoofCompiler.JAVA_COMPILER = CompilerType.JAVAC;
+			CodegenClassCache.init(CACHE_DIR, 1024*1024);
+			
+			//compile class and write to persistent cache
+			Class<?> cla1 = CodegenUtils.compileClass("codegen.TMP7", String.format(SRC, "TMP7", "TMP8", 2));
+			Assert.assertTrue(cla1.getSimpleName().startsWith(CodegenClassCache.CLASS_PREFIX));
+			Assert.assertEquals(1, new File(CACHE_DIR).list().length);
+			
+			//load equivalent class from persistent cache (after in-memory cleanup)
+			CodegenUtils.clearClassCache();
+			Class<?> cla2 = CodegenUtils.compileClass("codegen.TMP42", String.format(SRC, "TMP42", "TMP43", 2));
+			Assert.assertEquals(cla1.getName(), cla2.getName());
+			Assert.assertNotNull(CodegenUtils.getClassData(cla2.getName()));
+			Object ret = cla2.getMethod("exec", double.class).invoke(cla2.newInstance(), 3.0);
+			Assert.assertEquals(6.0, (Double)ret, 0);
+		}
+		finally {
+			SpoofCompiler.JAVA_COMPILER = oldCompiler;
+			CodegenClassCache.disable();
+			CodegenUtils.clearClassCache();
+		}
+	}
+}
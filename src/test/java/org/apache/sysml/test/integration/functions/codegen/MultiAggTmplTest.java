@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class MultiAggTmplTest extends AutomatedTestBase 
+{
+	private static final String TEST_NAME = "multiAggPattern";
+	private static final String TEST_NAME1 = TEST_NAME+"1"; //sum(X*Y) + sum(X/(Y+1))
+	private static final String TEST_NAME2 = TEST_NAME+"2"; //min(X-Y) + max(X*Y)
+	private static final String TEST_NAME3 = TEST_NAME+"3"; //sum(X*Y) + max(2*X*Y) + min(X*Y+1), sparse X
+	private static final String TEST_NAME4 = TEST_NAME+"4"; //sum(X*Y) + sum(X^2), large (multi-threaded, kahan)
+	
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + MultiAggTmplTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-codegen.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	
+	private static final double eps = Math.pow(10, -8);
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		for(int i=1; i<=4; i++)
+			addTestConfiguration( TEST_NAME+i, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME+i, new String[] { String.valueOf(i) }) );
+	}
+	
+	@Test	
+	public void testCodegenMultiAggRewrite1() {
+		testCodegenIntegration( TEST_NAME1, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenMultiAggRewrite2() {
+		testCodegenIntegration( TEST_NAME2, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenMultiAggRewrite3() {
+		testCodegenIntegration( TEST_NAME3, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenMultiAggRewrite4() {
+		testCodegenIntegration( TEST_NAME4, true, ExecType.CP );
+	}
+	
+	@Test	
+	public void testCodegenMultiAgg1() {
+		testCodegenIntegration( TEST_NAME1, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenMultiAgg2() {
+		testCodegenIntegration( TEST_NAME2, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenMultiAgg3() {
+		testCodegenIntegration( TEST_NAME3, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testCodegenMultiAgg4() {
+		testCodegenIntegration( TEST_NAME4, false, ExecType.CP );
+	}
+	
+	private void testCodegenIntegration( String testname, boolean rewrites, ExecType instType )
+	{	
+		boolean oldFlag = OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION;
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		switch( instType ) {
+			case MR: rtplatform = RUNTIME_PLATFORM.HADOOP; break;
+			case SPARK: rtplatform = RUNTIME_PLATFORM.SPARK; break;
+			default: rtplatform = RUNTIME_PLATFORM.HYBRID_SPARK; break;
+		}
+		
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK || rtplatform == RUNTIME_PLATFORM.HYBRID_SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-explain", "-stats", "-args", output("S") };
+			
+			fullRScriptName = HOME + testname + ".R";
+			rCmd = getRCmd(inputDir(), expectedDir());			
+
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = rewrites;
+
+			runTest(true, false, null, -1); 
+			runRScript(true); 
+			
+			//compare scalars 
+			HashMap<CellIndex, Double> dmlfile = readDMLScalarFromHDFS("S");
+			HashMap<CellIndex, Double> rfile  = readRScalarFromFS("S");
+			TestUtils.compareScalars((Double) dmlfile.values().toArray()[0], (Double) rfile.values().toArray()[0], eps);
+			
+			//ensure aggregates are fused into a single multi-aggregate
+			Assert.assertTrue(heavyHittersContainsSubString("spoofMA"));
+			Assert.assertTrue(!heavyHittersContainsSubString("uak+", "uasqk+", "uamin", "uamax"));
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = oldFlag;
+			OptimizerUtils.ALLOW_AUTO_VECTORIZATION = true;
+			OptimizerUtils.ALLOW_OPERATOR_FUSION = true;
+		}
+	}	
+
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a component test for cellwise unary, matrix-row vector, slicing,
+ * and cbind operations that directly operate on compressed matrix blocks,
+ * which checks that the results remain compressed where expected.
+ *
+ */
+public class BasicCellwiseSliceOperationsTest extends AutomatedTestBase
+{	
+	private static final int rows = 2321;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //DDC
+	}
+	
+	public enum OpType {
+		UNARY_ABS,  //sparse-safe
+		UNARY_EXP,  //sparse-unsafe
+		ROW_VECTOR, //X - colMeans(X)
+		SLICE_ROWS,
+		SLICE_COLS,
+		SLICE_SMALL, //returned uncompressed
+		CBIND,
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testDenseRoundRandDataOLEUnaryAbs() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.UNARY_ABS);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLEUnaryExp() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.UNARY_EXP);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataDDCUnaryExp() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.UNARY_EXP);
+	}
+	
+	@Test
+	public void testSparseConstDataUnaryExp() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.UNARY_EXP);
+	}
+	
+	@Test
+	public void testDenseRandDataUnaryAbs() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.UNARY_ABS);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataOLERowVector() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.ROW_VECTOR);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLERowVector() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.ROW_VECTOR);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataDDCRowVector() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.ROW_VECTOR);
+	}
+	
+	@Test
+	public void testSparseConstDataRowVector() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.ROW_VECTOR);
+	}
+	
+	@Test
+	public void testSparseRandDataRowVector() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.ROW_VECTOR);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataOLESliceRows() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.SLICE_ROWS);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLESliceRows() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.SLICE_ROWS);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataDDCSliceRows() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.SLICE_ROWS);
+	}
+	
+	@Test
+	public void testSparseConstDataSliceRows() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.SLICE_ROWS);
+	}
+	
+	@Test
+	public void testDenseRandDataSliceRows() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.SLICE_ROWS);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataOLESliceCols() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.SLICE_COLS);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataDDCSliceCols() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.SLICE_COLS);
+	}
+	
+	@Test
+	public void testDenseRandDataSliceCols() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.SLICE_COLS);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataOLESliceSmall() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.SLICE_SMALL);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataDDCSliceSmall() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.SLICE_SMALL);
+	}
+	
+	@Test
+	public void testDenseRoundRandDataOLECbind() {
+		runCompressedOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.CBIND);
+	}
+	
+	@Test
+	public void testSparseRoundRandDataDDCCbind() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.CBIND);
+	}
+	
+	@Test
+	public void testSparseConstDataCbind() {
+		runCompressedOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.CBIND);
+	}
+
+	private void runCompressedOperationsTest(SparsityType sptype, ValueType vtype, OpType otype)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = (sptype==SparsityType.DENSE) ? sparsity1 : sparsity2;
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+			
+			//execute operation on uncompressed and compressed block
+			MatrixBlock ret1 = null, ret2 = null;
+			boolean compressed = true;
+			switch( otype ) {
+				case UNARY_ABS:
+				case UNARY_EXP: {
+					UnaryOperator uop = new UnaryOperator(Builtin.getBuiltinFnObject(
+						(otype==OpType.UNARY_ABS) ? "abs" : "exp"));
+					ret1 = (MatrixBlock)mb.unaryOperations(uop, new MatrixBlock());
+					ret2 = (MatrixBlock)cmb.unaryOperations(uop, new MatrixBlock());
+					break;
+				}
+				case ROW_VECTOR: {
+					double[][] colMeans = new double[1][cols];
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++ )
+							colMeans[0][j] += input[i][j] / rows;
+					MatrixBlock vect = DataConverter.convertToMatrixBlock(colMeans);
+					BinaryOperator bop = new BinaryOperator(Minus.getMinusFnObject());
+					ret1 = (MatrixBlock)mb.binaryOperations(bop, vect, new MatrixBlock());
+					ret2 = (MatrixBlock)cmb.binaryOperations(bop, vect, new MatrixBlock());
+					break;
+				}
+				case SLICE_ROWS:
+					ret1 = mb.sliceOperations(217, 1917, 0, cols-1, new MatrixBlock());
+					ret2 = cmb.sliceOperations(217, 1917, 0, cols-1, new MatrixBlock());
+					break;
+				case SLICE_COLS:
+					ret1 = mb.sliceOperations(0, rows-1, 3, 11, new MatrixBlock());
+					ret2 = cmb.sliceOperations(0, rows-1, 3, 11, new MatrixBlock());
+					break;
+				case SLICE_SMALL:
+					ret1 = mb.sliceOperations(1003, 1012, 3, 11, new MatrixBlock());
+					ret2 = cmb.sliceOperations(1003, 1012, 3, 11, new MatrixBlock());
+					compressed = false;
+					break;
+				case CBIND:
+					ret1 = mb.appendOperations(mb, new MatrixBlock());
+					ret2 = cmb.appendOperations(cmb, new MatrixBlock());
+					break;
+			}
+			
+			//check compressed result and its meta data
+			Assert.assertEquals(compressed, ret2 instanceof CompressedMatrixBlock 
+				&& ((CompressedMatrixBlock)ret2).isCompressed());
+			Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+			ret1.recomputeNonZeros();
+			Assert.assertEquals("Wrong number of non-zeros.", ret1.getNonZeros(), ret2.getNonZeros());
+			if( compressed )
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for large dense blocks
+ * of multiple row-aligned arrays. In order to test with small data, we
+ * temporarily lower the max number of cells per array, and compare the
+ * results of core operations against the default single-array layout.
+ *
+ */
+public class LargeDenseBlockTest extends AutomatedTestBase
+{
+	private final static int rows = 117;
+	private final static int cols = 73;
+	private final static int cols2 = 11;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static long maxCells = 1000;
+	private final static double eps = 1e-10;
+
+	private enum OpType {
+		GET_SET,
+		SERIALIZE,
+		MM,
+		MM_PAR,
+		TSMM_LEFT,
+		TSMM_RIGHT,
+		MMCHAIN,
+		SUM,
+		ROWSUMS,
+		COLSUMS,
+		MAX,
+		BINARY_MM,
+		BINARY_MV,
+		SCALAR,
+		TRANSPOSE,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testLargeDenseGetSet() {
+		runLargeDenseBlockTest(OpType.GET_SET, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseSerialize() {
+		runLargeDenseBlockTest(OpType.SERIALIZE, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseMatrixMult() {
+		runLargeDenseBlockTest(OpType.MM, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseMatrixMultSparse() {
+		runLargeDenseBlockTest(OpType.MM, sparsity2);
+	}
+
+	@Test
+	public void testLargeDenseMatrixMultParallel() {
+		runLargeDenseBlockTest(OpType.MM_PAR, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseTsmmLeft() {
+		runLargeDenseBlockTest(OpType.TSMM_LEFT, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseTsmmRight() {
+		runLargeDenseBlockTest(OpType.TSMM_RIGHT, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseMMChain() {
+		runLargeDenseBlockTest(OpType.MMCHAIN, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseSum() {
+		runLargeDenseBlockTest(OpType.SUM, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseRowSums() {
+		runLargeDenseBlockTest(OpType.ROWSUMS, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseColSums() {
+		runLargeDenseBlockTest(OpType.COLSUMS, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseMax() {
+		runLargeDenseBlockTest(OpType.MAX, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseBinaryMatrixMatrix() {
+		runLargeDenseBlockTest(OpType.BINARY_MM, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseBinaryMatrixVector() {
+		runLargeDenseBlockTest(OpType.BINARY_MV, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseScalar() {
+		runLargeDenseBlockTest(OpType.SCALAR, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseTranspose() {
+		runLargeDenseBlockTest(OpType.TRANSPOSE, sparsity1);
+	}
+
+	@Test
+	public void testLargeDenseTransposeSparse() {
+		runLargeDenseBlockTest(OpType.TRANSPOSE, sparsity2);
+	}
+
+	@Test
+	public void testLargeDenseIndexingUnsupported() {
+		//operations not ported to large dense blocks fail fast
+		long maxCellsOld = DenseBlock.getMaxBlockCells();
+		try {
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			DenseBlock.setMaxBlockCells(maxCells);
+			MatrixBlock mbA = createInput(A);
+			Assert.assertTrue("Input is not a large dense block.", mbA.isLargeDense());
+			mbA.sliceOperations(1, rows-2, 1, cols-2, new MatrixBlock());
+			Assert.fail("Indexing of large dense block did not fail.");
+		}
+		catch(DMLRuntimeException ex) {
+			//expected
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DenseBlock.setMaxBlockCells(maxCellsOld);
+		}
+	}
+
+	private void runLargeDenseBlockTest(OpType type, double sparsity)
+	{
+		long maxCellsOld = DenseBlock.getMaxBlockCells();
+
+		try
+		{
+			//generate input data
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			double[][] B = getRandomMatrix(rows, cols, -1, 1, sparsity1, 3);
+			double[][] v = getRandomMatrix(cols, cols2, -1, 1, sparsity1, 5);
+			double[][] w = getRandomMatrix(rows, 1, -1, 1, 1.0, 9);
+
+			//compute expected results with default single-array layout
+			double[][] expected = DataConverter.convertToDoubleMatrix(
+				executeOperation(type, createInput(A), createInput(B),
+					DataConverter.convertToMatrixBlock(v), DataConverter.convertToMatrixBlock(w)));
+
+			//compute actual results with large dense blocks
+			DenseBlock.setMaxBlockCells(maxCells);
+			MatrixBlock mbA = createInput(A);
+			if( !mbA.isInSparseFormat() )
+				Assert.assertTrue("Input is not a large dense block.", mbA.isLargeDense());
+			MatrixBlock ret = executeOperation(type, mbA, createInput(B),
+				DataConverter.convertToMatrixBlock(v), DataConverter.convertToMatrixBlock(w));
+			double[][] actual = DataConverter.convertToDoubleMatrix(ret);
+
+			//compare results, incl nnz maintenance of large dense outputs
+			if( ret.isLargeDense() ) {
+				long nnz = ret.getNonZeros();
+				ret.recomputeNonZeros();
+				Assert.assertEquals("Wrong number of non-zeros.", ret.getNonZeros(), nnz);
+			}
+			TestUtils.compareMatrices(expected, actual, expected.length, expected[0].length, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DenseBlock.setMaxBlockCells(maxCellsOld);
+		}
+	}
+
+	private static MatrixBlock createInput(double[][] A)
+		throws Exception
+	{
+		MatrixBlock ret = new MatrixBlock(A.length, A[0].length, false);
+		ret.init(A, A.length, A[0].length);
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static MatrixBlock executeOperation(OpType type, MatrixBlock A, MatrixBlock B, MatrixBlock v, MatrixBlock w)
+		throws Exception
+	{
+		switch( type ) {
+			case GET_SET: {
+				MatrixBlock ret = new MatrixBlock(rows, cols, false);
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						ret.quickSetValue(i, j, A.quickGetValue(i, j)*2);
+				return ret;
+			}
+			case SERIALIZE: {
+				ByteArrayOutputStream bos = new ByteArrayOutputStream();
+				A.write(new DataOutputStream(bos));
+				MatrixBlock ret = new MatrixBlock();
+				ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+				return ret;
+			}
+			case MM: {
+				MatrixBlock ret = new MatrixBlock(rows, cols2, false);
+				LibMatrixMult.matrixMult(A, v, ret);
+				return ret;
+			}
+			case MM_PAR: {
+				MatrixBlock ret = new MatrixBlock(rows, cols2, false);
+				LibMatrixMult.matrixMult(A, v, ret, 3);
+				return ret;
+			}
+			case TSMM_LEFT: {
+				MatrixBlock ret = new MatrixBlock(cols, cols, false);
+				LibMatrixMult.matrixMultTransposeSelf(A, ret, true, 3);
+				return ret;
+			}
+			case TSMM_RIGHT: {
+				MatrixBlock ret = new MatrixBlock(rows, rows, false);
+				LibMatrixMult.matrixMultTransposeSelf(A, ret, false);
+				return ret;
+			}
+			case MMCHAIN: {
+				MatrixBlock v1 = v.sliceOperations(0, cols-1, 0, 0, new MatrixBlock());
+				MatrixBlock ret = new MatrixBlock(cols, 1, false);
+				LibMatrixMult.matrixMultChain(A, v1, w, ret, ChainType.XtwXv);
+				return ret;
+			}
+			case SUM:
+				return aggregate(A, "uak+");
+			case ROWSUMS:
+				return aggregate(A, "uark+");
+			case COLSUMS:
+				return aggregate(A, "uack+");
+			case MAX:
+				return aggregate(A, "uamax");
+			case BINARY_MM: {
+				MatrixBlock ret = new MatrixBlock(rows, cols, false);
+				LibMatrixBincell.bincellOp(A, B, ret, new BinaryOperator(Plus.getPlusFnObject()));
+				return ret;
+			}
+			case BINARY_MV: {
+				MatrixBlock ret = new MatrixBlock(rows, cols, false);
+				LibMatrixBincell.bincellOp(A, w, ret, new BinaryOperator(Multiply.getMultiplyFnObject()));
+				return ret;
+			}
+			case SCALAR: {
+				MatrixBlock ret = new MatrixBlock(rows, cols, A.isInSparseFormat());
+				LibMatrixBincell.bincellOp(A, ret, new RightScalarOperator(Multiply.getMultiplyFnObject(), 7));
+				return ret;
+			}
+			case TRANSPOSE: {
+				MatrixBlock ret = new MatrixBlock(cols, rows, false);
+				return LibMatrixReorg.transpose(A, ret);
+			}
+			default:
+				throw new RuntimeException("Unsupported operation type: "+type);
+		}
+	}
+
+	private static MatrixBlock aggregate(MatrixBlock A, String opcode)
+		throws Exception
+	{
+		return (MatrixBlock) A.aggregateUnaryOperations(
+			InstructionUtils.parseBasicAggregateUnaryOperator(opcode),
+			new MatrixBlock(), rows, cols, new MatrixIndexes(1, 1), true);
+	}
+}
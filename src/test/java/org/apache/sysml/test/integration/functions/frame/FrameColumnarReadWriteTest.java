@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.frame;
+
+import java.util.Random;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.parser.DataExpression;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.io.FrameReader;
+import org.apache.sysml.runtime.io.FrameReaderFactory;
+import org.apache.sysml.runtime.io.FrameWriterColumnar;
+import org.apache.sysml.runtime.io.FrameWriterFactory;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a component test for the columnar frame format, checking round
+ * trips of frames with mixed schema, all column encodings (plain, rle, and
+ * dictionary), and multiple row groups, as well as the projection pushdown
+ * into reads of column ranges, also for DML scripts with format="columnar".
+ *
+ */
+public class FrameColumnarReadWriteTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/frame/io/";
+	private final static String TEST_NAME = "FrameColumnarReadWrite";
+	private final static String TEST_NAME2 = "FrameColumnarProjection";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameColumnarReadWriteTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1593;
+	private final static ValueType[] schema = new ValueType[]{ValueType.STRING, ValueType.STRING, 
+		ValueType.DOUBLE, ValueType.DOUBLE, ValueType.INT, ValueType.INT, ValueType.BOOLEAN, ValueType.BOOLEAN};
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"B"}));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] {"B"}));
+	}
+	
+	@Test
+	public void testReadWriteSingleRowGroup() {
+		runColumnarReadWriteTest(FrameWriterColumnar.DEFAULT_ROWGROUP_SIZE, 0, schema.length-1);
+	}
+	
+	@Test
+	public void testReadWriteMultiRowGroups() {
+		runColumnarReadWriteTest(500, 0, schema.length-1);
+	}
+	
+	@Test
+	public void testProjectionSingleRowGroup() {
+		runColumnarReadWriteTest(FrameWriterColumnar.DEFAULT_ROWGROUP_SIZE, 1, 4);
+	}
+	
+	@Test
+	public void testProjectionMultiRowGroups() {
+		runColumnarReadWriteTest(500, 3, 3);
+	}
+	
+	@Test
+	public void testProjectionPushdownFrameObject() {
+		try {
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			String fname = output("B");
+			FrameBlock frame = createFrame(rows, 7);
+			FrameWriterFactory.createFrameWriter(OutputInfo.ColumnarFrameOutputInfo)
+				.writeFrameToHDFS(frame, fname, rows, schema.length);
+			
+			//read projection via frame object w/o reading the entire frame
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, schema.length, -1, -1);
+			FrameObject fo = new FrameObject(fname, new MatrixFormatMetaData(mc, 
+				OutputInfo.ColumnarFrameOutputInfo, InputInfo.ColumnarFrameInputInfo), schema);
+			Assert.assertTrue(fo.isColumnProjectionReadable());
+			FrameBlock ret = fo.readColumnProjection(2, 5);
+			verifyFrameData(frame, ret, 2, 5);
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	@Test
+	public void testProjectionPushdownDMLSingleNode() {
+		runColumnarProjectionDMLTest(RUNTIME_PLATFORM.SINGLE_NODE, 2, 4);
+	}
+	
+	@Test
+	public void testProjectionPushdownDMLHybrid() {
+		runColumnarProjectionDMLTest(RUNTIME_PLATFORM.HYBRID_SPARK, 6, 6);
+	}
+	
+	@Test
+	public void testProjectionDMLSpark() {
+		runColumnarProjectionDMLTest(RUNTIME_PLATFORM.SPARK, 2, 4);
+	}
+	
+	private void runColumnarProjectionDMLTest(RUNTIME_PLATFORM platform, int cl, int cu)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = platform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK || rtplatform == RUNTIME_PLATFORM.HYBRID_SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME2);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("A"), 
+				String.valueOf(cl+1), String.valueOf(cu+1), output("B")};
+			
+			//write columnar input w/ multiple row groups and meta data
+			int rowGroupSize = 500;
+			FrameBlock frame = createFrame(rows, 7);
+			new FrameWriterColumnar(rowGroupSize).writeFrameToHDFS(frame, input("A"), rows, schema.length);
+			MapReduceTool.writeMetaDataFile(input("A.mtd"), ValueType.STRING, schema, DataType.FRAME, 
+				new MatrixCharacteristics(rows, schema.length, -1, -1), OutputInfo.ColumnarFrameOutputInfo);
+			
+			runTest(true, false, null, -1);
+			
+			//check that only the chunks of projected columns were read in CP
+			if( platform != RUNTIME_PLATFORM.SPARK ) {
+				int nrg = (rows + rowGroupSize - 1) / rowGroupSize;
+				Assert.assertEquals((long)nrg * (cu-cl+1), Statistics.getColumnarChunkReads());
+			}
+			
+			//compare output written via format="columnar"
+			FrameBlock ret = FrameReaderFactory.createFrameReader(InputInfo.ColumnarFrameInputInfo)
+				.readFrameFromHDFS(output("B"), rows, cu-cl+1);
+			Assert.assertEquals(cu-cl+1, ret.getNumColumns());
+			verifyFrameData(frame, ret, cl, cu);
+			Assert.assertTrue(MapReduceTool.readStringFromHDFSFile(output("B.mtd"))
+				.contains(DataExpression.FORMAT_TYPE_VALUE_COLUMNAR));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+	
+	private void runColumnarReadWriteTest(int rowGroupSize, int cl, int cu)
+	{
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			String fname = output("B");
+			
+			//write frame and read projection (or entire frame)
+			FrameBlock frame = createFrame(rows, 7);
+			new FrameWriterColumnar(rowGroupSize).writeFrameToHDFS(frame, fname, rows, schema.length);
+			FrameReader reader = FrameReaderFactory.createFrameReader(InputInfo.ColumnarFrameInputInfo);
+			FrameBlock ret = (cl == 0 && cu == schema.length-1) ?
+				reader.readFrameFromHDFS(fname, schema, rows, schema.length) :
+				reader.readFrameFromHDFS(fname, schema, reader.getDefColNames(schema.length), rows, schema.length, cl, cu);
+			
+			//compare schema, column names and meta data, and data
+			Assert.assertEquals(rows, ret.getNumRows());
+			Assert.assertEquals(cu-cl+1, ret.getNumColumns());
+			for( int j=cl; j<=cu; j++ ) {
+				Assert.assertEquals(frame.getSchema()[j], ret.getSchema()[j-cl]);
+				Assert.assertEquals(frame.getColumnName(j), ret.getColumnName(j-cl));
+				Assert.assertEquals(frame.getColumnMetadata(j).getNumDistinct(), 
+					ret.getColumnMetadata(j-cl).getNumDistinct());
+			}
+			verifyFrameData(frame, ret, cl, cu);
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static FrameBlock createFrame(int rows, long seed) {
+		//columns w/ dictionary/plain strings (incl nulls), plain/rle doubles and 
+		//longs, and plain/rle booleans
+		Random rand = new Random(seed);
+		FrameBlock ret = new FrameBlock(schema, FrameBlock.createColNames(schema.length));
+		Object[] row = new Object[schema.length];
+		for( int i=0; i<rows; i++ ) {
+			row[0] = (i % 13 == 0) ? null : "v" + rand.nextInt(20);
+			row[1] = (i % 17 == 0) ? null : "w" + rand.nextInt();
+			row[2] = rand.nextDouble();
+			row[3] = (i < rows/2) ? 7.0 : -3.5;
+			row[4] = (long) rand.nextInt();
+			row[5] = (long) (i / 100);
+			row[6] = rand.nextBoolean();
+			row[7] = (i < rows/3);
+			ret.appendRow(row);
+		}
+		ret.setColumnMetadata(0, new FrameBlock.ColumnMetadata(20, "v0"));
+		return ret;
+	}
+	
+	private static void verifyFrameData(FrameBlock frame1, FrameBlock frame2, int cl, int cu) {
+		for( int i=0; i<frame1.getNumRows(); i++ )
+			for( int j=cl; j<=cu; j++ ) {
+				Object val1 = frame1.get(i, j);
+				Object val2 = frame2.get(i, j-cl);
+				if( UtilFunctions.compareTo(schema[j], val1, val2) != 0 )
+					Assert.fail("Target value for cell ("+ i + "," + j + ") is " + val2 + 
+						", is not same as original value " + val1);
+			}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.Path;
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysml.runtime.io.WriterBinaryBlock;
+import org.apache.sysml.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for block-compressed binary block files,
+ * checking round trips of dense and sparse matrices through the sequential
+ * and parallel readers and writers, as well as the reduced size on disk
+ * compared to uncompressed files.
+ *
+ */
+public class BinaryBlockCompressionTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "BinaryBlockCompressionTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BinaryBlockCompressionTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1034;
+	private final static int cols = 316;
+	private final static int blen = 100;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testDenseDeflateSerial() {
+		runCompressionTest(1.0, "deflate", false);
+	}
+	
+	@Test
+	public void testDenseDeflateParallel() {
+		runCompressionTest(1.0, "deflate", true);
+	}
+	
+	@Test
+	public void testSparseDeflateSerial() {
+		runCompressionTest(0.05, "deflate", false);
+	}
+	
+	@Test
+	public void testSparseDeflateParallel() {
+		runCompressionTest(0.05, "deflate", true);
+	}
+	
+	@Test
+	public void testDenseBzip2Parallel() {
+		runCompressionTest(1.0, "bzip2", true);
+	}
+	
+	@Test
+	public void testEmptyDeflate() {
+		runCompressionTest(0.0, "deflate", true);
+	}
+	
+	@Test(expected = IOException.class)
+	public void testUnknownCodec() throws Exception {
+		DMLConfig oldConf = ConfigurationManager.getDMLConfig();
+		try {
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			setCompressionCodec("foo");
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(getRandomMatrix(10, 10, 0, 1, 1.0, 7));
+			new WriterBinaryBlock(-1).writeMatrixToHDFS(mb, input("X"), 10, 10, blen, blen, mb.getNonZeros());
+		}
+		finally {
+			ConfigurationManager.setGlobalConfig(oldConf);
+		}
+	}
+	
+	private void runCompressionTest(double sparsity, String codec, boolean parallel) 
+	{
+		DMLConfig oldConf = ConfigurationManager.getDMLConfig();
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//generate input w/ few distinct values (as, e.g., for encoded features)
+			double[][] X = TestUtils.round(getRandomMatrix(rows, cols, 1, 7, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			mb.examSparsity();
+			
+			//write uncompressed and compressed binary block files
+			setCompressionCodec("none");
+			createWriter(parallel).writeMatrixToHDFS(mb, input("X"), rows, cols, blen, blen, mb.getNonZeros());
+			long size1 = MapReduceTool.getFilesizeOnHDFS(new Path(input("X")));
+			setCompressionCodec(codec);
+			createWriter(parallel).writeMatrixToHDFS(mb, output("X"), rows, cols, blen, blen, mb.getNonZeros());
+			long size2 = MapReduceTool.getFilesizeOnHDFS(new Path(output("X")));
+			if( mb.getNonZeros() > 0 )
+				Assert.assertTrue("Compressed file not smaller: "+size2+" vs "+size1, size2 < size1);
+			
+			//read compressed file independent of the current config
+			setCompressionCodec("none");
+			MatrixBlock ret = (parallel ? new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false))
+				.readMatrixFromHDFS(output("X"), rows, cols, blen, blen, -1);
+			
+			//compare matrices and meta data
+			Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.setGlobalConfig(oldConf);
+		}
+	}
+	
+	private static void setCompressionCodec(String codec) throws DMLRuntimeException {
+		//global config, because the parallel writer creates files in pool threads
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.BINARY_COMPRESSION, codec);
+		ConfigurationManager.setGlobalConfig(conf);
+	}
+	
+	private static WriterBinaryBlock createWriter(boolean parallel) {
+		return parallel ? new WriterBinaryBlockParallel(-1) : new WriterBinaryBlock(-1);
+	}
+}
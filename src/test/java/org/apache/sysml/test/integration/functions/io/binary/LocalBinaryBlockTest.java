@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.DataExpression;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.LocalBinaryBlockFile;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.MatrixWriterFactory;
+import org.apache.sysml.runtime.io.ReaderLocalBinaryBlock;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the memory-mapped local binary block format,
+ * checking round trips of dense, sparse, and mixed matrices with partial 
+ * boundary blocks through the sequential and parallel readers, the block 
+ * index and zero-copy views of dense blocks, as well as DML-level reads 
+ * and writes with format="localbinary".
+ *
+ */
+public class LocalBinaryBlockTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "LocalBinaryBlockTest";
+	private final static String TEST_NAME2 = "LocalBinaryBlockWrite";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LocalBinaryBlockTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1034;
+	private final static int cols = 316;
+	private final static int blen = 100;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "Y" }) );
+	}
+	
+	@Test
+	public void testDenseSerial() {
+		runLocalBinaryBlockTest(1.0, false, false);
+	}
+	
+	@Test
+	public void testDenseParallel() {
+		runLocalBinaryBlockTest(1.0, false, true);
+	}
+	
+	@Test
+	public void testSparseSerial() {
+		runLocalBinaryBlockTest(0.05, false, false);
+	}
+	
+	@Test
+	public void testSparseParallel() {
+		runLocalBinaryBlockTest(0.05, false, true);
+	}
+	
+	@Test
+	public void testMixedSerial() {
+		runLocalBinaryBlockTest(0.05, true, false);
+	}
+	
+	@Test
+	public void testMixedParallel() {
+		runLocalBinaryBlockTest(0.05, true, true);
+	}
+	
+	@Test
+	public void testEmpty() {
+		runLocalBinaryBlockTest(0.0, false, true);
+	}
+	
+	@Test
+	public void testDenseDMLSingleNode() {
+		runLocalBinaryBlockDMLTest(1.0, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testSparseDMLSingleNode() {
+		runLocalBinaryBlockDMLTest(0.05, RUNTIME_PLATFORM.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testDenseDMLHybrid() {
+		runLocalBinaryBlockDMLTest(1.0, RUNTIME_PLATFORM.HYBRID_SPARK);
+	}
+	
+	@Test
+	public void testDenseDMLSpark() {
+		runLocalBinaryBlockDMLTest(1.0, RUNTIME_PLATFORM.SPARK);
+	}
+	
+	@Test
+	public void testSparseDMLSpark() {
+		runLocalBinaryBlockDMLTest(0.05, RUNTIME_PLATFORM.SPARK);
+	}
+	
+	@Test
+	public void testDenseBlockView() {
+		try {
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, 1.0, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixWriterFactory.createMatrixWriter(OutputInfo.LocalBinaryBlockOutputInfo)
+				.writeMatrixToHDFS(mb, input("X"), rows, cols, blen, blen, mb.getNonZeros());
+			
+			//sum over zero-copy views of all blocks
+			double sum = 0;
+			LocalBinaryBlockFile file = LocalBinaryBlockFile.open(input("X"));
+			try {
+				for( int bi=0; bi<file.getNumRowBlocks(); bi++ )
+					for( int bj=0; bj<file.getNumColumnBlocks(); bj++ ) {
+						Assert.assertEquals(LocalBinaryBlockFile.TYPE_DENSE, file.getBlockType(bi, bj));
+						DoubleBuffer view = file.getDenseBlockView(bi, bj);
+						Assert.assertEquals(file.getBlockNumRows(bi) * file.getBlockNumColumns(bj), view.remaining());
+						while( view.hasRemaining() )
+							sum += view.get();
+					}
+			}
+			finally {
+				file.close();
+			}
+			Assert.assertEquals(mb.sum(), sum, 1e-8);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runLocalBinaryBlockTest(double sparsity, boolean mixed, boolean parallel) 
+	{
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//generate input, w/ dense top rows for mixed dense/sparse blocks
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			if( mixed )
+				for( int i=0; i<2*blen; i++ )
+					X[i] = getRandomMatrix(1, cols, -1, 1, 1.0, i)[0];
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			mb.examSparsity();
+			
+			//write and read local binary block file
+			MatrixWriterFactory.createMatrixWriter(OutputInfo.LocalBinaryBlockOutputInfo)
+				.writeMatrixToHDFS(mb, input("X"), rows, cols, blen, blen, mb.getNonZeros());
+			MatrixBlock ret = new ReaderLocalBinaryBlock(parallel)
+				.readMatrixFromHDFS(input("X"), rows, cols, blen, blen, -1);
+			checkBlockIndex(input("X"), mb, mixed);
+			
+			//compare matrices and meta data
+			Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+			
+			//read via reader factory and format string
+			MatrixBlock ret2 = MatrixReaderFactory.createMatrixReader(InputInfo.stringToInputInfo("localbinaryblock"))
+				.readMatrixFromHDFS(input("X"), rows, cols, blen, blen, -1);
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(ret2), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runLocalBinaryBlockDMLTest(double sparsity, RUNTIME_PLATFORM platform) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = platform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK || rtplatform == RUNTIME_PLATFORM.HYBRID_SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME2);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-args", input("X"), output("Y") };
+			
+			//write input as local binary block file w/ meta data
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 
+				OptimizerUtils.DEFAULT_BLOCKSIZE, OptimizerUtils.DEFAULT_BLOCKSIZE, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, input("X"), OutputInfo.LocalBinaryBlockOutputInfo, mc);
+			MapReduceTool.writeMetaDataFile(input("X.mtd"), ValueType.DOUBLE, mc, OutputInfo.LocalBinaryBlockOutputInfo);
+			
+			runTest(true, false, null, -1);
+			
+			//compare output written via format="localbinary"
+			MatrixBlock ret = DataConverter.readMatrixFromHDFS(output("Y"), InputInfo.LocalBinaryBlockInputInfo, 
+				rows, cols, OptimizerUtils.DEFAULT_BLOCKSIZE, OptimizerUtils.DEFAULT_BLOCKSIZE);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(X[i][j] * 7, ret.quickGetValue(i, j), 1e-14);
+			Assert.assertTrue(MapReduceTool.readStringFromHDFSFile(output("Y.mtd"))
+				.contains(DataExpression.FORMAT_TYPE_VALUE_LOCALBINARY));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+	
+	private static void checkBlockIndex(String fname, MatrixBlock mb, boolean mixed) 
+		throws IOException, DMLRuntimeException
+	{
+		LocalBinaryBlockFile file = LocalBinaryBlockFile.open(fname);
+		try {
+			Assert.assertEquals((rows+blen-1)/blen, file.getNumRowBlocks());
+			Assert.assertEquals((cols+blen-1)/blen, file.getNumColumnBlocks());
+			Assert.assertEquals(mb.getNonZeros(), file.getNonZeros());
+			for( int bi=0; bi<file.getNumRowBlocks(); bi++ )
+				for( int bj=0; bj<file.getNumColumnBlocks(); bj++ ) {
+					int rl = bi*blen, cl = bj*blen;
+					MatrixBlock blk = mb.sliceOperations(rl, rl+file.getBlockNumRows(bi)-1,
+						cl, cl+file.getBlockNumColumns(bj)-1, new MatrixBlock());
+					Assert.assertEquals(blk.getNonZeros(), file.getBlockNonZeros(bi, bj));
+					if( mixed && bi < 2 )
+						Assert.assertEquals(LocalBinaryBlockFile.TYPE_DENSE, file.getBlockType(bi, bj));
+					TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(blk), 
+						DataConverter.convertToDoubleMatrix(file.readBlock(bi, bj)), 
+						blk.getNumRows(), blk.getNumColumns(), 0);
+				}
+		}
+		finally {
+			file.close();
+		}
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.csv;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.DataExpression;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.CSVByteParser;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderTextCSV;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the byte-level csv parser, which compares 
+ * the tokenization against splitCSV, the number parsing against 
+ * Double.parseDouble, and the csv matrix and frame readers against the 
+ * generated input data.
+ *
+ */
+public class CSVByteParserTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "CSVByteParserTest";
+	private final static String TEST_DIR = "functions/io/csv/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CSVByteParserTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1234;
+	private final static int cols = 27;
+
+	private final static String[] LINES = new String[] {
+		"", "a", " a , b ", "a,,b", ",a", "a,", ",", ",,",
+		"\"a,b\",c", "\"a\"\"b\",c", "\"a\"\"b\"\"c\"", "\"a\"b,c", "\"a\"b", "\"a\"",
+		"\"a", "a\"b\",c", "\"\"", "\"\",\"\"", "\"\"\"\"", "1.5,\"2\",-3e7",
+		"ä,ö;ü", "\"ä\"ü,a", "\t1\t,2 ",
+	};
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"B"}));
+	}
+
+	@Test
+	public void testTokenizeSpecialCases() {
+		for( String delim : new String[]{",", ";", "||"} )
+			for( String line : LINES )
+				compareTokens(line, delim);
+	}
+
+	@Test
+	public void testTokenizeRandom() {
+		Random rand = new Random(7);
+		String alpha = "ab\" ,;|1.ä";
+		for( int i=0; i<100000; i++ ) {
+			StringBuilder sb = new StringBuilder();
+			int len = rand.nextInt(10);
+			for( int j=0; j<len; j++ )
+				sb.append(alpha.charAt(rand.nextInt(alpha.length())));
+			//exclude unterminated escaped quotes, where splitCSV does not terminate
+			String line = sb.toString();
+			if( !line.contains("\"\"") )
+				compareTokens(line, rand.nextBoolean() ? "," : "||");
+		}
+	}
+
+	@Test
+	public void testParseDoubleSpecialCases() {
+		String[] vals = new String[] {"0", "-0", "+1", "1.", ".5", "0.000", "1e10", "1E-10", 
+			"-1.7976931348623157E308", "4.9E-324", "2.2250738585072012e-308", "9007199254740993",
+			"123456789012345678901234567890", "1e400", "1e-400", "NaN", "-Infinity", "1.0d", "0x1p3"};
+		for( String val : vals )
+			compareDouble(val);
+	}
+
+	@Test
+	public void testParseDoubleRandom() {
+		Random rand = new Random(7);
+		for( int i=0; i<100000; i++ ) {
+			compareDouble(Double.toString(rand.nextDouble()));
+			compareDouble(Double.toString(Double.longBitsToDouble(rand.nextLong())));
+			compareDouble(Float.toString((float)rand.nextGaussian()));
+			compareDouble(String.valueOf(rand.nextLong() >> rand.nextInt(64)));
+		}
+	}
+
+	@Test
+	public void testParseDoubleInvalid() {
+		for( String val : new String[]{"", "-", "e5", "1e", "1,5", "a"} ) {
+			try {
+				byte[] data = val.getBytes(StandardCharsets.UTF_8);
+				CSVByteParser.parseDouble(data, 0, data.length);
+				Assert.fail("Expected number format exception for: "+val);
+			}
+			catch(NumberFormatException ex) {
+				//expected
+			}
+		}
+	}
+
+	@Test
+	public void testReadMatrixDense() throws IOException {
+		runReadMatrixTest(0.9, false);
+	}
+
+	@Test
+	public void testReadMatrixSparse() throws IOException {
+		runReadMatrixTest(0.05, false);
+	}
+
+	@Test
+	public void testReadMatrixDenseParallel() throws IOException {
+		runReadMatrixTest(0.9, true);
+	}
+
+	@Test
+	public void testReadMatrixSparseParallel() throws IOException {
+		runReadMatrixTest(0.05, true);
+	}
+
+	@Test
+	public void testReadMatrixFillNAStrings() throws IOException {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		MapReduceTool.writeStringToHDFS("h1,h2,h3\n1,,NA\n\"2.5\",x,3\n", input("A"));
+		CSVFileFormatProperties props = new CSVFileFormatProperties(true, ",", true, 7,
+			"NA" + DataExpression.DELIM_NA_STRING_SEP + "x");
+		MatrixBlock mb = new ReaderTextCSV(props).readMatrixFromHDFS(input("A"), 2, 3, 1000, 1000, -1);
+		TestUtils.compareMatrices(new double[][]{{1, 7, Double.NaN}, {2.5, Double.NaN, 3}},
+			DataConverter.convertToDoubleMatrix(mb), 2, 3, 0);
+	}
+
+	@Test
+	public void testReadFrame() throws IOException {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		ValueType[] schema = new ValueType[]{ValueType.STRING, ValueType.DOUBLE, ValueType.INT, ValueType.BOOLEAN};
+		Random rand = new Random(7);
+		StringBuilder sb = new StringBuilder();
+		String[][] data = new String[rows][];
+		for( int i=0; i<rows; i++ ) {
+			data[i] = new String[]{ (i%7==0) ? "\"v,"+i+"\"" : "vä"+rand.nextInt(100), 
+				String.valueOf(rand.nextGaussian()), String.valueOf(rand.nextLong()),
+				String.valueOf(rand.nextBoolean()).toUpperCase() };
+			sb.append(String.join(",", data[i])).append('\n');
+		}
+		MapReduceTool.writeStringToHDFS(sb.toString(), input("A"));
+		
+		CSVFileFormatProperties props = new CSVFileFormatProperties(false, ",", false, 0, null);
+		FrameBlock fb = new FrameReaderTextCSV(props)
+			.readFrameFromHDFS(input("A"), schema, rows, schema.length);
+		for( int i=0; i<rows; i++ ) {
+			Assert.assertEquals(data[i][0], fb.get(i, 0));
+			Assert.assertEquals(Double.parseDouble(data[i][1]), fb.get(i, 1));
+			Assert.assertEquals(Long.parseLong(data[i][2]), fb.get(i, 2));
+			Assert.assertEquals(Boolean.parseBoolean(data[i][3]), fb.get(i, 3));
+		}
+	}
+
+	@Test
+	public void testReadFrameNAStrings() throws IOException {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		ValueType[] schema = new ValueType[]{ValueType.STRING, ValueType.DOUBLE, ValueType.INT};
+		MapReduceTool.writeStringToHDFS("a,NA,NA\nNA,2.5,3\n", input("A"));
+		CSVFileFormatProperties props = new CSVFileFormatProperties(false, ",", false, 0, "NA");
+		FrameBlock fb = new FrameReaderTextCSV(props)
+			.readFrameFromHDFS(input("A"), schema, 2, schema.length);
+		Assert.assertEquals("a", fb.get(0, 0));
+		Assert.assertNull(fb.get(1, 0));
+		Assert.assertTrue(Double.isNaN((Double)fb.get(0, 1))); //as for matrices
+		Assert.assertEquals(2.5, fb.get(1, 1));
+		Assert.assertEquals(0L, fb.get(0, 2));
+		Assert.assertEquals(3L, fb.get(1, 2));
+	}
+
+	private void runReadMatrixTest(double sparsity, boolean parallel) throws IOException {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7);
+		StringBuilder sb = new StringBuilder();
+		for( int i=0; i<rows; i++ ) {
+			for( int j=0; j<cols; j++ ) {
+				if( j > 0 ) sb.append(',');
+				sb.append((j%3==0) ? String.valueOf((float)A[i][j]) : String.valueOf(A[i][j]));
+			}
+			sb.append('\n');
+		}
+		MapReduceTool.writeStringToHDFS(sb.toString(), input("A"));
+		
+		CSVFileFormatProperties props = new CSVFileFormatProperties(false, ",", false, 0, null);
+		MatrixReader reader = parallel ? new ReaderTextCSVParallel(props) : new ReaderTextCSV(props);
+		MatrixBlock mb = reader.readMatrixFromHDFS(input("A"), rows, cols, 1000, 1000, -1);
+		long nnz = mb.getNonZeros();
+		mb.recomputeNonZeros();
+		Assert.assertEquals(mb.getNonZeros(), nnz);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals((j%3==0) ? Double.parseDouble(String.valueOf((float)A[i][j])) : A[i][j],
+					mb.quickGetValue(i, j), 0);
+	}
+
+	private static void compareTokens(String line, String delim) {
+		String[] tokens = IOUtilFunctions.splitCSV(line.trim(), delim);
+		byte[] data = ("#" + line + "#").getBytes(StandardCharsets.UTF_8);
+		CSVByteParser parser = new CSVByteParser(delim);
+		parser.reset(data, 1, data.length-2);
+		int pos = 0;
+		while( parser.next() ) {
+			Assert.assertTrue("Too many tokens for: "+line, pos < tokens.length);
+			Assert.assertEquals("Wrong token for: "+line, tokens[pos++].trim(), parser.getString());
+		}
+		Assert.assertEquals("Wrong number of tokens for: "+line, tokens.length, pos);
+	}
+
+	private static void compareDouble(String val) {
+		byte[] data = val.getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals("Wrong value for: "+val, 
+			Double.doubleToRawLongBits(Double.parseDouble(val)),
+			Double.doubleToRawLongBits(CSVByteParser.parseDouble(data, 0, data.length)));
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.PreparedScriptPool;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Concurrent JMLC scoring via clones of a single prepared script, which
+ * share the compiled program and reused model, compared against the 
+ * sequential execution of the original prepared script.
+ */
+public class JMLCConcurrentScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "reuse-glm-predict";
+	private final static String TEST_NAME2 = "reuse-msvm-predict";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCConcurrentScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRuns = 64;
+	private final static int nThreads = 4;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "predicted_y" }) ); 
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "predicted_y" }) );
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreGLMDense() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME1, false, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreGLMSparse() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME1, true, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreMSVMDense() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME2, false, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreMSVMSparse() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME2, true, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreGLMDensePool() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME1, false, true);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreMSVMSparsePool() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME2, true, true);
+	}
+
+	private void runJMLCConcurrentTest( String testname, boolean sparse, boolean pool ) 
+		throws IOException
+	{
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+		
+		//generate inputs
+		ArrayList<double[][]> Xset = new ArrayList<double[][]>();
+		for( int i=0; i<nRuns; i++ )
+			Xset.add(getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7+i));
+		
+		//establish connection to SystemML
+		Connection conn = new Connection();
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+		try
+		{
+			//read and precompile script, and bind reused model
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, rows, cols); 
+			pstmt.setMatrix("W", W, true);
+			
+			//sequential scoring via original prepared script
+			ArrayList<double[][]> Yset1 = new ArrayList<double[][]>();
+			for( double[][] X : Xset )
+				Yset1.add(score(pstmt, X));
+			
+			//concurrent scoring via clones or pooled clones
+			PreparedScriptPool spool = pool ? new PreparedScriptPool(pstmt) : null;
+			List<Future<double[][]>> rt = new ArrayList<Future<double[][]>>();
+			for( double[][] X : Xset )
+				rt.add(executor.submit(new ScoringTask(pstmt, spool, X)));
+			
+			//compare results
+			for( int i=0; i<nRuns; i++ )
+				TestUtils.compareMatrices(Yset1.get(i), rt.get(i).get(), 
+					Yset1.get(i).length, Yset1.get(i)[0].length, 0);
+			if( pool )
+				Assert.assertTrue(spool.size() <= nThreads);
+		}
+		catch(Exception ex) {
+			throw new IOException(ex);
+		}
+		finally {
+			executor.shutdown();
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static double[][] score(PreparedScript pstmt, double[][] X) 
+		throws Exception
+	{
+		pstmt.setMatrix("X", X);
+		return pstmt.executeScript().getMatrix("predicted_y");
+	}
+	
+	private static class ScoringTask implements Callable<double[][]> 
+	{
+		private final PreparedScript _pstmt;
+		private final PreparedScriptPool _pool;
+		private final double[][] _X;
+		
+		protected ScoringTask(PreparedScript pstmt, PreparedScriptPool pool, double[][] X) {
+			_pstmt = pstmt;
+			_pool = pool;
+			_X = X;
+		}
+		
+		@Override
+		public double[][] call() throws Exception {
+			if( _pool == null )
+				return score(_pstmt.clone(), _X);
+			PreparedScript pstmt = _pool.borrowScript();
+			try {
+				return score(pstmt, _X);
+			}
+			finally {
+				_pool.returnScript(pstmt);
+			}
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.MicroBatchScorer;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Test zero-copy dense and CSR inputs, reusable output buffers, and 
+ * micro-batched scoring of the JMLC API.
+ */
+public class JMLCZeroCopyInputTest extends AutomatedTestBase 
+{
+	private final static String SCRIPT = 
+		  "X = read(\"./tmp/X\");\n"
+		+ "W = read(\"./tmp/W\");\n"
+		+ "Y = X %*% W + 1;\n"
+		+ "write(Y, \"./tmp/Y\");";
+	
+	private final static int rows = 107;
+	private final static int cols = 46;
+	private final static int ncls = 3;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testDenseInputZeroCopy() throws Exception {
+		runZeroCopyInputTest(1.0, false);
+	}
+	
+	@Test
+	public void testSparseInputZeroCopy() throws Exception {
+		runZeroCopyInputTest(0.1, true);
+	}
+	
+	@Test
+	public void testMicroBatchScoring() throws Exception {
+		Connection conn = new Connection();
+		try {
+			PreparedScript pstmt = prepareScript(conn);
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, 0.7, 7);
+			double[][] Y = score(pstmt, X);
+			
+			//submit single rows and compare with batch results
+			MicroBatchScorer scorer = new MicroBatchScorer(pstmt, "X", "Y", cols, 16, 1000);
+			List<Future<double[]>> ret = new ArrayList<Future<double[]>>();
+			for( int i=0; i<rows; i++ )
+				ret.add(scorer.score(X[i]));
+			for( int i=0; i<rows; i++ )
+				TestUtils.compareMatrices(new double[][]{Y[i]}, 
+					new double[][]{ret.get(i).get()}, 1, ncls, 1e-10);
+			scorer.close();
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	@Test
+	public void testMicroBatchScoringClose() throws Exception {
+		Connection conn = new Connection();
+		try {
+			PreparedScript pstmt = prepareScript(conn);
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, 0.7, 7);
+			double[][] Y = score(pstmt, X);
+			
+			//close right after submission, all accepted requests are processed
+			MicroBatchScorer scorer = new MicroBatchScorer(pstmt, "X", "Y", cols, 16, 1000);
+			List<Future<double[]>> ret = new ArrayList<Future<double[]>>();
+			for( int i=0; i<rows; i++ )
+				ret.add(scorer.score(X[i]));
+			scorer.close();
+			for( int i=0; i<rows; i++ ) {
+				Assert.assertTrue(ret.get(i).isDone());
+				TestUtils.compareMatrices(new double[][]{Y[i]}, 
+					new double[][]{ret.get(i).get()}, 1, ncls, 1e-10);
+			}
+			
+			//requests after close are rejected
+			try {
+				scorer.score(X[0]);
+				Assert.fail("Scoring after close did not fail.");
+			}
+			catch(DMLException ex) {
+				//expected
+			}
+			scorer.close();
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	@Test
+	public void testInvalidCSRInput() throws Exception {
+		Connection conn = new Connection();
+		try {
+			PreparedScript pstmt = prepareScript(conn);
+			int[] rowPtr = new int[]{0, 2, 3};
+			int[] colInd = new int[]{0, 5, 1};
+			double[] vals = new double[]{1, 2, 3};
+			
+			//valid input for reference
+			pstmt.setMatrix("X", rowPtr, colInd, vals, 2, 6, false);
+			
+			//invalid row pointers, column indexes, and values
+			checkInvalidCSRInput(pstmt, new int[]{0, 2, 3, 3}, colInd, vals, 2, 6);
+			checkInvalidCSRInput(pstmt, new int[]{0, 2}, colInd, vals, 2, 6);
+			checkInvalidCSRInput(pstmt, new int[]{0, 3, 2}, colInd, vals, 2, 6);
+			checkInvalidCSRInput(pstmt, rowPtr, new int[]{0, 5}, vals, 2, 6);
+			checkInvalidCSRInput(pstmt, rowPtr, colInd, new double[]{1, 2}, 2, 6);
+			checkInvalidCSRInput(pstmt, rowPtr, colInd, vals, 2, 5);
+			checkInvalidCSRInput(pstmt, rowPtr, new int[]{0, -1, 1}, vals, 2, 6);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static void checkInvalidCSRInput(PreparedScript pstmt, 
+		int[] rowPtr, int[] colInd, double[] vals, int rows, int cols) 
+	{
+		try {
+			pstmt.setMatrix("X", rowPtr, colInd, vals, rows, cols, false);
+			Assert.fail("Invalid CSR input was accepted.");
+		}
+		catch(DMLException ex) {
+			//expected
+		}
+	}
+	
+	private void runZeroCopyInputTest(double sparsity, boolean csr) throws Exception {
+		Connection conn = new Connection();
+		try {
+			PreparedScript pstmt = prepareScript(conn);
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			double[][] Y = score(pstmt, X);
+			
+			//bind caller-owned arrays w/o copy
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			mb.examSparsity();
+			if( csr ) {
+				mb = new MatrixBlock(mb, SparseBlock.Type.CSR, true);
+				SparseBlockCSR sblock = (SparseBlockCSR) mb.getSparseBlock();
+				pstmt.setMatrix("X", sblock.rowPointers(), sblock.indexes(), 
+					sblock.values(), rows, cols, false);
+			}
+			else {
+				double[] data = DataConverter.convertToDoubleVector(mb);
+				pstmt.setMatrix("X", data, rows, cols, false);
+			}
+			ResultVariables rs = pstmt.executeScript();
+			
+			//obtain results via reusable output buffer
+			double[] buff = new double[rows*ncls+7];
+			double[] ret = rs.getMatrix("Y", buff);
+			Assert.assertTrue(ret == buff);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<ncls; j++ )
+					Assert.assertEquals(Y[i][j], ret[i*ncls+j], 1e-10);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private PreparedScript prepareScript(Connection conn) throws DMLException {
+		PreparedScript pstmt = conn.prepareScript(SCRIPT, 
+			new String[]{"X","W"}, new String[]{"Y"}, false);
+		pstmt.setMatrix("W", getRandomMatrix(cols, ncls, -1, 1, 1.0, 3), true);
+		return pstmt;
+	}
+	
+	private static double[][] score(PreparedScript pstmt, double[][] X) throws DMLException {
+		pstmt.setMatrix("X", X);
+		double[][] ret = pstmt.executeScript().getMatrix("Y");
+		pstmt.clearParameters();
+		return ret;
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the multi-threaded (and sparse-aware) sort against the 
+ * sequential stable sort, which need to produce identical results.
+ */
+public class ParallelOrderTest extends AutomatedTestBase
+{
+	private final static int rows = 1200000;
+	private final static int cols = 3;
+	private final static int by = 2;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.9; //sparse format forced, see below
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testOrderDenseAscDataK8() {
+		runParallelOrderTest(false, false, false);
+	}
+	
+	@Test
+	public void testOrderDenseAscIxK8() {
+		runParallelOrderTest(false, false, true);
+	}
+	
+	@Test
+	public void testOrderDenseDescDataK8() {
+		runParallelOrderTest(false, true, false);
+	}
+	
+	@Test
+	public void testOrderDenseDescIxK8() {
+		runParallelOrderTest(false, true, true);
+	}
+	
+	@Test
+	public void testOrderSparseAscDataK8() {
+		runParallelOrderTest(true, false, false);
+	}
+	
+	@Test
+	public void testOrderSparseAscIxK8() {
+		runParallelOrderTest(true, false, true);
+	}
+	
+	@Test
+	public void testOrderSparseDescDataK8() {
+		runParallelOrderTest(true, true, false);
+	}
+	
+	@Test
+	public void testOrderSparseDescIxK8() {
+		runParallelOrderTest(true, true, true);
+	}
+	
+	@Test
+	public void testOrderDenseVectorAscK8() {
+		runParallelVectorOrderTest(false);
+	}
+	
+	@Test
+	public void testOrderDenseVectorDescK8() {
+		runParallelVectorOrderTest(true);
+	}
+	
+	private void runParallelOrderTest(boolean sparse, boolean desc, boolean ixret)
+	{
+		//generate input data (rounded values to create ties)
+		double sparsity = sparse ? sparsity2 : sparsity1;
+		double[][] A = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 7));
+		MatrixBlock in = sparse ? createSparseBlock(A) : DataConverter.convertToMatrixBlock(A);
+		
+		//sanity check that the sparse-aware sort runs multi-threaded, i.e., 
+		//sparse input w/ nnz in the order-by column above the threshold
+		if( sparse ) {
+			Assert.assertTrue(in.isInSparseFormat());
+			Assert.assertTrue(countNonZeros(A, by-1) >= LibMatrixReorg.PAR_NUMCELL_THRESHOLD);
+		}
+		
+		try {
+			//sequential reference over dense input (no sparse-aware sort)
+			MatrixBlock in2 = new MatrixBlock();
+			in2.copy(in);
+			in2.sparseToDense();
+			MatrixBlock ret1 = LibMatrixReorg.sort(in2, new MatrixBlock(), by, desc, ixret);
+			
+			//multi-threaded and sparse-aware sort
+			MatrixBlock ret2 = LibMatrixReorg.sort(in, new MatrixBlock(), by, desc, ixret, 8);
+			
+			//compare results (exact)
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runParallelVectorOrderTest(boolean desc)
+	{
+		MatrixBlock in = DataConverter.convertToMatrixBlock(
+			TestUtils.generateTestMatrix(rows, 1, -10, 10, 1.0, 7));
+		
+		try {
+			MatrixBlock ret1 = LibMatrixReorg.sort(in, new MatrixBlock(), 1, desc, false);
+			MatrixBlock ret2 = LibMatrixReorg.sort(in, new MatrixBlock(), 1, desc, false, 8);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), rows, 1, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock createSparseBlock(double[][] A) {
+		//sparse block independent of the in-memory format decision,
+		//which would select dense for such narrow inputs
+		MatrixBlock ret = new MatrixBlock(A.length, A[0].length, true);
+		for( int i=0; i<A.length; i++ )
+			for( int j=0; j<A[i].length; j++ )
+				if( A[i][j] != 0 )
+					ret.appendValue(i, j, A[i][j]);
+		return ret;
+	}
+	
+	private static long countNonZeros(double[][] A, int col) {
+		long nnz = 0;
+		for( int i=0; i<A.length; i++ )
+			nnz += (A[i][col] != 0) ? 1 : 0;
+		return nnz;
+	}
+}
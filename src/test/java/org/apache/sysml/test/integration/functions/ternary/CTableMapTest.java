@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.ternary;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleIterator;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the open-addressing ctable hash map and its
+ * (sorted) conversion into sparse and dense matrix blocks, compared against
+ * a direct aggregation into a dense array.
+ *
+ */
+public class CTableMapTest extends AutomatedTestBase
+{
+	private final static int rows = 1372;
+	private final static int cols = 931;
+	private final static int numCellsSparse = 20000;
+	private final static int numCellsDense = 2000000;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCTableMapSparse() {
+		runCTableMapTest(numCellsSparse, rows, cols, 7);
+	}
+
+	@Test
+	public void testCTableMapDense() {
+		runCTableMapTest(numCellsDense, rows, cols, 3);
+	}
+
+	@Test
+	public void testCTableMapSparseTruncated() {
+		runCTableMapTest(numCellsSparse, rows/2, cols/3, 11);
+	}
+
+	@Test
+	public void testCTableMapDenseTruncated() {
+		runCTableMapTest(numCellsDense, rows/2, cols/3, 13);
+	}
+
+	@Test
+	public void testHashMapAggregateIterate() {
+		LongLongDoubleHashMap map = new LongLongDoubleHashMap();
+		for( int i=0; i<100000; i++ )
+			map.addValue(i%1000+1, i%7+1, 1);
+		Assert.assertEquals(7000, map.size());
+
+		double sum = 0; int count = 0;
+		LLDoubleIterator it = map.getIterator();
+		while( it.next() ) {
+			Assert.assertEquals(map.get(it.getKey1(), it.getKey2()), it.getValue(), 0);
+			sum += it.getValue();
+			count++;
+		}
+		Assert.assertEquals(7000, count);
+		Assert.assertEquals(100000, sum, 0);
+		Assert.assertEquals(0, map.get(1001, 1), 0);
+	}
+
+	private void runCTableMapTest(int numCells, int rlen, int clen, long seed)
+	{
+		Random rand = new Random(seed);
+		double[][] ref = new double[rlen][clen];
+		CTableMap map = new CTableMap();
+		for( int i=0; i<numCells; i++ ) {
+			long r = rand.nextInt(rows) + 1;
+			long c = rand.nextInt(cols) + 1;
+			//weights incl negative values (cancelation to zero)
+			double w = rand.nextInt(5) - 2;
+			map.aggregate(r, c, w);
+			if( r <= rlen && c <= clen )
+				ref[(int)r-1][(int)c-1] += w;
+		}
+
+		MatrixBlock mb = map.toMatrixBlock(rlen, clen);
+		double[][] ret = DataConverter.convertToDoubleMatrix(mb);
+
+		//check values and meta data
+		TestUtils.compareMatrices(ref, ret, rlen, clen, 0);
+		long nnz = 0;
+		for( int i=0; i<rlen; i++ )
+			for( int j=0; j<clen; j++ )
+				nnz += (ref[i][j] != 0) ? 1 : 0;
+		Assert.assertEquals(nnz, mb.getNonZeros());
+
+		//check sorted sparse rows (binary search on get)
+		if( mb.isInSparseFormat() && !mb.isEmptyBlock(false) ) {
+			for( int i=0; i<rlen; i++ ) {
+				if( mb.getSparseBlock().isEmpty(i) )
+					continue;
+				int apos = mb.getSparseBlock().pos(i);
+				int alen = mb.getSparseBlock().size(i);
+				int[] aix = mb.getSparseBlock().indexes(i);
+				for( int j=apos+1; j<apos+alen; j++ )
+					Assert.assertTrue(aix[j-1] < aix[j]);
+			}
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.transform.RecodeAgent;
+import org.apache.sysml.runtime.util.StringDictionary;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the compact string dictionary of recode
+ * maps, which compares build and lookups against a HashMap&lt;String,Long&gt;
+ * and checks the round trip through transform meta data frames.
+ *
+ */
+public class StringDictionaryTest extends AutomatedTestBase
+{
+	private final static int rows = 100000;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDictionaryFewDistinct() {
+		runDictionaryTest(10);
+	}
+
+	@Test
+	public void testDictionaryManyDistinct() {
+		runDictionaryTest(50000);
+	}
+
+	@Test
+	public void testDictionaryMetaDataFewDistinct() {
+		runDictionaryMetaDataTest(10);
+	}
+
+	@Test
+	public void testDictionaryMetaDataManyDistinct() {
+		runDictionaryMetaDataTest(50000);
+	}
+
+	@Test
+	public void testDictionarySpecialTokens() {
+		StringDictionary dict = new StringDictionary();
+		String[] tokens = new String[]{"a", "a·b", "\"a,b\"", "Aa", "BB", "a b ", "ä"};
+		for( String token : tokens )
+			dict.putIfAbsent(token);
+		Assert.assertEquals(tokens.length, dict.size());
+		for( int i=0; i<tokens.length; i++ ) {
+			Assert.assertEquals(i+1, dict.get(tokens[i]));
+			Assert.assertEquals(tokens[i], dict.getToken(i));
+		}
+		Assert.assertEquals(-1, dict.get("b"));
+		Assert.assertFalse(dict.containsKey(""));
+	}
+
+	private void runDictionaryTest(int numDistinct) {
+		String[] tokens = createTokens(rows, numDistinct, 7);
+
+		//build dictionary and reference map
+		StringDictionary dict = new StringDictionary();
+		HashMap<String,Long> map = new HashMap<String,Long>();
+		for( String key : tokens ) {
+			if( !map.containsKey(key) )
+				map.put(key, Long.valueOf(map.size()+1));
+			Assert.assertEquals((long)map.get(key), dict.putIfAbsent(key));
+		}
+
+		//compare size, lookups, and insertion order
+		Assert.assertEquals(map.size(), dict.size());
+		for( String key : tokens )
+			Assert.assertEquals((long)map.get(key), dict.get(key));
+		for( int i=0; i<dict.size(); i++ ) {
+			Assert.assertEquals(i+1, dict.getCode(i));
+			Assert.assertEquals((long)map.get(dict.getToken(i)), dict.getCode(i));
+		}
+		for( String key : createTokens(1000, numDistinct, 3) )
+			Assert.assertEquals(map.containsKey(key), dict.containsKey(key));
+		Assert.assertEquals(-1, dict.get("x"+numDistinct));
+	}
+
+	private void runDictionaryMetaDataTest(int numDistinct) {
+		String[] tokens = createTokens(rows, numDistinct, 7);
+		StringDictionary dict = new StringDictionary();
+		for( String key : tokens )
+			dict.putIfAbsent(key);
+
+		//write and read meta data frame
+		FrameBlock meta = new FrameBlock(1, ValueType.STRING);
+		meta.ensureAllocatedColumns(dict.size());
+		for( int i=0; i<dict.size(); i++ )
+			meta.set(i, 0, RecodeAgent.constructRecodeMapEntry(dict.getToken(i), dict.getCode(i)));
+		StringDictionary dict2 = meta.getRecodeDictionary(0);
+
+		Assert.assertEquals(dict.size(), dict2.size());
+		for( int i=0; i<dict.size(); i++ )
+			Assert.assertEquals(dict.getCode(i), dict2.get(dict.getToken(i)));
+		Assert.assertEquals(dict.size(), meta.getRecodeMap(0).size());
+	}
+
+	private static String[] createTokens(int rows, int numDistinct, long seed) {
+		Random rand = new Random(seed);
+		String[] ret = new String[rows];
+		for( int i=0; i<rows; i++ )
+			ret[i] = "v" + rand.nextInt(numDistinct);
+		return ret;
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the multi-threaded transformencode and
+ * transformapply over frame blocks, which compares the encoded matrices
+ * and recode maps against the single-threaded encoders.
+ *
+ */
+public class TransformFrameParallelEncodeTest extends AutomatedTestBase
+{
+	private final static int rows = 20000;
+	private final static int cols = 60;
+	private final static int numDistinct = 50;
+	private final static int k = 3;
+
+	private final static String SPEC_RECODE = "{ \"ids\": true, \"recode\": [ 1, 2, 3, 4, 5 ] }";
+	private final static String SPEC_DUMMY = "{ \"ids\": true, \"dummycode\": [ 1, 4 ], \"recode\": [ 2 ] }";
+	private final static String SPEC_IMPUTE = "{ \"ids\": true, \"recode\": [ 1, 2 ], \"impute\": "
+		+ "[ { \"id\": 1, \"method\": \"global_mode\" }, { \"id\": 2, \"method\": \"global_mode\" } ] }";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testParallelEncodeRecode() {
+		runParallelEncodeTest(SPEC_RECODE, false);
+	}
+
+	@Test
+	public void testParallelEncodeDummycode() {
+		runParallelEncodeTest(SPEC_DUMMY, false);
+	}
+
+	@Test
+	public void testParallelEncodeImpute() {
+		runParallelEncodeTest(SPEC_IMPUTE, true);
+	}
+
+	@Test
+	public void testParallelApplyRecode() {
+		runParallelApplyTest(SPEC_RECODE);
+	}
+
+	@Test
+	public void testParallelApplyDummycode() {
+		runParallelApplyTest(SPEC_DUMMY);
+	}
+
+	private void runParallelEncodeTest(String spec, boolean missing)
+	{
+		try
+		{
+			FrameBlock in = createFrame(rows, cols, missing, 7);
+			String[] colnames = in.getColumnNames();
+
+			//encode with single- and multi-threaded encoders
+			Encoder encoder1 = EncoderFactory.createEncoder(spec, colnames, cols, null);
+			MatrixBlock out1 = encoder1.encode(in, new MatrixBlock(rows, cols, false));
+			FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+			Encoder encoderk = EncoderFactory.createEncoder(spec, colnames, cols, null);
+			MatrixBlock outk = encoderk.encode(in, new MatrixBlock(rows, cols, false), k);
+			FrameBlock metak = encoderk.getMetaData(new FrameBlock(cols, ValueType.STRING));
+
+			//compare encoded data and recode maps
+			compareResults(out1, outk);
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals(meta1.getRecodeMap(j), metak.getRecodeMap(j));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runParallelApplyTest(String spec)
+	{
+		try
+		{
+			FrameBlock in = createFrame(rows, cols, false, 7);
+			FrameBlock in2 = createFrame(rows, cols, false, 3);
+			String[] colnames = in.getColumnNames();
+
+			//obtain meta data from single-threaded encode
+			Encoder encoder = EncoderFactory.createEncoder(spec, colnames, cols, null);
+			encoder.encode(in, new MatrixBlock(rows, cols, false));
+			FrameBlock meta = encoder.getMetaData(new FrameBlock(cols, ValueType.STRING));
+
+			//apply with single- and multi-threaded encoders
+			Encoder encoder1 = EncoderFactory.createEncoder(spec, colnames, cols, meta);
+			MatrixBlock out1 = encoder1.apply(in2, new MatrixBlock(rows, cols, false));
+			Encoder encoderk = EncoderFactory.createEncoder(spec, colnames, cols, meta);
+			MatrixBlock outk = encoderk.apply(in2, new MatrixBlock(rows, cols, false), k);
+
+			compareResults(out1, outk);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void compareResults(MatrixBlock out1, MatrixBlock outk) {
+		Assert.assertEquals(out1.getNumRows(), outk.getNumRows());
+		Assert.assertEquals(out1.getNumColumns(), outk.getNumColumns());
+		long nnz = outk.getNonZeros();
+		outk.recomputeNonZeros();
+		Assert.assertEquals("Wrong number of non-zeros.", outk.getNonZeros(), nnz);
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(out1),
+			DataConverter.convertToDoubleMatrix(outk), out1.getNumRows(), out1.getNumColumns(), 0);
+	}
+
+	private static FrameBlock createFrame(int rows, int cols, boolean missing, long seed) {
+		//first five columns categorical, remaining columns numeric
+		Random rand = new Random(seed);
+		FrameBlock ret = new FrameBlock(UtilFunctions.nCopies(cols, ValueType.STRING));
+		String[] row = new String[cols];
+		for( int i=0; i<rows; i++ ) {
+			for( int j=0; j<cols; j++ )
+				row[j] = (j < 5) ? "v" + rand.nextInt(numDistinct) : String.valueOf(rand.nextDouble());
+			if( missing && i % 10 == 0 )
+				row[i % 2] = "";
+			ret.appendRow(row);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.vect;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseVectorKernels;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the SIMD dense vector primitives, which 
+ * compares the results of matrix multiplications and cellwise operations
+ * with enabled and disabled SIMD kernels. If the kernels are not available
+ * (i.e., w/o build profile vector-api), the test is skipped, unless the
+ * kernels are required via -Dsystemml.test.simd=true (set by this profile).
+ *
+ */
+public class SIMDVectorPrimitivesTest extends AutomatedTestBase
+{
+	private final static int rows = 327;
+	private final static int cols = 1031; //not aligned to vector lengths
+	private final static double eps = 1e-10;
+	
+	private enum OpType {
+		MATMULT,
+		PLUS,
+		MINUS,
+		MULT,
+		DIV,
+		SCALAR_MULT,
+		SCALAR_MINUS_LEFT,
+		SCALAR_DIV,
+		ABS,
+		SQRT,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testMatrixMult() {
+		runVectorPrimitivesTest(OpType.MATMULT);
+	}
+	
+	@Test
+	public void testBinaryPlus() {
+		runVectorPrimitivesTest(OpType.PLUS);
+	}
+	
+	@Test
+	public void testBinaryMinus() {
+		runVectorPrimitivesTest(OpType.MINUS);
+	}
+	
+	@Test
+	public void testBinaryMult() {
+		runVectorPrimitivesTest(OpType.MULT);
+	}
+	
+	@Test
+	public void testBinaryDiv() {
+		runVectorPrimitivesTest(OpType.DIV);
+	}
+	
+	@Test
+	public void testScalarMult() {
+		runVectorPrimitivesTest(OpType.SCALAR_MULT);
+	}
+	
+	@Test
+	public void testScalarMinusLeft() {
+		runVectorPrimitivesTest(OpType.SCALAR_MINUS_LEFT);
+	}
+	
+	@Test
+	public void testScalarDiv() {
+		runVectorPrimitivesTest(OpType.SCALAR_DIV);
+	}
+	
+	@Test
+	public void testUnaryAbs() {
+		runVectorPrimitivesTest(OpType.ABS);
+	}
+	
+	@Test
+	public void testUnarySqrt() {
+		runVectorPrimitivesTest(OpType.SQRT);
+	}
+	
+	private void runVectorPrimitivesTest(OpType type)
+	{
+		//skip w/o SIMD kernels, unless explicitly required
+		if( Boolean.getBoolean("systemml.test.simd") )
+			Assert.assertTrue("SIMD vector kernels not available.", DenseVectorKernels.isAvailable());
+		Assume.assumeTrue(DenseVectorKernels.isAvailable());
+		
+		boolean oldFlag = DenseVectorKernels.ENABLED;
+		try
+		{
+			MatrixBlock A = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, cols, -1, 1, 1.0, 7));
+			MatrixBlock B = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, cols, 0.5, 1, 1.0, 3));
+			MatrixBlock C = DataConverter.convertToMatrixBlock(getRandomMatrix(cols, 17, -1, 1, 1.0, 5));
+			
+			//execute w/ scalar and SIMD kernels
+			DenseVectorKernels.ENABLED = false;
+			MatrixBlock ret1 = execute(type, A, B, C);
+			DenseVectorKernels.ENABLED = true;
+			Assert.assertNotNull(DenseVectorKernels.get(cols));
+			MatrixBlock ret2 = execute(type, A, B, C);
+			
+			//compare results incl nnz
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+				DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+			if( type != OpType.MATMULT )
+				Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DenseVectorKernels.ENABLED = oldFlag;
+		}
+	}
+	
+	private static MatrixBlock execute(OpType type, MatrixBlock A, MatrixBlock B, MatrixBlock C) 
+		throws Exception
+	{
+		switch( type ) {
+			case MATMULT: {
+				AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+				AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop);
+				return (MatrixBlock) A.aggregateBinaryOperations(A, C, new MatrixBlock(), abop);
+			}
+			case PLUS:  return binary("+", A, B);
+			case MINUS: return binary("-", A, B);
+			case MULT:  return binary("*", A, B);
+			case DIV:   return binary("/", A, B);
+			case SCALAR_MULT:
+				return (MatrixBlock) A.scalarOperations(
+					InstructionUtils.parseScalarBinaryOperator("*", false, 7), new MatrixBlock());
+			case SCALAR_MINUS_LEFT:
+				return (MatrixBlock) A.scalarOperations(
+					InstructionUtils.parseScalarBinaryOperator("-", true, 7), new MatrixBlock());
+			case SCALAR_DIV:
+				return (MatrixBlock) A.scalarOperations(
+					InstructionUtils.parseScalarBinaryOperator("/", false, 7), new MatrixBlock());
+			case ABS:
+				return (MatrixBlock) A.unaryOperations(
+					new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.ABS)), new MatrixBlock());
+			case SQRT:
+				return (MatrixBlock) B.unaryOperations(
+					new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.SQRT)), new MatrixBlock());
+			default:
+				throw new RuntimeException("Unsupported op type: "+type);
+		}
+	}
+	
+	private static MatrixBlock binary(String opcode, MatrixBlock A, MatrixBlock B) 
+		throws Exception
+	{
+		return (MatrixBlock) A.binaryOperations(
+			InstructionUtils.parseBinaryOperator(opcode), B, new MatrixBlock());
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysml.runtime.util.CommonThreadPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommonThreadPoolTest {
+
+  @Test
+  public void testBoundedParallelism() throws Exception {
+    final AtomicInteger active = new AtomicInteger(0);
+    final AtomicInteger maxActive = new AtomicInteger(0);
+    List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+    for( int i=0; i<64; i++ ) {
+      tasks.add(new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          int cur = active.incrementAndGet();
+          while( cur > maxActive.get() && !maxActive.compareAndSet(maxActive.get(), cur) );
+          Thread.sleep(1);
+          active.decrementAndGet();
+          return 1L;
+        }
+      });
+    }
+    ExecutorService pool = CommonThreadPool.get(2);
+    long sum = 0;
+    for( Future<Long> f : pool.invokeAll(tasks) )
+      sum += f.get();
+    pool.shutdown();
+    Assert.assertEquals(64, sum);
+    Assert.assertTrue(maxActive.get() <= 2);
+    Assert.assertTrue(pool.isTerminated());
+  }
+
+  @Test
+  public void testNestedParallelism() throws Exception {
+    List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+    for( int i=0; i<16; i++ ) {
+      tasks.add(new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          List<Callable<Long>> inner = new ArrayList<Callable<Long>>();
+          for( int j=0; j<4; j++ )
+            inner.add(new Callable<Long>() {
+              @Override
+              public Long call() { return 1L; }
+            });
+          ExecutorService pool = CommonThreadPool.get(4);
+          long sum = 0;
+          for( Future<Long> f : pool.invokeAll(inner) )
+            sum += f.get();
+          pool.shutdown();
+          return sum;
+        }
+      });
+    }
+    ExecutorService pool = CommonThreadPool.get(4);
+    long sum = 0;
+    for( Future<Long> f : pool.invokeAll(tasks) )
+      sum += f.get();
+    pool.shutdown();
+    Assert.assertEquals(64, sum);
+  }
+
+  @Test
+  public void testShutdownAndReuse() throws Exception {
+    ExecutorService pool = CommonThreadPool.get(2);
+    pool.invokeAll(new ArrayList<Callable<Long>>());
+    pool.shutdown();
+    CommonThreadPool.shutdown();
+    Assert.assertFalse(CommonThreadPool.isActive());
+
+    List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+    tasks.add(new Callable<Long>() {
+      @Override
+      public Long call() { return 7L; }
+    });
+    ExecutorService pool2 = CommonThreadPool.get(2);
+    Assert.assertEquals(7L, (long)pool2.invokeAll(tasks).get(0).get());
+    pool2.shutdown();
+    Assert.assertTrue(CommonThreadPool.isActive());
+  }
+
+  @Test
+  public void testReferenceCountedLifetime() throws Exception {
+    ExecutorService pool = CommonThreadPool.get(2);
+    pool.invokeAll(new ArrayList<Callable<Long>>());
+    pool.shutdown();
+    CommonThreadPool.acquire(); //e.g., connection 1
+    CommonThreadPool.acquire(); //e.g., connection 2
+    List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+    tasks.add(new Callable<Long>() {
+      @Override
+      public Long call() { return 7L; }
+    });
+    ExecutorService pool2 = CommonThreadPool.get(2);
+    pool2.invokeAll(tasks);
+    pool2.shutdown();
+
+    //closing one user keeps the pool alive for the other
+    CommonThreadPool.release();
+    Assert.assertTrue(CommonThreadPool.isActive());
+    CommonThreadPool.release();
+    Assert.assertFalse(CommonThreadPool.isActive());
+  }
+
+  @Test
+  public void testMaxQueueDepth() throws Exception {
+    CommonThreadPool.resetStatistics();
+    List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+    for( int i=0; i<32; i++ ) {
+      tasks.add(new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          Thread.sleep(1);
+          return 1L;
+        }
+      });
+    }
+    //with a single runner, most of the submitted tasks are pending
+    ExecutorService pool = CommonThreadPool.get(1);
+    pool.invokeAll(tasks);
+    pool.shutdown();
+    Assert.assertTrue(CommonThreadPool.getMaxQueueDepth() > 1);
+    Assert.assertTrue(CommonThreadPool.getMaxQueueDepth() <= 32);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.parser.ParForStatementBlock;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PTaskQueue;
+import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueStealing;
+import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTaskQueueStealingTest {
+
+  @Test
+  public void testOwnDequeOrder() throws Exception {
+    LocalTaskQueueStealing<Integer> q = new LocalTaskQueueStealing<Integer>(2);
+    for (int i = 0; i < 6; i++)
+      q.enqueueTask(i);
+    q.closeInput();
+
+    //round-robin distribution, fifo within own deque
+    Assert.assertEquals(Integer.valueOf(0), q.dequeueTask(0));
+    Assert.assertEquals(Integer.valueOf(2), q.dequeueTask(0));
+    Assert.assertEquals(Integer.valueOf(1), q.dequeueTask(1));
+    Assert.assertEquals(0, q.getNumSteals(0));
+    Assert.assertEquals(0, q.getNumSteals(1));
+  }
+
+  @Test
+  public void testStealOnEmpty() throws Exception {
+    LocalTaskQueueStealing<Integer> q = new LocalTaskQueueStealing<Integer>(4);
+    for (int i = 0; i < 100; i++)
+      q.enqueueTask(i);
+    q.closeInput();
+
+    //single active worker drains all deques
+    int count = 0;
+    while (q.dequeueTask(0) != LocalTaskQueue.NO_MORE_TASKS)
+      count++;
+    Assert.assertEquals(100, count);
+    Assert.assertEquals(75, q.getNumSteals(0));
+    Assert.assertEquals(75, q.getNumSteals());
+    Assert.assertNull(q.dequeueTask(1));
+  }
+
+  @Test
+  public void testNoStealsSharedQueue() throws Exception {
+    LocalTaskQueue<Integer> q = new LocalTaskQueue<Integer>();
+    q.enqueueTask(7);
+    q.closeInput();
+    Assert.assertEquals(Integer.valueOf(7), q.dequeueTask(3));
+    Assert.assertNull(q.dequeueTask(3));
+    Assert.assertEquals(0, q.getNumSteals(3));
+  }
+
+  @Test
+  public void testConcurrentExactlyOnce() throws Exception {
+    final int k = 8;
+    final int n = 200000;
+    final LocalTaskQueueStealing<Integer> q = new LocalTaskQueueStealing<Integer>(k);
+    final AtomicIntegerArray seen = new AtomicIntegerArray(n);
+    final AtomicLong total = new AtomicLong(0);
+
+    //start readers before writer to exercise blocking reads
+    Thread[] threads = new Thread[k];
+    for (int i = 0; i < k; i++) {
+      final int ix = i;
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            Integer t = null;
+            while ((t = q.dequeueTask(ix)) != LocalTaskQueue.NO_MORE_TASKS) {
+              seen.incrementAndGet(t);
+              total.incrementAndGet();
+            }
+          }
+          catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+          }
+        }
+      });
+      threads[i].start();
+    }
+
+    for (int i = 0; i < n; i++)
+      q.enqueueTask(i);
+    q.closeInput();
+    for (Thread t : threads)
+      t.join();
+
+    Assert.assertEquals(n, total.get());
+    for (int i = 0; i < n; i++)
+      Assert.assertEquals(1, seen.get(i));
+  }
+
+  @Test
+  public void testTaskQueueOfNestedParForCopies() throws Exception {
+    HashMap<String,String> params = new HashMap<String,String>();
+    params.put(ParForStatementBlock.CHECK, "1");
+    params.put(ParForStatementBlock.PAR, "8");
+    params.put(ParForStatementBlock.TASK_PARTITIONER, "FACTORING");
+    params.put(ParForStatementBlock.TASK_SIZE, "1");
+    params.put(ParForStatementBlock.DATA_PARTITIONER, "NONE");
+    params.put(ParForStatementBlock.RESULT_MERGE, "LOCAL_AUTOMATIC");
+    params.put(ParForStatementBlock.EXEC_MODE, "LOCAL");
+    params.put(ParForStatementBlock.OPT_MODE, "NONE");
+    params.put(ParForStatementBlock.PROFILE, "0");
+    params.put(ParForStatementBlock.OPT_LOG, "INFO");
+    Program prog = new Program();
+    ParForProgramBlock pfpb = new ParForProgramBlock(prog, new String[]{"i", null, null, null}, params);
+    pfpb.setFromInstructions(new ArrayList<Instruction>());
+    pfpb.setToInstructions(new ArrayList<Instruction>());
+    pfpb.setIncrementInstructions(new ArrayList<Instruction>());
+
+    //inner parfor as set by the optimizer for nested parallelism, executed
+    //by local parworkers on their deep copies of the inner parfor
+    pfpb.setTaskQueue(PTaskQueue.STEALING);
+    ParForProgramBlock copy = ProgramConverter.createDeepCopyParForProgramBlock(
+      pfpb, 1, -1, prog, new HashSet<String>(), new HashSet<String>(), false, false);
+    Assert.assertEquals(PTaskQueue.STEALING, copy.getTaskQueue());
+    ParForProgramBlock copy2 = ProgramConverter.createDeepCopyParForProgramBlock(
+      pfpb, 2, -1, prog, new HashSet<String>(), new HashSet<String>(), true, false);
+    Assert.assertEquals(PTaskQueue.STEALING, copy2.getTaskQueue());
+  }
+}
@@ -32,6 +32,7 @@ import org.junit.runners.Suite;
 	AlgorithmLinregCG.class,
 	AlgorithmMLogreg.class,
 	AlgorithmPNMF.class,
+	CellwiseCompressedTest.class,
 	CellwiseTmplTest.class,
 	DAGCellwiseTmplTest.class,
 	OuterProdTmplTest.class,
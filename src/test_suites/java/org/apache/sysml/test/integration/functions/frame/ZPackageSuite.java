@@ -30,6 +30,7 @@ import org.junit.runners.Suite;
 	FrameAppendTest.class,
 	FrameCastingTest.class,
 	FrameConverterTest.class,
+	FrameColumnarReadWriteTest.class,
 	FrameCopyTest.class,
 	FrameEvictionTest.class,
 	FrameFunctionTest.class,
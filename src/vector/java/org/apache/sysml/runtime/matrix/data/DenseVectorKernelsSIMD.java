@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the dense vector kernels on the JDK incubator Vector API,
+ * using the preferred species (e.g., 4 lanes on AVX2, 8 lanes on AVX-512).
+ * Each kernel processes full vectors in the main loop and the remaining
+ * elements (less than one vector) with scalar code.
+ * 
+ * Note: requires JDK 17+ and --add-modules jdk.incubator.vector for both
+ * compilation (maven profile vector-api) and runtime.
+ */
+public class DenseVectorKernelsSIMD extends DenseVectorKernels
+{
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	
+	@Override
+	public int getVectorLength() {
+		return SPECIES.length();
+	}
+	
+	@Override
+	public double dotProduct(double[] a, double[] b, int ai, int bi, int len) {
+		final int bn = SPECIES.loopBound(len);
+		
+		//vectorized multiply and add w/ independent lanes
+		//(mul and add instead of fma for products consistent w/ scalar code)
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+i);
+			acc = va.mul(vb).add(acc);
+		}
+		double val = acc.reduceLanes(VectorOperators.ADD);
+		
+		//compute rest
+		for( ; i < len; i++ )
+			val += a[ai+i] * b[bi+i];
+		return val;
+	}
+	
+	@Override
+	public void vectMultiplyAdd(double aval, double[] b, double[] c, int bi, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		DoubleVector va = DoubleVector.broadcast(SPECIES, aval);
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+i);
+			DoubleVector vc = DoubleVector.fromArray(SPECIES, c, ci+i);
+			//note: mul and add instead of fma for results consistent w/ scalar code
+			vb.mul(va).add(vc).intoArray(c, ci+i);
+		}
+		for( ; i < len; i++ )
+			c[ci+i] += aval * b[bi+i];
+	}
+	
+	@Override
+	public void vectMultiplyWrite(double aval, double[] b, double[] c, int bi, int ci, int len) {
+		vectBinaryWrite(BinaryType.MULT, b, aval, c, bi, ci, len);
+	}
+	
+	@Override
+	public void vectAdd(double[] a, double[] c, int ai, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+i);
+			DoubleVector vc = DoubleVector.fromArray(SPECIES, c, ci+i);
+			va.add(vc).intoArray(c, ci+i);
+		}
+		for( ; i < len; i++ )
+			c[ci+i] += a[ai+i];
+	}
+	
+	@Override
+	public double vectSum(double[] a, int ai, int len) {
+		final int bn = SPECIES.loopBound(len);
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() )
+			acc = acc.add(DoubleVector.fromArray(SPECIES, a, ai+i));
+		double val = acc.reduceLanes(VectorOperators.ADD);
+		for( ; i < len; i++ )
+			val += a[ai+i];
+		return val;
+	}
+	
+	@Override
+	public void vectBinaryWrite(BinaryType type, double[] a, double[] b, double[] c, int ai, int bi, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		final VectorOperators.Binary op = getOperator(type);
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+i);
+			va.lanewise(op, vb).intoArray(c, ci+i);
+		}
+		for( ; i < len; i++ )
+			c[ci+i] = execute(type, a[ai+i], b[bi+i]);
+	}
+	
+	@Override
+	public void vectBinaryWrite(BinaryType type, double[] a, double bval, double[] c, int ai, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		final VectorOperators.Binary op = getOperator(type);
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+i);
+			va.lanewise(op, bval).intoArray(c, ci+i);
+		}
+		for( ; i < len; i++ )
+			c[ci+i] = execute(type, a[ai+i], bval);
+	}
+	
+	@Override
+	public void vectUnaryWrite(UnaryType type, double[] a, double[] c, int ai, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		final VectorOperators.Unary op = (type==UnaryType.ABS) ? 
+			VectorOperators.ABS : VectorOperators.SQRT;
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+i);
+			va.lanewise(op).intoArray(c, ci+i);
+		}
+		for( ; i < len; i++ )
+			c[ci+i] = (type==UnaryType.ABS) ? 
+				Math.abs(a[ai+i]) : Math.sqrt(a[ai+i]);
+	}
+	
+	@Override
+	public int countNonZeros(double[] a, int ai, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int cnt = 0;
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+i);
+			cnt += va.compare(VectorOperators.NE, 0).trueCount();
+		}
+		for( ; i < len; i++ )
+			cnt += (a[ai+i] != 0) ? 1 : 0;
+		return cnt;
+	}
+	
+	private static VectorOperators.Binary getOperator(BinaryType type) {
+		switch( type ) {
+			case PLUS:  return VectorOperators.ADD;
+			case MINUS: return VectorOperators.SUB;
+			case MULT:  return VectorOperators.MUL;
+			case DIV:   return VectorOperators.DIV;
+			default:
+				throw new RuntimeException("Unsupported binary type: "+type);
+		}
+	}
+	
+	private static double execute(BinaryType type, double a, double b) {
+		switch( type ) {
+			case PLUS:  return a + b;
+			case MINUS: return a - b;
+			case MULT:  return a * b;
+			case DIV:   return a / b;
+			default:
+				throw new RuntimeException("Unsupported binary type: "+type);
+		}
+	}
+}